@@ -14,29 +14,106 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.example.pinochleinandroid.models.cards.Card;
+import com.example.pinochleinandroid.models.CardIdList;
+import com.example.pinochleinandroid.models.cards.CardStrings;
 
 import java.util.ArrayList;
+import java.util.List;
+
+public class CardViewAdapter extends ListAdapter<Long, CardViewAdapter.ViewHolder> {
+    //the low byte of an item key is the card id, or SEPARATOR_KEY for the space between melds; the rest counts earlier
+    //occurrences of the same card in the pile, since a card can be part of more than one meld
+    private static final int SEPARATOR_KEY = 0xFF;
+    private static final int KEY_SHIFT = 8;
+    //the white space shown between melds
+    private static final String MELD_SEPARATOR_STRING = "  ";
+
+    //two items are the same card if their keys match, and a key fully decides what an item looks like
+    private static final DiffUtil.ItemCallback<Long> CARD_KEYS = new DiffUtil.ItemCallback<Long>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Long oldKey, @NonNull Long newKey) {
+            return oldKey.longValue() == newKey.longValue();
+        }
 
-public class CardViewAdapter extends RecyclerView.Adapter<CardViewAdapter.ViewHolder> {
+        @Override
+        public boolean areContentsTheSame(@NonNull Long oldKey, @NonNull Long newKey) {
+            return oldKey.longValue() == newKey.longValue();
+        }
+    };
 
-    //list of cards
-    private ArrayList<String> cards = new ArrayList<>();
     String cardPileType;
     private Context context;
 
     /**
-     * Constructor for the CardViewAdapter class
+     * Constructor for the CardViewAdapter class. The cards are handed over later through submitList(), which works out
+     * the changes on a background thread and only rebinds the cards that changed
      * @param context the activity class that contains the handler for items within the RecyclerView (i.e. the side-scrollable container)
-     * @param cards the cards that are to be displayed inside the side-scrollable container
      * @param cardPileType string to determine whether a card should be selectable (single or multi) or non-selectable
      */
-    public CardViewAdapter(Context context, ArrayList<String> cards, String cardPileType) {
-        this.cards = cards;
+    public CardViewAdapter(Context context, String cardPileType) {
+        super(CARD_KEYS);
         this.context = context;
         this.cardPileType = cardPileType;
+        setHasStableIds(true);
+    }
+
+    /**
+     * Changes whether the cards are selectable, rebinding all of them if it changed
+     * @param cardPileType string to determine whether a card should be selectable (single or multi) or non-selectable
+     */
+    public void setCardPileType(String cardPileType) {
+        if (!this.cardPileType.equals(cardPileType)) {
+            this.cardPileType = cardPileType;
+            notifyItemRangeChanged(0, getItemCount());
+        }
+    }
+
+    /**
+     * turns a list of card ids into the item keys of the adapter
+     * @param cards the card ids, where CardIdList.MELD_SEPARATOR separates melds
+     * @return the item keys
+     */
+    public static List<Long> toItems(CardIdList cards) {
+        List<Long> items = new ArrayList<>(cards.size());
+        //how often each card id (and the separator, at index SEPARATOR_KEY) has come up so far
+        int[] occurrences = new int[SEPARATOR_KEY + 1];
+        for (int i = 0; i < cards.size(); i++) {
+            int key = cards.get(i) == CardIdList.MELD_SEPARATOR ? SEPARATOR_KEY : cards.get(i);
+            items.add(((long) occurrences[key]++ << KEY_SHIFT) | key);
+        }
+        return items;
+    }
+
+    /**
+     * turns a single card id into an item key of the adapter
+     * @param cardId the card id
+     * @return the item key
+     */
+    public static Long toItem(int cardId) {
+        return (long) cardId;
+    }
+
+    /**
+     * returns the short string of a card, like 'AS' for an Ace of Spades card, from the precomputed strings
+     * @param cardId the id of the card
+     * @return the short string of the card
+     */
+    public static String cardString(int cardId) {
+        return CardStrings.getShortStringById(cardId);
+    }
+
+    /**
+     * Returns the stable id of a card, which is its item key, so that a card keeps its view while the pile changes around it
+     * @param position the position of the card in the side-scroll view
+     * @return the stable id of the card
+     */
+    @Override
+    public long getItemId(int position) {
+        return getItem(position);
     }
 
     /**
@@ -53,50 +130,37 @@ public class CardViewAdapter extends RecyclerView.Adapter<CardViewAdapter.ViewHo
     }
 
     /**
-     * This function is used to specify the characteristics of the card (view) when it is being generated
+     * This function is used to specify the characteristics of the card (view) when it is being generated. Card views are shared
+     * between all the piles on the table, so everything a previous pile may have set is reset here
      * @param holder the ViewHolder object that will hold all the views (i.e. cards) within the Recycler View (side-scrollable view)
      * @param position the position that the view (card) is to be displayed in the scroll view
      */
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-
-        holder.card.setText(cards.get(position));
-        if (cards.get(position).equals("  ")) {
+        int key = (int) (getItem(position) & SEPARATOR_KEY);
+        if (key == SEPARATOR_KEY) {
+            //separate melds from each other using white space
+            holder.card.setText(MELD_SEPARATOR_STRING);
             holder.card.setBackgroundResource(0);
+        } else {
+            //bound from the precomputed strings, so binding a card allocates nothing
+            holder.card.setText(CardStrings.getShortStringById(key));
+            holder.card.setBackgroundResource(R.drawable.card_border);
         }
-        //if the card is single selectable
-        if (cardPileType.equals(GameActivity.SINGLE_SELECTABLE)) {
-            //we specify in the tag the the card is a single-selectable card
-            holder.card.setTag(R.string.card_selectable_type, GameActivity.SINGLE_SELECTABLE);
-
-            //we also specify in the tag the position for the card so that we can get the card's position when it is selected
-            holder.card.setTag(R.string.card_position, position);
-
-            //set click handler
-            holder.card.setOnClickListener((View.OnClickListener) context);
-            //if the card is multi-selectable
-        } else if (cardPileType.equals(GameActivity.MULTI_SELECTABLE)) {
-            //we specify in the tag the the card is a single-selectable card
-            holder.card.setTag(R.string.card_selectable_type, GameActivity.MULTI_SELECTABLE);
-
-            //we also specify in the tag the position for the card so that we can get the card's position when it is selected
-            holder.card.setTag(R.string.card_position, position);
+        //we specify in the tag whether the card is single-selectable or multi-selectable; its position is looked up when it is selected
+        holder.card.setTag(R.string.card_selectable_type, cardPileType);
 
+        //if the card is single or multi-selectable
+        if (cardPileType.equals(GameActivity.SINGLE_SELECTABLE) || cardPileType.equals(GameActivity.MULTI_SELECTABLE)) {
             //set click handler
             holder.card.setOnClickListener((View.OnClickListener) context);
+        } else {
+            holder.card.setOnClickListener(null);
+            holder.card.setClickable(false);
         }
 
     }
 
-    /**
-     * Returns the number of cards to be displayed in the side-scroll view (Recycler View)
-     * @return the number of cards to be displayed in the side-scroll view (Recycler View)
-     */
-    @Override
-    public int getItemCount() {
-        return cards.size();
-    }
-
     public class ViewHolder extends RecyclerView.ViewHolder {
         TextView card;
 
@@ -21,20 +21,28 @@ import android.widget.EditText;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import com.example.pinochleinandroid.models.CardIdList;
 import com.example.pinochleinandroid.models.GameModel;
+import com.example.pinochleinandroid.models.GameSnapshot;
 import com.example.pinochleinandroid.models.cards.Card;
 import com.example.pinochleinandroid.models.cards.GroupOfCards;
-
-import java.io.BufferedReader;
+import com.example.pinochleinandroid.models.cards.Suit;
+import com.example.pinochleinandroid.models.journal.GameJournal;
+import com.example.pinochleinandroid.models.journal.JournalWriter;
+import com.example.pinochleinandroid.models.search.CardIds;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.List;
 
 public class GameActivity extends AppCompatActivity implements View.OnClickListener {
 
@@ -42,8 +50,19 @@ public class GameActivity extends AppCompatActivity implements View.OnClickListe
     public static final String SINGLE_SELECTABLE = "single_selectable";
     public static final String MULTI_SELECTABLE = "multi_selectable";
     public static final String NON_SELECTABLE = "non_selectable";
-
-    private GameModel gameModel;
+    //the file the game in progress is journaled to, so that it can be resumed after the app is killed
+    private static final String AUTOSAVE_FILE_NAME = "autosave.journal";
+
+    //runs the game model on a background thread; the user interface only reads the snapshots it posts back
+    private GameEngine gameEngine;
+    private GameSnapshot gameSnapshot;
+    //writes the autosave journal on its own thread, so that neither the user interface nor the engine waits on storage
+    private JournalWriter journalWriter;
+    //the snapshot whose cards are on the game table, and how the human hand was made selectable
+    private GameSnapshot displayedSnapshot;
+    private String displayedHandSelectionType;
+    //the card views shared by all the side scroll views on the game table
+    private RecyclerView.RecycledViewPool cardViewPool;
     private int selectedThrowCard;
     private ArrayList<Integer> selectedMeldCards;
 
@@ -52,7 +71,14 @@ public class GameActivity extends AppCompatActivity implements View.OnClickListe
      */
     @Override
     protected void onCreate(Bundle savedInstanceState) {
-        gameModel = new GameModel();
+        gameEngine = new GameEngine();
+        gameSnapshot = null;
+        journalWriter = new JournalWriter(new File(getFilesDir(), AUTOSAVE_FILE_NAME));
+        displayedSnapshot = null;
+        displayedHandSelectionType = null;
+        cardViewPool = new RecyclerView.RecycledViewPool();
+        //enough views to show every card of the deck at once
+        cardViewPool.setMaxRecycledViews(0, CardIds.NUM_OF_CARD_IDS);
         //set the selected cards to unselected
         selectedThrowCard = -1;
         selectedMeldCards = new ArrayList<>();
@@ -63,14 +89,47 @@ public class GameActivity extends AppCompatActivity implements View.OnClickListe
         String str = intent.getStringExtra(WelcomeActivity.NEW_OR_LOAD);
         //if user chose to start a new game
         if (intent.getStringExtra(WelcomeActivity.NEW_OR_LOAD).equals("new_game")) {
-            gameModel.startNewGame();
-            showRoundDeclarationView();
+            gameEngine.restart(new GameEngine.Task<Void>() {
+                @Override
+                public Void run(GameModel gameModel) {
+                    new GameJournal(gameModel, journalWriter, GameJournal.DEFAULT_COMPACTION_INTERVAL, false);
+                    gameModel.startNewGame();
+                    return null;
+                }
+            }, new GameEngine.Callback<Void>() {
+                @Override
+                public void onTaskDone(GameSnapshot snapshot, Void result) {
+                    gameSnapshot = snapshot;
+                    showRoundDeclarationView();
+                }
+            });
         } else {
             setContentView(R.layout.load_game_layout);
         }
 
     }
 
+    /**
+     * The method called when this Activity is destroyed. Stops the game engine along with any computer move in progress
+     */
+    @Override
+    protected void onDestroy() {
+        gameEngine.shutdown();
+        //whatever is still queued for the journal is written before its thread stops, without the main thread waiting on it
+        journalWriter.closeWithoutWaiting();
+        super.onDestroy();
+    }
+
+    /**
+     * Sets the layout of the activity. Any layout change means the cards on the game table have to be drawn from scratch next time
+     * @param layoutResID the resource id of the layout
+     */
+    @Override
+    public void setContentView(int layoutResID) {
+        super.setContentView(layoutResID);
+        displayedSnapshot = null;
+    }
+
     /**
      * A general click event handler for views that are programmatically bound to click listeners
      * @param v the view that triggered the event that called this handler
@@ -89,6 +148,8 @@ public class GameActivity extends AppCompatActivity implements View.OnClickListe
      * @return
      */
     public void quitGame(View view) {
+        //drop any computer move still being worked out
+        gameEngine.cancelPendingTasks();
         Intent intent = new Intent(this, WelcomeActivity.class);
         startActivity(intent);
     }
@@ -106,39 +167,42 @@ public class GameActivity extends AppCompatActivity implements View.OnClickListe
      * @param view the view that triggered the event that called this handler
      */
     public void showGameBoard(View view) {
+        showGameBoard();
+    }
+
+    /**
+     * Generates the view for the main Pinochle game table from the latest snapshot of the game
+     */
+    private void showGameBoard() {
         //check if coin toss is needed
-        if (gameModel.isHumansTurn() == null) {
+        if (gameSnapshot.isHumansTurn() == null) {
             //if it is unclear who goes next (i.e. if both human and computer player have the same points at the start of a turn)
             //show Coin Toss layout
             setContentView(R.layout.coin_toss_layout);
             return;
         }
 
-        //set the games scores and round scores
-        int[] gameScores = gameModel.getGameScores();
-        int[] roundScores = gameModel.getRoundScores();
-
-        if (gameModel.getCurrentStage().equals(GameModel.ROUND_END_STAGE)) {
+        if (gameSnapshot.getCurrentStage().equals(GameModel.ROUND_END_STAGE)) {
             setContentView(R.layout.play_another_round_layout);
 
 
             TextView textView = (TextView) findViewById(R.id.finalCompRoundScore);
-            textView.setText(Integer.toString(roundScores[GameModel.COMPUTER_PLAYER]));
+            textView.setText(Integer.toString(gameSnapshot.getRoundScore(GameModel.COMPUTER_PLAYER)));
 
             textView = (TextView) findViewById(R.id.finalHumRoundScore);
-            textView.setText(Integer.toString(roundScores[GameModel.HUMAN_PLAYER]));
+            textView.setText(Integer.toString(gameSnapshot.getRoundScore(GameModel.HUMAN_PLAYER)));
 
             textView = (TextView) findViewById(R.id.currentCompGameScore);
-            textView.setText(Integer.toString(gameScores[GameModel.COMPUTER_PLAYER]));
+            textView.setText(Integer.toString(gameSnapshot.getGameScore(GameModel.COMPUTER_PLAYER)));
 
             textView = (TextView) findViewById(R.id.currentHumGameScore);
-            textView.setText(Integer.toString(gameScores[GameModel.HUMAN_PLAYER]));
+            textView.setText(Integer.toString(gameSnapshot.getGameScore(GameModel.HUMAN_PLAYER)));
 
             textView = (TextView) findViewById(R.id.winner);
             String winner;
-            if (gameModel.roundLeader() == GameModel.HUMAN_PLAYER) {
+            if (gameSnapshot.getRoundLeader() == GameModel.HUMAN_PLAYER) {
                 winner = "The Human player won the round!";
-            } else if (gameModel.roundLeader() == GameModel.COMPUTER_PLAYER) {
+            } else if (gameSnapshot.getRoundLeader() == GameModel.COMPUTER_PLAYER) {
                 winner = "The Computer player won the round!";
             } else {
                 winner = "The round resulted in a draw";
@@ -148,112 +212,123 @@ public class GameActivity extends AppCompatActivity implements View.OnClickListe
             return;
         }
 
-        setContentView(R.layout.game_table_layout);
+        //the cards of the last snapshot shown on the game table, or null if the table has to be drawn from scratch
+        GameSnapshot shown = displayedSnapshot;
+        if (shown == null) {
+            setContentView(R.layout.game_table_layout);
+        }
         //set the round number
         TextView textView = (TextView) findViewById(R.id.roundNumber);
-        textView.setText(Integer.toString(gameModel.getRoundNumber()));
+        textView.setText(Integer.toString(gameSnapshot.getRoundNumber()));
 
 
         //set game scores for computer and human
         textView = (TextView) findViewById(R.id.compGameScore);
-        textView.setText(Integer.toString(gameScores[GameModel.COMPUTER_PLAYER]));
+        textView.setText(Integer.toString(gameSnapshot.getGameScore(GameModel.COMPUTER_PLAYER)));
         textView = (TextView) findViewById(R.id.humGameScore);
-        textView.setText(Integer.toString(gameScores[GameModel.HUMAN_PLAYER]));
+        textView.setText(Integer.toString(gameSnapshot.getGameScore(GameModel.HUMAN_PLAYER)));
         //set round scores for computer and human
         textView = (TextView) findViewById(R.id.compRoundScore);
-        textView.setText(Integer.toString(roundScores[GameModel.COMPUTER_PLAYER]));
+        textView.setText(Integer.toString(gameSnapshot.getRoundScore(GameModel.COMPUTER_PLAYER)));
         textView = (TextView) findViewById(R.id.humRoundScore);
-        textView.setText(Integer.toString(roundScores[GameModel.HUMAN_PLAYER]));
+        textView.setText(Integer.toString(gameSnapshot.getRoundScore(GameModel.HUMAN_PLAYER)));
 
         //set the messages to be displayed
-        String[] messages = gameModel.getMessages();
         textView = (TextView) findViewById(R.id.computerMessage);
-        textView.setText(messages[GameModel.COMPUTER_PLAYER]);
+        textView.setText(gameSnapshot.getMessage(GameModel.COMPUTER_PLAYER));
         textView = (TextView) findViewById(R.id.humanMessage);
-        textView.setText(messages[GameModel.HUMAN_PLAYER]);
+        textView.setText(gameSnapshot.getMessage(GameModel.HUMAN_PLAYER));
 
         //set the trump card
         textView = (TextView) findViewById(R.id.trumpCard);
-        textView.setText(gameModel.getTrumpCardString());
+        if (gameSnapshot.getTrumpCardId() >= 0) {
+            textView.setText(CardViewAdapter.cardString(gameSnapshot.getTrumpCardId()));
+        } else {
+            textView.setText(" " + Suit.values()[gameSnapshot.getTrumpSuit()].getShortString());
+        }
 
-        String currentStage = gameModel.getCurrentStage();
-        //show cards
+        String currentStage = gameSnapshot.getCurrentStage();
+        //show cards; a pile is only redrawn if its cards changed since the last snapshot shown
         //show player hands
-        ArrayList<ArrayList<String>> playerHands = gameModel.getPlayerHands();
         //computer hand
-        displayCards(findViewById(R.id.compHand), playerHands.get(GameModel.COMPUTER_PLAYER), NON_SELECTABLE);
+        displayCardsIfChanged(R.id.compHand, gameSnapshot.getHand(GameModel.COMPUTER_PLAYER),
+                shown == null ? null : shown.getHand(GameModel.COMPUTER_PLAYER), NON_SELECTABLE);
         //human hand
+        String handSelectionType = NON_SELECTABLE;
         //if its the humans turn
-        if (gameModel.isHumansTurn()) {
+        if (gameSnapshot.isHumansTurn()) {
             //if its the human turn to throw a card
             if (currentStage.equals(GameModel.LEAD_CARD_STAGE) || currentStage.equals(GameModel.CHASE_CARD_STAGE)) {
-                displayCards(findViewById(R.id.humHand), playerHands.get(GameModel.HUMAN_PLAYER), SINGLE_SELECTABLE);
+                handSelectionType = SINGLE_SELECTABLE;
                 //if its the humans turn to create a meld
             } else if (currentStage.equals(GameModel.MELD_STAGE)) {
-                displayCards(findViewById(R.id.humHand), playerHands.get(GameModel.HUMAN_PLAYER), MULTI_SELECTABLE);
-            } else {
-                displayCards(findViewById(R.id.humHand), playerHands.get(GameModel.HUMAN_PLAYER), NON_SELECTABLE);
+                handSelectionType = MULTI_SELECTABLE;
             }
-            //if it is not the human's turn
-        } else {
-            displayCards(findViewById(R.id.humHand), playerHands.get(GameModel.HUMAN_PLAYER), NON_SELECTABLE);
         }
+        //the human hand is also redrawn when its cards become selectable in a different way, or when the selection was reset
+        displayCardsIfChanged(R.id.humHand, gameSnapshot.getHand(GameModel.HUMAN_PLAYER),
+                shown == null || !handSelectionType.equals(displayedHandSelectionType) ? null : shown.getHand(GameModel.HUMAN_PLAYER), handSelectionType);
+        displayedHandSelectionType = handSelectionType;
 
         //show player capture piles
-        ArrayList<ArrayList<String>> playerCapturePiles = gameModel.getPlayerCapturePiles();
         //show computer capture pile
-        displayCards(findViewById(R.id.compCapture), playerCapturePiles.get(GameModel.COMPUTER_PLAYER), NON_SELECTABLE);
+        displayCardsIfChanged(R.id.compCapture, gameSnapshot.getCapturePile(GameModel.COMPUTER_PLAYER),
+                shown == null ? null : shown.getCapturePile(GameModel.COMPUTER_PLAYER), NON_SELECTABLE);
         //show human capture pile
-        displayCards(findViewById(R.id.humCapture), playerCapturePiles.get(GameModel.HUMAN_PLAYER), NON_SELECTABLE);
+        displayCardsIfChanged(R.id.humCapture, gameSnapshot.getCapturePile(GameModel.HUMAN_PLAYER),
+                shown == null ? null : shown.getCapturePile(GameModel.HUMAN_PLAYER), NON_SELECTABLE);
 
         //show meld piles
-        ArrayList<ArrayList<String>> playerMelds = gameModel.getPlayerMelds();
         //show computer melds
-        displayCards(findViewById(R.id.compMeld), playerMelds.get(GameModel.COMPUTER_PLAYER), NON_SELECTABLE);
+        displayCardsIfChanged(R.id.compMeld, gameSnapshot.getMelds(GameModel.COMPUTER_PLAYER),
+                shown == null ? null : shown.getMelds(GameModel.COMPUTER_PLAYER), NON_SELECTABLE);
         //show human melds
-        displayCards(findViewById(R.id.humMeld), playerMelds.get(GameModel.HUMAN_PLAYER), NON_SELECTABLE);
+        displayCardsIfChanged(R.id.humMeld, gameSnapshot.getMelds(GameModel.HUMAN_PLAYER),
+                shown == null ? null : shown.getMelds(GameModel.HUMAN_PLAYER), NON_SELECTABLE);
 
-        //show stock pile
-        ArrayList<String> stock = gameModel.getStock();
-        //reverse the stock for display
-        Collections.reverse(stock);
-        displayCards(findViewById(R.id.stock), stock, NON_SELECTABLE);
+        //show stock pile (the snapshot already holds it from the top down)
+        displayCardsIfChanged(R.id.stock, gameSnapshot.getStock(), shown == null ? null : shown.getStock(), NON_SELECTABLE);
 
         //display lead, chase, or meld cards
+        //these take at most a few cards, so they are always redrawn, which also clears the cards of the last turn
+        List<Long> humanPlayedCards = new ArrayList<>();
+        List<Long> computerPlayedCards = new ArrayList<>();
         //display meld if meld has been created
-        ArrayList<String> cards;
-        if ((cards = gameModel.getMeldCards()) != null) {
+        if (gameSnapshot.getMeldCards() != null) {
             //if the human won the round (and therefore is creating the meld and is playing first in the next turn)
-            if (gameModel.isHumansTurn()) {
-                displayCards(findViewById(R.id.cardsPlayedByHum), cards, NON_SELECTABLE);
+            if (gameSnapshot.isHumansTurn()) {
+                humanPlayedCards = CardViewAdapter.toItems(gameSnapshot.getMeldCards());
             } else {
-                displayCards(findViewById(R.id.cardsPlayedByComp), cards, NON_SELECTABLE);
+                computerPlayedCards = CardViewAdapter.toItems(gameSnapshot.getMeldCards());
             }
         } else {
             //display lead card
-            if ((cards = gameModel.getLeadCard()) != null) {
+            if (gameSnapshot.getLeadCardId() >= 0) {
                 //if the human threw the lead card
-                if (gameModel.isHumansLeadThrow()) {
-                    displayCards(findViewById(R.id.cardsPlayedByHum), cards, NON_SELECTABLE);
+                if (gameSnapshot.isHumansLeadThrow()) {
+                    humanPlayedCards.add(CardViewAdapter.toItem(gameSnapshot.getLeadCardId()));
                 } else {
-                    displayCards(findViewById(R.id.cardsPlayedByComp), cards, NON_SELECTABLE);
+                    computerPlayedCards.add(CardViewAdapter.toItem(gameSnapshot.getLeadCardId()));
                 }
             }
             //display chase card
-            if ((cards = gameModel.getChaseCard()) != null) {
+            if (gameSnapshot.getChaseCardId() >= 0) {
                 //if the human threw the lead card
-                if (gameModel.isHumansLeadThrow()) {
-                    displayCards(findViewById(R.id.cardsPlayedByComp), cards, NON_SELECTABLE);
+                if (gameSnapshot.isHumansLeadThrow()) {
+                    computerPlayedCards.add(CardViewAdapter.toItem(gameSnapshot.getChaseCardId()));
                 } else {
-                    displayCards(findViewById(R.id.cardsPlayedByHum), cards, NON_SELECTABLE);
+                    humanPlayedCards.add(CardViewAdapter.toItem(gameSnapshot.getChaseCardId()));
                 }
             }
 
         }
+        displayCards(findViewById(R.id.cardsPlayedByHum), humanPlayedCards, NON_SELECTABLE);
+        displayCards(findViewById(R.id.cardsPlayedByComp), computerPlayedCards, NON_SELECTABLE);
+        displayedSnapshot = gameSnapshot;
 
         //show or hide buttons
 
-        if (currentStage.equals(gameModel.LEAD_CARD_STAGE) && gameModel.isHumansTurn()) {
+        if (currentStage.equals(GameModel.LEAD_CARD_STAGE) && gameSnapshot.isHumansTurn()) {
             //show these buttons
             findViewById(R.id.playButton).setVisibility(View.VISIBLE);
             findViewById(R.id.hintButton).setVisibility(View.VISIBLE);
@@ -261,7 +336,7 @@ public class GameActivity extends AppCompatActivity implements View.OnClickListe
 
             //hide these buttons
             findViewById(R.id.nextButton).setVisibility(View.GONE);
-        } else if (currentStage.equals(gameModel.LEAD_CARD_STAGE) && !gameModel.isHumansTurn()) {
+        } else if (currentStage.equals(GameModel.LEAD_CARD_STAGE) && !gameSnapshot.isHumansTurn()) {
             //show these buttons
             findViewById(R.id.saveButton).setVisibility(View.VISIBLE);
             findViewById(R.id.nextButton).setVisibility(View.VISIBLE);
@@ -269,7 +344,7 @@ public class GameActivity extends AppCompatActivity implements View.OnClickListe
             //hide these buttons
             findViewById(R.id.playButton).setVisibility(View.GONE);
             findViewById(R.id.hintButton).setVisibility(View.GONE);
-        } else if (currentStage.equals(gameModel.CHASE_CARD_STAGE) && gameModel.isHumansTurn()) {
+        } else if (currentStage.equals(GameModel.CHASE_CARD_STAGE) && gameSnapshot.isHumansTurn()) {
             //show these buttons
             findViewById(R.id.playButton).setVisibility(View.VISIBLE);
             findViewById(R.id.hintButton).setVisibility(View.VISIBLE);
@@ -278,7 +353,7 @@ public class GameActivity extends AppCompatActivity implements View.OnClickListe
             findViewById(R.id.nextButton).setVisibility(View.GONE);
             findViewById(R.id.saveButton).setVisibility(View.GONE);
 
-        } else if (currentStage.equals(gameModel.MELD_STAGE) && gameModel.isHumansTurn()) {
+        } else if (currentStage.equals(GameModel.MELD_STAGE) && gameSnapshot.isHumansTurn()) {
             //show these buttons
             findViewById(R.id.playButton).setVisibility(View.VISIBLE);
             findViewById(R.id.hintButton).setVisibility(View.VISIBLE);
@@ -305,34 +380,47 @@ public class GameActivity extends AppCompatActivity implements View.OnClickListe
      * @param view the view that triggered the event that called this handler method
      */
     public void showCoinTossResult(View view) {
-        //set to coin toss result layout
-        setContentView(R.layout.coin_toss_result_layout);
-        String call = "";
-        String result = "";
+        if (gameEngine.isBusy()) {
+            return;
+        }
+        String prediction = "";
         //if user clicked on the "heads" button
         if (view.getId() == R.id.headsButton) {
-            call = "You predicted heads";
-            result = gameModel.tossCoin("heads");
+            prediction = "heads";
             //if user clicked on the "tails" button
         } else if (view.getId() == R.id.tailsButton) {
-            call = "You predicted tails";
-            result = gameModel.tossCoin("tails");
+            prediction = "tails";
         }
-        TextView textView = (TextView) findViewById(R.id.coinTossCall);
-        textView.setText(call);
-
-        textView = (TextView) findViewById(R.id.headsOrTails);
-        result = result.substring(0, 1).toUpperCase() + result.substring(1);
-        textView.setText(result);
-
-        if (gameModel.isHumansTurn()) {
-            result = "The human player goes first";
-        } else {
-            result = "The computer player goes first";
-        }
-        textView = (TextView) findViewById(R.id.whoWonToss);
-        textView.setText(result);
+        final String call = "You predicted " + prediction;
+        final String coinTossPrediction = prediction;
 
+        gameEngine.submit(new GameEngine.Task<String>() {
+            @Override
+            public String run(GameModel gameModel) {
+                return gameModel.tossCoin(coinTossPrediction);
+            }
+        }, new GameEngine.Callback<String>() {
+            @Override
+            public void onTaskDone(GameSnapshot snapshot, String result) {
+                gameSnapshot = snapshot;
+                //set to coin toss result layout
+                setContentView(R.layout.coin_toss_result_layout);
+                TextView textView = (TextView) findViewById(R.id.coinTossCall);
+                textView.setText(call);
+
+                textView = (TextView) findViewById(R.id.headsOrTails);
+                result = result.substring(0, 1).toUpperCase() + result.substring(1);
+                textView.setText(result);
+
+                if (gameSnapshot.isHumansTurn()) {
+                    result = "The human player goes first";
+                } else {
+                    result = "The computer player goes first";
+                }
+                textView = (TextView) findViewById(R.id.whoWonToss);
+                textView.setText(result);
+            }
+        });
     }
 
     /**
@@ -345,6 +433,11 @@ public class GameActivity extends AppCompatActivity implements View.OnClickListe
         //we know that if a card is selectable, it is part of the human hand
         RecyclerView recyclerView = findViewById(R.id.humHand);
         LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+        //the position of the card, looked up from its view since the cards around it may have moved since it was bound
+        int position = recyclerView.getChildAdapterPosition((View) v.getParent());
+        if (position == RecyclerView.NO_POSITION) {
+            return;
+        }
 
         //if the card is single selectable
         if (v.getTag(R.string.card_selectable_type).equals(SINGLE_SELECTABLE)) {
@@ -359,22 +452,22 @@ public class GameActivity extends AppCompatActivity implements View.OnClickListe
                 }
             }
             //set the new selected throw card
-            selectedThrowCard = (Integer) v.getTag(R.string.card_position);
+            selectedThrowCard = position;
             //add highlight
             v.setBackgroundResource(R.drawable.card_border_selected);
 
         } else if (v.getTag(R.string.card_selectable_type).equals(MULTI_SELECTABLE)) {
             //if the card is multi-selectable (for melds)
             //if the card is already selected
-            if (selectedMeldCards.contains((int) v.getTag(R.string.card_position))) {
+            if (selectedMeldCards.contains(position)) {
                 //remove the card from the selected list
-                selectedMeldCards.remove((Integer) v.getTag(R.string.card_position));
+                selectedMeldCards.remove((Integer) position);
                 //remove highlight
                 v.setBackgroundResource(R.drawable.card_border);
             } else {
                 //if the card has not yet been selected
                 //add to list of selected cards
-                selectedMeldCards.add((Integer) v.getTag(R.string.card_position));
+                selectedMeldCards.add(position);
                 //add highlight
                 v.setBackgroundResource(R.drawable.card_border_selected);
             }
@@ -386,16 +479,32 @@ public class GameActivity extends AppCompatActivity implements View.OnClickListe
      * @param view the view that generated the event (i.e. the Play button)
      */
     public void playButtonHandler(View view) {
-        if (gameModel.getCurrentStage().equals(GameModel.LEAD_CARD_STAGE)) {
-            gameModel.humanThrowsLeadCard(selectedThrowCard);
-        } else if (gameModel.getCurrentStage().equals(GameModel.CHASE_CARD_STAGE)) {
-            gameModel.humanThrowsChaseCard(selectedThrowCard);
-        } else if (gameModel.getCurrentStage().equals(GameModel.MELD_STAGE)) {
-            gameModel.humanPlaysMeld(selectedMeldCards);
+        if (gameEngine.isBusy()) {
+            return;
         }
+        //hand the selection over to the engine thread, and reset it for the next move
+        final int throwCard = selectedThrowCard;
+        final ArrayList<Integer> meldCards = new ArrayList<>(selectedMeldCards);
         selectedThrowCard = -1;
         selectedMeldCards.clear();
-        showGameBoard(view);
+        //the highlights of the old selection must go even if the hand does not change
+        RecyclerView humanHand = findViewById(R.id.humHand);
+        if (humanHand != null && humanHand.getAdapter() != null) {
+            humanHand.getAdapter().notifyItemRangeChanged(0, humanHand.getAdapter().getItemCount());
+        }
+        runAndShowGameBoard(new GameEngine.Task<Void>() {
+            @Override
+            public Void run(GameModel gameModel) {
+                if (gameModel.getCurrentStage().equals(GameModel.LEAD_CARD_STAGE)) {
+                    gameModel.humanThrowsLeadCard(throwCard);
+                } else if (gameModel.getCurrentStage().equals(GameModel.CHASE_CARD_STAGE)) {
+                    gameModel.humanThrowsChaseCard(throwCard);
+                } else if (gameModel.getCurrentStage().equals(GameModel.MELD_STAGE)) {
+                    gameModel.humanPlaysMeld(meldCards);
+                }
+                return null;
+            }
+        });
     }
 
     /**
@@ -403,8 +512,13 @@ public class GameActivity extends AppCompatActivity implements View.OnClickListe
      * @param view the view (i.e. the Begin Round button) that triggered this handler
      */
     public void beginRoundHandler(View view) {
-        gameModel.setUpNewRound();
-        showGameBoard(view);
+        runAndShowGameBoard(new GameEngine.Task<Void>() {
+            @Override
+            public Void run(GameModel gameModel) {
+                gameModel.setUpNewRound();
+                return null;
+            }
+        });
     }
 
     /**
@@ -412,55 +526,103 @@ public class GameActivity extends AppCompatActivity implements View.OnClickListe
      * @param view the view (i.e. the Next button) that triggered this handler
      */
     public void nextButtonHandler(View view) {
-        gameModel.goToNextStep();
-        showGameBoard(view);
+        //the computer's moves are worked out here, so this runs on the engine thread
+        runAndShowGameBoard(new GameEngine.Task<Void>() {
+            @Override
+            public Void run(GameModel gameModel) {
+                gameModel.goToNextStep();
+                return null;
+            }
+        });
     }
 
     /**
-     * The handler for the Save button. It sets the view to the Save Game view
+     * The handler for the Save button. It sets the view to the Save Game view. Ignored while a move is still being worked out,
+     * since the game board would be drawn over the Save Game view once it is done
      * @param view the view (i.e. the Save button) that triggered this handler
      */
     public void saveButtonHandler(View view) {
+        if (gameEngine.isBusy()) {
+            return;
+        }
         setContentView(R.layout.save_game_layout);
     }
 
     /**
-     * The handler for the Save To File button. It saves the current state of the game to a file
+     * The handler for the Save To File button. It saves the current state of the game to a file in the binary save format
      * @param view the view (i.e. the Save to File button) that triggered this handler
      */
     public void saveGame(View view) {
+        saveGame(false);
+    }
+
+    /**
+     * The handler for the Export As Text button. It saves the current state of the game to a file in the readable text format
+     * @param view the view (i.e. the Export As Text button) that triggered this handler
+     */
+    public void exportGame(View view) {
+        saveGame(true);
+    }
+
+    /**
+     * Saves the current state of the game to the file named by the user, then returns to the home screen
+     * @param asText whether to write the text format rather than the binary save format
+     */
+    private void saveGame(final Boolean asText) {
         EditText text = (EditText) findViewById(R.id.fileName);
         String fileName = text.getText().toString();
         fileName = fileName.replaceAll("\\s+", "");
-        if (fileName.equals("")) {
+        if (fileName.equals("") || gameEngine.isBusy()) {
             return;
         }
-        String saveGameData = gameModel.generateSaveGameData();
-        FileOutputStream fos = null;
+        final String saveFileName = fileName;
 
-        try {
-            fos = openFileOutput(fileName, MODE_PRIVATE);
-            fos.write(saveGameData.getBytes());
-            File directory = getFilesDir();
+        gameEngine.submit(new GameEngine.Task<Void>() {
+            @Override
+            public Void run(GameModel gameModel) {
+                writeSaveFile(saveFileName, gameModel, asText);
+                return null;
+            }
+        }, new GameEngine.Callback<Void>() {
+            @Override
+            public void onTaskDone(GameSnapshot snapshot, Void result) {
+                //redirect to home screen
+                Intent intent = new Intent(GameActivity.this, WelcomeActivity.class);
+                startActivity(intent);
+            }
+        });
+    }
 
+    /**
+     * Writes the save data of a game to a file. Called on the engine thread, so that the user interface does not wait on storage
+     * @param fileName the name of the save file
+     * @param gameModel the game model to save
+     * @param asText whether to write the text format rather than the binary save format
+     */
+    private void writeSaveFile(String fileName, GameModel gameModel, Boolean asText) {
+        OutputStream out = null;
+
+        try {
+            out = new BufferedOutputStream(openFileOutput(fileName, MODE_PRIVATE));
+            if (asText) {
+                out.write(gameModel.generateSaveGameData().getBytes());
+            } else {
+                gameModel.writeSaveGame(out);
+            }
+            out.flush();
         } catch (FileNotFoundException e) {
             e.printStackTrace();
         } catch (IOException e) {
             e.printStackTrace();
         } finally {
-            if (fos != null) {
+            if (out != null) {
                 try {
-                    fos.close();
+                    out.close();
                 } catch (IOException e) {
                     e.printStackTrace();
                 }
             }
         }
-
-
-        //redirect to home screen
-        Intent intent = new Intent(this, WelcomeActivity.class);
-        startActivity(intent);
     }
 
     /**
@@ -474,46 +636,110 @@ public class GameActivity extends AppCompatActivity implements View.OnClickListe
         if (fileName.equals("")) {
             return;
         }
+        final String saveFileName = fileName;
+
+        //loading replaces the game, so anything still running on the old one is cancelled
+        gameEngine.restart(new GameEngine.Task<Boolean>() {
+            @Override
+            public Boolean run(GameModel gameModel) throws IOException {
+                byte[] saveGameData = readSaveFile(saveFileName);
+                if (saveGameData == null) {
+                    return false;
+                }
+                //save files in the binary format are told apart from exported text files by their first bytes
+                if (GameModel.isBinarySaveData(saveGameData)) {
+                    if (!gameModel.loadGame(new ByteArrayInputStream(saveGameData))) {
+                        return false;
+                    }
+                } else {
+                    try {
+                        gameModel.loadGame(new String(saveGameData));
+                    } catch (RuntimeException e) {
+                        //the text format is parsed without checks of its own, so a malformed file fails somewhere along the way
+                        return false;
+                    }
+                }
+                //the loaded game replaces the autosaved one
+                new GameJournal(gameModel, journalWriter, GameJournal.DEFAULT_COMPACTION_INTERVAL, false);
+                return true;
+            }
+        }, new GameEngine.Callback<Boolean>() {
+            @Override
+            public void onTaskDone(GameSnapshot snapshot, Boolean loaded) {
+                //a null result means the task failed, for instance because the file could not be read
+                if (loaded == null || !loaded) {
+                    findViewById(R.id.invalidSaveFile).setVisibility(View.VISIBLE);
+                    return;
+                }
+                gameSnapshot = snapshot;
+                showGameBoard();
+            }
+        });
+    }
 
-        StringBuilder sb = null;
-
-        FileInputStream fis = null;
-        try {
-            fis = openFileInput(fileName);
-            InputStreamReader isr = new InputStreamReader(fis);
-            BufferedReader br = new BufferedReader(isr);
-            sb = new StringBuilder();
-            String str;
-
-            while ((str = br.readLine()) != null) {
-                //skip empty lines
-                if (!str.equals("\n")) {
-                    sb.append(str).append("\n");
+    /**
+     * The handler for the Resume Last Game button. It rebuilds the last game played from the autosave journal
+     * @param view the view (i.e. the Resume Last Game button) that triggered this handler
+     */
+    public void resumeGame(View view) {
+        gameEngine.restart(new GameEngine.Task<Boolean>() {
+            @Override
+            public Boolean run(GameModel gameModel) throws IOException {
+                //the writer of the last game may still be finishing the journal
+                journalWriter.awaitEarlierWriters();
+                if (!GameJournal.recover(journalWriter.getFile(), gameModel)) {
+                    return false;
+                }
+                //keep journaling onto the recovered game
+                new GameJournal(gameModel, journalWriter, GameJournal.DEFAULT_COMPACTION_INTERVAL, true);
+                return true;
+            }
+        }, new GameEngine.Callback<Boolean>() {
+            @Override
+            public void onTaskDone(GameSnapshot snapshot, Boolean resumed) {
+                if (resumed == null || !resumed) {
+                    findViewById(R.id.noAutosave).setVisibility(View.VISIBLE);
+                    return;
                 }
+                gameSnapshot = snapshot;
+                showGameBoard();
+            }
+        });
+    }
 
+    /**
+     * Reads the save data of a game from a file. Called on the engine thread, so that the user interface does not wait on storage
+     * @param fileName the name of the save file
+     * @return the save data, or null if the file does not exist
+     */
+    private byte[] readSaveFile(String fileName) {
+        ByteArrayOutputStream saveData = new ByteArrayOutputStream();
+
+        InputStream in = null;
+        try {
+            in = new BufferedInputStream(openFileInput(fileName));
+            byte[] buffer = new byte[1024];
+            int numOfBytes;
+            while ((numOfBytes = in.read(buffer)) != -1) {
+                saveData.write(buffer, 0, numOfBytes);
             }
 
         } catch (FileNotFoundException e) {
-            findViewById(R.id.invalidSaveFile).setVisibility(View.VISIBLE);
+            return null;
         } catch (IOException e) {
             e.printStackTrace();
+            return null;
         } finally {
-            if (fis != null) {
+            if (in != null) {
                 try {
-                    fis.close();
+                    in.close();
                 } catch (IOException e) {
                     e.printStackTrace();
                 }
             }
         }
 
-        if (sb != null) {
-            gameModel.loadGame(sb.toString());
-
-            showGameBoard(view);
-            ;
-        }
-
+        return saveData.toByteArray();
     }
 
 
@@ -522,15 +748,24 @@ public class GameActivity extends AppCompatActivity implements View.OnClickListe
      * @param view the view (i.e. the Hint button) that triggered this handler
      */
     public void hintButtonHandler(View view) {
-        gameModel.generateHint();
-        showGameBoard(view);
+        runAndShowGameBoard(new GameEngine.Task<Void>() {
+            @Override
+            public Void run(GameModel gameModel) {
+                gameModel.generateHint();
+                return null;
+            }
+        });
     }
 
     /**
-     * The handler for the Quit button. It loads the Confirm Quit view
+     * The handler for the Quit button. It loads the Confirm Quit view. Ignored while a move is still being worked out,
+     * since the game board would be drawn over the Confirm Quit view once it is done
      * @param view the view (i.e. the Quit button) that triggered this handler
      */
     public void quitButtonHandler(View view) {
+        if (gameEngine.isBusy()) {
+            return;
+        }
         setContentView(R.layout.confirm_quit);
     }
 
@@ -540,18 +775,17 @@ public class GameActivity extends AppCompatActivity implements View.OnClickListe
      */
     public void showWinnerDeclaration(View view) {
         setContentView(R.layout.winner_declaration);
-        int[] scores = gameModel.getGameScores();
         TextView textView = findViewById(R.id.finalCompScore);
-        textView.setText(Integer.toString(scores[GameModel.COMPUTER_PLAYER]));
+        textView.setText(Integer.toString(gameSnapshot.getGameScore(GameModel.COMPUTER_PLAYER)));
 
         textView = findViewById(R.id.finalHumScore);
-        textView.setText(Integer.toString(scores[GameModel.HUMAN_PLAYER]));
+        textView.setText(Integer.toString(gameSnapshot.getGameScore(GameModel.HUMAN_PLAYER)));
 
         textView = findViewById(R.id.finalWinner);
         String winner;
-        if (gameModel.gameLeader() == GameModel.HUMAN_PLAYER) {
+        if (gameSnapshot.getGameLeader() == GameModel.HUMAN_PLAYER) {
             winner = "The Human player won the game!";
-        } else if (gameModel.gameLeader() == GameModel.COMPUTER_PLAYER) {
+        } else if (gameSnapshot.getGameLeader() == GameModel.COMPUTER_PLAYER) {
             winner = "The Computer player won the game!";
         } else {
             winner = "The game resulted in a draw";
@@ -572,50 +806,89 @@ public class GameActivity extends AppCompatActivity implements View.OnClickListe
         TextView roundDeclaration = (TextView) findViewById(R.id.roundDeclaration);
 
         //set the beginning round declaration label
-        String str = "Beginning Round " + gameModel.getRoundNumber();
+        String str = "Beginning Round " + gameSnapshot.getRoundNumber();
         roundDeclaration.setText(str);
-        int[] gameScores = gameModel.getGameScores();
 
         //set the score display for Computer and Human player
         TextView score = (TextView) findViewById(R.id.compScoreDeclaration);
-        score.setText(Integer.toString(gameScores[GameModel.COMPUTER_PLAYER]));
+        score.setText(Integer.toString(gameSnapshot.getGameScore(GameModel.COMPUTER_PLAYER)));
         score = (TextView) findViewById(R.id.humScoreDeclaration);
-        score.setText(Integer.toString(gameScores[GameModel.HUMAN_PLAYER]));
+        score.setText(Integer.toString(gameSnapshot.getGameScore(GameModel.HUMAN_PLAYER)));
+    }
+
+    /**
+     * Runs a task on the game engine and shows the game board once it is done. Input is ignored while an earlier task is still running
+     * @param task the work to do on the game model
+     */
+    private void runAndShowGameBoard(GameEngine.Task<Void> task) {
+        if (gameEngine.isBusy()) {
+            return;
+        }
+        gameEngine.submit(task, new GameEngine.Callback<Void>() {
+            @Override
+            public void onTaskDone(GameSnapshot snapshot, Void result) {
+                gameSnapshot = snapshot;
+                showGameBoard();
+            }
+        });
     }
 
 
 
     /**
-     * Displays a side scroll view containing the displays of all the cards specified
-     * @param cardView the RecyclerView object (that represents the side-scroll view container) to hold the card displays
-     * @param cards the cards whose display are to be generated
+     * Displays the cards of a pile unless they are the same as the ones already displayed. Snapshots share the card lists
+     * that did not change, so comparing the lists by identity is enough
+     * @param cardViewId the id of the RecyclerView that holds the pile
+     * @param cards the cards of the pile in the latest snapshot
+     * @param shownCards the cards of the pile in the snapshot already displayed, or null if the pile must be redrawn
      * @param cardSelectionType the selection type of the cards (single-selectable, multi-selectable, or non-selectable)
      */
-    private void displayCards(RecyclerView cardView, ArrayList<String> cards, String cardSelectionType) {
-        LinearLayoutManager layoutManager = new LinearLayoutManager(this, LinearLayoutManager.HORIZONTAL, false);
-        cardView.setLayoutManager(layoutManager);
-        CardViewAdapter adapter = new CardViewAdapter(this, cards, cardSelectionType);
-        cardView.setAdapter(adapter);
+    private void displayCardsIfChanged(int cardViewId, CardIdList cards, CardIdList shownCards, String cardSelectionType) {
+        if (cards == shownCards) {
+            return;
+        }
+        displayCards(findViewById(cardViewId), CardViewAdapter.toItems(cards), cardSelectionType);
+    }
 
-        if (!cardSelectionType.equals(NON_SELECTABLE)) {
+    /**
+     * Displays a side scroll view containing the displays of all the cards specified. Each side scroll view keeps its adapter
+     * for as long as the layout is shown, so a refresh only rebinds the cards that changed
+     * @param cardView the RecyclerView object (that represents the side-scroll view container) to hold the card displays
+     * @param cards the item keys of the cards whose display are to be generated (see CardViewAdapter.toItems())
+     * @param cardSelectionType the selection type of the cards (single-selectable, multi-selectable, or non-selectable)
+     */
+    private void displayCards(final RecyclerView cardView, List<Long> cards, String cardSelectionType) {
+        CardViewAdapter adapter = (CardViewAdapter) cardView.getAdapter();
+        if (adapter == null) {
+            LinearLayoutManager layoutManager = new LinearLayoutManager(this, LinearLayoutManager.HORIZONTAL, false);
+            cardView.setLayoutManager(layoutManager);
+            //all the card rows draw from the same views
+            cardView.setRecycledViewPool(cardViewPool);
+            adapter = new CardViewAdapter(this, cardSelectionType);
+            cardView.setAdapter(adapter);
+
+            //added once per side scroll view, when its adapter is created, so that the listeners do not pile up
             cardView.addOnChildAttachStateChangeListener(new RecyclerView.OnChildAttachStateChangeListener() {
                 @Override
                 public void onChildViewAttachedToWindow(@NonNull View view) {
                     TextView card = view.findViewById(R.id.card);
-                    if (card.getTag(R.string.card_selectable_type).equals(SINGLE_SELECTABLE) && card.getTag(R.string.card_position).equals(selectedThrowCard)) {
-                        card.setBackgroundResource(R.drawable.card_border_selected);
-                    } else if (card.getTag(R.string.card_selectable_type).equals(MULTI_SELECTABLE) && selectedMeldCards.contains((int) card.getTag(R.string.card_position))) {
-                        card.setBackgroundResource(R.drawable.card_border_selected);
+                    int position = cardView.getChildAdapterPosition(view);
+                    //a card view may come back from the cache without being bound again, so its highlight is set here
+                    if (card.getTag(R.string.card_selectable_type).equals(SINGLE_SELECTABLE)) {
+                        card.setBackgroundResource(position == selectedThrowCard ? R.drawable.card_border_selected : R.drawable.card_border);
+                    } else if (card.getTag(R.string.card_selectable_type).equals(MULTI_SELECTABLE)) {
+                        card.setBackgroundResource(selectedMeldCards.contains(position) ? R.drawable.card_border_selected : R.drawable.card_border);
                     }
                 }
 
                 @Override
                 public void onChildViewDetachedFromWindow(@NonNull View view) {
-                    TextView cardView = view.findViewById(R.id.card);
-                    cardView.setBackgroundResource(R.drawable.card_border);
                 }
             });
+        } else {
+            adapter.setCardPileType(cardSelectionType);
         }
+        adapter.submitList(cards);
     }
 
-}
\ No newline at end of file
+}
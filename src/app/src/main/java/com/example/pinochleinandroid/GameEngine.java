@@ -0,0 +1,184 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.example.pinochleinandroid.models.GameModel;
+import com.example.pinochleinandroid.models.GameSnapshot;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class GameEngine {
+
+    /**
+     * A piece of work done on the game model, on the engine thread
+     * @param <T> the type of the result handed back to the user interface
+     */
+    public interface Task<T> {
+        /**
+         * does the work on the game model
+         * @param gameModel the game model, which is only ever touched on the engine thread
+         * @return the result to hand back to the user interface, if any
+         * @throws Exception if the work fails, in which case the callback receives a null result
+         */
+        T run(GameModel gameModel) throws Exception;
+    }
+
+    /**
+     * Receives the outcome of a task on the main thread
+     * @param <T> the type of the result of the task
+     */
+    public interface Callback<T> {
+        /**
+         * called on the main thread once a task has finished, unless it was cancelled
+         * @param gameSnapshot a snapshot of the game taken right after the task
+         * @param result the result of the task, or null if the task failed
+         */
+        void onTaskDone(GameSnapshot gameSnapshot, T result);
+    }
+
+    private final ExecutorService executor;
+    private final Handler mainHandler;
+    //only ever read or changed on the engine thread
+    private GameModel gameModel;
+    //bumped on every cancellation, so that tasks and callbacks from before it are dropped
+    private final AtomicInteger generation;
+    //the tasks that may still be running; only used on the main thread
+    private final ArrayList<Future<?>> pendingTasks;
+    private int numOfPendingTasks;
+
+    /**
+     * Default constructor for GameEngine class. Creates the game model and the thread that owns it
+     */
+    public GameEngine() {
+        executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "game-engine");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        mainHandler = new Handler(Looper.getMainLooper());
+        gameModel = new GameModel();
+        generation = new AtomicInteger();
+        pendingTasks = new ArrayList<>();
+        numOfPendingTasks = 0;
+    }
+
+    /**
+     * Informs whether any task is still waiting for its callback, so that the user interface can ignore input meanwhile
+     * @return true if a task is pending, false otherwise
+     */
+    public Boolean isBusy() {
+        return numOfPendingTasks > 0;
+    }
+
+    /**
+     * Runs a task on the engine thread and posts a snapshot of the game and the task's result back to the main thread.
+     * Must be called from the main thread
+     * @param task the work to do on the game model
+     * @param callback receives the snapshot and the result on the main thread
+     * @param <T> the type of the result of the task
+     */
+    public <T> void submit(final Task<T> task, final Callback<T> callback) {
+        final int submittedGeneration = generation.get();
+        numOfPendingTasks++;
+        //forget the tasks that are already done
+        for (int i = pendingTasks.size() - 1; i >= 0; i--) {
+            if (pendingTasks.get(i).isDone()) {
+                pendingTasks.remove(i);
+            }
+        }
+
+        pendingTasks.add(executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                if (generation.get() != submittedGeneration) {
+                    return;
+                }
+                T result = null;
+                GameSnapshot gameSnapshot;
+                try {
+                    result = task.run(gameModel);
+                } catch (Exception e) {
+                    //the failure is still handed to the callback as a null result, so that the user interface does not wait on it forever
+                    e.printStackTrace();
+                }
+                try {
+                    gameSnapshot = gameModel.getSnapshot();
+                } catch (Exception e) {
+                    //a task that failed half way, such as loading a malformed save file, may leave the game in a state
+                    //that cannot be shown, so it is replaced by a fresh game
+                    e.printStackTrace();
+                    gameModel = new GameModel();
+                    gameSnapshot = gameModel.getSnapshot();
+                }
+                final T taskResult = result;
+                final GameSnapshot taskSnapshot = gameSnapshot;
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        //a cancellation has already reset the count of pending tasks
+                        if (generation.get() != submittedGeneration) {
+                            return;
+                        }
+                        numOfPendingTasks--;
+                        callback.onTaskDone(taskSnapshot, taskResult);
+                    }
+                });
+            }
+        }));
+    }
+
+    /**
+     * Cancels every task that has not finished yet: queued tasks are skipped, a running task (such as a computer player's
+     * search) is interrupted, and no callback from before the cancellation is delivered. Must be called from the main thread
+     */
+    public void cancelPendingTasks() {
+        generation.incrementAndGet();
+        for (int i = 0; i < pendingTasks.size(); i++) {
+            pendingTasks.get(i).cancel(true);
+        }
+        pendingTasks.clear();
+        numOfPendingTasks = 0;
+    }
+
+    /**
+     * Cancels all tasks, replaces the game model with a fresh one and runs a task on it
+     * @param task the work to do on the new game model, such as starting or loading a game
+     * @param callback receives the snapshot and the result on the main thread
+     * @param <T> the type of the result of the task
+     */
+    public <T> void restart(final Task<T> task, final Callback<T> callback) {
+        cancelPendingTasks();
+        submit(new Task<T>() {
+            @Override
+            public T run(GameModel oldGameModel) throws Exception {
+                gameModel = new GameModel();
+                return task.run(gameModel);
+            }
+        }, callback);
+    }
+
+    /**
+     * Cancels all tasks and stops the engine thread, for when the activity is destroyed
+     */
+    public void shutdown() {
+        cancelPendingTasks();
+        executor.shutdownNow();
+        mainHandler.removeCallbacksAndMessages(null);
+    }
+}
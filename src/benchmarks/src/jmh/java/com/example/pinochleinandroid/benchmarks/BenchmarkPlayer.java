@@ -0,0 +1,49 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.benchmarks;
+
+import com.example.pinochleinandroid.models.cards.Card;
+import com.example.pinochleinandroid.models.cards.GroupOfCards;
+import com.example.pinochleinandroid.models.cards.MeldInstance;
+import com.example.pinochleinandroid.models.players.Computer;
+
+public class BenchmarkPlayer extends Computer {
+
+    /**
+     * Constructor for BenchmarkPlayer class. Creates a computer player holding the hand of a fixture
+     * @param fixture the fixture whose hand, melds and trump suit the player gets
+     */
+    public BenchmarkPlayer(HandFixture fixture) {
+        super(fixture.getHand(), new GroupOfCards(), fixture.getMeldsPlayed(), fixture.getTrumpSuit());
+    }
+
+    /**
+     * makes the player's lead card suggestion available to the benchmarks
+     * @return the suggested lead card
+     */
+    public Card leadCard() {
+        return suggestLeadCard();
+    }
+
+    /**
+     * makes the player's chase card suggestion available to the benchmarks
+     * @param opponentCard the lead card thrown by the opponent
+     * @return the suggested chase card
+     */
+    public Card chaseCard(Card opponentCard) {
+        return suggestChaseCard(opponentCard);
+    }
+
+    /**
+     * makes the player's meld suggestion available to the benchmarks
+     * @return the suggested meld
+     */
+    public MeldInstance meld() {
+        return suggestMeld();
+    }
+}
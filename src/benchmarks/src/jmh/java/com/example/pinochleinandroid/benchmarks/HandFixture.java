@@ -0,0 +1,119 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.benchmarks;
+
+import com.example.pinochleinandroid.models.cards.BitboardGroupOfCards;
+import com.example.pinochleinandroid.models.cards.Card;
+import com.example.pinochleinandroid.models.cards.Deck;
+import com.example.pinochleinandroid.models.cards.GroupOfCards;
+import com.example.pinochleinandroid.models.cards.MeldInstance;
+import com.example.pinochleinandroid.models.cards.MeldsStorage;
+import com.example.pinochleinandroid.models.cards.Suit;
+import com.example.pinochleinandroid.models.utilities.MeldServices;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+public class HandFixture {
+    private final Suit trumpSuit;
+    private final GroupOfCards hand;
+    private final MeldsStorage meldsPlayed;
+    private final MeldServices meldServices;
+    private final Card opponentCard;
+
+    /**
+     * Creates a reproducible hand, along with melds already played from it
+     * @param seed the seed of the deck the hand is dealt from
+     * @param handSize the number of cards in the hand
+     * @param playedMelds the number of melds to try to play from the hand before it is measured
+     */
+    public HandFixture(long seed, int handSize, int playedMelds) {
+        Random random = new Random(seed);
+        Deck deck = new Deck(random);
+        trumpSuit = deck.takeOneFromTop().getSuit();
+        hand = new BitboardGroupOfCards();
+        for (int i = 0; i < handSize; i++) {
+            hand.addCard(deck.takeOneFromTop());
+        }
+        opponentCard = deck.takeOneFromTop();
+
+        meldsPlayed = new MeldsStorage();
+        meldServices = new MeldServices(meldsPlayed, trumpSuit);
+        //play random melds from the hand, like a player would over the course of a round
+        for (int i = 0; i < playedMelds; i++) {
+            ArrayList<MeldInstance> possibleMelds = new ArrayList<MeldInstance>();
+            ArrayList<ArrayList<MeldInstance>> meldsByType = meldServices.getMeldsFromHand(hand).getAllMelds();
+            for (int j = 0; j < meldsByType.size(); j++) {
+                possibleMelds.addAll(meldsByType.get(j));
+            }
+            if (possibleMelds.isEmpty()) {
+                break;
+            }
+            MeldInstance meld = possibleMelds.get(random.nextInt(possibleMelds.size()));
+            if (meldServices.meldHasANewCard(meld)) {
+                meldServices.storeMeld(hand, meld);
+            }
+        }
+    }
+
+    /**
+     * creates a number of fixtures from consecutive seeds, so that a benchmark can cycle through different hands
+     * @param firstSeed the seed of the first fixture
+     * @param numOfFixtures the number of fixtures to create (should be a power of 2)
+     * @param handSize the number of cards in each hand
+     * @param playedMelds the number of melds to try to play from each hand
+     * @return the array of fixtures
+     */
+    public static HandFixture[] create(long firstSeed, int numOfFixtures, int handSize, int playedMelds) {
+        HandFixture[] fixtures = new HandFixture[numOfFixtures];
+        for (int i = 0; i < numOfFixtures; i++) {
+            fixtures[i] = new HandFixture(firstSeed + i, handSize, playedMelds);
+        }
+        return fixtures;
+    }
+
+    /**
+     * returns the trump suit of the round the hand is from
+     * @return the trump suit of the round the hand is from
+     */
+    public Suit getTrumpSuit() {
+        return trumpSuit;
+    }
+
+    /**
+     * returns the hand of the fixture
+     * @return the hand of the fixture
+     */
+    public GroupOfCards getHand() {
+        return hand;
+    }
+
+    /**
+     * returns the melds already played from the hand
+     * @return the melds already played from the hand
+     */
+    public MeldsStorage getMeldsPlayed() {
+        return meldsPlayed;
+    }
+
+    /**
+     * returns the meld services of the player holding the hand
+     * @return the meld services of the player holding the hand
+     */
+    public MeldServices getMeldServices() {
+        return meldServices;
+    }
+
+    /**
+     * returns a card from the rest of the deck, to be used as the opponent's lead card
+     * @return a card from the rest of the deck, to be used as the opponent's lead card
+     */
+    public Card getOpponentCard() {
+        return opponentCard;
+    }
+}
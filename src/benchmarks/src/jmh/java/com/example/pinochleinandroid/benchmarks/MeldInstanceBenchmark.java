@@ -0,0 +1,80 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.benchmarks;
+
+import com.example.pinochleinandroid.models.cards.Card;
+import com.example.pinochleinandroid.models.cards.Deck;
+import com.example.pinochleinandroid.models.cards.MeldInstance;
+import com.example.pinochleinandroid.models.cards.Suit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+@State(Scope.Thread)
+public class MeldInstanceBenchmark {
+    //number of different candidate melds cycled through (must be a power of 2)
+    private static final int NUM_OF_CANDIDATES = 256;
+
+    //"valid" validates cards taken from melds found in seeded hands, "random" validates 1 to 5 random cards, which are mostly invalid
+    @Param({"valid", "random"})
+    public String candidates;
+
+    private ArrayList<ArrayList<Card>> candidateCards;
+    private Suit[] trumpSuits;
+    private int next;
+
+    /**
+     * creates the seeded candidate melds used by the benchmark
+     */
+    @Setup
+    public void setUp() {
+        candidateCards = new ArrayList<ArrayList<Card>>();
+        trumpSuits = new Suit[NUM_OF_CANDIDATES];
+        Random random = new Random(1);
+        long seed = 1;
+        while (candidateCards.size() < NUM_OF_CANDIDATES) {
+            if (candidates.equals("valid")) {
+                //take every meld that can be made from a full seeded hand
+                HandFixture fixture = new HandFixture(seed++, 16, 0);
+                ArrayList<ArrayList<MeldInstance>> meldsByType = fixture.getMeldServices().getMeldsFromHand(fixture.getHand()).getAllMelds();
+                for (int i = 0; i < meldsByType.size(); i++) {
+                    for (int j = 0; j < meldsByType.get(i).size() && candidateCards.size() < NUM_OF_CANDIDATES; j++) {
+                        trumpSuits[candidateCards.size()] = fixture.getTrumpSuit();
+                        candidateCards.add(new ArrayList<Card>(meldsByType.get(i).get(j).getCards()));
+                    }
+                }
+            } else {
+                Deck deck = new Deck(random);
+                ArrayList<Card> cards = new ArrayList<Card>();
+                int numOfCards = 1 + random.nextInt(5);
+                for (int i = 0; i < numOfCards; i++) {
+                    cards.add(deck.takeOneFromTop());
+                }
+                trumpSuits[candidateCards.size()] = Suit.values()[random.nextInt(4)];
+                candidateCards.add(cards);
+            }
+        }
+        next = 0;
+    }
+
+    /**
+     * creates a meld instance from the next candidate cards, which validates the meld
+     * @return whether the candidate formed a valid meld
+     */
+    @Benchmark
+    public Boolean validateMeld() {
+        int index = next++ & (NUM_OF_CANDIDATES - 1);
+        return new MeldInstance(candidateCards.get(index), trumpSuits[index]).isValidMeld();
+    }
+}
@@ -0,0 +1,69 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.benchmarks;
+
+import com.example.pinochleinandroid.models.cards.GroupOfCards;
+import com.example.pinochleinandroid.models.cards.MeldsStorage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class MeldServicesBenchmark {
+    //number of different hands cycled through, so that results do not depend on one lucky hand (must be a power of 2)
+    private static final int NUM_OF_FIXTURES = 64;
+
+    @Param({"4", "8", "12", "16"})
+    public int handSize;
+
+    //number of melds played from each hand before it is measured
+    @Param({"0", "2", "4"})
+    public int playedMelds;
+
+    private HandFixture[] fixtures;
+    //the hand of each fixture without its first card, to compare against the full hand
+    private GroupOfCards[] smallerHands;
+    private int next;
+
+    /**
+     * creates the seeded hands used by the benchmarks
+     */
+    @Setup
+    public void setUp() {
+        fixtures = HandFixture.create(1, NUM_OF_FIXTURES, handSize, playedMelds);
+        smallerHands = new GroupOfCards[NUM_OF_FIXTURES];
+        for (int i = 0; i < NUM_OF_FIXTURES; i++) {
+            smallerHands[i] = new GroupOfCards(fixtures[i].getHand());
+            smallerHands[i].removeCardByPosition(0);
+        }
+        next = 0;
+    }
+
+    /**
+     * finds every meld instance of the next hand
+     * @return the melds found
+     */
+    @Benchmark
+    public MeldsStorage getMeldsFromHand() {
+        HandFixture fixture = fixtures[next++ & (NUM_OF_FIXTURES - 1)];
+        return fixture.getMeldServices().getMeldsFromHand(fixture.getHand());
+    }
+
+    /**
+     * compares the next hand with the same hand missing its first card
+     * @return the result of the comparison
+     */
+    @Benchmark
+    public int compareHandsForMelds() {
+        int index = next++ & (NUM_OF_FIXTURES - 1);
+        return fixtures[index].getMeldServices().compareHandsForMelds(fixtures[index].getHand(), smallerHands[index]);
+    }
+}
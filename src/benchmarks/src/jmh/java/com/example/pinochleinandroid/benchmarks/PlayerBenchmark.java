@@ -0,0 +1,75 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.benchmarks;
+
+import com.example.pinochleinandroid.models.cards.Card;
+import com.example.pinochleinandroid.models.cards.MeldInstance;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class PlayerBenchmark {
+    //number of different hands cycled through (must be a power of 2)
+    private static final int NUM_OF_FIXTURES = 64;
+
+    @Param({"4", "8", "12", "16"})
+    public int handSize;
+
+    //number of melds played from each hand before it is measured
+    @Param({"0", "2", "4"})
+    public int playedMelds;
+
+    private HandFixture[] fixtures;
+    private BenchmarkPlayer[] players;
+    private int next;
+
+    /**
+     * creates the seeded hands and the players holding them
+     */
+    @Setup
+    public void setUp() {
+        fixtures = HandFixture.create(1, NUM_OF_FIXTURES, handSize, playedMelds);
+        players = new BenchmarkPlayer[NUM_OF_FIXTURES];
+        for (int i = 0; i < NUM_OF_FIXTURES; i++) {
+            players[i] = new BenchmarkPlayer(fixtures[i]);
+        }
+        next = 0;
+    }
+
+    /**
+     * suggests a lead card from the next hand
+     * @return the suggested card
+     */
+    @Benchmark
+    public Card suggestLeadCard() {
+        return players[next++ & (NUM_OF_FIXTURES - 1)].leadCard();
+    }
+
+    /**
+     * suggests a chase card from the next hand against a card from the rest of its deck
+     * @return the suggested card
+     */
+    @Benchmark
+    public Card suggestChaseCard() {
+        int index = next++ & (NUM_OF_FIXTURES - 1);
+        return players[index].chaseCard(fixtures[index].getOpponentCard());
+    }
+
+    /**
+     * suggests a meld from the next hand
+     * @return the suggested meld
+     */
+    @Benchmark
+    public MeldInstance suggestMeld() {
+        return players[next++ & (NUM_OF_FIXTURES - 1)].meld();
+    }
+}
@@ -0,0 +1,67 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.benchmarks;
+
+import com.example.pinochleinandroid.models.GameModel;
+import com.example.pinochleinandroid.models.simulation.ComputerPlayerFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class SaveGameBenchmark {
+    //how far into a seeded round the game is saved: at the deal, with about half of the stock dealt, and with the stock nearly used up
+    @Param({"0", "30", "60"})
+    public int stepsPlayed;
+
+    private GameModel gameModel;
+    private String saveData;
+
+    /**
+     * plays a seeded round between two computer players up to the requested point and saves it
+     */
+    @Setup
+    public void setUp() {
+        gameModel = new GameModel(new ComputerPlayerFactory(), 1);
+        gameModel.startNewGame();
+        if (gameModel.isHumansTurn() == null) {
+            gameModel.tossCoin("heads");
+        }
+        //play the requested number of steps, then finish the turn so that the game is saved between turns, like the app does
+        int steps = 0;
+        while (!gameModel.getCurrentStage().equals(GameModel.OUT_OF_CARDS_STAGE)
+                && (steps < stepsPlayed || !gameModel.getCurrentStage().equals(GameModel.LEAD_CARD_STAGE))) {
+            gameModel.goToNextStep();
+            steps++;
+        }
+        saveData = gameModel.generateSaveGameData();
+    }
+
+    /**
+     * serializes the game into the text save format
+     * @return the save file data
+     */
+    @Benchmark
+    public String generateSaveGameData() {
+        return gameModel.generateSaveGameData();
+    }
+
+    /**
+     * parses the text save format into a new game model
+     * @return the loaded game model
+     */
+    @Benchmark
+    public GameModel loadGame() {
+        GameModel loadedGameModel = new GameModel();
+        loadedGameModel.loadGame(saveData);
+        return loadedGameModel;
+    }
+}
@@ -0,0 +1,52 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models;
+
+import java.util.Arrays;
+
+public final class CardIdList {
+    //the entry that separates one meld from the next in a list of meld cards
+    public static final int MELD_SEPARATOR = -1;
+    public static final CardIdList EMPTY = new CardIdList(new byte[0]);
+
+    private final byte[] ids;
+
+    /**
+     * Constructor for CardIdList class. The list takes ownership of the array, which must not be changed afterwards
+     * @param ids the card ids (see Deck.populate()), or MELD_SEPARATOR between melds
+     */
+    CardIdList(byte[] ids) {
+        this.ids = ids;
+    }
+
+    /**
+     * returns the number of entries in the list
+     * @return the number of entries
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * returns an entry of the list
+     * @param position the position of the entry
+     * @return the card id at that position, or MELD_SEPARATOR
+     */
+    public int get(int position) {
+        return ids[position];
+    }
+
+    /**
+     * checks whether two lists hold the same entries in the same order
+     * @param otherList the list to compare with
+     * @return true if both lists hold the same entries, false otherwise
+     */
+    public Boolean sameCardsAs(CardIdList otherList) {
+        return otherList != null && Arrays.equals(ids, otherList.ids);
+    }
+}
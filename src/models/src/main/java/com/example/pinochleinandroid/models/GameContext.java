@@ -0,0 +1,60 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models;
+
+import com.example.pinochleinandroid.models.cards.Card;
+import com.example.pinochleinandroid.models.cards.GroupOfCards;
+import com.example.pinochleinandroid.models.cards.MeldsStorage;
+import com.example.pinochleinandroid.models.cards.Suit;
+
+public interface GameContext {
+    /**
+     * returns the number of cards left in the stock pile, not counting the trump card
+     * @return the number of cards in the stock pile
+     */
+    int getNumOfCardsInStock();
+
+    /**
+     * returns the trump card that is lying face up under the stock
+     * @return the trump card, or null if it has already been picked up by a player
+     */
+    Card getTrumpCard();
+
+    /**
+     * returns the trump suit of the current round
+     * @return the trump suit
+     */
+    Suit getTrumpSuit();
+
+    /**
+     * returns the number of cards in a player's hand
+     * @param player the seat of the player
+     * @return the number of cards in the player's hand
+     */
+    int getNumOfCardsInHand(int player);
+
+    /**
+     * returns the capture pile of a player, which is visible to both players
+     * @param player the seat of the player
+     * @return the capture pile of the player
+     */
+    GroupOfCards getCapturePile(int player);
+
+    /**
+     * returns the melds that a player has played in the current round, which are visible to both players
+     * @param player the seat of the player
+     * @return the melds played by the player
+     */
+    MeldsStorage getMeldsPlayed(int player);
+
+    /**
+     * returns the scores of each player in the current round
+     * @return the round scores, indexed by seat
+     */
+    int[] getRoundScores();
+}
@@ -0,0 +1,43 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models;
+
+public interface GameEventListener {
+    //a player threw a lead card
+    int LEAD_CARD = 0;
+    //a player threw a chase card
+    int CHASE_CARD = 1;
+    //a player played a meld
+    int MELD = 2;
+    //a player drew a card from the stock
+    int CARD_DRAWN = 3;
+    //a player picked up the trump card with the last card of the stock
+    int TRUMP_CARD_TAKEN = 4;
+    //the game moved on without a move by a player, such as deciding the winner of a turn or ending a round
+    int STEP = 5;
+    //a coin toss decided who leads; the player is the winner of the toss
+    int COIN_TOSS = 6;
+    //a new round was dealt from a freshly shuffled stock
+    int NEW_ROUND = 7;
+    //the game was replaced by one loaded from a save file
+    int GAME_LOADED = 8;
+    int NUM_OF_EVENTS = 9;
+
+    /**
+     * called on the thread that changes the game model for every event, in the order they happened, once the change that caused them is complete
+     * @param event the type of the event, one of the constants of this interface
+     * @param player the seat of the player the event is about, or -1 if it is not about a player
+     * @param cardIds the mask of the ids of the cards the event is about, or 0 if it is not about any cards
+     */
+    void onGameEvent(int event, int player, long cardIds);
+
+    /**
+     * called after the events caused by a single change to the game model have all been passed on
+     */
+    void onEventsFinished();
+}
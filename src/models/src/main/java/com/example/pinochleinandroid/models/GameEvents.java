@@ -0,0 +1,60 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models;
+
+import com.example.pinochleinandroid.models.search.CardIds;
+
+public class GameEvents {
+    //an event is packed into a long: the card mask in the low 48 bits, followed by 4 bits for the player plus one and the event type
+    private static final int PLAYER_SHIFT = 48;
+    private static final int EVENT_SHIFT = 52;
+
+    /**
+     * Private constructor, since GameEvents only holds static helpers
+     */
+    private GameEvents() {
+    }
+
+    /**
+     * packs an event into a single long, so that events can be queued and logged without creating objects
+     * @param event the type of the event, one of the constants of GameEventListener
+     * @param player the seat of the player the event is about, or -1
+     * @param cardIds the mask of the ids of the cards the event is about
+     * @return the packed event
+     */
+    public static long pack(int event, int player, long cardIds) {
+        return (cardIds & CardIds.ALL_CARDS) | ((long) (player + 1) << PLAYER_SHIFT) | ((long) event << EVENT_SHIFT);
+    }
+
+    /**
+     * returns the type of a packed event
+     * @param packedEvent the packed event
+     * @return the type of the event, one of the constants of GameEventListener
+     */
+    public static int event(long packedEvent) {
+        return (int) (packedEvent >>> EVENT_SHIFT);
+    }
+
+    /**
+     * returns the player a packed event is about
+     * @param packedEvent the packed event
+     * @return the seat of the player, or -1 if the event is not about a player
+     */
+    public static int player(long packedEvent) {
+        return (int) ((packedEvent >>> PLAYER_SHIFT) & 0xF) - 1;
+    }
+
+    /**
+     * returns the cards a packed event is about
+     * @param packedEvent the packed event
+     * @return the mask of the ids of the cards, or 0 if the event is not about any cards
+     */
+    public static long cardIds(long packedEvent) {
+        return packedEvent & CardIds.ALL_CARDS;
+    }
+}
@@ -0,0 +1,1567 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models;
+
+import com.example.pinochleinandroid.models.cards.BitboardGroupOfCards;
+import com.example.pinochleinandroid.models.cards.Card;
+import com.example.pinochleinandroid.models.cards.Deck;
+import com.example.pinochleinandroid.models.cards.GroupOfCards;
+import com.example.pinochleinandroid.models.cards.Meld;
+import com.example.pinochleinandroid.models.cards.MeldInstance;
+import com.example.pinochleinandroid.models.cards.MeldsStorage;
+import com.example.pinochleinandroid.models.cards.Suit;
+import com.example.pinochleinandroid.models.players.Computer;
+import com.example.pinochleinandroid.models.players.Human;
+import com.example.pinochleinandroid.models.players.Player;
+import com.example.pinochleinandroid.models.search.CardIds;
+import com.example.pinochleinandroid.models.search.TrickTable;
+import com.example.pinochleinandroid.models.utilities.CardTokenizer;
+import com.example.pinochleinandroid.models.utilities.ReplayableRandom;
+import com.example.pinochleinandroid.models.utilities.Serialization;
+import com.example.pinochleinandroid.models.utilities.StringUtilities;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+public class GameModel implements GameContext {
+    public static final int NUM_OF_PLAYERS = 2;
+    public static final String LEAD_CARD_STAGE = "lead_card_stage";
+    public static final String CHASE_CARD_STAGE = "chase_card_stage";
+    public static final String MELD_STAGE = "meld_stage";
+    public static final String INTERMISSION_STAGE = "intermission_stage";
+    public static final String ROUND_END_STAGE = "round_end_stage";
+    public static final String OUT_OF_CARDS_STAGE = "out_of_cards_stage";
+    public static final int HUMAN_PLAYER = 1;
+    public static final int COMPUTER_PLAYER = 0;
+    //the first bytes of a binary save file ("PNCL"), and the version of the binary format written by this class
+    public static final int SAVE_FILE_MAGIC = 0x504E434C;
+    public static final int SAVE_FILE_VERSION = 1;
+    //the kinds of card lists a snapshot holds for each player
+    private static final int HAND_LISTS = 0;
+    private static final int CAPTURE_LISTS = 1;
+    private static final int MELD_LISTS = 2;
+
+    private int roundNumber;
+    private Player[] players;
+    private int[] roundScores;
+    private int[] gameScores;
+    private Deck stock;
+    private Card trumpCard;
+    private Suit trumpSuit;
+    private Boolean humansTurn;
+    private Boolean humansLeadThrow;
+    private Card currentLeadCard;
+    private Card currentChaseCard;
+    private MeldInstance currentMeld;
+    private String coinTossResult;
+    private String[] messages;
+    private String currentStage;
+    private String[] loadedHandStrs;
+    private String [] loadedCaptureStrs;
+    private String [] loadedMeldStrs;
+    private String loadedStockStr;
+    //counts the changes made to the game, so that snapshots are only rebuilt when something has changed
+    private long version;
+    private GameSnapshot snapshot;
+    //source of randomness for shuffling and coin tosses, so that games can be reproduced from a seed
+    private ReplayableRandom random;
+    //whether the shuffles and coin tosses still follow from the seed of the game, so that a new round can be replayed from its event
+    private Boolean replayableShuffles;
+    //creates the players of each round; null means a Computer and a Human player
+    private PlayerFactory playerFactory;
+    //the events of the change being made, passed on to the listener once the change is complete
+    private GameEventListener eventListener;
+    private long[] pendingEvents;
+    private int numOfPendingEvents;
+
+    /**
+     * The default constructor for GameModel class
+     */
+    public GameModel() {
+        this(null, new ReplayableRandom());
+    }
+
+    /**
+     * Overloaded constructor for GameModel class, used to play reproducible games without a user interface
+     * @param playerFactory creates the player of each seat at the start of every round
+     * @param seed the seed from which every shuffle and coin toss of the game is generated
+     */
+    public GameModel(PlayerFactory playerFactory, long seed) {
+        this(playerFactory, new ReplayableRandom(seed));
+        replayableShuffles = true;
+    }
+
+    /**
+     * Overloaded constructor for GameModel class
+     * @param playerFactory creates the player of each seat at the start of every round, or null for a Computer and a Human player
+     * @param random the source of randomness for shuffling and coin tosses
+     */
+    private GameModel(PlayerFactory playerFactory, ReplayableRandom random) {
+        //initialize all fields
+        this.playerFactory = playerFactory;
+        this.random = random;
+        replayableShuffles = false;
+        roundNumber = -1;
+        players = new Player[NUM_OF_PLAYERS];
+        roundScores = new int[NUM_OF_PLAYERS];
+        gameScores = new int[NUM_OF_PLAYERS];
+        stock = null;
+        trumpCard = null;
+        trumpSuit = null;
+        humansTurn = null;
+        humansLeadThrow = null;
+        currentLeadCard = null;
+        currentChaseCard = null;
+        currentMeld = null;
+        coinTossResult = null;
+        messages = new String[NUM_OF_PLAYERS];
+        currentStage = null;
+        loadedHandStrs = new String[NUM_OF_PLAYERS];
+        loadedCaptureStrs = new String[NUM_OF_PLAYERS];
+        loadedMeldStrs = new String[NUM_OF_PLAYERS];
+        loadedStockStr = "";
+        version = 0;
+        snapshot = null;
+        eventListener = null;
+        pendingEvents = new long[8];
+        numOfPendingEvents = 0;
+    }
+
+    /**
+     * sets the listener that is told about every move and every other change of the game, such as a journal that saves the game as it is played
+     * @param eventListener the listener, or null for none
+     */
+    public void setGameEventListener(GameEventListener eventListener) {
+        this.eventListener = eventListener;
+        numOfPendingEvents = 0;
+    }
+
+    /**
+     * sets the GameModel object up for a brand new game of Pinochle
+     */
+    public void startNewGame() {
+        markChanged();
+        roundNumber = 1;
+        //assign game and round scores to 0
+        for (int i = 0; i < NUM_OF_PLAYERS; i++) {
+            gameScores[i] = 0;
+        }
+        setUpNewRound();
+    }
+
+    /**
+     * Returns the current round number in a game of Pinochle
+     * @return the current round number in a game of Pinochle
+     */
+    public int getRoundNumber() {
+        return roundNumber;
+    }
+
+    /**
+     * Returns the current round scores for each player in a round of Pinochle
+     * @return the current round scores for each player in a round of Pinochle
+     */
+    public int[] getRoundScores() {
+        return roundScores;
+    }
+
+    /**
+     * Returns the current game scores for each player in a game of Pinochle
+     * @return the current game scores for each player in a game of Pinochle
+     */
+    public int[] getGameScores() {
+        return gameScores;
+    }
+
+    /**
+     * Returns the current messages to be displayed for each player in a game of Pinochle
+     * @return the current messages to be displayed for each player in a game of Pinochle
+     */
+    public String[] getMessages() {
+        return messages;
+    }
+
+    /**
+     * Informs whether or not it is currently the human's turn to make a move
+     * @return true if it is the human's turn, false otherwise
+     */
+    public Boolean isHumansTurn() {
+        return humansTurn;
+    }
+
+    /**
+     * Informs whether or not the current round had the human player as the lead player
+     * @return ture if the current round had the human player as the lead player, false otherwise
+     */
+    public Boolean isHumansLeadThrow() {
+        return humansLeadThrow;
+    }
+
+    /**
+     * Returns the string representation of the trump card for the current round of Pinochle
+     * @return the string representation of the trump card for the current round of Pinochle
+     */
+    public String getTrumpCardString() {
+        if(trumpCard != null) {
+            return trumpCard.getShortCardStr();
+        } else {
+            return " " + trumpSuit.getShortString();
+        }
+    }
+
+    /**
+     * Informs what player currently has the highest score in a round of Pinochle
+     * @return the player (represented by an integer) that currently has the highest score in a round of Pinochle, -1 if there is no leader
+     */
+    public int roundLeader() {
+        if (roundScores[HUMAN_PLAYER] > roundScores[COMPUTER_PLAYER]) {
+            return HUMAN_PLAYER;
+        } else if(roundScores[HUMAN_PLAYER] < roundScores[COMPUTER_PLAYER]) {
+            return COMPUTER_PLAYER;
+        } else {
+            return -1;
+        }
+    }
+
+    /**
+     * Informs what player currently has the highest score in a game of Pinochle
+     * @return the player (represented by an integer) that currently has the highest score in a game of Pinochle, -1 if there is no leader
+     */
+    public int gameLeader() {
+        if (gameScores[HUMAN_PLAYER] > gameScores[COMPUTER_PLAYER]) {
+            return HUMAN_PLAYER;
+        } else if(gameScores[HUMAN_PLAYER] < gameScores[COMPUTER_PLAYER]) {
+            return COMPUTER_PLAYER;
+        } else {
+            return -1;
+        }
+    }
+
+    /**
+     * Tosses a coin and determines who the winner of the coin toss is and updates the game model accordingly
+     * @param coinTossPrediction the prediction made by the human on what the coin toss will result in
+     * return the result of the coin toss
+     */
+    public String tossCoin(String coinTossPrediction) {
+        markChanged();
+        flipCoin();
+
+        //if the human player accurately called the coin toss, then assign him as the next player
+        humansTurn = coinTossPrediction.equals(coinTossResult);
+        humansLeadThrow = humansTurn;
+        urgeNextMove();
+        recordEvent(GameEventListener.COIN_TOSS, currentPlayer(), 0);
+        publishEvents();
+
+        return coinTossResult;
+    }
+
+    /**
+     * flips the coin of a coin toss
+     */
+    private void flipCoin() {
+        if (random.nextInt(2) == 0) {
+            coinTossResult = "heads";
+        } else {
+            coinTossResult = "tails";
+        }
+    }
+
+
+    /**
+     * returns an immutable snapshot of everything the game screens display. The snapshot is only rebuilt when the game
+     * model has changed since the last call, and card lists that did not change are shared with the previous snapshot
+     * @return the snapshot of the current state of the game
+     */
+    public GameSnapshot getSnapshot() {
+        if(snapshot != null && snapshot.getVersion() == version) {
+            return snapshot;
+        }
+
+        CardIdList[] hands = new CardIdList[NUM_OF_PLAYERS];
+        CardIdList[] capturePiles = new CardIdList[NUM_OF_PLAYERS];
+        CardIdList[] melds = new CardIdList[NUM_OF_PLAYERS];
+        CardIdList stockCards = CardIdList.EMPTY;
+        int trumpCardId = -1;
+        int leadCardId = -1;
+        int chaseCardId = -1;
+        CardIdList meldCards = null;
+
+        //the cards only exist once a round has been set up
+        if(trumpSuit != null) {
+            for(int i = 0; i < NUM_OF_PLAYERS; i++) {
+                hands[i] = toCardIdList(players[i].getHand().getCards(), false, previousList(i, HAND_LISTS));
+                capturePiles[i] = toCardIdList(players[i].getCapturePile().getCards(), false, previousList(i, CAPTURE_LISTS));
+                melds[i] = meldsToCardIdList(players[i].getMeldsPlayed(), previousList(i, MELD_LISTS));
+            }
+            stockCards = toCardIdList(stock.getAllRemainingCards(), true, snapshot == null ? null : snapshot.getStock());
+            trumpCardId = CardIds.idOf(trumpCard);
+            leadCardId = CardIds.idOf(currentLeadCard);
+            chaseCardId = CardIds.idOf(currentChaseCard);
+            if(currentMeld != null) {
+                meldCards = toCardIdList(currentMeld.getCards(), false, snapshot == null ? null : snapshot.getMeldCards());
+            }
+        } else {
+            for(int i = 0; i < NUM_OF_PLAYERS; i++) {
+                hands[i] = CardIdList.EMPTY;
+                capturePiles[i] = CardIdList.EMPTY;
+                melds[i] = CardIdList.EMPTY;
+            }
+        }
+
+        snapshot = new GameSnapshot(version, currentStage, humansTurn, humansLeadThrow, roundNumber, gameScores.clone(),
+                roundScores.clone(), messages.clone(), trumpSuit == null ? -1 : trumpSuit.ordinal(), trumpCardId,
+                hands, capturePiles, melds, stockCards, leadCardId, chaseCardId, meldCards);
+        return snapshot;
+    }
+
+    /**
+     * returns the number of cards left in the stock pile, not counting the trump card
+     * @return the number of cards in the stock pile
+     */
+    @Override
+    public int getNumOfCardsInStock() {
+        return stock.getNumRemaining();
+    }
+
+    /**
+     * returns the trump card that is lying face up under the stock
+     * @return the trump card, or null if it has already been picked up by a player
+     */
+    @Override
+    public Card getTrumpCard() {
+        return trumpCard;
+    }
+
+    /**
+     * returns the trump suit of the current round
+     * @return the trump suit
+     */
+    @Override
+    public Suit getTrumpSuit() {
+        return trumpSuit;
+    }
+
+    /**
+     * returns the number of cards in a player's hand
+     * @param player the seat of the player
+     * @return the number of cards in the player's hand
+     */
+    @Override
+    public int getNumOfCardsInHand(int player) {
+        return players[player].numCardsInHand();
+    }
+
+    /**
+     * returns the capture pile of a player, which is visible to both players
+     * @param player the seat of the player
+     * @return the capture pile of the player
+     */
+    @Override
+    public GroupOfCards getCapturePile(int player) {
+        return players[player].getCapturePile();
+    }
+
+    /**
+     * returns the melds that a player has played in the current round, which are visible to both players
+     * @param player the seat of the player
+     * @return the melds played by the player
+     */
+    @Override
+    public MeldsStorage getMeldsPlayed(int player) {
+        return players[player].getMeldsPlayed();
+    }
+
+    /**
+     * returns how many melds of the given type a player has played in the current round of pinochle
+     * @param player the player whose melds are to be counted
+     * @param meld the meld type to be counted
+     * @return the number of melds of the given type played by the player
+     */
+    public int getNumOfMeldsPlayed(int player, Meld meld) {
+        return players[player].getMeldsPlayed().getNumOfMeldsByType(meld);
+    }
+
+    /**
+     * returns the current stage that a game of Pinochle is in
+     * @return the current stage that a game of Pinochle is in
+     */
+    public String getCurrentStage() {
+        return currentStage;
+    }
+
+    /**
+     * Generates the serialized data from the current state of the game model that will be used to write to a save file
+     * @return the serialized data from the current state of the game model that will be used to write to a save file
+     */
+    public String generateSaveGameData() {
+
+        //prepare data to save to file
+        StringBuilder saveData = new StringBuilder();
+
+        Serialization [] serializations = new Serialization[NUM_OF_PLAYERS];
+
+        for(int i = 0; i < NUM_OF_PLAYERS; i++) {
+            serializations[i] = new Serialization();
+            serializations[i].setPlayerObjects(players[i].getHand(), players[i].getMeldsPlayed(), players[i].getCapturePile());
+        }
+
+        //round number
+        saveData.append("Round: ").append(roundNumber).append("\n\n");
+        //player data
+        for(int i = 0; i < NUM_OF_PLAYERS; i++) {
+            saveData.append(i == 0 ? "Computer:" : "Human:").append("\n");
+            saveData.append("   Score: ").append(gameScores[i]).append(" / ").append(roundScores[i]).append("\n");
+            saveData.append("   Hand: ").append(serializations[i].getHandString()).append("\n");
+            saveData.append("   Capture Pile: ").append(serializations[i].getCaptureString()).append("\n");
+            saveData.append("   Melds: ").append(serializations[i].getMeldString()).append("\n\n");
+        }
+
+        if(stock.getNumRemaining() == 0) {
+            saveData.append("Trump Card: ").append(trumpSuit.getShortString()).append("\n");
+        } else {
+            saveData.append("Trump Card: ").append(trumpCard.getShortCardStr()).append("\n");
+        }
+
+        ArrayList<Card> stockCards = stock.getAllRemainingCards();
+        saveData.append("Stock: ");
+        //the card at the top of the stock is the card at the end of the vector
+        for(int i = stockCards.size() - 1; i >= 0; i--) {
+            saveData.append(stockCards.get(i).getShortCardStr()).append(" ");
+        }
+        saveData.append("\n\n");
+        saveData.append("Next Player: ").append(humansTurn ? "Human" : "Computer");
+
+        return saveData.toString();
+    }
+
+
+
+    /**
+     * Writes the current state of the game in the binary save format: a header with the format version, card ids as single bytes,
+     * each meld as a bitmask of the ids of its cards, and a CRC32 checksum of everything before it at the end.
+     * Games are only saved at the start of a turn, before a lead card is played
+     * @param outputStream the stream to write to, which should be buffered; it is flushed but not closed
+     * @throws IOException if the stream cannot be written to
+     * @throws IllegalStateException if the game is not at the start of a turn
+     */
+    public void writeSaveGame(OutputStream outputStream) throws IOException {
+        if(!isAtStartOfTurn()) {
+            throw new IllegalStateException("a game can only be saved at the start of a turn, not in stage " + currentStage);
+        }
+        CheckedOutputStream checkedStream = new CheckedOutputStream(outputStream, new CRC32());
+        DataOutputStream out = new DataOutputStream(checkedStream);
+
+        out.writeInt(SAVE_FILE_MAGIC);
+        out.writeShort(SAVE_FILE_VERSION);
+        out.writeInt(roundNumber);
+        for(int i = 0; i < NUM_OF_PLAYERS; i++) {
+            out.writeInt(gameScores[i]);
+            out.writeInt(roundScores[i]);
+            writeCardIds(out, players[i].getHand().getCards());
+            writeCardIds(out, players[i].getCapturePile().getCards());
+
+            //each meld as the mask of its card ids, in the order the melds are stored
+            ArrayList<ArrayList<MeldInstance>> melds = players[i].getMeldsPlayed().getAllMelds();
+            out.writeByte(players[i].getMeldsPlayed().getNumOfMelds());
+            for(int j = 0; j < melds.size(); j++) {
+                for(int k = 0; k < melds.get(j).size(); k++) {
+                    long meldMask = 0;
+                    for(int n = 0; n < melds.get(j).get(k).getNumOfCards(); n++) {
+                        meldMask |= 1L << melds.get(j).get(k).getCardByPosition(n).getId();
+                    }
+                    out.writeLong(meldMask);
+                }
+            }
+        }
+        out.writeByte(trumpSuit.ordinal());
+        out.writeByte(CardIds.idOf(trumpCard));
+        //the stock from the bottom up
+        writeCardIds(out, stock.getAllRemainingCards());
+        out.writeBoolean(humansTurn);
+
+        out.writeInt((int) checkedStream.getChecksum().getValue());
+        out.flush();
+    }
+
+    /**
+     * Informs whether save data is in the binary save format rather than the text format
+     * @param saveData the first bytes of the save data (at least four)
+     * @return true if the data starts like a binary save file, false otherwise
+     */
+    public static Boolean isBinarySaveData(byte[] saveData) {
+        if(saveData == null || saveData.length < 4) {
+            return false;
+        }
+        int magic = ((saveData[0] & 0xFF) << 24) | ((saveData[1] & 0xFF) << 16) | ((saveData[2] & 0xFF) << 8) | (saveData[3] & 0xFF);
+        return magic == SAVE_FILE_MAGIC;
+    }
+
+    /**
+     * Writes a checkpoint of the game: the state of the source of randomness followed by the game in the binary save format, so that
+     * the shuffles and coin tosses after the checkpoint come out the same once it is loaded. Like a save, it can only be written at the start of a turn
+     * @param outputStream the stream to write to; it is flushed but not closed
+     * @throws IOException if the stream cannot be written to
+     * @throws IllegalStateException if the game is not at the start of a turn
+     */
+    public void writeCheckpoint(OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeLong(random.getState());
+        writeSaveGame(out);
+    }
+
+    /**
+     * sets the GameModel object state from a checkpoint written by writeCheckpoint(), including the state of its source of randomness
+     * @param inputStream the stream to read the checkpoint from, which should be buffered
+     * @return true if the checkpoint was loaded, false if it is not valid, in which case the game model is unchanged
+     * @throws IOException if the stream cannot be read
+     */
+    public Boolean loadCheckpoint(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(inputStream);
+        long randomState;
+        try {
+            randomState = in.readLong();
+        } catch (EOFException e) {
+            //the checkpoint was cut short
+            return false;
+        }
+        if(!loadGame(in)) {
+            return false;
+        }
+        random.setState(randomState);
+        replayableShuffles = true;
+        return true;
+    }
+
+    /**
+     * sets the GameModel object state (to resume a game of Pinochle) from data in the binary save format. Every card is looked up
+     * directly by its id, and the data is checked in full before the game model is changed
+     * @param inputStream the stream to read the save data from, which should be buffered
+     * @return true if the game was loaded, false if the data is not a valid save file of a supported version, in which case the game model is unchanged
+     * @throws IOException if the stream cannot be read
+     */
+    public Boolean loadGame(InputStream inputStream) throws IOException {
+        CheckedInputStream checkedStream = new CheckedInputStream(inputStream, new CRC32());
+        DataInputStream in = new DataInputStream(checkedStream);
+
+        int loadedRoundNumber;
+        int[] loadedGameScores = new int[NUM_OF_PLAYERS];
+        int[] loadedRoundScores = new int[NUM_OF_PLAYERS];
+        byte[][] handIds = new byte[NUM_OF_PLAYERS][];
+        byte[][] captureIds = new byte[NUM_OF_PLAYERS][];
+        long[][] meldMasks = new long[NUM_OF_PLAYERS][];
+        int trumpSuitOrdinal;
+        int trumpCardId;
+        byte[] stockIds;
+        Boolean loadedHumansTurn;
+        try {
+            if(in.readInt() != SAVE_FILE_MAGIC || in.readUnsignedShort() != SAVE_FILE_VERSION) {
+                return false;
+            }
+            loadedRoundNumber = in.readInt();
+            for(int i = 0; i < NUM_OF_PLAYERS; i++) {
+                loadedGameScores[i] = in.readInt();
+                loadedRoundScores[i] = in.readInt();
+                handIds[i] = readCardIds(in);
+                captureIds[i] = readCardIds(in);
+                meldMasks[i] = new long[in.readUnsignedByte()];
+                for(int j = 0; j < meldMasks[i].length; j++) {
+                    meldMasks[i][j] = in.readLong();
+                }
+            }
+            trumpSuitOrdinal = in.readUnsignedByte();
+            trumpCardId = in.readByte();
+            stockIds = readCardIds(in);
+            loadedHumansTurn = in.readBoolean();
+
+            int checksum = (int) checkedStream.getChecksum().getValue();
+            if(in.readInt() != checksum) {
+                return false;
+            }
+        } catch (EOFException e) {
+            //the file was cut short
+            return false;
+        }
+
+        //every card of the deck must be in exactly one place
+        long placedCards = 0;
+        for(int i = 0; i < NUM_OF_PLAYERS; i++) {
+            placedCards = placeCardIds(handIds[i], placedCards);
+            placedCards = placeCardIds(captureIds[i], placedCards);
+        }
+        //melds can only use cards that are in a hand or a capture pile
+        long playedCards = placedCards;
+        placedCards = placeCardIds(stockIds, placedCards);
+        if(trumpSuitOrdinal >= Suit.values().length || trumpCardId >= CardIds.NUM_OF_CARD_IDS || trumpCardId < -1) {
+            return false;
+        }
+        if(trumpCardId >= 0) {
+            if(CardIds.suit(trumpCardId) != trumpSuitOrdinal) {
+                return false;
+            }
+            placedCards = placeCardIds(new byte[] {(byte) trumpCardId}, placedCards);
+        }
+        if(placedCards != CardIds.ALL_CARDS) {
+            return false;
+        }
+
+        Suit loadedTrumpSuit = Suit.values()[trumpSuitOrdinal];
+        Player[] loadedPlayers = new Player[NUM_OF_PLAYERS];
+        for(int i = 0; i < NUM_OF_PLAYERS; i++) {
+            GroupOfCards hand = new BitboardGroupOfCards();
+            for(int j = 0; j < handIds[i].length; j++) {
+                hand.addCard(Card.fromId(handIds[i][j]));
+            }
+            GroupOfCards capturePile = new GroupOfCards();
+            for(int j = 0; j < captureIds[i].length; j++) {
+                capturePile.addCard(Card.fromId(captureIds[i][j]));
+            }
+            MeldsStorage meldsPlayed = new MeldsStorage();
+            for(int j = 0; j < meldMasks[i].length; j++) {
+                if(meldMasks[i][j] == 0 || (meldMasks[i][j] & ~playedCards) != 0) {
+                    return false;
+                }
+                ArrayList<Card> meldCards = new ArrayList<>();
+                for(long mask = meldMasks[i][j]; mask != 0; mask &= mask - 1) {
+                    meldCards.add(Card.fromId(Long.numberOfTrailingZeros(mask)));
+                }
+                if(!meldsPlayed.addMeld(new MeldInstance(meldCards, loadedTrumpSuit))) {
+                    return false;
+                }
+            }
+            loadedPlayers[i] = createLoadedPlayer(i, hand, capturePile, meldsPlayed, loadedTrumpSuit);
+        }
+
+        //the data is valid, so the game model can now be changed
+        markChanged();
+        roundNumber = loadedRoundNumber;
+        for(int i = 0; i < NUM_OF_PLAYERS; i++) {
+            gameScores[i] = loadedGameScores[i];
+            roundScores[i] = loadedRoundScores[i];
+            players[i] = loadedPlayers[i];
+            players[i].setGameContext(this, i);
+        }
+        trumpSuit = loadedTrumpSuit;
+        trumpCard = trumpCardId >= 0 ? Card.fromId(trumpCardId) : null;
+        stock = new Deck();
+        stock.clear();
+        //the stock was written from the bottom up
+        for(int i = 0; i < stockIds.length; i++) {
+            stock.putCardAtTop(Card.fromId(stockIds[i]));
+        }
+        humansTurn = loadedHumansTurn;
+        replayableShuffles = false;
+        resumeLoadedGame();
+        recordEvent(GameEventListener.GAME_LOADED, -1, 0);
+        publishEvents();
+        return true;
+    }
+
+    /**
+     * sets the GameModel object state (to resume a game of Pinochle) by parsing data obtained from a save file
+     * @param saveFileData the serialized data from the save file
+     */
+    public void loadGame(String saveFileData) {
+        markChanged();
+        trumpCard = new Card();
+
+        loadGameData(saveFileData);
+
+        //once game data has been loaded, we can start forming objects from our serializations
+
+        //first, gather all the cards of the deck into a GroupOfCards object (backed by a bitboard, since cards are looked up by rank and suit repeatedly)
+        GroupOfCards allCards = new BitboardGroupOfCards();
+        for(int id = 0; id < Deck.NUM_OF_CARDS; id++) {
+            allCards.addCard(Card.fromId(id));
+        }
+        //now, read the types of the stock pile cards straight from the string
+        int[] stockTypes = new int[CardIds.NUM_OF_CARD_IDS];
+        int numOfStockCards = 0;
+        CardTokenizer tokenizer = new CardTokenizer(loadedStockStr);
+        while(tokenizer.next() && numOfStockCards < stockTypes.length) {
+            stockTypes[numOfStockCards++] = tokenizer.getCardType();
+        }
+        if(!tokenizer.isValid() || tokenizer.getCardType() >= 0) {
+            throw new IllegalArgumentException("not a valid string of cards: " + loadedStockStr);
+        }
+
+        stock = new Deck();
+        stock.clear();
+
+        //create the final stock pile by transferring over matching cards from allCards
+        //it is very important here to add the cards in reverse order from how they were listed (so we need to go from right to left)
+        //this is beause stock::putCardAtTop() adds the card to the "top" of the pile each time
+        for(int i = numOfStockCards - 1; i >= 0; i--) {
+            //take the first instance of a matching card from allCards
+            long copies = ((BitboardGroupOfCards) allCards).getCardMask() & CardIds.typeMask(stockTypes[i]);
+            if(copies == 0) {
+                throw new IllegalArgumentException("the stock holds a third copy of a card: " + loadedStockStr);
+            }
+            int id = Long.numberOfTrailingZeros(copies);
+            Card stockCard = allCards.getCardById(id);
+            //remove the card from allCards
+            allCards.removeCardById(id);
+            stock.putCardAtTop(stockCard);
+        }
+
+        //now, we must create the player objects
+        //first, deserialize the strings
+        //important to receive the version of allCards returned by the Serialization::setPlayerStrings in order to reflect true stock pile
+        Serialization [] szs = new Serialization[NUM_OF_PLAYERS];
+        for(int i = 0; i < NUM_OF_PLAYERS; i++) {
+            szs[i] = new Serialization();
+            allCards = szs[i].setPlayerStrings(loadedHandStrs[i], loadedMeldStrs[i], loadedCaptureStrs[i], allCards, trumpSuit);
+        }
+
+        //the only card left over is the trump card under the stock, which was read with a rank and suit but no id
+        if(trumpSuit == null || (trumpCard != null && (trumpCard.getRank() == null || trumpCard.getSuit() == null))) {
+            throw new IllegalArgumentException("not a valid trump card");
+        }
+        if(trumpCard != null) {
+            long trumpCopies = ((BitboardGroupOfCards) allCards).getCardMask() & BitboardGroupOfCards.getRankAndSuitMask(trumpCard.getRank(), trumpCard.getSuit());
+            if(trumpCopies == 0) {
+                throw new IllegalArgumentException("both copies of the trump card " + trumpCard.getShortCardStr() + " are already used");
+            }
+            trumpCard = Card.fromId(Long.numberOfTrailingZeros(trumpCopies));
+            allCards.removeCardById(trumpCard.getId());
+        }
+
+        //now create the player objects
+        for(int i = 0; i < NUM_OF_PLAYERS; i++) {
+            players[i] = createLoadedPlayer(i, szs[i].getHand(), szs[i].getCapturePile(), szs[i].getMeldsPlayed(), trumpSuit);
+        }
+        players[COMPUTER_PLAYER].setGameContext(this, COMPUTER_PLAYER);
+        players[HUMAN_PLAYER].setGameContext(this, HUMAN_PLAYER);
+
+        replayableShuffles = false;
+        resumeLoadedGame();
+        recordEvent(GameEventListener.GAME_LOADED, -1, 0);
+        publishEvents();
+    }
+
+    /**
+     * creates the player of a seat for a game that is being loaded, through the player factory if there is one, so that a loaded game
+     * is played by the same kind of players as a new one
+     * @param seat the seat of the player
+     * @param hand the hand of the player
+     * @param capturePile the capture pile of the player
+     * @param meldsPlayed the melds the player has already played
+     * @param trumpSuit the trump suit of the round
+     * @return the player
+     */
+    private Player createLoadedPlayer(int seat, GroupOfCards hand, GroupOfCards capturePile, MeldsStorage meldsPlayed, Suit trumpSuit) {
+        if(playerFactory == null) {
+            if(seat == COMPUTER_PLAYER) {
+                return new Computer(hand, capturePile, meldsPlayed, trumpSuit);
+            }
+            return new Human(hand, capturePile, meldsPlayed, trumpSuit);
+        }
+        Player player = playerFactory.createPlayer(seat);
+        player.resumeRound(hand, capturePile, meldsPlayed, trumpSuit);
+        return player;
+    }
+
+    /**
+     * sets the remaining model fields once a game has been loaded, which always resumes at the start of a turn
+     */
+    private void resumeLoadedGame() {
+        //set the remaining model fields
+        currentLeadCard = null;
+        currentChaseCard = null;
+        currentMeld = null;
+        humansLeadThrow = humansTurn;
+        currentStage = LEAD_CARD_STAGE;
+
+        if(humansTurn) {
+            messages[HUMAN_PLAYER] = "It is the human player's turn to throw a lead card";
+            messages[COMPUTER_PLAYER] = "";
+        } else {
+            messages[COMPUTER_PLAYER] = "It is the computer player's turn to throw a lead card";
+            messages[HUMAN_PLAYER] = "";
+        }
+    }
+
+    /**
+     * Informs the model to update itself to a state representing the next state in a game of pinochle
+     */
+    public void goToNextStep() {
+        markChanged();
+        if(currentStage == null) {
+            return;
+        }
+
+        if(currentStage.equals(LEAD_CARD_STAGE) && isAutomatedTurn()) {
+            automatedThrowsLeadCard();
+        } else if(currentStage.equals(CHASE_CARD_STAGE) && isAutomatedTurn()) {
+            automatedThrowsChaseCard();
+        } else if (currentStage.equals(MELD_STAGE) && isAutomatedTurn()) {
+            if(players[currentPlayer()].isMeldPossible()) {
+                automatedPlaysMeld();
+            } else {
+                recordEvent(GameEventListener.STEP, -1, 0);
+                nextTurn();
+            }
+        } else if (currentStage.equals(INTERMISSION_STAGE)) {
+            recordEvent(GameEventListener.STEP, -1, 0);
+            //if it is time to decide winner between chase and lead cards
+            if(currentChaseCard != null && currentLeadCard != null) {
+                decideTurnWinner();
+            } else if (currentMeld == null && currentChaseCard == null && currentLeadCard == null) {
+                currentStage = MELD_STAGE;
+                urgeNextMove();
+            } else if(currentMeld != null) {
+                //if a meld has been played by the round winner
+                currentMeld = null;
+                nextTurn();
+            }
+        } else if(currentStage.equals(OUT_OF_CARDS_STAGE)) {
+            recordEvent(GameEventListener.STEP, -1, 0);
+            currentStage = ROUND_END_STAGE;
+            roundNumber++;
+            //increment game scores
+            for(int i = 0; i < NUM_OF_PLAYERS; i++) {
+                gameScores[i] += roundScores[i];
+            }
+        }
+        publishEvents();
+    }
+
+
+
+    /**
+     * sets up the GameModel object state for a new round of Pinochle
+     */
+    public void setUpNewRound() {
+        markChanged();
+        //create players
+        //player in index 0 is the computer player
+        if(playerFactory == null) {
+            players[COMPUTER_PLAYER] = new Computer();
+            players[HUMAN_PLAYER] = new Human();
+        } else {
+            players[COMPUTER_PLAYER] = playerFactory.createPlayer(COMPUTER_PLAYER);
+            players[HUMAN_PLAYER] = playerFactory.createPlayer(HUMAN_PLAYER);
+        }
+
+        for (int i = 0; i < NUM_OF_PLAYERS; i++) {
+            roundScores[i] = 0;
+            messages[i] = "";
+        }
+
+        //create the stock pile
+        stock = new Deck(random);
+
+        //distribute cards to each player
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 4; j++) {
+                players[HUMAN_PLAYER].takeOneCard(stock.takeOneFromTop());
+            }
+            for (int j = 0; j < 4; j++) {
+                players[COMPUTER_PLAYER].takeOneCard(stock.takeOneFromTop());
+            }
+        }
+
+        //pick trump card
+        trumpCard = stock.takeOneFromTop();
+        trumpSuit = trumpCard.getSuit();
+        players[COMPUTER_PLAYER].setTrumpSuit(trumpSuit);
+        players[HUMAN_PLAYER].setTrumpSuit(trumpSuit);
+        players[COMPUTER_PLAYER].setGameContext(this, COMPUTER_PLAYER);
+        players[HUMAN_PLAYER].setGameContext(this, HUMAN_PLAYER);
+
+        //finding out which player goes first
+        if(gameScores[HUMAN_PLAYER] < gameScores[COMPUTER_PLAYER]) {
+            //if the computer has the higher score so far, human does not go first
+            humansTurn = false;
+            humansLeadThrow = false;
+        } else if (gameScores[HUMAN_PLAYER] > gameScores[COMPUTER_PLAYER])  {
+            //if the human has the higher score so far, the human goes first
+            humansTurn = true;
+            humansLeadThrow = true;
+        } else {
+            //if human and computer player have the same score, then coin toss is needed
+            humansTurn = null;
+            humansLeadThrow = null;
+        }
+
+        currentStage = LEAD_CARD_STAGE;
+
+        urgeNextMove();
+        recordEvent(GameEventListener.NEW_ROUND, -1, 0);
+        publishEvents();
+    }
+
+
+
+    /**
+     * Generates a hint to show to the human player
+     */
+    public void generateHint() {
+        markChanged();
+        if(currentStage.equals(LEAD_CARD_STAGE) && currentLeadCard == null) {
+            players[HUMAN_PLAYER].getHelpForLeadCard();
+        } else if (currentStage.equals(CHASE_CARD_STAGE) && currentLeadCard != null) {
+            players[HUMAN_PLAYER].getHelpForChaseCard(currentLeadCard);
+        } else if(currentStage.equals(MELD_STAGE) && currentMeld == null) {
+            players[HUMAN_PLAYER].getHelpForMeld();
+        }
+
+        messages[HUMAN_PLAYER] = players[HUMAN_PLAYER].getMessage();
+    }
+
+    /**
+     * Used to inform the game model that a human player has thrown a lead card
+     * @param cardPosition the position in hand of the card played by the human player
+     */
+    public void humanThrowsLeadCard(int cardPosition) {
+        markChanged();
+        //if no card was selected
+        if(cardPosition == -1) {
+            messages[HUMAN_PLAYER] = "You did not select a lead card. You must select a card to throw.";
+        } else {
+            currentLeadCard = players[HUMAN_PLAYER].playLeadCard(cardPosition);
+            messages[HUMAN_PLAYER] = players[HUMAN_PLAYER].getMessage();
+            //switch turns
+            humansTurn = false;
+            //change stage
+            currentStage = CHASE_CARD_STAGE;
+            urgeNextMove();
+            recordEvent(GameEventListener.LEAD_CARD, HUMAN_PLAYER, 1L << currentLeadCard.getId());
+        }
+        publishEvents();
+    }
+
+    /**
+     * Used to inform the game model that a human player has thrown a chase card
+     * @param cardPosition the position in hand of the card played by the human player
+     */
+    public void humanThrowsChaseCard(int cardPosition) {
+        markChanged();
+        //if no card was selected
+        if(cardPosition == -1) {
+            messages[HUMAN_PLAYER] = "You did not select a chase card. You must select a card to throw.";
+        } else {
+            currentChaseCard = players[HUMAN_PLAYER].playChaseCard(currentLeadCard, cardPosition);
+            messages[HUMAN_PLAYER] = players[HUMAN_PLAYER].getMessage();
+            currentStage = INTERMISSION_STAGE;
+            recordEvent(GameEventListener.CHASE_CARD, HUMAN_PLAYER, 1L << currentChaseCard.getId());
+        }
+        publishEvents();
+    }
+
+    /**
+     * Used to inform the game model that a human player has played a meld
+     * @param cardPositions the positions in hand of the cards played by the human player to create a meld
+     */
+    public void humanPlaysMeld(ArrayList<Integer> cardPositions) {
+        markChanged();
+        if( cardPositions == null || cardPositions.size() == 0) {
+            messages[HUMAN_PLAYER] = "You must select at least one card to create a meld.";
+        } else {
+            MeldInstance meldInstance = players[HUMAN_PLAYER].playMeld(cardPositions);
+            //if the cards did not add up to a meld
+            if (meldInstance != null) {
+                currentMeld = meldInstance;
+                currentStage = INTERMISSION_STAGE;
+                roundScores[HUMAN_PLAYER] += meldInstance.getMeldPoints();
+                messages[HUMAN_PLAYER] = players[HUMAN_PLAYER].getMessage();
+                messages[HUMAN_PLAYER] += " You won " + currentMeld.getMeldPoints() + " points for it.";
+                recordEvent(GameEventListener.MELD, HUMAN_PLAYER, idMask(meldInstance.getCards()));
+            } else {
+                messages[HUMAN_PLAYER] = players[HUMAN_PLAYER].getMessage();
+            }
+
+
+        }
+        publishEvents();
+    }
+
+    /**
+     * Used to inform the game model that the automated player whose turn it is should thrown a lead card
+     */
+    private void automatedThrowsLeadCard() {
+        int player = currentPlayer();
+        currentLeadCard = players[player].playLeadCard(-1);
+        messages[player] = players[player].getMessage();
+        //switch turns
+        humansTurn = player != HUMAN_PLAYER;
+        //change stage
+        currentStage = CHASE_CARD_STAGE;
+        urgeNextMove();
+        recordEvent(GameEventListener.LEAD_CARD, player, 1L << currentLeadCard.getId());
+    }
+
+    /**
+     * Used to inform the game model that the automated player whose turn it is should thrown a chase card
+     */
+    private void automatedThrowsChaseCard() {
+        int player = currentPlayer();
+        currentChaseCard = players[player].playChaseCard(currentLeadCard, -1);
+        messages[player] = players[player].getMessage();
+        currentStage = INTERMISSION_STAGE;
+        recordEvent(GameEventListener.CHASE_CARD, player, 1L << currentChaseCard.getId());
+    }
+
+    /**
+     * Used to inform the game model that the automated player whose turn it is should played a meld
+     */
+    public void automatedPlaysMeld() {
+        markChanged();
+        int player = currentPlayer();
+        if(!players[player].isMeldPossible()) {
+            return;
+        }
+        MeldInstance meldInstance = players[player].playMeld(null);
+        //if the cards did not add up to a meld
+        currentMeld = meldInstance;
+        currentStage = INTERMISSION_STAGE;
+        messages[player] = players[player].getMessage();
+        messages[player] += " It won " + currentMeld.getMeldPoints() + " points for it.";
+        roundScores[player] += meldInstance.getMeldPoints();
+        recordEvent(GameEventListener.MELD, player, idMask(meldInstance.getCards()));
+        publishEvents();
+    }
+
+    /**
+     * returns the player whose turn it currently is
+     * @return HUMAN_PLAYER if it is the human's turn, COMPUTER_PLAYER otherwise
+     */
+    private int currentPlayer() {
+        return humansTurn ? HUMAN_PLAYER : COMPUTER_PLAYER;
+    }
+
+    /**
+     * Informs whether the player whose turn it currently is makes its moves by itself (like the Computer player)
+     * @return true if the current player is automated, false if it waits for moves from the user interface or if no turn has been decided yet
+     */
+    private Boolean isAutomatedTurn() {
+        return humansTurn != null && players[currentPlayer()].isAutomated();
+    }
+
+    /**
+     * records that the state of the game has changed, so that the next snapshot is rebuilt
+     */
+    private void markChanged() {
+        version++;
+    }
+
+    /**
+     * Informs whether the game is at the start of a turn, before a lead card is played, which is the only point a game can be saved and loaded at
+     * @return true if the game is at the start of a turn, false otherwise
+     */
+    public Boolean isAtStartOfTurn() {
+        return LEAD_CARD_STAGE.equals(currentStage) && currentLeadCard == null && humansTurn != null;
+    }
+
+    /**
+     * makes a change to the game that was recorded earlier as an event, such as one read back from a game journal. Moves are played
+     * with the recorded cards instead of asking the players, and the game only moves on without a move where it did when the event was recorded
+     * @param event the type of the event, one of the constants of GameEventListener
+     * @param player the seat of the player the event is about, or -1 if it is not about a player
+     * @param cardIds the mask of the ids of the cards the event is about
+     * @return true if the event was applied (or, for a drawn card, matches the game), false if it does not fit the current state of the game
+     */
+    public Boolean replayEvent(int event, int player, long cardIds) {
+        //the listener is only told about new changes, not about replayed ones
+        GameEventListener listener = eventListener;
+        Boolean playersTurn = humansTurn != null && player == currentPlayer();
+        Boolean singleCard = Long.bitCount(cardIds) == 1;
+        switch (event) {
+            case GameEventListener.LEAD_CARD:
+                if(!isAtStartOfTurn() || !playersTurn || !singleCard) {
+                    return false;
+                }
+                markChanged();
+                currentLeadCard = players[player].playRecordedCard(Long.numberOfTrailingZeros(cardIds));
+                if(currentLeadCard == null) {
+                    return false;
+                }
+                messages[player] = "";
+                humansTurn = player != HUMAN_PLAYER;
+                currentStage = CHASE_CARD_STAGE;
+                urgeNextMove();
+                break;
+            case GameEventListener.CHASE_CARD:
+                if(!CHASE_CARD_STAGE.equals(currentStage) || !playersTurn || !singleCard) {
+                    return false;
+                }
+                markChanged();
+                currentChaseCard = players[player].playRecordedCard(Long.numberOfTrailingZeros(cardIds));
+                if(currentChaseCard == null) {
+                    return false;
+                }
+                messages[player] = "";
+                currentStage = INTERMISSION_STAGE;
+                break;
+            case GameEventListener.MELD:
+                if(!MELD_STAGE.equals(currentStage) || !playersTurn) {
+                    return false;
+                }
+                markChanged();
+                MeldInstance meldInstance = players[player].playRecordedMeld(cardIds);
+                if(meldInstance == null) {
+                    return false;
+                }
+                currentMeld = meldInstance;
+                currentStage = INTERMISSION_STAGE;
+                roundScores[player] += meldInstance.getMeldPoints();
+                messages[player] = "";
+                break;
+            case GameEventListener.CARD_DRAWN:
+            case GameEventListener.TRUMP_CARD_TAKEN:
+                //cards are drawn by the step that ends a turn, so they only need to match
+                return player >= 0 && player < NUM_OF_PLAYERS && singleCard
+                        && players[player].getHand().searchCardById(Long.numberOfTrailingZeros(cardIds));
+            case GameEventListener.STEP:
+                //a step where a player would have to choose a move means the game has gone differently from the recording
+                if(currentStage == null || (isAutomatedTurn() && (currentStage.equals(LEAD_CARD_STAGE) || currentStage.equals(CHASE_CARD_STAGE)
+                        || (currentStage.equals(MELD_STAGE) && players[currentPlayer()].isMeldPossible())))) {
+                    return false;
+                }
+                eventListener = null;
+                goToNextStep();
+                eventListener = listener;
+                break;
+            case GameEventListener.COIN_TOSS:
+                if(humansTurn != null || player < 0 || player >= NUM_OF_PLAYERS) {
+                    return false;
+                }
+                markChanged();
+                //the coin is flipped again, only to keep the shuffles of later rounds the same as when the event was recorded
+                flipCoin();
+                humansTurn = player == HUMAN_PLAYER;
+                humansLeadThrow = humansTurn;
+                urgeNextMove();
+                break;
+            case GameEventListener.NEW_ROUND:
+                //the cards of a new round can only be dealt again if the shuffles still follow from the seed of the game
+                if(!replayableShuffles || (currentStage != null && !currentStage.equals(ROUND_END_STAGE))) {
+                    return false;
+                }
+                eventListener = null;
+                if(currentStage == null) {
+                    startNewGame();
+                } else {
+                    setUpNewRound();
+                }
+                eventListener = listener;
+                break;
+            case GameEventListener.GAME_LOADED:
+                //a loaded game is recorded with a snapshot of its own
+                return true;
+            default:
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * returns a card list of the last snapshot, so that an unchanged list can be shared with the next snapshot
+     * @param player the player whose list is wanted
+     * @param listType HAND_LISTS, CAPTURE_LISTS or MELD_LISTS
+     * @return the list from the last snapshot, or null if there is no snapshot
+     */
+    private CardIdList previousList(int player, int listType) {
+        if(snapshot == null) {
+            return null;
+        } else if(listType == HAND_LISTS) {
+            return snapshot.getHand(player);
+        } else if(listType == CAPTURE_LISTS) {
+            return snapshot.getCapturePile(player);
+        }
+        return snapshot.getMelds(player);
+    }
+
+    /**
+     * writes a list of cards to a binary save file, as their number followed by one byte per card id
+     * @param out the stream to write to
+     * @param cards the cards
+     * @throws IOException if the stream cannot be written to
+     */
+    private static void writeCardIds(DataOutputStream out, ArrayList<Card> cards) throws IOException {
+        out.writeByte(cards.size());
+        for(int i = 0; i < cards.size(); i++) {
+            out.writeByte(cards.get(i).getId());
+        }
+    }
+
+    /**
+     * reads a list of card ids written by writeCardIds()
+     * @param in the stream to read from
+     * @return the card ids, which are yet to be checked
+     * @throws IOException if the stream cannot be read
+     */
+    private static byte[] readCardIds(DataInputStream in) throws IOException {
+        byte[] ids = new byte[in.readUnsignedByte()];
+        in.readFully(ids);
+        return ids;
+    }
+
+    /**
+     * marks card ids read from a save file as placed, checking that each is a valid id that has not been placed before
+     * @param ids the card ids
+     * @param placedCards the mask of the card ids placed so far, or -1 if the save file was already found to be invalid
+     * @return the mask of the card ids placed, or -1 if an id is invalid or placed twice
+     */
+    private static long placeCardIds(byte[] ids, long placedCards) {
+        for(int i = 0; i < ids.length && placedCards != -1; i++) {
+            if(ids[i] < 0 || ids[i] >= CardIds.NUM_OF_CARD_IDS || (placedCards & (1L << ids[i])) != 0) {
+                return -1;
+            }
+            placedCards |= 1L << ids[i];
+        }
+        return placedCards;
+    }
+
+    /**
+     * gathers the ids of a list of cards
+     * @param cards the cards
+     * @return the mask of the ids of the cards
+     */
+    private static long idMask(ArrayList<Card> cards) {
+        long mask = 0;
+        for(int i = 0; i < cards.size(); i++) {
+            mask |= 1L << cards.get(i).getId();
+        }
+        return mask;
+    }
+
+    /**
+     * turns a list of cards into a list of card ids
+     * @param cards the cards
+     * @param reversed whether the list should be in the opposite order of the cards
+     * @param previousList the list of the last snapshot, returned instead of a new list if it holds the same ids
+     * @return the list of card ids
+     */
+    private static CardIdList toCardIdList(ArrayList<Card> cards, Boolean reversed, CardIdList previousList) {
+        byte[] ids = new byte[cards.size()];
+        for(int i = 0; i < ids.length; i++) {
+            ids[reversed ? ids.length - 1 - i : i] = (byte) cards.get(i).getId();
+        }
+        return shareIfUnchanged(new CardIdList(ids), previousList);
+    }
+
+    /**
+     * turns the melds of a player into a list of card ids, each meld followed by a separator
+     * @param meldsPlayed the melds of the player
+     * @param previousList the list of the last snapshot, returned instead of a new list if it holds the same ids
+     * @return the list of meld card ids
+     */
+    private static CardIdList meldsToCardIdList(MeldsStorage meldsPlayed, CardIdList previousList) {
+        ArrayList<ArrayList<MeldInstance>> melds = meldsPlayed.getAllMelds();
+        int size = 0;
+        for(int i = 0; i < melds.size(); i++) {
+            for(int j = 0; j < melds.get(i).size(); j++) {
+                size += melds.get(i).get(j).getNumOfCards() + 1;
+            }
+        }
+        byte[] ids = new byte[size];
+        int position = 0;
+        //for all meld types
+        for(int i = 0; i < melds.size(); i++) {
+            //for all instances of a meld type
+            for(int j = 0; j < melds.get(i).size(); j++) {
+                MeldInstance meldInstance = melds.get(i).get(j);
+                for(int k = 0; k < meldInstance.getNumOfCards(); k++) {
+                    ids[position++] = (byte) meldInstance.getCardByPosition(k).getId();
+                }
+                ids[position++] = (byte) CardIdList.MELD_SEPARATOR;
+            }
+        }
+        return shareIfUnchanged(new CardIdList(ids), previousList);
+    }
+
+    /**
+     * returns the list of the last snapshot if it holds the same ids as a new list, so that the user interface
+     * can tell unchanged lists apart by identity
+     * @param newList the new list
+     * @param previousList the list of the last snapshot, or null
+     * @return previousList if both hold the same ids, newList otherwise
+     */
+    private static CardIdList shareIfUnchanged(CardIdList newList, CardIdList previousList) {
+        return newList.sameCardsAs(previousList) ? previousList : newList;
+    }
+
+
+
+    /**
+     * updates the model state to reflect that a new turn has started in a round of Pinochle
+     */
+    private void nextTurn() {
+        //first, check if players have cards left in their hands
+        if(players[HUMAN_PLAYER].getHand().getNumOfCards() == 0 || players[COMPUTER_PLAYER].getHand().getNumOfCards() == 0) {
+            currentStage = OUT_OF_CARDS_STAGE;
+
+        } else {
+            //set current stage
+            currentStage = LEAD_CARD_STAGE;
+
+            //distribute one card each
+            if(stock.getNumRemaining() != 0) {
+                drawFromStock(humansTurn? HUMAN_PLAYER : COMPUTER_PLAYER);
+                if(stock.getNumRemaining() == 0) {
+                    if(trumpCard != null) {
+                        players[!humansTurn? HUMAN_PLAYER : COMPUTER_PLAYER].takeOneCard(trumpCard);
+                        recordEvent(GameEventListener.TRUMP_CARD_TAKEN, !humansTurn? HUMAN_PLAYER : COMPUTER_PLAYER, 1L << trumpCard.getId());
+                        trumpCard = null;
+                    }
+                    //don't pick a card if no cards are left
+                } else {
+                    drawFromStock(!humansTurn? HUMAN_PLAYER : COMPUTER_PLAYER);
+                }
+            }
+        }
+
+        urgeNextMove();
+    }
+
+
+
+    /**
+     * moves the card at the top of the stock to a player's hand
+     * @param player the seat of the player who draws the card
+     */
+    private void drawFromStock(int player) {
+        Card card = stock.takeOneFromTop();
+        players[player].takeOneCard(card);
+        recordEvent(GameEventListener.CARD_DRAWN, player, 1L << card.getId());
+    }
+
+    /**
+     * keeps an event until the change being made to the game is complete
+     * @param event the type of the event, one of the constants of GameEventListener
+     * @param player the seat of the player the event is about, or -1
+     * @param cardIds the mask of the ids of the cards the event is about
+     */
+    private void recordEvent(int event, int player, long cardIds) {
+        if(eventListener == null) {
+            return;
+        }
+        if(numOfPendingEvents == pendingEvents.length) {
+            pendingEvents = Arrays.copyOf(pendingEvents, pendingEvents.length * 2);
+        }
+        pendingEvents[numOfPendingEvents++] = GameEvents.pack(event, player, cardIds);
+    }
+
+    /**
+     * passes the events of the change that has just been completed on to the listener
+     */
+    private void publishEvents() {
+        if(eventListener == null || numOfPendingEvents == 0) {
+            numOfPendingEvents = 0;
+            return;
+        }
+        for(int i = 0; i < numOfPendingEvents; i++) {
+            long pendingEvent = pendingEvents[i];
+            eventListener.onGameEvent(GameEvents.event(pendingEvent), GameEvents.player(pendingEvent), GameEvents.cardIds(pendingEvent));
+        }
+        numOfPendingEvents = 0;
+        eventListener.onEventsFinished();
+    }
+
+    /**
+     * Decides who the winner of a Round is going to be and updates the model state accordingly
+     */
+    private void decideTurnWinner() {
+        if(currentChaseCard != null && currentLeadCard != null) {
+            int roundWinner;
+            String winner;
+            if(leadCardWins()) {
+                roundWinner = humansLeadThrow ? HUMAN_PLAYER : COMPUTER_PLAYER;
+                 winner = humansLeadThrow ? "human" : "computer";
+                messages[roundWinner] = "The " + winner + "'s lead card has won this turn.";
+            } else {
+                roundWinner = humansLeadThrow ? COMPUTER_PLAYER : HUMAN_PLAYER;
+                winner = humansLeadThrow ? "computer" : "human";
+                messages[roundWinner] = "The " + winner + "'s chase card has won this turn.";
+            }
+            int pointsWon = cardPoints(currentChaseCard) + cardPoints(currentLeadCard);
+            messages[roundWinner] += "The " + winner + " wins " + pointsWon + " points this turn.";
+            roundScores[roundWinner] += pointsWon;
+            players[roundWinner].addToCapturePile(currentLeadCard, currentChaseCard);
+            //remove message on turn loser's side
+            messages[roundWinner == HUMAN_PLAYER ? 0 : 1] = "";
+
+            //set next turn
+            humansTurn = roundWinner == HUMAN_PLAYER;
+            humansLeadThrow = humansTurn;
+
+            currentLeadCard = null;
+            currentChaseCard = null;
+        }
+    }
+
+    /**
+     * returns the points corresponding to a particular card
+     * @param card the card whose points are to be determined
+     * @return the points that the card is worth
+     */
+    private int cardPoints(Card card){
+        return TrickTable.points(card);
+    }
+
+    /**
+     * Determines whether the lead card wins in a turn of Pinochle or not
+     * @return returns true if the lead card beats the chase card, false otherwise
+     */
+    private Boolean leadCardWins() {
+        if(currentChaseCard != null && currentLeadCard != null) {
+            //the lead card wins unless the chase card is a higher card of the same suit, or a trump card against a non-trump card
+            return !TrickTable.chaseCardWins(currentLeadCard, currentChaseCard, trumpSuit);
+        }
+        return false;
+    }
+
+
+    /**
+     * Updates the game state model to urge the player to make the next
+     */
+    private void urgeNextMove() {
+        if(humansTurn == null) {
+            return;
+        }
+        String whoseTurn = humansTurn ? "human" : "computer";
+        int currentTurn = humansTurn ? 1 : 0;
+        if(currentStage.equals(LEAD_CARD_STAGE)) {
+            messages[currentTurn] = "It is the " + whoseTurn + "'s turn to throw a lead card.";
+        } else if (currentStage.equals(CHASE_CARD_STAGE)) {
+            messages[currentTurn] = "It is the " + whoseTurn + "'s turn to throw a chase card.";
+        } else if (currentStage.equals(MELD_STAGE)){
+            if(players[currentTurn].isMeldPossible()) {
+                messages[currentTurn] = "It is the " + whoseTurn + "'s turn to play a meld.";
+            } else {
+                messages[currentTurn] = "The " + whoseTurn + " has no possible melds in hand.";
+                currentStage = INTERMISSION_STAGE;
+                //create a dummy meld instance
+                currentMeld = new MeldInstance();
+            }
+        } else if (currentStage.equals(OUT_OF_CARDS_STAGE)){
+            messages[HUMAN_PLAYER] = "There are no more cards left to play.";
+            messages[COMPUTER_PLAYER] = "";
+        }
+    }
+
+    /**
+     * extracts data from the string extracted from a Pinochle save file
+     * @param saveFileData the serialized data from the save file
+     */
+    private void loadGameData(String saveFileData) {
+
+
+        String [] lines = saveFileData.split("\\n");
+        //get rid of empty lines
+        ArrayList<String> tempLines = new ArrayList<>();
+        for(int i = 0; i < lines.length; i++) {
+            //skip empty lines
+            if(!(i == 1 || i == 7 || i == 13 || i == 16)) {
+                tempLines.add(lines[i].trim());
+            }
+        }
+        lines = tempLines.toArray(new String[tempLines.size()]);
+
+//        ArrayList<String> lines = new ArrayList(Arrays.asList(saveFileLines));
+        String data;
+        int index;
+        int lineNumber = 0;
+        //first get round number
+
+        //get round number
+        lines[lineNumber] = lines[lineNumber].substring(6);
+        lines[lineNumber] = StringUtilities.stripString(lines[lineNumber]);
+
+        roundNumber = Integer.parseInt(lines[lineNumber]);
+
+        //next line
+        lineNumber++;
+
+        //lines 1 to 10 (1- 5 in first iteration, 2-6 in second iteration)
+        //one iteration for each player
+        for(int i = 0; i < NUM_OF_PLAYERS; i++) {
+            //skip the "Computer:" / "Human:" lines
+            //next line
+            lineNumber++;
+            //get scores
+            lines[lineNumber] = lines[lineNumber].substring(6);
+            lines[lineNumber] = StringUtilities.stripString(lines[lineNumber]);
+            index = lines[lineNumber].indexOf("/");
+            data = lines[lineNumber].substring(0, index);
+            //game score
+
+            gameScores[i] = Integer.parseInt(data.trim());
+
+            lines[lineNumber] = lines[lineNumber].substring(index + 1);
+            lines[lineNumber] = StringUtilities.stripString(lines[lineNumber]);
+            //round score
+            roundScores[i] = Integer.parseInt(lines[lineNumber]);
+
+            //next line
+            lineNumber++;
+            //get Hand
+
+            lines[lineNumber] = lines[lineNumber].substring(5);
+            lines[lineNumber] = StringUtilities.stripString(lines[lineNumber]);
+            loadedHandStrs[i] = lines[lineNumber];
+
+
+            //next line
+            lineNumber++;
+            //get Capture Pile
+            lines[lineNumber] = lines[lineNumber].substring(13);
+            lines[lineNumber] = StringUtilities.stripString(lines[lineNumber]);
+            loadedCaptureStrs[i] = lines[lineNumber];
+
+            //next line
+            lineNumber++;
+            //get Melds
+            lines[lineNumber] = lines[lineNumber].substring(6);
+            lines[lineNumber] = StringUtilities.stripString(lines[lineNumber]);
+            loadedMeldStrs[i] = lines[lineNumber];
+            //next line
+            lineNumber++;
+        }
+
+        //trump card
+        lines[lineNumber] = lines[lineNumber].substring(11);
+        lines[lineNumber] = StringUtilities.stripString(lines[lineNumber]);
+        if(lines[lineNumber].length() == 1) {
+            trumpCard = null;
+            trumpSuit = StringUtilities.strToSuit(lines[lineNumber].charAt(0));
+        } else if(lines[lineNumber].length() == 2) {
+            trumpCard = new Card(StringUtilities.strToRank(lines[lineNumber].charAt(0)), StringUtilities.strToSuit(lines[lineNumber].charAt(1)));
+            trumpSuit = StringUtilities.strToSuit(lines[lineNumber].charAt(1));
+        }
+
+        //next line
+        lineNumber++;
+
+        //stock
+        lines[lineNumber] = lines[lineNumber].substring(6);
+        lines[lineNumber] = StringUtilities.stripString(lines[lineNumber]);
+        loadedStockStr = lines[lineNumber];
+
+        //next line
+        lineNumber++;
+
+        //next player
+        lines[lineNumber] = lines[lineNumber].substring(12);
+        lines[lineNumber] = StringUtilities.stripString(lines[lineNumber]);
+        humansTurn = (lines[lineNumber].equals("Human"));
+    }
+
+}
@@ -0,0 +1,244 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models;
+
+public final class GameSnapshot {
+    private final long version;
+    private final String currentStage;
+    private final Boolean humansTurn;
+    private final Boolean humansLeadThrow;
+    private final int roundNumber;
+    private final int[] gameScores;
+    private final int[] roundScores;
+    private final String[] messages;
+    //the ordinal of the trump suit (-1 before the first round is set up), and the id of the trump card (-1 once it is picked up)
+    private final int trumpSuit;
+    private final int trumpCardId;
+    private final CardIdList[] hands;
+    private final CardIdList[] capturePiles;
+    private final CardIdList[] melds;
+    private final CardIdList stock;
+    private final int leadCardId;
+    private final int chaseCardId;
+    private final CardIdList meldCards;
+
+    /**
+     * Constructor for GameSnapshot class. Only the game model creates snapshots, and the snapshot takes ownership of the arrays
+     * @param version the change counter of the game model when the snapshot was taken
+     * @param currentStage the current stage of the game
+     * @param humansTurn whether it is the human's turn, or null if a coin toss is needed
+     * @param humansLeadThrow whether the human threw the lead card of the current turn
+     * @param roundNumber the current round number
+     * @param gameScores the game scores, indexed by player
+     * @param roundScores the round scores, indexed by player
+     * @param messages the latest message of each player
+     * @param trumpSuit the ordinal of the trump suit, or -1
+     * @param trumpCardId the id of the trump card, or -1
+     * @param hands the cards in each player's hand
+     * @param capturePiles the cards in each player's capture pile
+     * @param melds the cards of each player's melds, each meld followed by a MELD_SEPARATOR
+     * @param stock the cards in the stock, from the top down
+     * @param leadCardId the id of the lead card of the current turn, or -1
+     * @param chaseCardId the id of the chase card of the current turn, or -1
+     * @param meldCards the cards of the meld just played, or null
+     */
+    GameSnapshot(long version, String currentStage, Boolean humansTurn, Boolean humansLeadThrow, int roundNumber,
+                 int[] gameScores, int[] roundScores, String[] messages, int trumpSuit, int trumpCardId,
+                 CardIdList[] hands, CardIdList[] capturePiles, CardIdList[] melds, CardIdList stock,
+                 int leadCardId, int chaseCardId, CardIdList meldCards) {
+        this.version = version;
+        this.currentStage = currentStage;
+        this.humansTurn = humansTurn;
+        this.humansLeadThrow = humansLeadThrow;
+        this.roundNumber = roundNumber;
+        this.gameScores = gameScores;
+        this.roundScores = roundScores;
+        this.messages = messages;
+        this.trumpSuit = trumpSuit;
+        this.trumpCardId = trumpCardId;
+        this.hands = hands;
+        this.capturePiles = capturePiles;
+        this.melds = melds;
+        this.stock = stock;
+        this.leadCardId = leadCardId;
+        this.chaseCardId = chaseCardId;
+        this.meldCards = meldCards;
+    }
+
+    /**
+     * returns the change counter of the game model when the snapshot was taken; snapshots with the same version are identical
+     * @return the version of the snapshot
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * returns the current stage of the game
+     * @return the current stage
+     */
+    public String getCurrentStage() {
+        return currentStage;
+    }
+
+    /**
+     * Informs whether or not it is the human's turn to make a move
+     * @return true if it is the human's turn, false if it is the computer's, null if a coin toss is needed
+     */
+    public Boolean isHumansTurn() {
+        return humansTurn;
+    }
+
+    /**
+     * Informs whether or not the human player threw the lead card of the current turn
+     * @return true if the human player threw the lead card, false otherwise
+     */
+    public Boolean isHumansLeadThrow() {
+        return humansLeadThrow;
+    }
+
+    /**
+     * returns the current round number
+     * @return the round number
+     */
+    public int getRoundNumber() {
+        return roundNumber;
+    }
+
+    /**
+     * returns the game score of a player
+     * @param player the player, GameModel.HUMAN_PLAYER or GameModel.COMPUTER_PLAYER
+     * @return the game score of the player
+     */
+    public int getGameScore(int player) {
+        return gameScores[player];
+    }
+
+    /**
+     * returns the round score of a player
+     * @param player the player, GameModel.HUMAN_PLAYER or GameModel.COMPUTER_PLAYER
+     * @return the round score of the player
+     */
+    public int getRoundScore(int player) {
+        return roundScores[player];
+    }
+
+    /**
+     * returns the player with the highest round score
+     * @return the player leading the round, -1 if there is no leader
+     */
+    public int getRoundLeader() {
+        return leader(roundScores);
+    }
+
+    /**
+     * returns the player with the highest game score
+     * @return the player leading the game, -1 if there is no leader
+     */
+    public int getGameLeader() {
+        return leader(gameScores);
+    }
+
+    /**
+     * returns the latest message of a player
+     * @param player the player, GameModel.HUMAN_PLAYER or GameModel.COMPUTER_PLAYER
+     * @return the message of the player
+     */
+    public String getMessage(int player) {
+        return messages[player];
+    }
+
+    /**
+     * returns the trump suit of the current round
+     * @return the ordinal of the trump suit, or -1 if no round has been set up
+     */
+    public int getTrumpSuit() {
+        return trumpSuit;
+    }
+
+    /**
+     * returns the trump card lying under the stock
+     * @return the id of the trump card, or -1 if it has been picked up
+     */
+    public int getTrumpCardId() {
+        return trumpCardId;
+    }
+
+    /**
+     * returns the cards in a player's hand. A region that did not change since the previous snapshot is the same object
+     * @param player the player, GameModel.HUMAN_PLAYER or GameModel.COMPUTER_PLAYER
+     * @return the ids of the cards in the player's hand
+     */
+    public CardIdList getHand(int player) {
+        return hands[player];
+    }
+
+    /**
+     * returns the cards in a player's capture pile
+     * @param player the player, GameModel.HUMAN_PLAYER or GameModel.COMPUTER_PLAYER
+     * @return the ids of the cards in the player's capture pile
+     */
+    public CardIdList getCapturePile(int player) {
+        return capturePiles[player];
+    }
+
+    /**
+     * returns the cards of a player's melds
+     * @param player the player, GameModel.HUMAN_PLAYER or GameModel.COMPUTER_PLAYER
+     * @return the ids of the meld cards, each meld followed by CardIdList.MELD_SEPARATOR
+     */
+    public CardIdList getMelds(int player) {
+        return melds[player];
+    }
+
+    /**
+     * returns the cards in the stock
+     * @return the ids of the stock cards, from the top down
+     */
+    public CardIdList getStock() {
+        return stock;
+    }
+
+    /**
+     * returns the lead card of the current turn
+     * @return the id of the lead card, or -1 if no lead card has been played
+     */
+    public int getLeadCardId() {
+        return leadCardId;
+    }
+
+    /**
+     * returns the chase card of the current turn
+     * @return the id of the chase card, or -1 if no chase card has been played
+     */
+    public int getChaseCardId() {
+        return chaseCardId;
+    }
+
+    /**
+     * returns the cards of the meld played after the current turn
+     * @return the ids of the meld cards, or null if no meld has been played
+     */
+    public CardIdList getMeldCards() {
+        return meldCards;
+    }
+
+    /**
+     * finds the player with the higher score
+     * @param scores the scores, indexed by player
+     * @return the player with the higher score, -1 if the scores are tied
+     */
+    private static int leader(int[] scores) {
+        if (scores[GameModel.HUMAN_PLAYER] > scores[GameModel.COMPUTER_PLAYER]) {
+            return GameModel.HUMAN_PLAYER;
+        } else if (scores[GameModel.HUMAN_PLAYER] < scores[GameModel.COMPUTER_PLAYER]) {
+            return GameModel.COMPUTER_PLAYER;
+        }
+        return -1;
+    }
+}
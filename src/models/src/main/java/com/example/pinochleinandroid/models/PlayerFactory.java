@@ -0,0 +1,19 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models;
+
+import com.example.pinochleinandroid.models.players.Player;
+
+public interface PlayerFactory {
+    /**
+     * creates a new player with an empty hand for the given seat at the start of a round
+     * @param seat the seat of the player (GameModel.COMPUTER_PLAYER or GameModel.HUMAN_PLAYER)
+     * @return the player who will play from that seat during the round
+     */
+    Player createPlayer(int seat);
+}
@@ -0,0 +1,328 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.cards;
+
+import java.util.ArrayList;
+
+public class BitboardGroupOfCards extends GroupOfCards {
+    //card ids are assigned as rank * 8 + suit * 2 + copy, so every rank occupies one byte of the bitboard
+    //and every suit occupies the same two bits of each of those bytes
+    private static final long[] RANK_MASKS = new long[Rank.values().length];
+    private static final long[] SUIT_MASKS = new long[Suit.values().length];
+
+    static {
+        for (int rank = 0; rank < RANK_MASKS.length; rank++) {
+            RANK_MASKS[rank] = 0xFFL << (rank * 8);
+        }
+        for (int suit = 0; suit < SUIT_MASKS.length; suit++) {
+            SUIT_MASKS[suit] = 0x030303030303L << (suit * 2);
+        }
+    }
+
+    //one bit for each card id present in this group of cards
+    private long cardMask;
+    //the card objects present in this group of cards, indexed by their ids
+    private Card[] cardsById;
+    //number of cards whose ids cannot be represented in the bitboard (for example, cards with undefined ids)
+    private int untrackedCards;
+
+    /**
+     * Default Constructor for BitboardGroupOfCards class.
+     */
+    public BitboardGroupOfCards() {
+        super();
+        cardsById = new Card[Deck.NUM_OF_CARDS];
+        reindex();
+    }
+
+    /**
+     * Overloaded constructed for BitboardGroupOfCards class. Adds the given cards to the group of cards
+     * @param cards the ArrayList of cards to be stored, which is copied so that later changes to it cannot bypass the index
+     */
+    public BitboardGroupOfCards(ArrayList<Card> cards) {
+        super(new ArrayList<Card>(cards));
+        cardsById = new Card[Deck.NUM_OF_CARDS];
+        reindex();
+    }
+
+    /**
+     * Copy constructor for the BitboardGroupOfCards class.
+     * @param otherGroupOfCards the GroupOfCards object of which the copy is to be made
+     */
+    public BitboardGroupOfCards(GroupOfCards otherGroupOfCards) {
+        super(otherGroupOfCards);
+        cardsById = new Card[Deck.NUM_OF_CARDS];
+        reindex();
+    }
+
+    /**
+     * returns all the cards stored in this group of cards
+     * @return a copy of the cards in this group of cards, so that changing it cannot bypass the index
+     */
+    @Override
+    public ArrayList<Card> getCards() {
+        return new ArrayList<Card>(cards);
+    }
+
+    /**
+     * returns the bit mask of the card ids that make up the given rank
+     * @param rank the rank whose mask is to be returned
+     * @return the bit mask with one bit set for each card id of the given rank
+     */
+    public static long getRankMask(Rank rank) {
+        return RANK_MASKS[rank.ordinal()];
+    }
+
+    /**
+     * returns the bit mask of the card ids that make up the given suit
+     * @param suit the suit whose mask is to be returned
+     * @return the bit mask with one bit set for each card id of the given suit
+     */
+    public static long getSuitMask(Suit suit) {
+        return SUIT_MASKS[suit.ordinal()];
+    }
+
+    /**
+     * returns the bit mask of the card ids that have the given rank and suit
+     * @param rank the rank of the cards
+     * @param suit the suit of the cards
+     * @return the bit mask with one bit set for each card id of the given rank and suit
+     */
+    public static long getRankAndSuitMask(Rank rank, Suit suit) {
+        return RANK_MASKS[rank.ordinal()] & SUIT_MASKS[suit.ordinal()];
+    }
+
+    /**
+     * returns the bitboard of all the cards in this group of cards, with one bit set for the id of each card
+     * @return the bitboard representation of this group of cards
+     */
+    public long getCardMask() {
+        return cardMask;
+    }
+
+    /**
+     * checks if a card is present within the group of cards
+     * @param id the id of the card to be checked
+     * @return true if card is found, false otherwise
+     */
+    @Override
+    public Boolean searchCardById(int id) {
+        if (isTrackable(id)) {
+            return (cardMask & (1L << id)) != 0;
+        }
+        return untrackedCards > 0 && super.searchCardById(id);
+    }
+
+    /**
+     * To get the card in the group of cards when the id of the card is specified
+     * @param id the id of the card to be returned
+     * @return the card whose id has been passed as argument
+     */
+    @Override
+    public Card getCardById(int id) {
+        if (isTrackable(id)) {
+            return cardsById[id];
+        }
+        return untrackedCards > 0 ? super.getCardById(id) : null;
+    }
+
+    /**
+     * returns all the cards in the group of cards of the given rank
+     * @param rank the rank of the cards to be returned
+     * @return all the cards with the given rank
+     */
+    @Override
+    public ArrayList<Card> getCardsByRank(Rank rank) {
+        if (untrackedCards > 0) {
+            return super.getCardsByRank(rank);
+        }
+        return cardsInMask(cardMask & RANK_MASKS[rank.ordinal()]);
+    }
+
+    /**
+     * returns all the cards of the given from the group of cards
+     * @param suit the suit of the cards to be returned
+     * @return all the cards with the given suit
+     */
+    @Override
+    public ArrayList<Card> getCardsBySuit(Suit suit) {
+        if (untrackedCards > 0) {
+            return super.getCardsBySuit(suit);
+        }
+        return cardsInMask(cardMask & SUIT_MASKS[suit.ordinal()]);
+    }
+
+    /**
+     * gets all the cards with the given rank and suit that are present in this group of cards
+     * @param rank the rank of the cards to be returned
+     * @param suit the suit of the cards to be returned
+     * @return all the cards of the given rank and suit that are found in this group of cards
+     */
+    @Override
+    public ArrayList<Card> getCardsByRankAndSuit(Rank rank, Suit suit) {
+        if (untrackedCards > 0) {
+            return super.getCardsByRankAndSuit(rank, suit);
+        }
+        return cardsInMask(cardMask & getRankAndSuitMask(rank, suit));
+    }
+
+    /**
+     * counts the cards of the given rank in this group of cards without creating any intermediate lists
+     * @param rank the rank of the cards to be counted
+     * @return the number of cards with the given rank
+     */
+    public int countCardsByRank(Rank rank) {
+        if (untrackedCards > 0) {
+            return super.getCardsByRank(rank).size();
+        }
+        return Long.bitCount(cardMask & RANK_MASKS[rank.ordinal()]);
+    }
+
+    /**
+     * counts the cards of the given suit in this group of cards without creating any intermediate lists
+     * @param suit the suit of the cards to be counted
+     * @return the number of cards with the given suit
+     */
+    public int countCardsBySuit(Suit suit) {
+        if (untrackedCards > 0) {
+            return super.getCardsBySuit(suit).size();
+        }
+        return Long.bitCount(cardMask & SUIT_MASKS[suit.ordinal()]);
+    }
+
+    /**
+     * counts the cards of the given rank and suit in this group of cards without creating any intermediate lists
+     * @param rank the rank of the cards to be counted
+     * @param suit the suit of the cards to be counted
+     * @return the number of cards with the given rank and suit
+     */
+    public int countCardsByRankAndSuit(Rank rank, Suit suit) {
+        if (untrackedCards > 0) {
+            return super.getCardsByRankAndSuit(rank, suit).size();
+        }
+        return Long.bitCount(cardMask & getRankAndSuitMask(rank, suit));
+    }
+
+    /**
+     * to find out if this GroupOfCards object is identical to another GroupOfCards object
+     * @param otherGroupOfCards the GroupOfCards object that this object will be compared to
+     * @return true if both the Group of Cards have identical cards, false otherwise
+     */
+    @Override
+    public Boolean isIdenticalTo(GroupOfCards otherGroupOfCards) {
+        if (otherGroupOfCards instanceof BitboardGroupOfCards && untrackedCards == 0) {
+            BitboardGroupOfCards other = (BitboardGroupOfCards) otherGroupOfCards;
+            if (other.untrackedCards == 0) {
+                return cards.size() == other.getNumOfCards() && cardMask == other.cardMask;
+            }
+        }
+        return super.isIdenticalTo(otherGroupOfCards);
+    }
+
+    /**
+     * Adds a card to the group of cards
+     * @param card the card to be added
+     * @return true when card is added succesfully, false otherwise
+     */
+    @Override
+    public Boolean addCard(Card card) {
+        super.addCard(card);
+        index(card);
+        return true;
+    }
+
+    /**
+     * removes a card of the given id from the group of cards
+     * @param id the id of the card to be removed
+     * @return return true when card is removed successfully, false otherwise
+     */
+    @Override
+    public Boolean removeCardById(int id) {
+        super.removeCardById(id);
+        if (untrackedCards > 0) {
+            reindex();
+        } else if (isTrackable(id)) {
+            cardMask &= ~(1L << id);
+            cardsById[id] = null;
+        }
+        return true;
+    }
+
+    /**
+     * removes a card from the given position in the group of cards hand
+     * @param position the position of the card in the group of cards, of int type
+     * @return true when card is successfully removed
+     */
+    @Override
+    public Boolean removeCardByPosition(int position) {
+        Card card = getCardByPosition(position);
+        if (!super.removeCardByPosition(position)) {
+            return false;
+        }
+        if (untrackedCards > 0) {
+            reindex();
+        } else {
+            cardMask &= ~(1L << card.getId());
+            cardsById[card.getId()] = null;
+        }
+        return true;
+    }
+
+    /**
+     * checks whether a card id can be represented by a bit in the bitboard
+     * @param id the id to be checked
+     * @return true if the id is one of the 48 ids generated by a Deck, false otherwise
+     */
+    private static Boolean isTrackable(int id) {
+        return id >= 0 && id < Deck.NUM_OF_CARDS;
+    }
+
+    /**
+     * records a card that has just been added to the underlying ArrayList in the bitboard
+     * @param card the card to be recorded
+     */
+    private void index(Card card) {
+        int id = card.getId();
+        //cards with undefined or repeated ids cannot be represented by a single bit, so queries fall back to linear scans
+        if (!isTrackable(id) || (cardMask & (1L << id)) != 0) {
+            untrackedCards++;
+            return;
+        }
+        cardMask |= 1L << id;
+        cardsById[id] = card;
+    }
+
+    /**
+     * rebuilds the bitboard from the underlying ArrayList of cards
+     */
+    private void reindex() {
+        cardMask = 0;
+        untrackedCards = 0;
+        for (int i = 0; i < cardsById.length; i++) {
+            cardsById[i] = null;
+        }
+        for (int i = 0; i < cards.size(); i++) {
+            index(cards.get(i));
+        }
+    }
+
+    /**
+     * creates an ArrayList out of the cards whose ids are set in the given mask, in ascending order of id
+     * @param mask the mask of the card ids to be returned
+     * @return the ArrayList of cards in the mask
+     */
+    private ArrayList<Card> cardsInMask(long mask) {
+        ArrayList<Card> foundCards = new ArrayList<Card>(Long.bitCount(mask));
+        while (mask != 0) {
+            foundCards.add(cardsById[Long.numberOfTrailingZeros(mask)]);
+            //clear the lowest set bit
+            mask &= mask - 1;
+        }
+        return foundCards;
+    }
+}
@@ -8,39 +8,62 @@
 package com.example.pinochleinandroid.models.cards;
 
 public class Card {
-    private Rank rank;
-    private Suit suit;
-    private int id;
+    //the 48 cards of the deck, indexed by id. Cards cannot be changed, so every hand, pile and copy of a game shares these objects
+    private static final Card[] DECK = new Card[Deck.NUM_OF_CARDS];
+
+    static {
+        Rank[] ranks = Rank.values();
+        Suit[] suits = Suit.values();
+        //the ids go up by copy, then by suit, then by rank
+        for(int id = 0; id < DECK.length; id++) {
+            DECK[id] = new Card(id, ranks[id / (2 * suits.length)], suits[(id / 2) % suits.length]);
+        }
+    }
+
+    private final Rank rank;
+    private final Suit suit;
+    private final int id;
 
     /**
      Default constructor for Card class that initializes a card object. Creates a Card with undefined rank, suit, and id
     */
     public Card() {
-        id = -1;
-        rank = null;
-        suit = null;
+        this(-1, null, null);
+    }
+
+    /**
+     Overloaded constructor for Card class. Creates a Card with a rank and suit but no id, such as a card read from text that is
+     not yet matched to one of the cards of the deck
+     @param rank the rank to be assigned to the card
+     @param suit the suit to be assigned to the card
+     */
+    public Card(Rank rank, Suit suit) {
+        this(-1, rank, suit);
     }
 
     /**
-     Overloaded constructor for Card class that initializes a card object. Creates a Card with a rank, suit, and id based on the values sent into the parameter
+     Overloaded constructor for Card class that initializes a card object. Creates a Card with a rank, suit, and id based on the values sent into the parameter.
+     Only used to create the cards of the deck
      @param id the id to be assigned to the card
      @param rank the rank to be assigned to the card
      @param suit the suit to be assigned to the card
      */
-    public Card(int id, Rank rank, Suit suit) {
+    private Card(int id, Rank rank, Suit suit) {
         this.id = id;
         this.rank = rank;
         this.suit = suit;
     }
 
     /**
-     A copy constructor for the Card class.
-     @param otherCard the card object of which the copy is to be made
+     returns the card of the deck with the given id. There is only one Card object for each id
+     @param id the id of the card
+     @return the card with the id, or null if no card of the deck has the id
      */
-    public Card(Card otherCard) {
-        id = otherCard.getId();
-        rank = otherCard.getRank();
-        suit = otherCard.getSuit();
+    public static Card fromId(int id) {
+        if(id < 0 || id >= DECK.length) {
+            return null;
+        }
+        return DECK[id];
     }
 
     /**
@@ -91,7 +114,7 @@ public class Card {
         if(rank == null || suit == null) {
             return null;
         }
-        return rank.getString() + " of " + suit.getString();
+        return CardStrings.getCardString(rank, suit);
     }
 
     /**
@@ -103,37 +126,7 @@ public class Card {
         if(rank == null || suit == null) {
             return null;
         }
-        return rank.getShortString() + suit.getShortString();
-    }
-
-    /**
-     a mutator function to set the id of the card
-     @param id the id to be assigned to the card
-     @return true if mutation was successful, false if not
-     */
-    public Boolean setId(int id) {
-        this.id = id;
-        return true;
-    }
-
-    /**
-     a mutator function to that set the rank of the card
-     @param rank the rank to be assigned to the card
-     @return true if mutation was successful, false if not
-     */
-    public Boolean setRank(Rank rank) {
-        this.rank = rank;
-        return true;
-    }
-
-    /**
-     a mutator function to that set the suit of the card
-     @param suit the suit to be assigned to the card
-     @return true if mutation was successful, false if not
-     */
-    public Boolean setSuit(Suit suit) {
-        this.suit = suit;
-        return true;
+        return CardStrings.getShortString(rank, suit);
     }
 
     /**
@@ -168,6 +161,10 @@ public class Card {
      @return true if both cards have the same rank, suit, and id; false otherwise
      */
     public Boolean isIdenticalTo(Card otherCard) {
+        //cards of the deck are only identical to themselves
+        if(this == otherCard) {
+            return true;
+        }
         return id == otherCard.getId() && rank == otherCard.getRank() && suit == otherCard.getSuit();
     }
 
@@ -0,0 +1,67 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.cards;
+
+public class CardStrings {
+    //the number of suits, which is the stride between the card types of one rank and the next
+    private static final int NUM_OF_SUITS = Suit.values().length;
+    //the number of distinct card types, one for each rank and suit combination
+    public static final int NUM_OF_CARD_TYPES = Rank.values().length * NUM_OF_SUITS;
+
+    //the display strings of every card type, indexed by rank * NUM_OF_SUITS + suit. Card strings are asked for on every redraw and
+    //save, and never change, so they are worked out once here (and the strings of ranks, suits and melds once in their enums)
+    //instead of being rebuilt each time
+    private static final String[] SHORT_STRINGS = new String[NUM_OF_CARD_TYPES];
+    private static final String[] CARD_STRINGS = new String[NUM_OF_CARD_TYPES];
+
+    static {
+        Rank[] ranks = Rank.values();
+        Suit[] suits = Suit.values();
+        for (int rank = 0; rank < ranks.length; rank++) {
+            for (int suit = 0; suit < suits.length; suit++) {
+                SHORT_STRINGS[rank * NUM_OF_SUITS + suit] = (ranks[rank].getShortString() + suits[suit].getShortString()).intern();
+                CARD_STRINGS[rank * NUM_OF_SUITS + suit] = (ranks[rank].getString() + " of " + suits[suit].getString()).intern();
+            }
+        }
+    }
+
+    /**
+     * Private constructor, since CardStrings only holds static lookups
+     */
+    private CardStrings() {
+    }
+
+    /**
+     * returns the shortened string of a card type, like 'AS' for an Ace of Spades card
+     * @param rank the rank of the card
+     * @param suit the suit of the card
+     * @return the shortened string of the card
+     */
+    public static String getShortString(Rank rank, Suit suit) {
+        return SHORT_STRINGS[rank.ordinal() * NUM_OF_SUITS + suit.ordinal()];
+    }
+
+    /**
+     * returns the string of a card type, in "<rank> of <suit>" formation
+     * @param rank the rank of the card
+     * @param suit the suit of the card
+     * @return the string of the card
+     */
+    public static String getCardString(Rank rank, Suit suit) {
+        return CARD_STRINGS[rank.ordinal() * NUM_OF_SUITS + suit.ordinal()];
+    }
+
+    /**
+     * returns the shortened string of a card from its id (card ids are assigned as rank * 8 + suit * 2 + copy, see Deck.populate())
+     * @param id the card id
+     * @return the shortened string of the card
+     */
+    public static String getShortStringById(int id) {
+        return SHORT_STRINGS[id >> 1];
+    }
+}
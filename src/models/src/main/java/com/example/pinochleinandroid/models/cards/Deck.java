@@ -0,0 +1,235 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.cards;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+public class Deck {
+    //the number of cards in a full deck (6 ranks of 4 suits, 2 of each card)
+    public final static int NUM_OF_CARDS = 48;
+
+    private ArrayList<Card> cards;
+    //scratch space for shuffling: the positions of the cards as a primitive deck, and the cards they refer to
+    private final byte[] positions;
+    private final Card[] cardsByPosition;
+
+    /**
+     Default constructor for Deck class. Populates the deck with all the cards in a game of Pinochle and shuffles the cards.
+     */
+    public Deck() {
+        this(new Random());
+    }
+
+    /**
+     Overloaded constructor for Deck class. Populates the deck with all the cards in a game of Pinochle and shuffles the cards
+     using the given source of randomness, so that the order of the deck can be reproduced.
+     @param random the source of randomness used to shuffle the deck
+     */
+    public Deck(Random random) {
+        cards = new ArrayList<Card>(NUM_OF_CARDS);
+        positions = new byte[NUM_OF_CARDS];
+        cardsByPosition = new Card[NUM_OF_CARDS];
+        //populate all the card in the deck (in the default case, with 2 of each separate cards to make a total of 48 cards)
+        populate();
+
+        //shuffle the deck
+        shuffle(random);
+    }
+
+    /**
+     Overloaded constructor for Deck class. Populates the deck and shuffles it with a Random created from the given seed,
+     so that the same seed always deals the same cards.
+     @param seed the seed of the shuffle
+     */
+    public Deck(long seed) {
+        this(new Random(seed));
+    }
+
+    /**
+     Overloaded constructor for Deck class. Populates the deck and shuffles it with the given SplittableRandom, so that
+     every thread of a simulation can use its own generator (split from a common one) without contention.
+     Note: SplittableRandom is only available from Android API level 24, so this is meant for headless use.
+     @param random the source of randomness used to shuffle the deck
+     */
+    public Deck(SplittableRandom random) {
+        this(new SplittableRandomAdapter(random));
+    }
+
+    /**
+     selector function that returns the number of cards remaining
+     @return the number of cards currently in the deck
+     */
+    public int getNumRemaining() {
+        //return size of ArrayList of cards
+        return cards.size();
+    }
+
+
+    /**
+     removes a card from the top of the deck and returns it
+     @return a single card from the top of the deck
+     */
+    public Card takeOneFromTop() {
+        //if cards have run out, return null
+        if(cards.size() <= 0 ) {
+            return null;
+        }
+
+        //get card to return
+        Card cardAtTop = cards.get(cards.size() - 1);
+        //remove the card from the top of the ArrayList
+        cards.remove(cards.size() - 1);
+
+        return cardAtTop;
+    }
+
+
+    /**
+     returns copy of all the cards that are still stored in the deck object
+     @return the ArrayList containing all the cards
+     */
+    public ArrayList<Card> getAllRemainingCards() {
+        return cards;
+    }
+
+    /**
+     Puts the given card at the top of the deck.
+     @param card the card to be put on top of the deck
+     */
+    public void putCardAtTop(Card card) {
+        cards.add(card);
+    }
+
+    /**
+     Removes all the card from the deck
+     */
+    public void clear() {
+        cards.clear();
+    }
+
+    /**
+     Populates the Deck with the two copies of each card. The cards are the shared cards of the deck, in order of id:
+     by rank, then by suit, then by copy
+     */
+    private void populate() {
+        for(int id = 0; id < NUM_OF_CARDS; id++) {
+            cards.add(Card.fromId(id));
+        }
+    }
+
+    /**
+     Shuffles the order of the cards in the deck
+     */
+    public void shuffle() {
+        shuffle(new Random());
+    }
+
+    /**
+     Shuffles the order of the cards in the deck using the given source of randomness.
+     Produces the same order as Collections.shuffle(cards, random) without allocating.
+     @param random the source of randomness used to shuffle the deck
+     */
+    public void shuffle(Random random) {
+        int numOfCards = preparePositions();
+        shuffle(positions, numOfCards, random);
+        applyPositions(numOfCards);
+    }
+
+    /**
+     Shuffles the order of the cards in the deck using the given SplittableRandom
+     @param random the source of randomness used to shuffle the deck
+     */
+    public void shuffle(SplittableRandom random) {
+        shuffle(new SplittableRandomAdapter(random));
+    }
+
+    /**
+     Shuffles the first numOfCards entries of a primitive deck in place with the Fisher-Yates algorithm
+     @param deck the primitive deck (for example, card ids or positions) to be shuffled
+     @param numOfCards the number of entries of the deck to shuffle
+     @param random the source of randomness used to shuffle the deck
+     */
+    public static void shuffle(byte[] deck, int numOfCards, Random random) {
+        byte swapHolder;
+        //go from the bottom of the deck to the top, swapping each entry with a random one at or above it
+        for (int i = numOfCards - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            swapHolder = deck[i];
+            deck[i] = deck[j];
+            deck[j] = swapHolder;
+        }
+    }
+
+    /**
+     Shuffles the first numOfCards entries of a primitive deck in place with the Fisher-Yates algorithm
+     @param deck the primitive deck (for example, card ids or positions) to be shuffled
+     @param numOfCards the number of entries of the deck to shuffle
+     @param random the source of randomness used to shuffle the deck
+     */
+    public static void shuffle(byte[] deck, int numOfCards, SplittableRandom random) {
+        shuffle(deck, numOfCards, new SplittableRandomAdapter(random));
+    }
+
+    /**
+     Copies the cards of the deck into the scratch space and numbers their positions, so that the positions can be shuffled as a primitive deck
+     @return the number of cards in the deck
+     */
+    private int preparePositions() {
+        int numOfCards = Math.min(cards.size(), NUM_OF_CARDS);
+        for (int i = 0; i < numOfCards; i++) {
+            positions[i] = (byte) i;
+            cardsByPosition[i] = cards.get(i);
+        }
+        return numOfCards;
+    }
+
+    /**
+     Rearranges the cards of the deck according to the shuffled positions
+     @param numOfCards the number of cards that were shuffled
+     */
+    private void applyPositions(int numOfCards) {
+        for (int i = 0; i < numOfCards; i++) {
+            cards.set(i, cardsByPosition[positions[i]]);
+            cardsByPosition[positions[i]] = null;
+        }
+    }
+
+    /**
+     Lets a SplittableRandom stand in for a Random, so that both kinds of generator share one shuffle. Bounded numbers come
+     straight from the SplittableRandom, so a shuffle draws the same numbers it would from the SplittableRandom itself
+     */
+    private static class SplittableRandomAdapter extends Random {
+        private static final long serialVersionUID = 1L;
+
+        private final transient SplittableRandom random;
+
+        /**
+         Constructor for SplittableRandomAdapter class
+         @param random the generator the numbers are drawn from
+         */
+        SplittableRandomAdapter(SplittableRandom random) {
+            //the seed of the Random itself is never used
+            super(0L);
+            this.random = random;
+        }
+
+        @Override
+        protected int next(int bits) {
+            return random.nextInt() >>> (32 - bits);
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            return random.nextInt(bound);
+        }
+    }
+
+
+}
@@ -7,8 +7,6 @@
 
 package com.example.pinochleinandroid.models.cards;
 
-import java.lang.reflect.Array;
-import java.security.acl.Group;
 import java.util.ArrayList;
 
 public class GroupOfCards {
@@ -38,8 +36,8 @@ public class GroupOfCards {
     public GroupOfCards(GroupOfCards otherGroupOfCards) {
         cards = new ArrayList<Card>();
         for (int i = 0; i < otherGroupOfCards.getNumOfCards(); i++) {
-            //add copies of all the cards in the ArrayList
-            cards.add(new Card(otherGroupOfCards.getCardByPosition(i)));
+            //cards cannot be changed, so the copy shares them
+            cards.add(otherGroupOfCards.getCardByPosition(i));
         }
     }
 
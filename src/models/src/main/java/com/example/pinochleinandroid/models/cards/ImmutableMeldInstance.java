@@ -0,0 +1,98 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.cards;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class ImmutableMeldInstance {
+    //every valid meld that has been interned, keyed by the ids of its cards and the trump suit. There are only a few hundred possible
+    //melds, so the pool stays small. It is shared by all threads, since simulations search for melds on many threads at once
+    private static final ConcurrentHashMap<Long, ImmutableMeldInstance> POOL = new ConcurrentHashMap<>();
+
+    private final Card[] cards;
+    private final Suit trumpSuit;
+    private final Meld meldType;
+
+    /**
+     * Constructor for ImmutableMeldInstance class
+     * @param cards the cards of the meld instance, which are copied
+     * @param trumpSuit the trump suit of the current round
+     */
+    private ImmutableMeldInstance(ArrayList<Card> cards, Suit trumpSuit) {
+        this.cards = cards.toArray(new Card[cards.size()]);
+        this.trumpSuit = trumpSuit;
+        meldType = new MeldInstance(cards, trumpSuit).getMeldType();
+    }
+
+    /**
+     * returns the meld instance made of the given cards. Valid melds are shared: the same cards under the same trump suit always give
+     * the same object, so that the computer player's many candidate melds are each checked only once
+     * @param cards the cards of the meld instance
+     * @param trumpSuit the trump suit of the current round
+     * @return the shared meld instance if the cards form a valid meld, or else an unshared meld instance that is not valid
+     */
+    public static ImmutableMeldInstance intern(ArrayList<Card> cards, Suit trumpSuit) {
+        long key = 0;
+        for (int i = 0; i < cards.size(); i++) {
+            key |= 1L << cards.get(i).getId();
+        }
+        if (Long.bitCount(key) != cards.size()) {
+            //a meld never holds the same card twice
+            return new ImmutableMeldInstance(cards, trumpSuit);
+        }
+        key |= (long) (trumpSuit == null ? Suit.values().length : trumpSuit.ordinal()) << Deck.NUM_OF_CARDS;
+
+        ImmutableMeldInstance meldInstance = POOL.get(key);
+        if (meldInstance == null) {
+            meldInstance = new ImmutableMeldInstance(cards, trumpSuit);
+            if (!meldInstance.isValidMeld()) {
+                return meldInstance;
+            }
+            ImmutableMeldInstance pooledMeldInstance = POOL.putIfAbsent(key, meldInstance);
+            if (pooledMeldInstance != null) {
+                meldInstance = pooledMeldInstance;
+            }
+        }
+        return meldInstance;
+    }
+
+    /**
+     * returns the Meld type of this meld instance
+     * @return the meld type of this instance; null if the meld is invalid
+     */
+    public Meld getMeldType() {
+        return meldType;
+    }
+
+    /**
+     * checks if this meld instance forms a valid meld or not
+     * @return true if the meld instance forms a valid meld, false if not
+     */
+    public Boolean isValidMeld() {
+        return meldType != null;
+    }
+
+    /**
+     * returns the cards of this meld instance
+     * @return a new ArrayList of the cards
+     */
+    public ArrayList<Card> getCards() {
+        return new ArrayList<Card>(Arrays.asList(cards));
+    }
+
+    /**
+     * creates a MeldInstance of the cards of this meld instance, for a player to store or change. The meld type is carried over,
+     * so it is not checked again
+     * @return a new MeldInstance of the same cards, trump suit and meld type
+     */
+    public MeldInstance toMeldInstance() {
+        return new MeldInstance(getCards(), trumpSuit, meldType);
+    }
+}
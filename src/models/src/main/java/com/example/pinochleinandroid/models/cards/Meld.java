@@ -10,16 +10,17 @@ package com.example.pinochleinandroid.models.cards;
 public enum Meld {
     FLUSH, ROYAL_MARRIAGE, MARRIAGE, DIX, FOUR_ACES, FOUR_KINGS, FOUR_QUEENS, FOUR_JACKS, PINOCHLE;
 
+    private final String string;
+
     /**
-     * generates the string representation of the meld
-     * @return the string representation of the meld
+     * Constructor for Meld enum. Precomputes the string representation of the meld
      */
-    public String getString() {
-        String str = super.toString();
+    Meld() {
+        String str = name();
         //find index of "_" character, if it exists
         int index = str.indexOf("_");
         //replace "_" character with a " " character
-        str = super.toString().replace("_", " ");
+        str = name().replace("_", " ");
         str = str.toLowerCase();
         //create the final string with proper format
         if(index == -1) {
@@ -27,7 +28,15 @@ public enum Meld {
         } else {
             str = str.substring(0,1).toUpperCase() + str.substring(1, index) + str.substring(index, index + 1).toUpperCase() + str.substring(index + 1);
         }
-        return str;
+        string = str.intern();
+    }
+
+    /**
+     * returns the string representation of the meld
+     * @return the string representation of the meld
+     */
+    public String getString() {
+        return string;
     }
 
 }
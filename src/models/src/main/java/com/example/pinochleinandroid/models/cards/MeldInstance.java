@@ -0,0 +1,294 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.cards;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class MeldInstance extends GroupOfCards {
+    private static final Rank[] RANKS = Rank.values();
+    private static final Suit[] SUITS = Suit.values();
+    //the meld table: the key of every meld under every trump suit (and under no trump suit) in sorted order, and the meld of each key.
+    //A key is the set of the card types of the meld, with the trump suit above it
+    private static final int[] MELD_TABLE_KEYS;
+    private static final Meld[] MELD_TABLE_MELDS;
+
+    static {
+        TreeMap<Integer, Meld> entries = new TreeMap<>();
+        for(Suit trumpSuit : SUITS) {
+            addMeldTableEntries(entries, trumpSuit);
+        }
+        addMeldTableEntries(entries, null);
+        MELD_TABLE_KEYS = new int[entries.size()];
+        MELD_TABLE_MELDS = new Meld[entries.size()];
+        int i = 0;
+        for(Map.Entry<Integer, Meld> entry : entries.entrySet()) {
+            MELD_TABLE_KEYS[i] = entry.getKey();
+            MELD_TABLE_MELDS[i] = entry.getValue();
+            i++;
+        }
+    }
+
+    private Meld meldType;
+    private Boolean meldIsValid;
+    private Suit trumpSuit;
+
+    /**
+     * default constructor for the MeldInstance class. Initializes all fields to null
+     */
+    public MeldInstance() {
+        meldType = null;
+        trumpSuit = null;
+        meldIsValid = false;
+    }
+
+    /**
+     * Overloaded Constructor for the MeldInstance class
+     * @param cards the ArrayList of all cards that are part of the MeldInstance object
+     * @param trumpSuit the trumpSuit of the current round
+     */
+    public MeldInstance(ArrayList<Card> cards, Suit trumpSuit){
+        super(cards);
+        this.trumpSuit = trumpSuit;
+        meldIsValid = checkMeldValidity();
+    }
+
+    /**
+     * Overloaded Constructor for the MeldInstance class, for cards whose meld type is already known
+     * @param cards the ArrayList of all cards that are part of the MeldInstance object
+     * @param trumpSuit the trumpSuit of the current round
+     * @param meldType the meld formed by the cards, or null if they do not form a meld
+     */
+    MeldInstance(ArrayList<Card> cards, Suit trumpSuit, Meld meldType) {
+        super(cards);
+        this.trumpSuit = trumpSuit;
+        this.meldType = meldType;
+        meldIsValid = meldType != null;
+    }
+
+    /**
+     * returns the Meld type of this meld instance
+     * @return the meld type of this current instance, of enum type Meld; null if meld is invalid
+     */
+    public Meld getMeldType() {
+        if(meldIsValid == false) {
+            return null;
+        }
+        return meldType;
+    }
+
+    /**
+     * to get the string representation of the meld formed by this meldinstance
+     * @return the string representation of the meld type
+     */
+    public String getMeldTypeString() {
+        if(!meldIsValid) {
+            return null;
+        }
+
+        return meldType.getString();
+    }
+
+    /**
+     * returns the points corresponding to this meld instance
+     * @return the points that playing this meld would yield
+     */
+    public int getMeldPoints() {
+        if(!meldIsValid) {
+            return 0;
+        }
+        switch(meldType) {
+            case FLUSH:
+                return 150;
+            case ROYAL_MARRIAGE:
+                return 40;
+            case MARRIAGE:
+                return 20;
+            case DIX:
+                return 10;
+            case FOUR_ACES:
+                return 100;
+            case FOUR_KINGS:
+                return 80;
+            case FOUR_QUEENS:
+                return 60;
+            case FOUR_JACKS:
+                return 40;
+            case PINOCHLE:
+                return 40;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * checks if this meld instance forms a valid meld or not
+     * @return true if the meld intance forms a valid meld, false if not
+     */
+    public Boolean isValidMeld() {
+        return meldIsValid;
+    }
+
+    /**
+     * adds a card to the meld instance and updates the validity of the new meld formed
+     * @param card the card to be added
+     * @param trumpSuit the trump suit of the round
+     * @return true when card is added successfully, false otherwise
+     */
+    public Boolean addCard(Card card, Suit trumpSuit) {
+        cards.add(card);
+        this.trumpSuit = trumpSuit;
+        meldIsValid = checkMeldValidity();
+        return true;
+    }
+
+    /**
+     * removes a card of the given id from this meld instance
+     * @param id the GroupOfCards object that this object will be compared to
+     * @return true if the card was found and removed, false otherwise
+     */
+    @Override
+    public Boolean removeCardById(int id) {
+        for(int i = 0; i < cards.size(); i++) {
+            if(cards.get(i).getId() == id) {
+                cards.remove(i);
+                meldIsValid = checkMeldValidity();
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * removes the card in the given position
+     * @param position the position of the card to be removed
+     * @return true when the card is removed successfully, false otherwise
+     */
+    @Override
+    public Boolean removeCardByPosition(int position) {
+        if(position >= cards.size() || position < 0) {
+            return false;
+        }
+        if(cards.size()  < 1) {
+            return false;
+        }
+        cards.remove(position);
+        meldIsValid = checkMeldValidity();
+        return true;
+    }
+
+
+    /**
+     * empties the meld intance object of all cards
+     * @return returns true when successfully emptied
+     */
+    public Boolean removeAllCards() {
+        meldIsValid = false;
+        cards.clear();
+        return true;
+    }
+
+
+
+    /**
+     * determines, given all the cards stored in the object, if a valid meld is formed by them, with a single lookup in the meld table
+     * @return true if valid meld is formed by the cards, false otherwise
+     */
+    private Boolean checkMeldValidity() {
+        meldType = null;
+        //if the number of cards does not correspond to any possible meld, return false
+        if(cards.size() < 1 || cards.size() == 3 || cards.size() > 5) {
+            return false;
+        }
+
+        //no meld holds two cards of the same type, so the types of the cards are kept as a set of bits
+        int cardTypes = 0;
+        for(int i = 0; i < cards.size(); i++) {
+            Card card = cards.get(i);
+            if(card.getRank() == null || card.getSuit() == null) {
+                return false;
+            }
+            cardTypes |= 1 << cardType(card.getRank(), card.getSuit());
+        }
+        if(Integer.bitCount(cardTypes) != cards.size()) {
+            return false;
+        }
+
+        meldType = findMeldType(cardTypes, trumpSuit);
+        return meldType != null;
+    }
+
+    /**
+     * looks up the meld formed by a set of card types under a trump suit in the meld table
+     * @param cardTypes a set of card types, with bit (rank * 4 + suit) set for each card type
+     * @param trumpSuit the trump suit of the round, or null if there is none
+     * @return the meld formed by the card types, or null if they do not form a meld
+     */
+    private static Meld findMeldType(int cardTypes, Suit trumpSuit) {
+        int index = Arrays.binarySearch(MELD_TABLE_KEYS, meldTableKey(cardTypes, trumpSuit));
+        return index >= 0 ? MELD_TABLE_MELDS[index] : null;
+    }
+
+    /**
+     * returns the type of a card, a number from 0 to 23 that is the same for both copies of a card
+     * @param rank the rank of the card
+     * @param suit the suit of the card
+     * @return the type of the card
+     */
+    private static int cardType(Rank rank, Suit suit) {
+        return rank.ordinal() * SUITS.length + suit.ordinal();
+    }
+
+    /**
+     * returns the key of a set of card types under a trump suit in the meld table
+     * @param cardTypes a set of card types, with a bit set for each card type
+     * @param trumpSuit the trump suit of the round, or null if there is none
+     * @return the key in the meld table
+     */
+    private static int meldTableKey(int cardTypes, Suit trumpSuit) {
+        int trump = trumpSuit == null ? SUITS.length : trumpSuit.ordinal();
+        return cardTypes | (trump << (RANKS.length * SUITS.length));
+    }
+
+    /**
+     * adds every meld that can be made under a trump suit to the meld table being built
+     * @param entries the entries of the meld table, mapping each key to its meld
+     * @param trumpSuit the trump suit, or null if there is none
+     */
+    private static void addMeldTableEntries(TreeMap<Integer, Meld> entries, Suit trumpSuit) {
+        if(trumpSuit != null) {
+            //a Dix is the Nine of trump, and a Flush is the Ace, Ten, King, Queen and Jack of trump
+            entries.put(meldTableKey(1 << cardType(Rank.NINE, trumpSuit), trumpSuit), Meld.DIX);
+            int flush = 0;
+            for(Rank rank : new Rank[] {Rank.ACE, Rank.TEN, Rank.KING, Rank.QUEEN, Rank.JACK}) {
+                flush |= 1 << cardType(rank, trumpSuit);
+            }
+            entries.put(meldTableKey(flush, trumpSuit), Meld.FLUSH);
+        }
+        //a King and Queen of the same suit, which is a Royal Marriage in the trump suit
+        for(Suit suit : SUITS) {
+            int marriage = (1 << cardType(Rank.KING, suit)) | (1 << cardType(Rank.QUEEN, suit));
+            entries.put(meldTableKey(marriage, trumpSuit), suit == trumpSuit ? Meld.ROYAL_MARRIAGE : Meld.MARRIAGE);
+        }
+        //the Queen of Spades and the Jack of Diamonds
+        entries.put(meldTableKey((1 << cardType(Rank.QUEEN, Suit.SPADES)) | (1 << cardType(Rank.JACK, Suit.DIAMONDS)), trumpSuit), Meld.PINOCHLE);
+        //one card of each suit of the same rank
+        Rank[] foursRanks = {Rank.ACE, Rank.KING, Rank.QUEEN, Rank.JACK};
+        Meld[] foursMelds = {Meld.FOUR_ACES, Meld.FOUR_KINGS, Meld.FOUR_QUEENS, Meld.FOUR_JACKS};
+        for(int i = 0; i < foursRanks.length; i++) {
+            int fours = 0;
+            for(Suit suit : SUITS) {
+                fours |= 1 << cardType(foursRanks[i], suit);
+            }
+            entries.put(meldTableKey(fours, trumpSuit), foursMelds[i]);
+        }
+    }
+}
@@ -10,16 +10,26 @@ package com.example.pinochleinandroid.models.cards;
 import java.util.ArrayList;
 
 public class MeldsStorage {
+    private static final Meld[] MELDS = Meld.values();
+
     private ArrayList<ArrayList<MeldInstance>> storage;
+    //an index from each card id to the meld instances using the card (in the order they were added), and to the meld types of those instances as bits
+    private ArrayList<ArrayList<MeldInstance>> meldsByCard;
+    private int[] meldTypesByCard;
 
     /**
      * Constructor for MeldsStorage class
      */
     public MeldsStorage() {
         storage = new ArrayList<ArrayList<MeldInstance>>();
-        for (int i = 0; i < Meld.values().length; i++) {
+        for (int i = 0; i < MELDS.length; i++) {
             storage.add(new ArrayList<MeldInstance>());
         }
+        meldsByCard = new ArrayList<ArrayList<MeldInstance>>(Deck.NUM_OF_CARDS);
+        for (int i = 0; i < Deck.NUM_OF_CARDS; i++) {
+            meldsByCard.add(new ArrayList<MeldInstance>(2));
+        }
+        meldTypesByCard = new int[Deck.NUM_OF_CARDS];
     }
 
     /**
@@ -39,7 +49,7 @@ public class MeldsStorage {
      */
     public int getNumOfMelds() {
         int numOfMelds = 0;
-        for (int i = 0; i < Meld.values().length; i++) {
+        for (int i = 0; i < MELDS.length; i++) {
             numOfMelds += storage.get(i).size();
         }
         return numOfMelds;
@@ -72,19 +82,8 @@ public class MeldsStorage {
      * @return true if card is used by a meld instance of the given meld, false otherwise
      */
     public Boolean isCardUsedByMeld(Card card, Meld meldType) {
-        //get int representation of the given meld
-        int meldTypeInt = meldType.ordinal();
-        //get the number of instances of that particular meld type
-        int numOfMeldsPlayed = storage.get(meldTypeInt).size();
-
-        for (int i = 0; i < numOfMeldsPlayed; i++) {
-            //if that card is found in a meld instance, return true
-            if (storage.get(meldTypeInt).get(i).searchCardById(card.getId()) == true) {
-                return true;
-            }
-        }
-        //return false;
-        return false;
+        int id = card.getId();
+        return isIndexed(id) && (meldTypesByCard[id] & (1 << meldType.ordinal())) != 0;
     }
 
     /**
@@ -95,13 +94,17 @@ public class MeldsStorage {
      */
     public ArrayList<MeldInstance> getAllMeldsUsingCard(Card card) {
         ArrayList<MeldInstance> allMeldsUsingCard = new ArrayList<MeldInstance>();
-        //loop through all meld types
-        for (int i = 0; i < storage.size(); i++) {
-            //loop through all instances of a meld type
-            for (int j = 0; j < storage.get(i).size(); j++) {
-                //if card is in the given meld instance, push it as one of the results
-                if (storage.get(i).get(j).searchCardById(card.getId()) == true) {
-                    allMeldsUsingCard.add(storage.get(i).get(j));
+        int id = card.getId();
+        if (!isIndexed(id)) {
+            return allMeldsUsingCard;
+        }
+        ArrayList<MeldInstance> meldsUsingCard = meldsByCard.get(id);
+        //the results are grouped by meld type, like the meld instances in the storage
+        for (int meldTypes = meldTypesByCard[id]; meldTypes != 0; meldTypes &= meldTypes - 1) {
+            Meld meldType = MELDS[Integer.numberOfTrailingZeros(meldTypes)];
+            for (int i = 0; i < meldsUsingCard.size(); i++) {
+                if (meldsUsingCard.get(i).getMeldType() == meldType) {
+                    allMeldsUsingCard.add(meldsUsingCard.get(i));
                 }
             }
         }
@@ -115,30 +118,29 @@ public class MeldsStorage {
      * @return true if the group of cards have together been used to create a meld before, false otherwise
      */
     public Boolean cardsUsedForSameMeld(ArrayList<Card> cards) {
-        //get int representation of the given meld
-
-        //get the number of instances of that particular meld type
-        int numOfMeldsPlayed;
-
-        //loop through every meld type
-        for (int meldTypeInt = 0; meldTypeInt < Meld.values().length; meldTypeInt++) {
-            numOfMeldsPlayed = storage.get(meldTypeInt).size();
-            //loop through each instance of a meld type
-            for (int i = 0; i < numOfMeldsPlayed; i++) {
-                Boolean cardsUsedBySameMeld = true;
-                //check if all cards are present in the meld instance
-                for (int j = 0; j < cards.size(); j++) {
-                    //if one of the cards is not found in the meld instance currently being looped through
-                    if (storage.get(meldTypeInt).get(i).searchCardById(cards.get(j).getId()) != true) {
-                        cardsUsedBySameMeld = false;
-                        break;
-                    }
-                }
-                //if a meld instance with all the cards in it has been found, return true;
-                if (cardsUsedBySameMeld == true) {
-                    return true;
+        if (cards.isEmpty()) {
+            //no cards are trivially found together in any meld instance
+            return getNumOfMelds() > 0;
+        }
+        int firstId = cards.get(0).getId();
+        if (!isIndexed(firstId)) {
+            return false;
+        }
+        //only the meld instances using the first card can hold all of the cards
+        ArrayList<MeldInstance> meldsUsingCard = meldsByCard.get(firstId);
+        for (int i = 0; i < meldsUsingCard.size(); i++) {
+            MeldInstance meldInstance = meldsUsingCard.get(i);
+            Boolean cardsUsedBySameMeld = true;
+            for (int j = 1; j < cards.size(); j++) {
+                //if one of the cards is not found in the meld instance currently being looped through
+                if (!meldInstance.searchCardById(cards.get(j).getId())) {
+                    cardsUsedBySameMeld = false;
+                    break;
                 }
             }
+            if (cardsUsedBySameMeld) {
+                return true;
+            }
         }
         return false;
     }
@@ -164,17 +166,12 @@ public class MeldsStorage {
      * @return true if the card has been used by a meld instance, false if not
      */
     public Boolean isCardUsedByAnyMeld(Card card) {
-
-        for (int meldType = 0; meldType < Meld.values().length; meldType++) {
-            if (isCardUsedByMeld(card, Meld.values()[meldType])) {
-                return true;
-            }
-        }
-        return false;
+        int id = card.getId();
+        return isIndexed(id) && meldTypesByCard[id] != 0;
     }
 
     /**
-     * Adds a meld instance to the melds storage
+     * Adds a meld instance to the melds storage. The cards of a meld instance must not change once it has been added
      *
      * @param meldInstance the meld instance to be added
      * @return true if successfully added, false if not added
@@ -185,6 +182,15 @@ public class MeldsStorage {
         }
 
         storage.get(meldInstance.getMeldType().ordinal()).add(meldInstance);
+        //index the meld instance under each of its cards
+        int meldTypeBit = 1 << meldInstance.getMeldType().ordinal();
+        for (int i = 0; i < meldInstance.getNumOfCards(); i++) {
+            int id = meldInstance.getCardByPosition(i).getId();
+            if (isIndexed(id)) {
+                meldsByCard.get(id).add(meldInstance);
+                meldTypesByCard[id] |= meldTypeBit;
+            }
+        }
         return true;
     }
 
@@ -218,10 +224,46 @@ public class MeldsStorage {
         for (int i = 0; i < numOfMeldsPlayed; i++) {
             if (storage.get(meldTypeInt).get(i) == meldInstance) {
                 storage.get(meldTypeInt).remove(i);
+                unindexMeld(meldInstance);
                 return true;
             }
         }
         return false;
     }
 
+    /**
+     * removes a meld instance from the index of each of its cards, and works out again which meld types each card is still used by
+     * @param meldInstance the meld instance that has been removed from the storage
+     */
+    private void unindexMeld(MeldInstance meldInstance) {
+        for (int i = 0; i < meldInstance.getNumOfCards(); i++) {
+            int id = meldInstance.getCardByPosition(i).getId();
+            if (!isIndexed(id)) {
+                continue;
+            }
+            ArrayList<MeldInstance> meldsUsingCard = meldsByCard.get(id);
+            //a meld instance added more than once is only removed once
+            for (int j = 0; j < meldsUsingCard.size(); j++) {
+                if (meldsUsingCard.get(j) == meldInstance) {
+                    meldsUsingCard.remove(j);
+                    break;
+                }
+            }
+            int meldTypes = 0;
+            for (int j = 0; j < meldsUsingCard.size(); j++) {
+                meldTypes |= 1 << meldsUsingCard.get(j).getMeldType().ordinal();
+            }
+            meldTypesByCard[id] = meldTypes;
+        }
+    }
+
+    /**
+     * Informs whether a card id is one the index covers; cards without an id (such as a trump card read from text) are never used by melds
+     * @param id the id of the card
+     * @return true if the id belongs to one of the cards of the deck, false otherwise
+     */
+    private Boolean isIndexed(int id) {
+        return id >= 0 && id < Deck.NUM_OF_CARDS;
+    }
+
 }
\ No newline at end of file
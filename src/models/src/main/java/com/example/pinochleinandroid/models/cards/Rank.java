@@ -10,29 +10,39 @@ package com.example.pinochleinandroid.models.cards;
 public enum Rank {
     NINE, JACK, QUEEN, KING, TEN, ACE;
 
+    private final String string;
+    private final String shortString;
+
+    /**
+     * Constructor for Rank enum. Precomputes the string representations of the rank
+     */
+    Rank() {
+        string = (name().substring(0, 1) + name().toLowerCase()).intern();
+        String firstLetter = name().substring(0, 1);
+        if(firstLetter.equals("T")) {
+            shortString = "X";
+        } else if (firstLetter.equals("N")) {
+            shortString = "9";
+        }
+        else {
+            shortString = firstLetter.intern();
+        }
+    }
+
     /**
-     * generates the string representation of the rank
+     * returns the string representation of the rank
      * @return the string representation of the rank
      */
     public String getString() {
-        return super.toString().substring(0, 1) + super.toString().toLowerCase();
+        return string;
     }
 
     /**
-     * generates the shortened string representation of the rank
+     * returns the shortened string representation of the rank
      * @return the shortened string representation of the rank
      */
     public String getShortString() {
-        String string = super.toString().substring(0, 1);
-        if(string.equals("T")) {
-            return "X";
-        } else if (string.equals("N")) {
-            return "9";
-        }
-        else {
-            return super.toString().substring(0, 1);
-        }
-
+        return shortString;
     }
 
 }
@@ -7,24 +7,33 @@
 
 package com.example.pinochleinandroid.models.cards;
 
-import androidx.annotation.NonNull;
-
 public enum Suit {
     CLUBS, DIAMONDS, HEARTS, SPADES;
 
+    private final String string;
+    private final String shortString;
+
+    /**
+     * Constructor for Suit enum. Precomputes the string representations of the suit
+     */
+    Suit() {
+        string = (name().substring(0, 1) + name().toLowerCase()).intern();
+        shortString = name().substring(0, 1).intern();
+    }
+
     /**
-     * generates the string representation of the suit
+     * returns the string representation of the suit
      * @return the string representation of the suit
      */
     public String getString() {
-        return super.toString().substring(0, 1) + super.toString().toLowerCase();
+        return string;
     }
 
     /**
-     * generates the shortened string representation of the suit
+     * returns the shortened string representation of the suit
      * @return the shortened string representation of the suit
      */
     public String getShortString() {
-        return super.toString().substring(0, 1);
+        return shortString;
     }
 }
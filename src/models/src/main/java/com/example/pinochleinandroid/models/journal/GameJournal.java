@@ -0,0 +1,269 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.journal;
+
+import com.example.pinochleinandroid.models.GameEventListener;
+import com.example.pinochleinandroid.models.GameModel;
+import com.example.pinochleinandroid.models.search.CardIds;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.zip.CRC32;
+
+public class GameJournal implements GameEventListener {
+    public static final int JOURNAL_MAGIC = 0x504E434A;
+    public static final int JOURNAL_VERSION = 1;
+    //a round has about 150 events, so the journal is compacted a few times a round
+    public static final int DEFAULT_COMPACTION_INTERVAL = 64;
+    //the magic number, the version and the length of the snapshot
+    private static final int HEADER_SIZE = 10;
+
+    private final GameModel gameModel;
+    private final JournalWriter writer;
+    private final int compactionInterval;
+    private final CRC32 checksum;
+    //the number of events written since the last snapshot
+    private int numOfEvents;
+    //whether the events since the last snapshot include one that cannot be replayed, like the deal of a new round
+    private Boolean needsSnapshot;
+
+    /**
+     * Constructor for GameJournal class. Starts listening to the events of a game and writing them to the journal
+     * @param gameModel the game to be journaled
+     * @param writer the writer of the journal file
+     * @param compactionInterval the number of events after which the journal is replaced by a snapshot of the game, at the next start of a turn
+     * @param continueJournal true to add to the journal the game was just recovered from, false to start a new journal
+     */
+    public GameJournal(GameModel gameModel, JournalWriter writer, int compactionInterval, Boolean continueJournal) {
+        this.gameModel = gameModel;
+        this.writer = writer;
+        this.compactionInterval = compactionInterval;
+        checksum = new CRC32();
+        numOfEvents = 0;
+        needsSnapshot = !continueJournal;
+        if (!continueJournal) {
+            //a game that cannot be snapshot yet (before the first coin toss) starts with an empty journal, so the last game is not resumed by mistake
+            if (!compactIfPossible()) {
+                writer.replace(journalWithSnapshot(new byte[0]));
+            }
+        }
+        gameModel.setGameEventListener(this);
+    }
+
+    /**
+     * writes an event to the journal as a record of 2 to 8 bytes: the event type and player, the ids of the cards, and a check byte.
+     * A meld also records its number of cards, so a Flush takes the most bytes
+     * @param event the type of the event, one of the constants of GameEventListener
+     * @param player the seat of the player the event is about, or -1
+     * @param cardIds the mask of the ids of the cards the event is about
+     */
+    @Override
+    public void onGameEvent(int event, int player, long cardIds) {
+        int numOfCards = Long.bitCount(cardIds);
+        Boolean hasCardCount = event == MELD;
+        byte[] record = new byte[2 + numOfCards + (hasCardCount ? 1 : 0)];
+        int length = 0;
+        record[length++] = (byte) (event | ((player + 1) << 4));
+        if (hasCardCount) {
+            record[length++] = (byte) numOfCards;
+        }
+        for (long mask = cardIds; mask != 0; mask &= mask - 1) {
+            record[length++] = (byte) Long.numberOfTrailingZeros(mask);
+        }
+        record[length] = checkByte(record, length);
+        writer.append(record);
+
+        numOfEvents++;
+        if (event == NEW_ROUND || event == GAME_LOADED || event == COIN_TOSS) {
+            needsSnapshot = true;
+        }
+    }
+
+    /**
+     * replaces the journal with a snapshot once the game has reached the start of a turn, if it has grown long or cannot be replayed as it is
+     */
+    @Override
+    public void onEventsFinished() {
+        if (needsSnapshot || numOfEvents >= compactionInterval) {
+            compactIfPossible();
+        }
+    }
+
+    /**
+     * replaces the journal with a snapshot of the game, if the game is at the start of a turn (the only point it can be saved at)
+     * @return true if the journal was replaced, false otherwise
+     */
+    private Boolean compactIfPossible() {
+        if (!gameModel.isAtStartOfTurn()) {
+            return false;
+        }
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        try {
+            gameModel.writeSaveGame(snapshot);
+        } catch (IOException e) {
+            //a ByteArrayOutputStream is never short of space
+            return false;
+        }
+        writer.replace(journalWithSnapshot(snapshot.toByteArray()));
+        numOfEvents = 0;
+        needsSnapshot = false;
+        return true;
+    }
+
+    /**
+     * creates the start of a journal: the header followed by a snapshot of the game in the binary save format
+     * @param snapshot the snapshot, or no bytes if there is no game to resume yet
+     * @return the bytes of the journal
+     */
+    private static byte[] journalWithSnapshot(byte[] snapshot) {
+        ByteArrayOutputStream journal = new ByteArrayOutputStream(HEADER_SIZE + snapshot.length);
+        DataOutputStream out = new DataOutputStream(journal);
+        try {
+            out.writeInt(JOURNAL_MAGIC);
+            out.writeShort(JOURNAL_VERSION);
+            out.writeInt(snapshot.length);
+            out.write(snapshot);
+        } catch (IOException e) {
+            //a ByteArrayOutputStream is never short of space
+        }
+        return journal.toByteArray();
+    }
+
+    /**
+     * restores a game from a journal: loads its snapshot and replays the events after it, stopping at the first event that was
+     * only partly written, fails its check byte, or cannot be replayed. The journal is then cut back to the events that were replayed,
+     * so that a GameJournal can continue it
+     * @param file the journal file
+     * @param gameModel the game model to restore the game into
+     * @return true if a game was restored, false if there is no journal or it holds no game
+     * @throws IOException if the journal exists but cannot be read
+     */
+    public static Boolean recover(File file, GameModel gameModel) throws IOException {
+        if (!file.exists()) {
+            return false;
+        }
+        byte[] journal = readFile(file);
+        if (journal.length < HEADER_SIZE) {
+            return false;
+        }
+        int magic = readInt(journal, 0);
+        int version = ((journal[4] & 0xFF) << 8) | (journal[5] & 0xFF);
+        int snapshotLength = readInt(journal, 6);
+        if (magic != JOURNAL_MAGIC || version != JOURNAL_VERSION || snapshotLength <= 0 || snapshotLength > journal.length - HEADER_SIZE) {
+            return false;
+        }
+        if (!gameModel.loadGame(new ByteArrayInputStream(journal, HEADER_SIZE, snapshotLength))) {
+            return false;
+        }
+
+        CRC32 checksum = new CRC32();
+        int position = HEADER_SIZE + snapshotLength;
+        while (position < journal.length) {
+            int event = journal[position] & 0xF;
+            int player = ((journal[position] & 0xFF) >> 4) - 1;
+            int numOfCards;
+            int cardsStart = position + 1;
+            if (event == MELD) {
+                if (position + 1 >= journal.length) {
+                    break;
+                }
+                numOfCards = journal[position + 1];
+                cardsStart++;
+            } else {
+                numOfCards = event <= TRUMP_CARD_TAKEN ? 1 : 0;
+            }
+            int checkPosition = cardsStart + numOfCards;
+            if (numOfCards < 0 || checkPosition >= journal.length || event >= NUM_OF_EVENTS
+                    || journal[checkPosition] != checkByte(checksum, journal, position, checkPosition - position)) {
+                break;
+            }
+            long cardIds = 0;
+            for (int i = cardsStart; i < checkPosition; i++) {
+                if (journal[i] < 0 || journal[i] >= CardIds.NUM_OF_CARD_IDS) {
+                    break;
+                }
+                cardIds |= 1L << journal[i];
+            }
+            if (Long.bitCount(cardIds) != numOfCards || !gameModel.replayEvent(event, player, cardIds)) {
+                break;
+            }
+            position = checkPosition + 1;
+        }
+
+        if (position < journal.length) {
+            RandomAccessFile truncatedFile = new RandomAccessFile(file, "rw");
+            try {
+                truncatedFile.setLength(position);
+            } finally {
+                truncatedFile.close();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * computes the check byte of a record
+     * @param record the bytes of the record
+     * @param length the number of bytes before the check byte
+     * @return the check byte
+     */
+    private byte checkByte(byte[] record, int length) {
+        return checkByte(checksum, record, 0, length);
+    }
+
+    /**
+     * computes the check byte of a record, the low byte of the CRC32 of its other bytes
+     * @param checksum the checksum to compute it with
+     * @param data the bytes holding the record
+     * @param offset the index of the first byte of the record
+     * @param length the number of bytes before the check byte
+     * @return the check byte
+     */
+    private static byte checkByte(CRC32 checksum, byte[] data, int offset, int length) {
+        checksum.reset();
+        checksum.update(data, offset, length);
+        return (byte) checksum.getValue();
+    }
+
+    /**
+     * reads a big-endian int
+     * @param data the bytes holding the int
+     * @param offset the index of the first byte of the int
+     * @return the int
+     */
+    private static int readInt(byte[] data, int offset) {
+        return ((data[offset] & 0xFF) << 24) | ((data[offset + 1] & 0xFF) << 16) | ((data[offset + 2] & 0xFF) << 8) | (data[offset + 3] & 0xFF);
+    }
+
+    /**
+     * reads a whole file
+     * @param file the file
+     * @return the bytes of the file
+     * @throws IOException if the file cannot be read
+     */
+    private static byte[] readFile(File file) throws IOException {
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        InputStream in = new FileInputStream(file);
+        try {
+            byte[] buffer = new byte[4096];
+            int numOfBytes;
+            while ((numOfBytes = in.read(buffer)) != -1) {
+                data.write(buffer, 0, numOfBytes);
+            }
+        } finally {
+            in.close();
+        }
+        return data.toByteArray();
+    }
+}
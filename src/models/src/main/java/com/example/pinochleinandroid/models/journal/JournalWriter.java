@@ -0,0 +1,244 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.journal;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+public class JournalWriter {
+    //the writer thread last started for each journal file. A writer that is closed without waiting may still be writing
+    //when the next writer of the same file starts, so the next one waits for it
+    private static final HashMap<File, Thread> LATEST_THREADS = new HashMap<>();
+
+    private final File file;
+    private final File tempFile;
+    //the writes waiting for the writer thread, in order
+    private final LinkedBlockingQueue<WriteRequest> requests;
+    private final Thread thread;
+    //the writer thread of the same file started before this one, or null
+    private final Thread earlierThread;
+    //only used on the writer thread
+    private FileOutputStream journalStream;
+
+    /**
+     * A piece of data to be written to the journal, or the request to stop writing
+     */
+    private static class WriteRequest {
+        private final byte[] data;
+        private final Boolean replacesJournal;
+
+        /**
+         * Constructor for WriteRequest class
+         * @param data the bytes to be written, or null to stop writing
+         * @param replacesJournal true if the bytes replace the whole journal, false if they are added to its end
+         */
+        WriteRequest(byte[] data, Boolean replacesJournal) {
+            this.data = data;
+            this.replacesJournal = replacesJournal;
+        }
+    }
+
+    /**
+     * Constructor for JournalWriter class. Starts the thread that writes to the journal file
+     * @param file the journal file
+     */
+    public JournalWriter(File file) {
+        this.file = file;
+        tempFile = new File(file.getPath() + ".tmp");
+        requests = new LinkedBlockingQueue<>();
+        journalStream = null;
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                writeRequests();
+            }
+        }, "journal-writer");
+        thread.setDaemon(true);
+        synchronized (LATEST_THREADS) {
+            earlierThread = LATEST_THREADS.put(file.getAbsoluteFile(), thread);
+        }
+        thread.start();
+    }
+
+    /**
+     * returns the journal file
+     * @return the journal file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * adds bytes to the end of the journal. Returns at once; the bytes are written and synced to storage on the writer thread
+     * @param data the bytes to be added, which must not be changed afterwards
+     */
+    public void append(byte[] data) {
+        requests.add(new WriteRequest(data, false));
+    }
+
+    /**
+     * replaces the whole journal, such as with a compacted snapshot. Returns at once; the new journal is written to a temporary file
+     * and then renamed over the old one, so a crash leaves either the old or the new journal, never a mix
+     * @param data the new contents of the journal, which must not be changed afterwards
+     */
+    public void replace(byte[] data) {
+        requests.add(new WriteRequest(data, true));
+    }
+
+    /**
+     * writes everything still waiting, then stops the writer thread. Blocks until the writes are done
+     */
+    public void close() {
+        closeWithoutWaiting();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * stops the writer thread once everything still waiting is written, and returns at once, so that the main thread
+     * never waits on storage. Nothing added after this is written
+     */
+    public void closeWithoutWaiting() {
+        requests.add(new WriteRequest(null, false));
+    }
+
+    /**
+     * waits until the writers of the same file that were started before this one have finished, so that the journal file
+     * can be read as a whole. The writer thread itself waits for them before its first write
+     */
+    public void awaitEarlierWriters() {
+        if (earlierThread == null) {
+            return;
+        }
+        try {
+            earlierThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * the loop of the writer thread. Every request that piles up while a batch is written goes into the next batch,
+     * so there is only one sync per batch however quickly moves are made
+     */
+    private void writeRequests() {
+        awaitEarlierWriters();
+        ArrayList<WriteRequest> batch = new ArrayList<>();
+        Boolean closing = false;
+        while (!closing) {
+            try {
+                batch.add(requests.take());
+            } catch (InterruptedException e) {
+                //only close() stops the writer, so that nothing waiting is lost
+                continue;
+            }
+            requests.drainTo(batch);
+
+            Boolean needsSync = false;
+            for (int i = 0; i < batch.size(); i++) {
+                WriteRequest request = batch.get(i);
+                if (request.data == null) {
+                    closing = true;
+                    break;
+                }
+                try {
+                    if (request.replacesJournal) {
+                        replaceJournal(request.data);
+                    } else {
+                        writeFully(openJournal().getChannel(), request.data);
+                        needsSync = true;
+                    }
+                } catch (IOException e) {
+                    //a failed write costs the autosave, not the game; the next snapshot starts a new journal
+                    e.printStackTrace();
+                    closeJournal();
+                }
+            }
+            batch.clear();
+
+            if (needsSync && journalStream != null) {
+                try {
+                    journalStream.getChannel().force(false);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+        closeJournal();
+    }
+
+    /**
+     * opens the journal file for adding bytes to its end, unless it is already open
+     * @return the stream of the journal file
+     * @throws IOException if the file cannot be opened
+     */
+    private FileOutputStream openJournal() throws IOException {
+        if (journalStream == null) {
+            journalStream = new FileOutputStream(file, true);
+        }
+        return journalStream;
+    }
+
+    /**
+     * writes new contents of the journal to a temporary file, syncs it and renames it over the journal file
+     * @param data the new contents of the journal
+     * @throws IOException if the file cannot be written or renamed
+     */
+    private void replaceJournal(byte[] data) throws IOException {
+        closeJournal();
+        FileOutputStream out = new FileOutputStream(tempFile);
+        try {
+            FileChannel channel = out.getChannel();
+            writeFully(channel, data);
+            channel.force(true);
+        } finally {
+            out.close();
+        }
+        //renaming over an existing file fails on some file systems, which then need it deleted first
+        if (!tempFile.renameTo(file) && !(file.delete() && tempFile.renameTo(file))) {
+            throw new IOException("cannot rename " + tempFile + " to " + file);
+        }
+    }
+
+    /**
+     * writes all the given bytes to a channel
+     * @param channel the channel to write to
+     * @param data the bytes to be written
+     * @throws IOException if the channel cannot be written to
+     */
+    private static void writeFully(FileChannel channel, byte[] data) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * closes the journal file if it is open
+     */
+    private void closeJournal() {
+        if (journalStream == null) {
+            return;
+        }
+        try {
+            journalStream.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        journalStream = null;
+    }
+}
@@ -12,16 +12,21 @@ import com.example.pinochleinandroid.models.cards.GroupOfCards;
 import com.example.pinochleinandroid.models.cards.MeldInstance;
 import com.example.pinochleinandroid.models.cards.MeldsStorage;
 import com.example.pinochleinandroid.models.cards.Suit;
+import com.example.pinochleinandroid.models.search.EndgameSolver;
+import com.example.pinochleinandroid.models.search.InformationSet;
 
 import java.util.ArrayList;
 
 public class Computer extends Player{
+    //whether this player has used the endgame solver of its thread yet
+    private Boolean usedEndgameSolver;
 
     /**
      * Default constructor for Card class that initializes a computer object.
      */
     public Computer() {
         super();
+        usedEndgameSolver = false;
     }
 
     /**
@@ -33,6 +38,16 @@ public class Computer extends Player{
      */
     public Computer(GroupOfCards hand, GroupOfCards capturePile, MeldsStorage meldsPlayed, Suit trumpSuit) {
         super(hand, capturePile, meldsPlayed, trumpSuit);
+        usedEndgameSolver = false;
+    }
+
+    /**
+     * The computer player always decides its own moves
+     * @return true
+     */
+    @Override
+    public Boolean isAutomated() {
+        return true;
     }
 
     /**
@@ -64,6 +79,59 @@ public class Computer extends Player{
         return cardToPlay;
     }
 
+    /**
+     * suggests the lead card that plays the rest of the round perfectly once every card is known, or falls back to
+     * the meld-preserving strategy
+     * @return the card that is suggested to be played
+     */
+    @Override
+    protected Card suggestLeadCard() {
+        Card card = suggestEndgameCard(null);
+        return card != null ? card : super.suggestLeadCard();
+    }
+
+    /**
+     * suggests the chase card that plays the rest of the round perfectly once every card is known, or falls back to
+     * the cheapest winning card
+     * @param opponentCard which specifies the lead card played by the opponent
+     * @return the card suggested to be played
+     */
+    @Override
+    protected Card suggestChaseCard(Card opponentCard) {
+        Card card = suggestEndgameCard(opponentCard);
+        return card != null ? card : super.suggestChaseCard(opponentCard);
+    }
+
+    /**
+     * solves the rest of the round exactly once the stock is empty, since the opponent's hand is then made of every card
+     * that is neither in this player's hand nor captured. Bigger hands are left to the other strategies, since solving them
+     * would take too long
+     * @param leadCard the card the opponent led this turn, or null if the player is leading
+     * @return the card to play, or null if the stock is not empty yet, the hand is too big, the player is not in a game, or the solver gave up
+     */
+    protected Card suggestEndgameCard(Card leadCard) {
+        if(gameContext == null || gameContext.getTrumpSuit() == null || gameContext.getNumOfCardsInStock() != 0
+                || getHand().getNumOfCards() == 0 || getHand().getNumOfCards() > EndgameSolver.MAX_HAND_SIZE) {
+            return null;
+        }
+        InformationSet info = new InformationSet(getHand(), gameContext, seat, leadCard);
+        if(!EndgameSolver.canSolve(info)) {
+            return null;
+        }
+        EndgameSolver endgameSolver = EndgameSolver.getSolver();
+        if(!usedEndgameSolver) {
+            //positions left from other games would change which of several equally good cards is picked, so seeded games could not be repeated
+            endgameSolver.clear();
+            usedEndgameSolver = true;
+        }
+        int id = endgameSolver.chooseCard(info);
+        if(id < 0) {
+            return null;
+        }
+        setReasoning("with every card known, it leads to the best score for the rest of the round whatever the opponent does");
+        return getHand().getCardById(id);
+    }
+
     /**
      * Plays a meld by picking a meld
      * @param positions the positions of the cards to be played (irrelevant to the Computer object but needed to satisfy method override)
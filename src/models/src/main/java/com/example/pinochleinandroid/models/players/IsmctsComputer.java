@@ -0,0 +1,153 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.players;
+
+import com.example.pinochleinandroid.models.GameContext;
+import com.example.pinochleinandroid.models.cards.Card;
+import com.example.pinochleinandroid.models.search.InformationSet;
+import com.example.pinochleinandroid.models.search.IsmctsSearch;
+import com.example.pinochleinandroid.models.search.SearchTree;
+
+public class IsmctsComputer extends Computer {
+    public static final int DEFAULT_NUM_OF_ITERATIONS = 2000;
+    public static final long DEFAULT_TIME_LIMIT_MILLIS = 500;
+
+    private final IsmctsSearch search;
+    //the card this player chose at its last decision, whether it was a lead card, and the cards captured by then
+    private int lastCardId;
+    private Boolean lastCardLed;
+    private long lastCapturedCards;
+    //the cards played since the last decision, used to move the root of the search tree
+    private final int[] playedCards;
+
+    /**
+     * Default constructor for IsmctsComputer class. Searches within the default budget
+     */
+    public IsmctsComputer() {
+        this(DEFAULT_NUM_OF_ITERATIONS, DEFAULT_TIME_LIMIT_MILLIS, System.nanoTime());
+    }
+
+    /**
+     * Overloaded constructor for IsmctsComputer class
+     * @param numOfIterations the number of visits the search tree should have before each move, or 0 to only be bound by the time limit
+     * @param timeLimitMillis the maximum time per move in milliseconds, or 0 to only be bound by the number of iterations
+     * @param seed the seed of the search; with no time limit, the same seed always makes the same moves
+     */
+    public IsmctsComputer(int numOfIterations, long timeLimitMillis, long seed) {
+        super();
+        search = new IsmctsSearch(numOfIterations, timeLimitMillis, IsmctsSearch.DEFAULT_MAX_NODES, seed);
+        playedCards = new int[3];
+        forgetLastMove();
+    }
+
+    /**
+     * lets the player look at the public state of the game it is playing in, and starts a fresh search tree
+     * @param gameContext the game the player is playing in
+     * @param seat the seat of the player in the game
+     */
+    @Override
+    public void setGameContext(GameContext gameContext, int seat) {
+        super.setGameContext(gameContext, seat);
+        search.reset();
+        forgetLastMove();
+    }
+
+    /**
+     * suggests the exact endgame lead card once the stock is empty, otherwise the lead card the search tree favors, or falls back to the meld-preserving strategy when the player is not in a game
+     * @return the card that is suggested to be played
+     */
+    @Override
+    protected Card suggestLeadCard() {
+        Card card = suggestEndgameCard(null);
+        if (card == null) {
+            card = searchForCard(null);
+        }
+        return card != null ? card : super.suggestLeadCard();
+    }
+
+    /**
+     * suggests the exact endgame chase card once the stock is empty, otherwise the chase card the search tree favors, or falls back to the cheapest winning card when the player is not in a game
+     * @param opponentCard which specifies the lead card played by the opponent
+     * @return the card suggested to be played
+     */
+    @Override
+    protected Card suggestChaseCard(Card opponentCard) {
+        Card card = suggestEndgameCard(opponentCard);
+        if (card == null) {
+            card = searchForCard(opponentCard);
+        }
+        return card != null ? card : super.suggestChaseCard(opponentCard);
+    }
+
+    /**
+     * re-roots the search tree past the turn played since the last decision, then grows it and picks a card
+     * @param leadCard the card the opponent led this turn, or null if the player is leading
+     * @return the card to play, or null if the search cannot run
+     */
+    private Card searchForCard(Card leadCard) {
+        if (gameContext == null || gameContext.getTrumpSuit() == null || getHand().getNumOfCards() == 0) {
+            return null;
+        }
+        InformationSet info = new InformationSet(getHand(), gameContext, seat, leadCard);
+        followPlayedCards(info);
+
+        int id = search.chooseCard(info);
+        if (id < 0) {
+            forgetLastMove();
+            return null;
+        }
+        lastCardId = id;
+        lastCardLed = info.getLeadCardId() < 0;
+        lastCapturedCards = info.getCapturedCards();
+
+        if (search.getLastNumOfIterations() == 0) {
+            setReasoning("it is the only kind of card that can be played");
+        } else {
+            setReasoning("it came out best over " + search.getTree().getVisits(SearchTree.ROOT) + " simulated deals of the unseen cards");
+        }
+        return getHand().getCardById(id);
+    }
+
+    /**
+     * works out the cards played since the last decision from the capture piles and moves the root of the search tree past them.
+     * Exactly one turn is completed between two decisions of the same player, so its two cards are the only new captured cards
+     * @param info what the player knows about the game now
+     */
+    private void followPlayedCards(InformationSet info) {
+        if (lastCardId < 0) {
+            search.reset();
+            return;
+        }
+        long captured = info.getCapturedCards();
+        long newlyCaptured = captured & ~lastCapturedCards;
+        //anything unexpected, such as a new round, means the old tree no longer applies
+        if ((lastCapturedCards & ~captured) != 0 || Long.bitCount(newlyCaptured) != 2 || (newlyCaptured & (1L << lastCardId)) == 0) {
+            search.reset();
+            return;
+        }
+        int numOfCards = 0;
+        playedCards[numOfCards++] = lastCardId;
+        if (lastCardLed) {
+            //the opponent's chase card
+            playedCards[numOfCards++] = Long.numberOfTrailingZeros(newlyCaptured & ~(1L << lastCardId));
+        }
+        if (info.getLeadCardId() >= 0) {
+            playedCards[numOfCards++] = info.getLeadCardId();
+        }
+        search.advance(playedCards, numOfCards);
+    }
+
+    /**
+     * forgets the last decision, so that the next one starts from a fresh tree
+     */
+    private void forgetLastMove() {
+        lastCardId = -1;
+        lastCardLed = false;
+        lastCapturedCards = 0;
+    }
+}
@@ -0,0 +1,88 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.players;
+
+import com.example.pinochleinandroid.models.cards.Card;
+import com.example.pinochleinandroid.models.search.InformationSet;
+import com.example.pinochleinandroid.models.search.MonteCarloSearch;
+
+public class MonteCarloComputer extends Computer {
+    public static final int DEFAULT_NUM_OF_ITERATIONS = 2000;
+    public static final long DEFAULT_TIME_LIMIT_MILLIS = 500;
+
+    private final MonteCarloSearch search;
+
+    /**
+     * Default constructor for MonteCarloComputer class. Searches on every available processor within the default budget
+     */
+    public MonteCarloComputer() {
+        this(DEFAULT_NUM_OF_ITERATIONS, DEFAULT_TIME_LIMIT_MILLIS, Runtime.getRuntime().availableProcessors(), System.nanoTime());
+    }
+
+    /**
+     * Overloaded constructor for MonteCarloComputer class
+     * @param numOfIterations the maximum number of rollouts per move, or 0 to only be bound by the time limit
+     * @param timeLimitMillis the maximum time per move in milliseconds, or 0 to only be bound by the number of iterations
+     * @param numOfThreads the number of threads the rollouts are spread over
+     * @param seed the seed of the search; with no time limit, the same seed always makes the same moves
+     */
+    public MonteCarloComputer(int numOfIterations, long timeLimitMillis, int numOfThreads, long seed) {
+        super();
+        search = new MonteCarloSearch(numOfIterations, timeLimitMillis, numOfThreads, seed);
+    }
+
+    /**
+     * suggests the exact endgame lead card once the stock is empty, otherwise the lead card with the best average outcome over simulated deals, or falls back to the
+     * meld-preserving strategy when the player is not in a game
+     * @return the card that is suggested to be played
+     */
+    @Override
+    protected Card suggestLeadCard() {
+        Card card = suggestEndgameCard(null);
+        if (card == null) {
+            card = searchForCard(null);
+        }
+        return card != null ? card : super.suggestLeadCard();
+    }
+
+    /**
+     * suggests the exact endgame chase card once the stock is empty, otherwise the chase card with the best average outcome over simulated deals, or falls back to the
+     * cheapest winning card when the player is not in a game
+     * @param opponentCard which specifies the lead card played by the opponent
+     * @return the card suggested to be played
+     */
+    @Override
+    protected Card suggestChaseCard(Card opponentCard) {
+        Card card = suggestEndgameCard(opponentCard);
+        if (card == null) {
+            card = searchForCard(opponentCard);
+        }
+        return card != null ? card : super.suggestChaseCard(opponentCard);
+    }
+
+    /**
+     * runs the search from what the player can see of the game
+     * @param leadCard the card the opponent led this turn, or null if the player is leading
+     * @return the card to play, or null if the search cannot run
+     */
+    private Card searchForCard(Card leadCard) {
+        if (gameContext == null || gameContext.getTrumpSuit() == null || getHand().getNumOfCards() == 0) {
+            return null;
+        }
+        int id = search.chooseCard(new InformationSet(getHand(), gameContext, seat, leadCard));
+        if (id < 0) {
+            return null;
+        }
+        if (search.getLastNumOfRollouts() == 0) {
+            setReasoning("it is the only kind of card that can be played");
+        } else {
+            setReasoning("it scored best on average over " + search.getLastNumOfRollouts() + " simulated deals of the unseen cards");
+        }
+        return getHand().getCardById(id);
+    }
+}
@@ -7,13 +7,17 @@
 
 package com.example.pinochleinandroid.models.players;
 
+import com.example.pinochleinandroid.models.cards.BitboardGroupOfCards;
+import com.example.pinochleinandroid.models.GameContext;
 import com.example.pinochleinandroid.models.cards.Card;
 import com.example.pinochleinandroid.models.cards.GroupOfCards;
 import com.example.pinochleinandroid.models.cards.Meld;
 import com.example.pinochleinandroid.models.cards.MeldInstance;
 import com.example.pinochleinandroid.models.cards.MeldsStorage;
 import com.example.pinochleinandroid.models.cards.Suit;
+import com.example.pinochleinandroid.models.search.TrickTable;
 import com.example.pinochleinandroid.models.utilities.MeldServices;
+import com.example.pinochleinandroid.models.utilities.MeldTally;
 
 import java.util.ArrayList;
 
@@ -24,16 +28,21 @@ public abstract class Player {
     private MeldServices meldServices;
     private String reasoning;
     protected String message;
+    //the public state of the game the player is playing in, and the player's seat in it (null and -1 if not in a game)
+    protected GameContext gameContext;
+    protected int seat;
 
     /**
      * Default constructor for Player class
      */
     public Player() {
-        hand = new GroupOfCards();
+        hand = new BitboardGroupOfCards();
         capturePile = new GroupOfCards();
         trumpSuit = null;
         meldServices = new MeldServices();
         reasoning = "";
+        gameContext = null;
+        seat = -1;
         message = "";
     }
 
@@ -51,9 +60,25 @@ public abstract class Player {
         this.trumpSuit = trumpSuit;
         this.meldServices = new MeldServices(meldsPlayed, trumpSuit);
         reasoning = "";
+        gameContext = null;
+        seat = -1;
         message = "";
     }
 
+    /**
+     * replaces the cards and melds of the player with those of a round that is being resumed, such as one loaded from a save file
+     * @param hand the hand to be assigned to the player
+     * @param capturePile the capturePile to be assigned to the player
+     * @param meldsPlayed the melds storage containing melds that the player has already played
+     * @param trumpSuit the trump suit of the round
+     */
+    public void resumeRound(GroupOfCards hand, GroupOfCards capturePile, MeldsStorage meldsPlayed, Suit trumpSuit) {
+        this.hand = hand;
+        this.capturePile = capturePile;
+        this.trumpSuit = trumpSuit;
+        meldServices = new MeldServices(meldsPlayed, trumpSuit);
+    }
+
     /**
      * takes the card passed to it and stores it in player hand
      * @param card the Card to be added to hand
@@ -115,13 +140,39 @@ public abstract class Player {
      * @return true if meld is possible, false in not
      */
     public Boolean isMeldPossible() {
-        MeldsStorage allPossibleMelds = meldServices.getMeldsFromHand(hand);
-        if(allPossibleMelds.getNumOfMelds() == 0) {
+        //every meld yields some points, so a hand with no potential points has no possible melds
+        if(meldServices.potentialMeldPoints(hand) <= 0) {
             return false;
         }
         return true;
     }
 
+    /**
+     * lets the player look at the public state of the game it is playing in
+     * @param gameContext the game the player is playing in
+     * @param seat the seat of the player in the game
+     */
+    public void setGameContext(GameContext gameContext, int seat) {
+        this.gameContext = gameContext;
+        this.seat = seat;
+    }
+
+    /**
+     * sets the reasoning for a suggestion made by a child object of player class
+     * @param reasoning the reasoning for the suggestion
+     */
+    protected void setReasoning(String reasoning) {
+        this.reasoning = reasoning;
+    }
+
+    /**
+     * informs whether the player decides its own moves, so that the game can play them without waiting for the user interface
+     * @return true if the player is automated, false otherwise
+     */
+    public Boolean isAutomated() {
+        return false;
+    }
+
     /**
      * returns the position of the given card in the hand
      * @param card the card whose position in hand is to be returned
@@ -170,6 +221,39 @@ public abstract class Player {
         return card;
     }
 
+    /**
+     * plays a card that was chosen earlier, such as one read back from a game journal, instead of letting the player choose
+     * @param cardId the id of the card to be played
+     * @return the card that was played, or null if it is not in the player's hand
+     */
+    public Card playRecordedCard(int cardId) {
+        Card card = hand.getCardById(cardId);
+        if(card == null) {
+            return null;
+        }
+        hand.removeCardById(cardId);
+        message = "";
+        return card;
+    }
+
+    /**
+     * plays a meld that was chosen earlier, such as one read back from a game journal, instead of letting the player choose
+     * @param cardIds the mask of the ids of the cards of the meld
+     * @return the meld instance played, or null if the cards do not make up a meld the player can play
+     */
+    public MeldInstance playRecordedMeld(long cardIds) {
+        MeldInstance meldInstance = new MeldInstance();
+        for(long mask = cardIds; mask != 0; mask &= mask - 1) {
+            Card card = hand.getCardById(Long.numberOfTrailingZeros(mask));
+            if(card == null) {
+                return null;
+            }
+            meldInstance.addCard(card, trumpSuit);
+        }
+        message = "";
+        return createMeld(meldInstance);
+    }
+
     /**
      * takes two cards and adds them to the player's capture pile
      * @param card1 the first card to add to the capture pile
@@ -190,37 +274,57 @@ public abstract class Player {
         if(hand.getNumOfCards() == 0) {
             return null;
         }
-        //making copies of the original hand so we can make comparisons on the copies
-        GroupOfCards bestHand;
-        GroupOfCards competeHand;
 
         //these are all the cards that yield the best hand when thrown
         ArrayList<Card> bestCardsToThrow = new ArrayList<Card>();
-
-        bestHand = new GroupOfCards(hand);
-        bestHand.removeCardByPosition(0);
         bestCardsToThrow.add(hand.getCardByPosition(0));
+
+        //tally the hand once; the melds of the hand without a card are then counted by taking that card out of the tally
+        //instead of making copies of the original hand
+        MeldTally meldTally = meldServices.tallyHand(hand);
+        if(meldTally == null) {
+            return bestCardsToThrow;
+        }
+        int[] bestHandMelds = new int[Meld.values().length];
+        int[] competeHandMelds = new int[Meld.values().length];
+        int[] swapHolder;
+
+        countMeldsWithoutCard(meldTally, 0, bestHandMelds);
         //iterate through all cards to see what hand would look like if we remove each card
         for(int i = 1; i < hand.getNumOfCards(); i++) {
-            competeHand = new GroupOfCards(hand);
-            competeHand.removeCardByPosition(i);
+            countMeldsWithoutCard(meldTally, i, competeHandMelds);
 
+            int comparison = meldServices.compareMeldCounts(bestHandMelds, competeHandMelds);
             //if the competing hand is better
-            if(meldServices.compareHandsForMelds(bestHand, competeHand) == 2) {
-                bestHand = competeHand;
+            if(comparison == 2) {
+                swapHolder = bestHandMelds;
+                bestHandMelds = competeHandMelds;
+                competeHandMelds = swapHolder;
                 //there is a hand that is better than all the hands encountered before, so we empty
                 //out bestCardsToThrow and add the new best card
                 bestCardsToThrow.clear();
                 bestCardsToThrow.add(hand.getCardByPosition(i));
             }
             //if its a draw between the two hands, then we add the other best card to the ArrayList of best cards
-            else if(meldServices.compareHandsForMelds(bestHand, competeHand) == 0) {
+            else if(comparison == 0) {
                 bestCardsToThrow.add(hand.getCardByPosition(i));
             }
         }
         return bestCardsToThrow;
     }
 
+    /**
+     * counts the possible melds of the hand as it would be without the card in the given position
+     * @param meldTally the tally of the player's hand
+     * @param position the position of the card to be left out
+     * @param counts the array in which the number of melds of each meld type is to be stored
+     */
+    private void countMeldsWithoutCard(MeldTally meldTally, int position, int[] counts) {
+        meldTally.removeCard(position, hand.getCardByPosition(position));
+        meldTally.countMelds(counts);
+        meldTally.restoreCard(position);
+    }
+
     /**
      * suggests a lead card to the player
      * @return the card that is suggested to be played
@@ -279,7 +383,7 @@ public abstract class Player {
         if(hand.getNumOfCards() == 0) {
             return null;
         }
-        Card leastRankedCard = new Card();
+        Card leastRankedCard = null;
         //first check to see if there are any non-trump suit cards in hand
         if(hand.getCardsBySuit(trumpSuit).size() == hand.getNumOfCards()) {
             //if there are no non-trump suit cards, simply find the card with the least rank
@@ -345,7 +449,7 @@ public abstract class Player {
                 //first, find all the trump suit cards greater than the opponent card
                 ArrayList<Card> greaterTrumpSuitCards = new ArrayList<Card>();
                 for(int i = 0; i < trumpSuitCards.size(); i++) {
-                    if(trumpSuitCards.get(i).hasGreaterRankThan(opponentCard)) {
+                    if(TrickTable.chaseCardWins(opponentCard, trumpSuitCards.get(i), trumpSuit)) {
                         greaterTrumpSuitCards.add(trumpSuitCards.get(i));
                     }
                 }
@@ -370,7 +474,7 @@ public abstract class Player {
             //first, get a ArrayList of all cards from hand having the same suit as the opponent's card and having a greater rank than the opponent's card
             ArrayList<Card> sameSuitCards = new ArrayList<Card>();
             for(int i = 0; i < hand.getNumOfCards(); i++) {
-                if(hand.getCardByPosition(i).getSuit() == opponentCard.getSuit() && hand.getCardByPosition(i).hasGreaterRankThan(opponentCard)) {
+                if(hand.getCardByPosition(i).getSuit() == opponentCard.getSuit() && TrickTable.chaseCardWins(opponentCard, hand.getCardByPosition(i), trumpSuit)) {
                     sameSuitCards.add(hand.getCardByPosition(i));
                 }
             }
@@ -401,25 +505,21 @@ public abstract class Player {
      * @return a MeldInstance object containing the recommended meld
      */
     protected MeldInstance suggestMeld() {
-        //first, get all possible melds from the hand
-        MeldsStorage allPossibleMelds = meldServices.getMeldsFromHand(hand);
-
-        if(allPossibleMelds.getNumOfMelds() == 0) {
-            reasoning = "there are no possible melds to play with";
-            return new MeldInstance();
+        //first, count all possible melds from the hand
+        int[] meldCounts = new int[Meld.values().length];
+        if(!meldServices.countMeldsFromHand(hand, meldCounts)) {
+            return null;
         }
 
-        //this stores all the meld instances that yield the highest points
-        ArrayList<MeldInstance> highScoringMelds = new ArrayList<MeldInstance>();
+        //this stores the meld type that yields the highest points
+        Meld highScoringMeld = null;
 
         int highestPointsPossible = 0;
-        ArrayList<MeldInstance> allMeldsOfGivenType;
         int meldPoints;
         //loop through all 9 meld types
         for(int i = 0; i < Meld.values().length; i++) {
             //if a particular meld yields the highest points so far, keep track of it
-            allMeldsOfGivenType = allPossibleMelds.getAllMeldsByType(Meld.values()[i]);
-            if(allMeldsOfGivenType.size() == 0) {
+            if(meldCounts[i] == 0) {
                 meldPoints = 0;
             } else {
                 meldPoints = meldServices.getMeldPoints(Meld.values()[i]);
@@ -427,16 +527,17 @@ public abstract class Player {
 
             if(meldPoints > highestPointsPossible) {
                 highestPointsPossible = meldPoints;
-                highScoringMelds.clear();
-                //append all the instances of this meld type to highScoringMelds
-                highScoringMelds = allMeldsOfGivenType;
-            } else if (meldPoints == highestPointsPossible) {
-                //append all the instances of this meld type to highScoringMelds
-                highScoringMelds.addAll(allMeldsOfGivenType);
+                highScoringMeld = Meld.values()[i];
             }
         }
+        if(highScoringMeld == null) {
+            reasoning = "there are no possible melds to play with";
+            return new MeldInstance();
+        }
+
+        //only the instances of the best meld type need to be created
         reasoning = "playing this meld will yield the highest possible points from the available hand";
-        return highScoringMelds.get(0);
+        return meldServices.getMeldsOfTypeFromHand(hand, highScoringMeld).get(0);
     }
 
 
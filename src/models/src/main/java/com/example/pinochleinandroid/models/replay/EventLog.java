@@ -0,0 +1,153 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.replay;
+
+import com.example.pinochleinandroid.models.GameEventListener;
+import com.example.pinochleinandroid.models.GameEvents;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+public class EventLog implements GameEventListener {
+    //the first bytes of a saved event log ("PNCR"), and the version of the format written by this class
+    public static final int LOG_MAGIC = 0x504E4352;
+    public static final int LOG_VERSION = 1;
+
+    private final long seed;
+    //each event packed into a long by GameEvents.pack()
+    private long[] events;
+    private int numOfEvents;
+
+    /**
+     * Constructor for EventLog class. Creates an empty log, to be filled by listening to a game
+     * @param seed the seed the game was created with, from which its shuffles and coin tosses follow
+     */
+    public EventLog(long seed) {
+        this.seed = seed;
+        events = new long[256];
+        numOfEvents = 0;
+    }
+
+    /**
+     * adds an event to the end of the log
+     * @param event the type of the event, one of the constants of GameEventListener
+     * @param player the seat of the player the event is about, or -1
+     * @param cardIds the mask of the ids of the cards the event is about
+     */
+    @Override
+    public void onGameEvent(int event, int player, long cardIds) {
+        if (numOfEvents == events.length) {
+            events = Arrays.copyOf(events, events.length * 2);
+        }
+        events[numOfEvents++] = GameEvents.pack(event, player, cardIds);
+    }
+
+    /**
+     * does nothing, since every event is logged as it comes
+     */
+    @Override
+    public void onEventsFinished() {
+    }
+
+    /**
+     * returns the seed the game was created with
+     * @return the seed of the game
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * returns the number of events in the log
+     * @return the number of events
+     */
+    public int getNumOfEvents() {
+        return numOfEvents;
+    }
+
+    /**
+     * returns the type of an event
+     * @param index the index of the event in the log
+     * @return the type of the event, one of the constants of GameEventListener
+     */
+    public int getEvent(int index) {
+        return GameEvents.event(events[index]);
+    }
+
+    /**
+     * returns the player an event is about
+     * @param index the index of the event in the log
+     * @return the seat of the player, or -1 if the event is not about a player
+     */
+    public int getPlayer(int index) {
+        return GameEvents.player(events[index]);
+    }
+
+    /**
+     * returns the cards an event is about
+     * @param index the index of the event in the log
+     * @return the mask of the ids of the cards, or 0 if the event is not about any cards
+     */
+    public long getCardIds(int index) {
+        return GameEvents.cardIds(events[index]);
+    }
+
+    /**
+     * Informs whether an event is a move chosen by a player: a lead card, a chase card or a meld
+     * @param index the index of the event in the log
+     * @return true if the event is a move, false otherwise
+     */
+    public Boolean isMove(int index) {
+        int event = getEvent(index);
+        return event == LEAD_CARD || event == CHASE_CARD || event == MELD;
+    }
+
+    /**
+     * Writes the log: a header with the format version, the seed, the number of events, and then every event as a long
+     * @param outputStream the stream to write to, which should be buffered; it is flushed but not closed
+     * @throws IOException if the stream cannot be written to
+     */
+    public void write(OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(LOG_MAGIC);
+        out.writeShort(LOG_VERSION);
+        out.writeLong(seed);
+        out.writeInt(numOfEvents);
+        for (int i = 0; i < numOfEvents; i++) {
+            out.writeLong(events[i]);
+        }
+        out.flush();
+    }
+
+    /**
+     * reads a log written by write()
+     * @param inputStream the stream to read from, which should be buffered
+     * @return the log
+     * @throws IOException if the stream cannot be read, or does not hold a log of a supported version
+     */
+    public static EventLog read(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(inputStream);
+        if (in.readInt() != LOG_MAGIC || in.readUnsignedShort() != LOG_VERSION) {
+            throw new IOException("not an event log of a supported version");
+        }
+        EventLog log = new EventLog(in.readLong());
+        int numOfEvents = in.readInt();
+        if (numOfEvents < 0) {
+            throw new IOException("not a valid number of events: " + numOfEvents);
+        }
+        for (int i = 0; i < numOfEvents; i++) {
+            long event = in.readLong();
+            log.onGameEvent(GameEvents.event(event), GameEvents.player(event), GameEvents.cardIds(event));
+        }
+        return log;
+    }
+}
@@ -0,0 +1,194 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.replay;
+
+import com.example.pinochleinandroid.models.GameEventListener;
+import com.example.pinochleinandroid.models.GameModel;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+
+public class GameReplayer {
+    //a round has about 150 events, so a round gets a checkpoint every few tricks
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 32;
+
+    /**
+     * The state of the game after a number of events, kept so that seeking does not have to replay the log from the start
+     */
+    private static class Checkpoint {
+        private final int position;
+        private final byte[] data;
+
+        /**
+         * Constructor for Checkpoint class
+         * @param position the number of events replayed before the checkpoint was taken
+         * @param data the checkpoint written by the game model
+         */
+        private Checkpoint(int position, byte[] data) {
+            this.position = position;
+            this.data = data;
+        }
+    }
+
+    private final EventLog log;
+    private final int checkpointInterval;
+    //the checkpoints taken so far, in increasing order of position
+    private final ArrayList<Checkpoint> checkpoints;
+    private GameModel gameModel;
+    //the number of events of the log that have been replayed on the game model
+    private int position;
+
+    /**
+     * Constructor for GameReplayer class. Starts at the beginning of the game, before its first event
+     * @param log the events of a game created from a seed, such as one played by the SelfPlaySimulator
+     * @param checkpointInterval the least number of events between two checkpoints; checkpoints are taken at the first start of a turn after it
+     */
+    public GameReplayer(EventLog log, int checkpointInterval) {
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("the checkpoint interval must be positive");
+        }
+        this.log = log;
+        this.checkpointInterval = checkpointInterval;
+        checkpoints = new ArrayList<>();
+        restore(null);
+    }
+
+    /**
+     * returns the game model holding the state of the game at the current position. It is replaced whenever seeking goes back,
+     * and must not be changed other than through this replayer
+     * @return the game model
+     */
+    public GameModel getGameModel() {
+        return gameModel;
+    }
+
+    /**
+     * returns the current position, the number of events of the log replayed so far
+     * @return the current position
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * returns the number of checkpoints taken so far
+     * @return the number of checkpoints
+     */
+    public int getNumOfCheckpoints() {
+        return checkpoints.size();
+    }
+
+    /**
+     * rebuilds the state of the game after a number of events of the log. It starts from the closest checkpoint at or before the position,
+     * unless going on from the current position is closer, and takes new checkpoints while fast-forwarding
+     * @param newPosition the number of events to have replayed, from 0 (before the first event) to the number of events in the log
+     * @return the game model holding the state of the game at the new position
+     */
+    public GameModel seek(int newPosition) {
+        if (newPosition < 0 || newPosition > log.getNumOfEvents()) {
+            throw new IllegalArgumentException("position " + newPosition + " is outside the log of " + log.getNumOfEvents() + " events");
+        }
+        Checkpoint checkpoint = closestCheckpoint(newPosition);
+        int checkpointPosition = checkpoint != null ? checkpoint.position : 0;
+        if (newPosition < position || checkpointPosition > position) {
+            restore(checkpoint);
+        }
+        while (position < newPosition) {
+            replayNextEvent();
+        }
+        return gameModel;
+    }
+
+    /**
+     * rebuilds the state of the game right after a number of moves (lead cards, chase cards and melds), including the steps that
+     * follow the last of them without a move, such as drawing cards at the end of a turn
+     * @param numOfMoves the number of moves to have replayed
+     * @return the game model holding the state of the game after the moves
+     */
+    public GameModel seekToMove(int numOfMoves) {
+        int moves = 0;
+        int newPosition = 0;
+        while (newPosition < log.getNumOfEvents() && (moves < numOfMoves || !log.isMove(newPosition))) {
+            if (log.isMove(newPosition)) {
+                moves++;
+            }
+            newPosition++;
+        }
+        if (moves < numOfMoves) {
+            throw new IllegalArgumentException("the log only has " + moves + " moves");
+        }
+        return seek(newPosition);
+    }
+
+    /**
+     * replays the event at the current position, then takes a checkpoint if one is due
+     */
+    private void replayNextEvent() {
+        int event = log.getEvent(position);
+        //the log does not hold what a loaded game was loaded from
+        if (event == GameEventListener.GAME_LOADED
+                || !gameModel.replayEvent(event, log.getPlayer(position), log.getCardIds(position))) {
+            throw new IllegalStateException("Event " + position + " of the log of the game with seed " + log.getSeed() + " cannot be replayed");
+        }
+        position++;
+
+        int lastCheckpointPosition = checkpoints.isEmpty() ? 0 : checkpoints.get(checkpoints.size() - 1).position;
+        if (position - lastCheckpointPosition >= checkpointInterval && gameModel.isAtStartOfTurn()) {
+            ByteArrayOutputStream data = new ByteArrayOutputStream();
+            try {
+                gameModel.writeCheckpoint(data);
+            } catch (IOException e) {
+                //a ByteArrayOutputStream is never short of space
+                return;
+            }
+            checkpoints.add(new Checkpoint(position, data.toByteArray()));
+        }
+    }
+
+    /**
+     * finds the last checkpoint at or before a position
+     * @param maxPosition the position
+     * @return the checkpoint, or null if there is none
+     */
+    private Checkpoint closestCheckpoint(int maxPosition) {
+        int low = 0;
+        int high = checkpoints.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (checkpoints.get(middle).position <= maxPosition) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low > 0 ? checkpoints.get(low - 1) : null;
+    }
+
+    /**
+     * replaces the game model with the state of a checkpoint
+     * @param checkpoint the checkpoint, or null to go back to the start of the game
+     */
+    private void restore(Checkpoint checkpoint) {
+        //the players are the same as those of a loaded game, since moves are replayed from the log rather than chosen by the players
+        gameModel = new GameModel(null, log.getSeed());
+        position = 0;
+        if (checkpoint == null) {
+            return;
+        }
+        try {
+            if (!gameModel.loadCheckpoint(new ByteArrayInputStream(checkpoint.data))) {
+                throw new IllegalStateException("a checkpoint at event " + checkpoint.position + " could not be loaded");
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("a checkpoint at event " + checkpoint.position + " could not be read", e);
+        }
+        position = checkpoint.position;
+    }
+}
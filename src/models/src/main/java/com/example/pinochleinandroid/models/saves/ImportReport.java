@@ -0,0 +1,141 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.saves;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ImportReport {
+    //only the first failures are kept for the summary, the rest are only counted
+    public static final int MAX_LISTED_FAILURES = 100;
+
+    //every counter is a LongAdder, so that files finishing on different threads never contend on a lock or a single atomic
+    private final LongAdder numOfFiles;
+    private final LongAdder numOfBinaryFiles;
+    private final LongAdder numOfFailures;
+    private final LongAdder numOfBytes;
+    private final ConcurrentLinkedQueue<String> failures;
+    private volatile long elapsedNanos;
+
+    /**
+     * Default constructor for ImportReport class
+     */
+    public ImportReport() {
+        numOfFiles = new LongAdder();
+        numOfBinaryFiles = new LongAdder();
+        numOfFailures = new LongAdder();
+        numOfBytes = new LongAdder();
+        failures = new ConcurrentLinkedQueue<>();
+        elapsedNanos = 0;
+    }
+
+    /**
+     * adds a save file that was loaded and found consistent. Can be called from any number of threads at once.
+     * @param size the size of the file in bytes
+     * @param binary whether the file is in the binary save format, rather than the text format
+     */
+    public void addLoadedFile(long size, Boolean binary) {
+        addFile(size, binary);
+    }
+
+    /**
+     * adds a save file that could not be read or loaded, or that holds an inconsistent game. Can be called from any number of threads at once.
+     * @param fileName the name of the file
+     * @param size the size of the file in bytes
+     * @param binary whether the file is in the binary save format, rather than the text format
+     * @param reason the description of the failure
+     */
+    public void addFailedFile(String fileName, long size, Boolean binary, String reason) {
+        addFile(size, binary);
+        numOfFailures.increment();
+        //the count may overshoot slightly when threads race, which only lists a few more failures
+        if (failures.size() < MAX_LISTED_FAILURES) {
+            failures.add(fileName + ": " + reason);
+        }
+    }
+
+    /**
+     * sets the wall clock time taken to import all the files
+     * @param elapsedNanos the time taken, in nanoseconds
+     */
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * returns the number of files imported
+     * @return the number of files, whether they loaded or not
+     */
+    public long getNumOfFiles() {
+        return numOfFiles.sum();
+    }
+
+    /**
+     * returns the number of files that failed to load or hold an inconsistent game
+     * @return the number of failures
+     */
+    public long getNumOfFailures() {
+        return numOfFailures.sum();
+    }
+
+    /**
+     * returns the first failures, sorted by file name
+     * @return the descriptions of the failures, each starting with the name of the file
+     */
+    public ArrayList<String> getFailures() {
+        ArrayList<String> sortedFailures = new ArrayList<>(failures);
+        Collections.sort(sortedFailures);
+        return sortedFailures;
+    }
+
+    /**
+     * returns the number of files imported per second of wall clock time
+     * @return the throughput of the import
+     */
+    public double getFilesPerSecond() {
+        return elapsedNanos == 0 ? 0 : numOfFiles.sum() / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * creates a human readable summary of the import
+     * @return the summary of the import
+     */
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        long files = numOfFiles.sum();
+        long binaryFiles = numOfBinaryFiles.sum();
+        summary.append("Files: ").append(files).append(" (").append(binaryFiles).append(" binary, ").append(files - binaryFiles)
+                .append(" text), valid: ").append(files - numOfFailures.sum()).append(", failed: ").append(numOfFailures.sum()).append('\n');
+        ArrayList<String> sortedFailures = getFailures();
+        for (int i = 0; i < sortedFailures.size(); i++) {
+            summary.append("   ").append(sortedFailures.get(i)).append('\n');
+        }
+        if (numOfFailures.sum() > sortedFailures.size()) {
+            summary.append("   ... and ").append(numOfFailures.sum() - sortedFailures.size()).append(" more\n");
+        }
+        summary.append("Elapsed: ").append(String.format("%.3f", elapsedNanos / 1e9)).append(" s, ")
+                .append(String.format("%.1f", getFilesPerSecond())).append(" files/sec, ")
+                .append(String.format("%.2f", elapsedNanos == 0 ? 0 : numOfBytes.sum() / (elapsedNanos / 1e9) / (1 << 20))).append(" MB/sec");
+        return summary.toString();
+    }
+
+    /**
+     * counts a file
+     * @param size the size of the file in bytes
+     * @param binary whether the file is in the binary save format
+     */
+    private void addFile(long size, Boolean binary) {
+        numOfFiles.increment();
+        numOfBytes.add(size);
+        if (binary) {
+            numOfBinaryFiles.increment();
+        }
+    }
+}
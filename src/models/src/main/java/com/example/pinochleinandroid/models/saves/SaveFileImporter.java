@@ -0,0 +1,207 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.saves;
+
+import com.example.pinochleinandroid.models.GameModel;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class SaveFileImporter {
+    //files are imported in batches of this size by a single task, which reuses one read buffer and one validator for the batch
+    public static final int DEFAULT_FILES_PER_TASK = 64;
+    //a save file is a few hundred bytes in the binary format and about a kilobyte as text, so anything much bigger is not a save file
+    public static final int MAX_SAVE_FILE_SIZE = 1 << 16;
+    private static final int INITIAL_BUFFER_SIZE = 1 << 12;
+
+    private final int parallelism;
+    private final int filesPerTask;
+
+    /**
+     * Constructor for SaveFileImporter class
+     * @param parallelism the number of threads to import files on
+     * @param filesPerTask the number of files below which a batch of files is no longer split between threads
+     */
+    public SaveFileImporter(int parallelism, int filesPerTask) {
+        this.parallelism = parallelism;
+        this.filesPerTask = Math.max(filesPerTask, 1);
+    }
+
+    /**
+     * loads every regular file of a directory as a save file, in either the binary or the text format, and checks that each holds a consistent game
+     * @param directory the directory of save files
+     * @return the report of the import
+     * @throws IOException if the directory cannot be listed
+     */
+    public ImportReport run(Path directory) throws IOException {
+        ArrayList<Path> files = new ArrayList<>();
+        DirectoryStream<Path> directoryStream = Files.newDirectoryStream(directory);
+        try {
+            for (Path file : directoryStream) {
+                if (Files.isRegularFile(file)) {
+                    files.add(file);
+                }
+            }
+        } finally {
+            directoryStream.close();
+        }
+
+        ImportReport report = new ImportReport();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        long startTime = System.nanoTime();
+        try {
+            pool.invoke(new FilesTask(filesPerTask, report, files, 0, files.size()));
+        } finally {
+            pool.shutdown();
+        }
+        report.setElapsedNanos(System.nanoTime() - startTime);
+        return report;
+    }
+
+    /**
+     * loads a save file into a fresh game model and checks it
+     * @param file the path of the save file
+     * @param buffer the buffer to read the file into
+     * @param validator the validator to check the loaded game with
+     * @param report the report the outcome is added to
+     * @return the buffer, which is replaced by a bigger one if the file did not fit
+     */
+    private static ByteBuffer importFile(Path file, ByteBuffer buffer, SaveGameValidator validator, ImportReport report) {
+        String fileName = file.getFileName().toString();
+        //read the whole file with a channel into a heap buffer; mapping files this small would cost more than reading them
+        int size;
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            try {
+                long fileSize = channel.size();
+                if (fileSize > MAX_SAVE_FILE_SIZE) {
+                    report.addFailedFile(fileName, fileSize, false, "the file is too big to be a save file");
+                    return buffer;
+                }
+                if (fileSize > buffer.capacity()) {
+                    buffer = ByteBuffer.allocate(Integer.highestOneBit((int) fileSize) << 1);
+                }
+                buffer.clear();
+                buffer.limit((int) fileSize);
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    //keep reading until the file has been read in full or ends early
+                }
+                size = buffer.position();
+            } finally {
+                channel.close();
+            }
+        } catch (IOException e) {
+            report.addFailedFile(fileName, 0, false, "the file cannot be read: " + e.getMessage());
+            return buffer;
+        }
+
+        byte[] saveData = buffer.array();
+        Boolean binary = size >= 4 && GameModel.isBinarySaveData(saveData);
+        GameModel gameModel = new GameModel();
+        try {
+            if (binary) {
+                if (!gameModel.loadGame(new ByteArrayInputStream(saveData, 0, size))) {
+                    report.addFailedFile(fileName, size, true, "not a valid binary save file");
+                    return buffer;
+                }
+            } else {
+                gameModel.loadGame(new String(saveData, 0, size, StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            report.addFailedFile(fileName, size, true, "not a valid binary save file: " + e.getMessage());
+            return buffer;
+        } catch (RuntimeException e) {
+            //the text format is parsed without checks of its own, so a malformed file fails somewhere along the way
+            report.addFailedFile(fileName, size, binary, "not a valid save file: " + e);
+            return buffer;
+        }
+
+        String problem = validator.validate(gameModel.getSnapshot());
+        if (problem != null) {
+            report.addFailedFile(fileName, size, binary, problem);
+        } else {
+            report.addLoadedFile(size, binary);
+        }
+        return buffer;
+    }
+
+    /**
+     * A task that imports a range of files, splitting the range in half until it is small enough to be imported on one thread
+     */
+    private static class FilesTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int filesPerTask;
+        private final ImportReport report;
+        private final ArrayList<Path> files;
+        private final int from;
+        private final int to;
+
+        /**
+         * Constructor for FilesTask class
+         * @param filesPerTask the number of files below which the range is no longer split
+         * @param report the report that the outcomes of the files are added to
+         * @param files the paths of all the files of the import
+         * @param from the index of the first file of the range
+         * @param to the index after the last file of the range
+         */
+        FilesTask(int filesPerTask, ImportReport report, ArrayList<Path> files, int from, int to) {
+            this.filesPerTask = filesPerTask;
+            this.report = report;
+            this.files = files;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * imports the files of the range, or splits it into two tasks if it is too big
+         */
+        @Override
+        protected void compute() {
+            if (to - from <= filesPerTask) {
+                //every file is loaded into its own GameModel, so only the buffer and the validator are shared, and only within this task
+                ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+                SaveGameValidator validator = new SaveGameValidator();
+                for (int i = from; i < to; i++) {
+                    buffer = importFile(files.get(i), buffer, validator, report);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new FilesTask(filesPerTask, report, files, from, middle), new FilesTask(filesPerTask, report, files, middle, to));
+        }
+    }
+
+    /**
+     * Imports a directory of save files on all cores and prints the report
+     * @param args the directory of save files, and the number of threads (default: one per available processor)
+     * @throws IOException if the directory cannot be listed
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: SaveFileImporter <directory of save files> [threads]");
+            System.exit(2);
+        }
+        int parallelism = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        ImportReport report = new SaveFileImporter(parallelism, DEFAULT_FILES_PER_TASK).run(Paths.get(args[0]));
+        System.out.println(report.getSummary());
+        //a non-zero exit code lets scripts tell that some save files are broken
+        System.exit(report.getNumOfFailures() == 0 ? 0 : 1);
+    }
+}
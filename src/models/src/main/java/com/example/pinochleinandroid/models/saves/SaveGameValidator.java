@@ -0,0 +1,195 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.saves;
+
+import com.example.pinochleinandroid.models.CardIdList;
+import com.example.pinochleinandroid.models.GameModel;
+import com.example.pinochleinandroid.models.GameSnapshot;
+import com.example.pinochleinandroid.models.cards.Card;
+import com.example.pinochleinandroid.models.cards.CardStrings;
+import com.example.pinochleinandroid.models.cards.MeldInstance;
+import com.example.pinochleinandroid.models.cards.Suit;
+import com.example.pinochleinandroid.models.search.CardIds;
+
+import java.util.ArrayList;
+
+public class SaveGameValidator {
+    private static final Suit[] SUITS = Suit.values();
+
+    //the cards found so far by the current check
+    private long seenCards;
+    private String problem;
+    //scratch space for rebuilding melds
+    private final ArrayList<Card> meldCards;
+    private final long[] meldMasks;
+
+    /**
+     * Default constructor for SaveGameValidator class. A validator holds scratch space, so each thread should have its own
+     */
+    public SaveGameValidator() {
+        meldCards = new ArrayList<>();
+        meldMasks = new long[CardIds.NUM_OF_CARD_IDS];
+        seenCards = 0;
+        problem = null;
+    }
+
+    /**
+     * checks that a loaded game is consistent: all 48 cards are in the game exactly once, spread over the stock, the trump card,
+     * the hands and the capture piles, and every meld is a valid meld made of cards its player still holds or has played
+     * @param gameSnapshot the snapshot of the loaded game
+     * @return null if the game is consistent, otherwise a description of the first problem found
+     */
+    public String validate(GameSnapshot gameSnapshot) {
+        seenCards = 0;
+        problem = null;
+        if(gameSnapshot.getTrumpSuit() < 0) {
+            return "the game has no trump suit";
+        }
+
+        //card conservation
+        long[] hands = new long[GameModel.NUM_OF_PLAYERS];
+        long captured = 0;
+        for(int i = 0; i < GameModel.NUM_OF_PLAYERS; i++) {
+            hands[i] = addCards(gameSnapshot.getHand(i), playerName(i) + "'s hand");
+            captured |= addCards(gameSnapshot.getCapturePile(i), playerName(i) + "'s capture pile");
+        }
+        addCards(gameSnapshot.getStock(), "the stock");
+        int trumpCardId = gameSnapshot.getTrumpCardId();
+        if(trumpCardId >= 0) {
+            addCard(trumpCardId, "the trump card");
+            if(CardIds.suit(trumpCardId) != gameSnapshot.getTrumpSuit()) {
+                report("the trump card " + CardStrings.getShortStringById(trumpCardId) + " is not of the trump suit");
+            }
+        } else if(gameSnapshot.getStock().size() > 0) {
+            //the trump card is only picked up together with the last card of the stock
+            report("the trump card is missing while the stock still has cards");
+        }
+        if(gameSnapshot.getLeadCardId() >= 0) {
+            addCard(gameSnapshot.getLeadCardId(), "the lead card");
+        }
+        if(gameSnapshot.getChaseCardId() >= 0) {
+            addCard(gameSnapshot.getChaseCardId(), "the chase card");
+        }
+        if(problem == null && seenCards != CardIds.ALL_CARDS) {
+            report(Long.bitCount(seenCards) + " of the " + CardIds.NUM_OF_CARD_IDS + " cards are in the game");
+        }
+
+        //meld consistency
+        Suit trumpSuit = SUITS[gameSnapshot.getTrumpSuit()];
+        for(int i = 0; i < GameModel.NUM_OF_PLAYERS && problem == null; i++) {
+            checkMelds(gameSnapshot.getMelds(i), hands[i] | captured, trumpSuit, playerName(i));
+        }
+        return problem;
+    }
+
+    /**
+     * checks the melds of a player
+     * @param melds the card ids of the player's melds, each meld followed by a separator
+     * @param allowedCards the cards that a meld may use: those in the player's hand, and those already played into a capture pile
+     * @param trumpSuit the trump suit of the round
+     * @param player the name of the player, for the description of a problem
+     */
+    private void checkMelds(CardIdList melds, long allowedCards, Suit trumpSuit, String player) {
+        int numOfMelds = 0;
+        long meldMask = 0;
+        meldCards.clear();
+        for(int i = 0; i < melds.size() && problem == null; i++) {
+            int id = melds.get(i);
+            if(id != CardIdList.MELD_SEPARATOR) {
+                if(id < 0 || id >= CardIds.NUM_OF_CARD_IDS) {
+                    report("a meld of " + player + " holds a card that is not part of the deck");
+                    continue;
+                }
+                if((allowedCards & (1L << id)) == 0) {
+                    report("a meld of " + player + " uses a card that is neither in the hand nor played: " + CardStrings.getShortStringById(id));
+                }
+                meldMask |= 1L << id;
+                meldCards.add(Card.fromId(id));
+                continue;
+            }
+
+            if(!new MeldInstance(meldCards, trumpSuit).isValidMeld() || Long.bitCount(meldMask) != meldCards.size()) {
+                report(player + " has an invalid meld: " + meldString());
+            }
+            for(int j = 0; j < numOfMelds; j++) {
+                if(meldMasks[j] == meldMask) {
+                    report(player + " has the meld " + meldString() + " twice");
+                }
+            }
+            if(numOfMelds < meldMasks.length) {
+                meldMasks[numOfMelds++] = meldMask;
+            }
+            meldMask = 0;
+            meldCards.clear();
+        }
+    }
+
+    /**
+     * adds the cards of a pile to the cards found so far
+     * @param cards the card ids of the pile
+     * @param place the name of the pile, for the description of a problem
+     * @return the mask of the cards in the pile
+     */
+    private long addCards(CardIdList cards, String place) {
+        long mask = 0;
+        for(int i = 0; i < cards.size(); i++) {
+            mask |= addCard(cards.get(i), place);
+        }
+        return mask;
+    }
+
+    /**
+     * adds a card to the cards found so far, noting a problem if it is not a card of the deck or has been found before
+     * @param id the id of the card
+     * @param place where the card is, for the description of a problem
+     * @return the mask of the card, or 0 if it is not a card of the deck
+     */
+    private long addCard(int id, String place) {
+        if(id < 0 || id >= CardIds.NUM_OF_CARD_IDS) {
+            report(place + " holds a card that is not part of the deck");
+            return 0;
+        }
+        long mask = 1L << id;
+        if((seenCards & mask) != 0) {
+            report("a third copy of " + CardStrings.getShortStringById(id) + " is in " + place);
+        }
+        seenCards |= mask;
+        return mask;
+    }
+
+    /**
+     * notes a problem, unless one has already been found
+     * @param description the description of the problem
+     */
+    private void report(String description) {
+        if(problem == null) {
+            problem = description;
+        }
+    }
+
+    /**
+     * returns the string representation of the meld being checked
+     * @return the card strings of the meld, separated by spaces
+     */
+    private String meldString() {
+        StringBuilder builder = new StringBuilder();
+        for(int i = 0; i < meldCards.size(); i++) {
+            builder.append(i == 0 ? "" : " ").append(meldCards.get(i).getShortCardStr());
+        }
+        return builder.toString();
+    }
+
+    /**
+     * returns the name of the player in a seat
+     * @param seat the seat of the player
+     * @return the name of the player
+     */
+    private static String playerName(int seat) {
+        return seat == GameModel.COMPUTER_PLAYER ? "the computer" : "the human";
+    }
+}
@@ -0,0 +1,134 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.search;
+
+import com.example.pinochleinandroid.models.cards.Card;
+import com.example.pinochleinandroid.models.cards.Rank;
+import com.example.pinochleinandroid.models.cards.Suit;
+
+public class CardIds {
+    //the number of distinct card ids (see Deck.populate())
+    public static final int NUM_OF_CARD_IDS = 48;
+    //a mask with a bit set for every card id
+    public static final long ALL_CARDS = (1L << NUM_OF_CARD_IDS) - 1;
+
+    private static final long[] SUIT_MASKS = new long[4];
+
+    static {
+        for (int suit = 0; suit < 4; suit++) {
+            SUIT_MASKS[suit] = 0x030303030303L << (suit * 2);
+        }
+    }
+
+    /**
+     * Private constructor, since CardIds only holds static helpers
+     */
+    private CardIds() {
+    }
+
+    /**
+     * returns the rank of a card id (card ids are assigned as rank * 8 + suit * 2 + copy)
+     * @param id the card id
+     * @return the ordinal of the rank of the card
+     */
+    public static int rank(int id) {
+        return id >> 3;
+    }
+
+    /**
+     * returns the suit of a card id
+     * @param id the card id
+     * @return the ordinal of the suit of the card
+     */
+    public static int suit(int id) {
+        return (id >> 1) & 3;
+    }
+
+    /**
+     * returns the card type (one of the 24 distinct rank and suit combinations) of a card id
+     * @param id the card id
+     * @return the card type, rank * 4 + suit
+     */
+    public static int type(int id) {
+        return id >> 1;
+    }
+
+    /**
+     * returns the points a card is worth when it is captured
+     * @param id the card id
+     * @return the points of the card
+     */
+    public static int points(int id) {
+        return TrickTable.points(id);
+    }
+
+    /**
+     * returns the mask of all the card ids of a suit
+     * @param suit the ordinal of the suit
+     * @return the mask of the suit
+     */
+    public static long suitMask(int suit) {
+        return SUIT_MASKS[suit];
+    }
+
+    /**
+     * returns the mask of both card ids of a card type
+     * @param type the card type, rank * 4 + suit
+     * @return the mask of the two copies of the card
+     */
+    public static long typeMask(int type) {
+        return 3L << (type * 2);
+    }
+
+    /**
+     * returns the mask of all the card ids with a rank higher than the given rank
+     * @param rank the ordinal of the rank
+     * @return the mask of the cards with a higher rank
+     */
+    public static long higherRanksMask(int rank) {
+        return ALL_CARDS & ~((1L << ((rank + 1) * 8)) - 1);
+    }
+
+    /**
+     * Determines whether the chase card beats the lead card, following the same rules as GameModel
+     * @param leadId the id of the lead card
+     * @param chaseId the id of the chase card
+     * @param trumpSuit the ordinal of the trump suit
+     * @return true if the chase card wins the turn, false if the lead card wins
+     */
+    public static Boolean chaseCardWins(int leadId, int chaseId, int trumpSuit) {
+        return TrickTable.chaseCardWins(leadId, chaseId, trumpSuit);
+    }
+
+    /**
+     * returns the id of a card that may be missing
+     * @param card the card, or null
+     * @return the id of the card, or -1 if there is no card
+     */
+    public static int idOf(Card card) {
+        return card == null ? -1 : card.getId();
+    }
+
+    /**
+     * returns the rank of a card id as a Rank
+     * @param id the card id
+     * @return the rank of the card
+     */
+    public static Rank rankOf(int id) {
+        return Rank.values()[rank(id)];
+    }
+
+    /**
+     * returns the suit of a card id as a Suit
+     * @param id the card id
+     * @return the suit of the card
+     */
+    public static Suit suitOf(int id) {
+        return Suit.values()[suit(id)];
+    }
+}
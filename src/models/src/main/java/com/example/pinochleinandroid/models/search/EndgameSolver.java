@@ -0,0 +1,420 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.search;
+
+import com.example.pinochleinandroid.models.cards.Meld;
+
+import java.util.Arrays;
+
+public class EndgameSolver {
+    //the default size of the transposition table, as a power of two (about 1.7 MB)
+    public static final int DEFAULT_TABLE_BITS = 17;
+    //the largest hand the solver is used for. Over 600 self-play endgames, a search from an empty table never needed more than
+    //44 thousand positions with 8 cards per hand, but up to 190 thousand with 9 and 1.3 million with 10
+    public static final int MAX_HAND_SIZE = 8;
+    //the default cap on the positions searched per decision, after which the solver gives up; a margin over the worst case of MAX_HAND_SIZE
+    public static final int DEFAULT_MAX_NODES = 100000;
+    //how many positions are searched between checks of interruptions
+    private static final int NODES_PER_INTERRUPT_CHECK = 4096;
+    //the kinds of bounds stored in the transposition table
+    private static final byte EXACT = 1;
+    private static final byte LOWER_BOUND = 2;
+    private static final byte UPPER_BOUND = 3;
+    //a bound no score can reach
+    private static final int INFINITY = 1 << 20;
+    //the most cards that can be played in the rest of a round, which bounds the depth of the search
+    private static final int MAX_DEPTH = CardIds.NUM_OF_CARD_IDS + 1;
+    private static final int NUM_OF_MELDS = Meld.values().length;
+
+    //every thread gets its own solver, so that players do not each allocate a transposition table
+    private static final ThreadLocal<EndgameSolver> SOLVERS = new ThreadLocal<EndgameSolver>() {
+        @Override
+        protected EndgameSolver initialValue() {
+            return new EndgameSolver();
+        }
+    };
+
+    //the transposition table, stored as parallel arrays indexed by the low bits of the position's key
+    private final long[] keys;
+    private final int[] values;
+    private final byte[] bounds;
+    private final byte[] bestMoves;
+    private final int tableMask;
+    private final int maxNodes;
+
+    //the position being searched: both hands, the cards each player has used for each meld type, and the trump suit
+    private final long[] hands;
+    private final long[][] usedForMelds;
+    private int trumpSuit;
+    private byte[][] winners;
+    //for each depth, the moves to try, their ordering scores, and the meld masks to restore after a turn
+    private final int[][] moves;
+    private final int[][] moveScores;
+    private final long[][] savedMelds;
+
+    private int numOfNodes;
+    private Boolean aborted;
+    private int lastValue;
+    private int lastNumOfNodes;
+
+    /**
+     * Default constructor for EndgameSolver class
+     */
+    public EndgameSolver() {
+        this(DEFAULT_TABLE_BITS, DEFAULT_MAX_NODES);
+    }
+
+    /**
+     * Overloaded constructor for EndgameSolver class
+     * @param tableBits the size of the transposition table, as a power of two
+     * @param maxNodes the maximum number of positions searched per decision, or 0 for no limit
+     */
+    public EndgameSolver(int tableBits, int maxNodes) {
+        int tableSize = 1 << tableBits;
+        keys = new long[tableSize];
+        values = new int[tableSize];
+        bounds = new byte[tableSize];
+        bestMoves = new byte[tableSize];
+        tableMask = tableSize - 1;
+        this.maxNodes = maxNodes > 0 ? maxNodes : Integer.MAX_VALUE;
+        hands = new long[2];
+        usedForMelds = new long[2][NUM_OF_MELDS];
+        moves = new int[MAX_DEPTH][CardIds.NUM_OF_CARD_IDS / 2];
+        moveScores = new int[MAX_DEPTH][CardIds.NUM_OF_CARD_IDS / 2];
+        savedMelds = new long[MAX_DEPTH][NUM_OF_MELDS];
+        aborted = false;
+        lastValue = 0;
+        lastNumOfNodes = 0;
+    }
+
+    /**
+     * returns the solver of the calling thread, creating it if needed
+     * @return the solver of the current thread
+     */
+    public static EndgameSolver getSolver() {
+        return SOLVERS.get();
+    }
+
+    /**
+     * forgets every position in the transposition table, so that the moves chosen from then on do not depend on earlier searches
+     */
+    public void clear() {
+        Arrays.fill(bounds, (byte) 0);
+    }
+
+    /**
+     * returns the score the player can secure over the rest of the round at the last decision
+     * @return the difference between the points the player and the opponent win from the last decision on
+     */
+    public int getLastValue() {
+        return lastValue;
+    }
+
+    /**
+     * returns the number of positions searched for the last decision
+     * @return the number of positions
+     */
+    public int getLastNumOfNodes() {
+        return lastNumOfNodes;
+    }
+
+    /**
+     * Determines whether the solver can play from what a player knows: once the stock and the trump card are gone,
+     * every card the player does not hold or see captured is in the opponent's hand
+     * @param info what the player knows about the game
+     * @return true if the location of every card is known, false otherwise
+     */
+    public static Boolean canSolve(InformationSet info) {
+        long opponentHand = info.getUnseenCards() | info.getOpponentKnownCards();
+        return info.getStockSize() == 0 && info.getTrumpCardId() < 0 && info.getHand() != 0
+                && Long.bitCount(opponentHand) == info.getOpponentHandSize();
+    }
+
+    /**
+     * finds the card that gives the player the best score difference over the rest of the round, assuming both players play
+     * perfectly and the winner of each turn declares its best meld
+     * @param info what the player knows about the game
+     * @return the id of the card to play, or -1 if the location of every card is not known yet, or the search
+     *         ran out of positions or was interrupted
+     */
+    public int chooseCard(InformationSet info) {
+        lastNumOfNodes = 0;
+        if (!canSolve(info)) {
+            return -1;
+        }
+        int me = info.getSeat();
+        int opponent = 1 - me;
+        hands[me] = info.getHand();
+        hands[opponent] = info.getUnseenCards() | info.getOpponentKnownCards();
+        for (int player = 0; player < 2; player++) {
+            for (int meld = 0; meld < NUM_OF_MELDS; meld++) {
+                usedForMelds[player][meld] = info.getUsedForMeld(player, meld);
+            }
+        }
+        if (info.getTrumpSuit() != trumpSuit || winners == null) {
+            trumpSuit = info.getTrumpSuit();
+            winners = TrickTable.winnersFor(trumpSuit);
+        }
+        int leadCard = info.getLeadCardId();
+        int leader = leadCard < 0 ? me : opponent;
+
+        numOfNodes = 0;
+        aborted = false;
+        int best = search(leader, leadCard, -INFINITY, INFINITY, 0);
+        lastNumOfNodes = numOfNodes;
+        if (aborted) {
+            return -1;
+        }
+        lastValue = best;
+        //the best move of the root is always in the table, since nothing was stored after it
+        return bestMoves[(int) key(leader, leadCard) & tableMask];
+    }
+
+    /**
+     * searches a position with alpha-beta pruning
+     * @param leader the seat of the player who leads the current turn
+     * @param leadCard the id of the card led this turn, or -1 if the leader has not played yet
+     * @param alpha the score the player to move is already sure of
+     * @param beta the score the opponent of the player to move is already sure of, negated
+     * @param depth the number of cards played since the root
+     * @return the difference between the points the player to move and its opponent win from this position on,
+     *         exact if it lies strictly between alpha and beta, and a bound otherwise
+     */
+    private int search(int leader, int leadCard, int alpha, int beta, int depth) {
+        if (++numOfNodes % NODES_PER_INTERRUPT_CHECK == 0 && (numOfNodes >= maxNodes || Thread.currentThread().isInterrupted())) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+
+        int player = leadCard < 0 ? leader : 1 - leader;
+        long key = key(leader, leadCard);
+        int slot = (int) key & tableMask;
+        int tableMove = -1;
+        if (keys[slot] == key && bounds[slot] != 0) {
+            int value = values[slot];
+            if (bounds[slot] == EXACT || (bounds[slot] == LOWER_BOUND && value >= beta) || (bounds[slot] == UPPER_BOUND && value <= alpha)) {
+                if (depth > 0) {
+                    return value;
+                }
+            }
+            tableMove = bestMoves[slot];
+        }
+
+        int numOfMoves = generateMoves(player, leadCard, tableMove, depth);
+        int[] depthMoves = moves[depth];
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = depthMoves[0];
+        for (int i = 0; i < numOfMoves; i++) {
+            int card = depthMoves[i];
+            int value;
+            hands[player] &= ~(1L << card);
+            if (i == 0) {
+                value = play(leader, leadCard, card, alpha, beta, depth);
+            } else {
+                //the later moves are only expected to be worse, which a search with a null window proves cheaply
+                value = play(leader, leadCard, card, alpha, alpha + 1, depth);
+                if (value > alpha && value < beta && !aborted) {
+                    value = play(leader, leadCard, card, value, beta, depth);
+                }
+            }
+            hands[player] |= 1L << card;
+            if (aborted) {
+                return 0;
+            }
+
+            if (value > best) {
+                best = value;
+                bestMove = card;
+                if (value > alpha) {
+                    alpha = value;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        keys[slot] = key;
+        values[slot] = best;
+        bestMoves[slot] = (byte) bestMove;
+        bounds[slot] = best <= originalAlpha ? UPPER_BOUND : best >= beta ? LOWER_BOUND : EXACT;
+        return best;
+    }
+
+    /**
+     * plays a card that has already been removed from the hand of the player to move, and searches the position after it
+     * @param leader the seat of the player who leads the current turn
+     * @param leadCard the id of the card led this turn, or -1 if the card being played is the lead card
+     * @param card the id of the card being played
+     * @param alpha the score the player to move is already sure of
+     * @param beta the score the opponent of the player to move is already sure of, negated
+     * @param depth the number of cards played since the root, not counting this card
+     * @return the difference between the points the player to move and its opponent win from this card on
+     */
+    private int play(int leader, int leadCard, int card, int alpha, int beta, int depth) {
+        if (leadCard < 0) {
+            //the opponent chases next
+            return -search(leader, card, -beta, -alpha, depth + 1);
+        }
+        return resolveTurn(leader, leadCard, card, alpha, beta, depth);
+    }
+
+    /**
+     * completes a turn with a chase card, lets the winner declare its best meld, and searches the rest of the round
+     * @param leader the seat of the player who led the turn
+     * @param leadCard the id of the lead card
+     * @param chaseCard the id of the chase card, already removed from the chaser's hand
+     * @param alpha the score the chaser is already sure of
+     * @param beta the score the leader is already sure of, negated
+     * @param depth the number of cards played since the root, not counting the chase card
+     * @return the difference between the points the chaser and the leader win from the chase card on
+     */
+    private int resolveTurn(int leader, int leadCard, int chaseCard, int alpha, int beta, int depth) {
+        int chaser = 1 - leader;
+        int winner = winners[leadCard >> 1][chaseCard >> 1] == TrickTable.CHASE_WINS ? chaser : leader;
+        int points = TrickTable.points(leadCard) + TrickTable.points(chaseCard);
+
+        //the winner of the turn declares the best meld it can
+        long[] used = usedForMelds[winner];
+        int meld = MeldMasks.bestMeld(hands[winner], used, trumpSuit);
+        if (meld >= 0) {
+            System.arraycopy(used, 0, savedMelds[depth], 0, NUM_OF_MELDS);
+            points += MeldMasks.declare(meld, hands[winner], used, trumpSuit);
+        }
+
+        int value;
+        if (hands[winner] == 0) {
+            //the last turn of the round
+            value = winner == chaser ? points : -points;
+        } else if (winner == chaser) {
+            value = points + search(winner, -1, alpha - points, beta - points, depth + 1);
+        } else {
+            value = -points - search(winner, -1, -beta - points, -alpha - points, depth + 1);
+        }
+
+        if (meld >= 0) {
+            System.arraycopy(savedMelds[depth], 0, used, 0, NUM_OF_MELDS);
+        }
+        return value;
+    }
+
+    /**
+     * lists the cards worth trying for the player to move, best first: the move stored in the transposition table, then
+     * cheap winning cards and low cards. Only one copy of cards whose copies are interchangeable is kept
+     * @param player the seat of the player to move
+     * @param leadCard the id of the card led this turn, or -1 if the player is leading
+     * @param tableMove the best move stored in the transposition table for this position, or -1
+     * @param depth the number of cards played since the root
+     * @return the number of moves
+     */
+    private int generateMoves(int player, int leadCard, int tableMove, int depth) {
+        int[] depthMoves = moves[depth];
+        int[] scores = moveScores[depth];
+        long hand = hands[player];
+        long opponentHand = hands[1 - player];
+        int numOfMoves = 0;
+        for (long cards = hand; cards != 0; cards &= cards - 1) {
+            int card = Long.numberOfTrailingZeros(cards);
+            int copy = card ^ 1;
+            if (copy < card && (hand & (1L << copy)) != 0 && sameMeldHistory(player, card, copy)) {
+                continue;
+            }
+
+            int score;
+            if (card == tableMove) {
+                score = INFINITY;
+            } else if (leadCard < 0) {
+                //leading a card the opponent cannot beat wins its points, otherwise lead cheap cards
+                score = canBeBeaten(card, opponentHand) ? -TrickTable.points(card) : 100 + TrickTable.points(card);
+            } else if (winners[leadCard >> 1][card >> 1] == TrickTable.CHASE_WINS) {
+                //win with the cheapest card, preferring non-trump cards
+                score = 50 - TrickTable.points(card) - (CardIds.suit(card) == trumpSuit ? 20 : 0);
+            } else {
+                score = -TrickTable.points(card);
+            }
+
+            //insertion sort, keeping moves with equal scores in card order
+            int i = numOfMoves++;
+            while (i > 0 && scores[i - 1] < score) {
+                depthMoves[i] = depthMoves[i - 1];
+                scores[i] = scores[i - 1];
+                i--;
+            }
+            depthMoves[i] = card;
+            scores[i] = score;
+        }
+        return numOfMoves;
+    }
+
+    /**
+     * checks whether any card of a hand beats a lead card
+     * @param leadCard the id of the lead card
+     * @param hand the mask of the hand
+     * @return true if a card of the hand wins against the lead card, false otherwise
+     */
+    private Boolean canBeBeaten(int leadCard, long hand) {
+        int suit = CardIds.suit(leadCard);
+        long beaters = CardIds.suitMask(suit) & CardIds.higherRanksMask(CardIds.rank(leadCard));
+        if (suit != trumpSuit) {
+            beaters |= CardIds.suitMask(trumpSuit);
+        }
+        return (hand & beaters) != 0;
+    }
+
+    /**
+     * checks whether two cards of a player have been used for the same meld types
+     * @param player the seat of the player
+     * @param id the id of the first card
+     * @param otherId the id of the second card
+     * @return true if both cards have been used for the same meld types, false otherwise
+     */
+    private Boolean sameMeldHistory(int player, int id, int otherId) {
+        long[] used = usedForMelds[player];
+        for (int meld = 0; meld < NUM_OF_MELDS; meld++) {
+            if (((used[meld] >>> id) & 1) != ((used[meld] >>> otherId) & 1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * hashes a position: both hands, whose turn it is, the lead card, the trump suit, and the meld history of the cards still in hand
+     * @param leader the seat of the player who leads the current turn
+     * @param leadCard the id of the card led this turn, or -1
+     * @return the key of the position
+     */
+    private long key(int leader, int leadCard) {
+        long hash = mix(hands[0] ^ ((long) (leadCard + 1) << 48) ^ ((long) leader << 55) ^ ((long) trumpSuit << 56));
+        hash = mix(hash ^ hands[1]);
+        for (int player = 0; player < 2; player++) {
+            for (int meld = 0; meld < NUM_OF_MELDS; meld++) {
+                //cards that have been played no longer matter
+                long used = usedForMelds[player][meld] & hands[player];
+                if (used != 0) {
+                    hash = mix(hash ^ used ^ ((long) (player * NUM_OF_MELDS + meld + 1) << 48));
+                }
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * scrambles the bits of a number
+     * @param value the number
+     * @return the scrambled number
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
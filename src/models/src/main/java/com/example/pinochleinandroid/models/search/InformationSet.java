@@ -0,0 +1,212 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.search;
+
+import com.example.pinochleinandroid.models.GameContext;
+import com.example.pinochleinandroid.models.cards.Card;
+import com.example.pinochleinandroid.models.cards.GroupOfCards;
+import com.example.pinochleinandroid.models.cards.Meld;
+import com.example.pinochleinandroid.models.cards.MeldInstance;
+import com.example.pinochleinandroid.models.cards.MeldsStorage;
+
+import java.util.ArrayList;
+
+public class InformationSet {
+    //the seat of the player the information belongs to
+    private final int seat;
+    private final int trumpSuit;
+    //the masks of the cards the player holds, the opponent is known to hold, and the cards whose location is unknown
+    private final long hand;
+    private final long capturedCards;
+    private final long opponentKnownCards;
+    private final long unseenCards;
+    private final int opponentHandSize;
+    private final int stockSize;
+    //the id of the trump card under the stock, or -1 if it has been picked up
+    private final int trumpCardId;
+    //the id of the card the opponent led this turn, or -1 if the player is leading
+    private final int leadCardId;
+    private final int[] roundScores;
+    //the masks of the cards each player has used for each meld type, indexed by seat and the ordinal of the meld
+    private final long[][] usedForMelds;
+
+    /**
+     * Constructor for InformationSet class. Gathers what a player can see of the game
+     * @param hand the hand of the player
+     * @param gameContext the game the player is in
+     * @param seat the seat of the player
+     * @param leadCard the card the opponent led this turn, or null if the player is leading
+     */
+    public InformationSet(GroupOfCards hand, GameContext gameContext, int seat, Card leadCard) {
+        this.seat = seat;
+        int opponent = 1 - seat;
+        trumpSuit = gameContext.getTrumpSuit().ordinal();
+
+        long handMask = maskOf(hand);
+        long captured = maskOf(gameContext.getCapturePile(0)) | maskOf(gameContext.getCapturePile(1));
+
+        usedForMelds = new long[2][Meld.values().length];
+        for (int player = 0; player < 2; player++) {
+            MeldsStorage meldsPlayed = gameContext.getMeldsPlayed(player);
+            for (Meld meld : Meld.values()) {
+                ArrayList<MeldInstance> instances = meldsPlayed.getAllMeldsByType(meld);
+                for (int i = 0; i < instances.size(); i++) {
+                    usedForMelds[player][meld.ordinal()] |= maskOf(instances.get(i));
+                }
+            }
+        }
+
+        //cards the opponent has melded stay in their hand until they are played
+        long opponentMelded = 0;
+        for (int i = 0; i < usedForMelds[opponent].length; i++) {
+            opponentMelded |= usedForMelds[opponent][i];
+        }
+        long remaining = CardIds.ALL_CARDS & ~handMask & ~captured;
+        leadCardId = CardIds.idOf(leadCard);
+        if (leadCardId >= 0) {
+            remaining &= ~(1L << leadCardId);
+        }
+        opponentKnownCards = opponentMelded & remaining;
+        remaining &= ~opponentKnownCards;
+        trumpCardId = CardIds.idOf(gameContext.getTrumpCard());
+        if (trumpCardId >= 0) {
+            remaining &= ~(1L << trumpCardId);
+        }
+
+        this.hand = handMask;
+        capturedCards = captured;
+        unseenCards = remaining;
+        opponentHandSize = gameContext.getNumOfCardsInHand(opponent);
+        stockSize = gameContext.getNumOfCardsInStock();
+        roundScores = gameContext.getRoundScores().clone();
+    }
+
+    /**
+     * returns the seat of the player the information belongs to
+     * @return the seat of the player
+     */
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * returns the trump suit
+     * @return the ordinal of the trump suit
+     */
+    public int getTrumpSuit() {
+        return trumpSuit;
+    }
+
+    /**
+     * returns the cards in the player's hand
+     * @return the mask of the player's hand
+     */
+    public long getHand() {
+        return hand;
+    }
+
+    /**
+     * returns the cards in both players' capture piles
+     * @return the mask of the captured cards
+     */
+    public long getCapturedCards() {
+        return capturedCards;
+    }
+
+    /**
+     * returns the cards the opponent is known to hold because they were shown in melds
+     * @return the mask of the opponent's known cards
+     */
+    public long getOpponentKnownCards() {
+        return opponentKnownCards;
+    }
+
+    /**
+     * returns the cards that are either in the opponent's hand or in the stock
+     * @return the mask of the unseen cards
+     */
+    public long getUnseenCards() {
+        return unseenCards;
+    }
+
+    /**
+     * returns the number of cards in the opponent's hand
+     * @return the size of the opponent's hand
+     */
+    public int getOpponentHandSize() {
+        return opponentHandSize;
+    }
+
+    /**
+     * returns the number of cards in the stock, not counting the trump card
+     * @return the size of the stock
+     */
+    public int getStockSize() {
+        return stockSize;
+    }
+
+    /**
+     * returns the trump card lying under the stock
+     * @return the id of the trump card, or -1 if it has been picked up
+     */
+    public int getTrumpCardId() {
+        return trumpCardId;
+    }
+
+    /**
+     * returns the card the opponent led this turn
+     * @return the id of the lead card, or -1 if the player is leading
+     */
+    public int getLeadCardId() {
+        return leadCardId;
+    }
+
+    /**
+     * returns the round score of a player
+     * @param player the seat of the player
+     * @return the round score of the player
+     */
+    public int getRoundScore(int player) {
+        return roundScores[player];
+    }
+
+    /**
+     * returns the cards a player has already used for a meld type
+     * @param player the seat of the player
+     * @param meldType the ordinal of the meld
+     * @return the mask of the cards used for the meld type
+     */
+    public long getUsedForMeld(int player, int meldType) {
+        return usedForMelds[player][meldType];
+    }
+
+    /**
+     * hashes everything the player can see, so that searches can derive their random numbers from the decision at hand
+     * @return the hash of the information set
+     */
+    public long getSignature() {
+        long hash = hand * 0x9E3779B97F4A7C15L;
+        hash = (hash ^ unseenCards) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ opponentKnownCards) * 0x94D049BB133111EBL;
+        hash = (hash ^ ((long) leadCardId << 32) ^ (roundScores[0] * 31L + roundScores[1])) * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 31);
+    }
+
+    /**
+     * creates a mask of the ids of a group of cards
+     * @param cards the group of cards
+     * @return the mask of the cards
+     */
+    private static long maskOf(GroupOfCards cards) {
+        long mask = 0;
+        for (int i = 0; i < cards.getNumOfCards(); i++) {
+            mask |= 1L << cards.getCardByPosition(i).getId();
+        }
+        return mask;
+    }
+}
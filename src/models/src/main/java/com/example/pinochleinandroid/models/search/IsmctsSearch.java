@@ -0,0 +1,222 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.search;
+
+import java.util.Random;
+
+public class IsmctsSearch {
+    //the default cap on the tree, about 4 MB of node statistics
+    public static final int DEFAULT_MAX_NODES = 1 << 17;
+    //how much exploring unvisited cards is favored over exploiting good ones
+    private static final double EXPLORATION_CONSTANT = 0.7;
+    //the score difference that maps to a certain win or loss when turning outcomes into rewards between 0 and 1
+    private static final double REWARD_SCALE = 200;
+    //how many iterations are played between checks of the time limit and of interruptions
+    private static final int ITERATIONS_PER_TIME_CHECK = 16;
+
+    private final SearchTree tree;
+    private final RolloutState state;
+    private final int numOfIterations;
+    private final long timeLimitMillis;
+    private final long seed;
+    //the nodes visited by the current iteration, from the root down
+    private final int[] path;
+    private final int[] moveTypes;
+    private int lastNumOfIterations;
+
+    /**
+     * Constructor for IsmctsSearch class
+     * @param numOfIterations the number of visits the root should have before a decision, counting the visits kept from earlier turns,
+     *                        or 0 to only be bound by the time limit
+     * @param timeLimitMillis the maximum time per decision in milliseconds, or 0 to only be bound by the number of iterations
+     * @param maxNodes the maximum number of nodes in the search tree
+     * @param seed the seed that, together with the state of the game, decides the random numbers of each decision
+     */
+    public IsmctsSearch(int numOfIterations, long timeLimitMillis, int maxNodes, long seed) {
+        if (numOfIterations <= 0 && timeLimitMillis <= 0) {
+            throw new IllegalArgumentException("a search needs an iteration budget or a time limit");
+        }
+        this.numOfIterations = numOfIterations > 0 ? numOfIterations : Integer.MAX_VALUE;
+        this.timeLimitMillis = timeLimitMillis;
+        this.seed = seed;
+        tree = new SearchTree(maxNodes);
+        state = new RolloutState();
+        path = new int[CardIds.NUM_OF_CARD_IDS + 2];
+        moveTypes = new int[CardIds.NUM_OF_CARD_IDS];
+        lastNumOfIterations = 0;
+    }
+
+    /**
+     * returns the number of iterations played for the last decision, not counting those kept from earlier turns
+     * @return the number of iterations of the last decision
+     */
+    public int getLastNumOfIterations() {
+        return lastNumOfIterations;
+    }
+
+    /**
+     * returns the search tree
+     * @return the search tree
+     */
+    public SearchTree getTree() {
+        return tree;
+    }
+
+    /**
+     * throws the search tree away, for instance when a new round starts
+     */
+    public void reset() {
+        tree.clear();
+    }
+
+    /**
+     * moves the root of the tree past the cards that have been played since the last decision
+     * @param cardIds the ids of the cards played since the last decision, in order
+     * @param numOfCards the number of cards
+     * @return true if the statistics under the new root were kept, false if the tree had to be cleared
+     */
+    public Boolean advance(int[] cardIds, int numOfCards) {
+        for (int i = 0; i < numOfCards; i++) {
+            moveTypes[i] = CardIds.type(cardIds[i]);
+        }
+        return tree.reroot(moveTypes, numOfCards);
+    }
+
+    /**
+     * grows the tree from what the player knows and picks the most visited card
+     * @param info what the player knows about the game, which must match the root of the tree
+     * @return the id of the card to play, or -1 if the player has no cards
+     */
+    public int chooseCard(InformationSet info) {
+        lastNumOfIterations = 0;
+        int playable = typesOf(info.getHand());
+        if (playable == 0) {
+            return -1;
+        }
+        Random random = new Random(seed ^ info.getSignature());
+        if (Integer.bitCount(playable) > 1) {
+            long deadline = timeLimitMillis > 0 ? System.nanoTime() + timeLimitMillis * 1000000L : 0;
+            //visits kept from earlier turns count towards the budget, but every decision gets some fresh iterations
+            int iterations = Math.max(numOfIterations - tree.getVisits(SearchTree.ROOT), numOfIterations / 4);
+            for (int i = 0; i < iterations; i++) {
+                //stop at the time limit, or when the thread running the search is interrupted because the move is no longer wanted
+                if (i % ITERATIONS_PER_TIME_CHECK == 0 && ((deadline != 0 && System.nanoTime() - deadline > 0) || Thread.currentThread().isInterrupted())) {
+                    break;
+                }
+                iterate(info, random);
+                lastNumOfIterations++;
+            }
+        }
+
+        //the most visited card that is actually in hand
+        int bestType = Integer.numberOfTrailingZeros(playable);
+        int bestVisits = -1;
+        for (int child = tree.getFirstChild(SearchTree.ROOT); child != SearchTree.NO_NODE; child = tree.getNextSibling(child)) {
+            int type = tree.getMove(child);
+            if ((playable & (1 << type)) != 0 && tree.getVisits(child) > bestVisits) {
+                bestType = type;
+                bestVisits = tree.getVisits(child);
+            }
+        }
+        state.determinize(info, random);
+        return state.cardOfType(bestType);
+    }
+
+    /**
+     * plays one iteration: deals the unseen cards, walks down the tree among the cards that deal allows, adds one node,
+     * plays the rest of the round out and records the outcome along the path
+     * @param info what the player knows about the game
+     * @param random the random number generator
+     */
+    private void iterate(InformationSet info, Random random) {
+        int me = info.getSeat();
+        state.determinize(info, random);
+        int node = SearchTree.ROOT;
+        int depth = 0;
+        path[depth++] = node;
+
+        while (!state.isRoundOver()) {
+            int playable = typesOf(state.getPlayableCards());
+            int unexplored = playable;
+            int best = SearchTree.NO_NODE;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int child = tree.getFirstChild(node); child != SearchTree.NO_NODE; child = tree.getNextSibling(child)) {
+                if ((playable & (1 << tree.getMove(child))) == 0) {
+                    continue;
+                }
+                unexplored &= ~(1 << tree.getMove(child));
+                tree.addAvailability(child);
+                double value = upperConfidenceBound(child);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+
+            if (unexplored != 0) {
+                //expand a card that has not been tried from this node with the cards of this deal
+                int type = randomType(unexplored, random);
+                int player = state.getPlayerToMove();
+                state.play(state.cardOfType(type));
+                int child = tree.addChild(node, type, player);
+                if (child != SearchTree.NO_NODE) {
+                    path[depth++] = child;
+                }
+                break;
+            }
+            state.play(state.cardOfType(tree.getMove(best)));
+            node = best;
+            path[depth++] = node;
+        }
+
+        int margin = state.rollOut(me, random);
+        double reward = Math.max(0, Math.min(1, 0.5 + margin / (2 * REWARD_SCALE)));
+        for (int i = 0; i < depth; i++) {
+            tree.update(path[i], tree.getMover(path[i]) == me ? reward : 1 - reward);
+        }
+    }
+
+    /**
+     * scores a child by its average reward plus a bonus for being rarely visited compared to how often it was available
+     * @param child the index of the child
+     * @return the upper confidence bound of the child
+     */
+    private double upperConfidenceBound(int child) {
+        int visits = tree.getVisits(child);
+        if (visits == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return tree.getReward(child) / visits + EXPLORATION_CONSTANT * Math.sqrt(Math.log(tree.getAvailability(child)) / visits);
+    }
+
+    /**
+     * returns the card types in a set of cards
+     * @param cards the mask of the cards
+     * @return a mask with a bit set for each card type
+     */
+    private static int typesOf(long cards) {
+        int types = 0;
+        for (; cards != 0; cards &= cards - 1) {
+            types |= 1 << CardIds.type(Long.numberOfTrailingZeros(cards));
+        }
+        return types;
+    }
+
+    /**
+     * picks a random card type
+     * @param types a mask with a bit set for each card type to choose from
+     * @param random the random number generator
+     * @return the card type
+     */
+    private static int randomType(int types, Random random) {
+        for (int skip = random.nextInt(Integer.bitCount(types)); skip > 0; skip--) {
+            types &= types - 1;
+        }
+        return Integer.numberOfTrailingZeros(types);
+    }
+}
@@ -0,0 +1,134 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.search;
+
+import com.example.pinochleinandroid.models.cards.Meld;
+
+public class MeldMasks {
+    private static final int NINE = 0;
+    private static final int JACK = 1;
+    private static final int QUEEN = 2;
+    private static final int KING = 3;
+    private static final int TEN = 4;
+    private static final int ACE = 5;
+    private static final int DIAMONDS = 1;
+    private static final int SPADES = 3;
+
+    //for each trump suit, the melds that can be declared, from the highest to the lowest points
+    //each template is the ordinal of the meld, its points, and the card types (rank * 4 + suit) it needs
+    private static final int[][][] TEMPLATES = new int[4][][];
+
+    static {
+        for (int trump = 0; trump < 4; trump++) {
+            int[][] templates = new int[11][];
+            int index = 0;
+            templates[index++] = template(Meld.FLUSH, 150, type(JACK, trump), type(QUEEN, trump), type(KING, trump), type(TEN, trump), type(ACE, trump));
+            templates[index++] = template(Meld.FOUR_ACES, 100, type(ACE, 0), type(ACE, 1), type(ACE, 2), type(ACE, 3));
+            templates[index++] = template(Meld.FOUR_KINGS, 80, type(KING, 0), type(KING, 1), type(KING, 2), type(KING, 3));
+            templates[index++] = template(Meld.FOUR_QUEENS, 60, type(QUEEN, 0), type(QUEEN, 1), type(QUEEN, 2), type(QUEEN, 3));
+            templates[index++] = template(Meld.ROYAL_MARRIAGE, 40, type(KING, trump), type(QUEEN, trump));
+            templates[index++] = template(Meld.FOUR_JACKS, 40, type(JACK, 0), type(JACK, 1), type(JACK, 2), type(JACK, 3));
+            templates[index++] = template(Meld.PINOCHLE, 40, type(JACK, DIAMONDS), type(QUEEN, SPADES));
+            for (int suit = 0; suit < 4; suit++) {
+                if (suit != trump) {
+                    templates[index++] = template(Meld.MARRIAGE, 20, type(KING, suit), type(QUEEN, suit));
+                }
+            }
+            templates[index++] = template(Meld.DIX, 10, type(NINE, trump));
+            TEMPLATES[trump] = templates;
+        }
+    }
+
+    /**
+     * Private constructor, since MeldMasks only holds static helpers
+     */
+    private MeldMasks() {
+    }
+
+    /**
+     * finds the meld worth the most points that can be declared from a hand
+     * @param hand the mask of the cards in hand
+     * @param used the masks of the cards already used for each meld type, indexed by the ordinal of the meld
+     * @param trumpSuit the ordinal of the trump suit
+     * @return the index of the meld template, or -1 if no meld can be declared
+     */
+    public static int bestMeld(long hand, long[] used, int trumpSuit) {
+        int[][] templates = TEMPLATES[trumpSuit];
+        for (int i = 0; i < templates.length; i++) {
+            if (isAvailable(templates[i], hand, used)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * declares a meld from a hand, marking the cards it uses so that they cannot make the same meld again
+     * @param template the index of the meld template returned by bestMeld
+     * @param hand the mask of the cards in hand
+     * @param used the masks of the cards already used for each meld type, updated by this function
+     * @param trumpSuit the ordinal of the trump suit
+     * @return the points the meld is worth
+     */
+    public static int declare(int template, long hand, long[] used, int trumpSuit) {
+        int[] meld = TEMPLATES[trumpSuit][template];
+        int meldType = meld[0];
+        for (int i = 2; i < meld.length; i++) {
+            long eligible = hand & CardIds.typeMask(meld[i]) & ~used[meldType];
+            long card = Long.lowestOneBit(eligible);
+            used[meldType] |= card;
+            //a Royal Marriage needs at least one card that was not part of the same Flush, so Flush cards are kept out of it
+            if (meldType == Meld.FLUSH.ordinal()) {
+                used[Meld.ROYAL_MARRIAGE.ordinal()] |= card & (CardIds.typeMask(type(KING, trumpSuit)) | CardIds.typeMask(type(QUEEN, trumpSuit)));
+            }
+        }
+        return meld[1];
+    }
+
+    /**
+     * checks whether every card type of a meld is in the hand and not yet used for that meld
+     * @param meld the meld template
+     * @param hand the mask of the cards in hand
+     * @param used the masks of the cards already used for each meld type
+     * @return true if the meld can be declared, false otherwise
+     */
+    private static Boolean isAvailable(int[] meld, long hand, long[] used) {
+        long eligible = hand & ~used[meld[0]];
+        for (int i = 2; i < meld.length; i++) {
+            if ((eligible & CardIds.typeMask(meld[i])) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * creates a meld template
+     * @param meld the meld type
+     * @param points the points the meld is worth
+     * @param types the card types that make up the meld
+     * @return the template: the ordinal of the meld, its points and its card types
+     */
+    private static int[] template(Meld meld, int points, int... types) {
+        int[] template = new int[types.length + 2];
+        template[0] = meld.ordinal();
+        template[1] = points;
+        System.arraycopy(types, 0, template, 2, types.length);
+        return template;
+    }
+
+    /**
+     * returns the card type of a rank and a suit
+     * @param rank the ordinal of the rank
+     * @param suit the ordinal of the suit
+     * @return the card type, rank * 4 + suit
+     */
+    private static int type(int rank, int suit) {
+        return rank * 4 + suit;
+    }
+}
@@ -0,0 +1,235 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.search;
+
+import com.example.pinochleinandroid.models.cards.Meld;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+public class MonteCarloSearch {
+    //how many rollouts a worker plays between checks of the time limit and of interruptions
+    private static final int ROLLOUTS_PER_TIME_CHECK = 16;
+    //worker threads shared by every search, created the first time a search runs on more than one thread
+    private static ExecutorService workers;
+
+    private final int numOfIterations;
+    private final long timeLimitMillis;
+    private final int numOfThreads;
+    private final long seed;
+    private int lastNumOfRollouts;
+
+    /**
+     * Constructor for MonteCarloSearch class
+     * @param numOfIterations the maximum number of rollouts per decision, or 0 to only be bound by the time limit
+     * @param timeLimitMillis the maximum time per decision in milliseconds, or 0 to only be bound by the number of iterations
+     * @param numOfThreads the number of threads the rollouts are spread over
+     * @param seed the seed that, together with the state of the game, decides the random numbers of each decision
+     */
+    public MonteCarloSearch(int numOfIterations, long timeLimitMillis, int numOfThreads, long seed) {
+        if (numOfIterations <= 0 && timeLimitMillis <= 0) {
+            throw new IllegalArgumentException("a search needs an iteration budget or a time limit");
+        }
+        this.numOfIterations = numOfIterations > 0 ? numOfIterations : Integer.MAX_VALUE;
+        this.timeLimitMillis = timeLimitMillis;
+        this.numOfThreads = Math.max(1, numOfThreads);
+        this.seed = seed;
+        lastNumOfRollouts = 0;
+    }
+
+    /**
+     * returns the number of rollouts the last decision was based on
+     * @return the number of rollouts of the last decision
+     */
+    public int getLastNumOfRollouts() {
+        return lastNumOfRollouts;
+    }
+
+    /**
+     * picks the card with the best average outcome over rollouts of random deals consistent with what the player knows
+     * @param info what the player knows about the game
+     * @return the id of the card to play, or -1 if the player has no cards
+     */
+    public int chooseCard(InformationSet info) {
+        int[] candidates = findCandidates(info);
+        lastNumOfRollouts = 0;
+        if (candidates.length <= 1) {
+            return candidates.length == 0 ? -1 : candidates[0];
+        }
+
+        long deadline = timeLimitMillis > 0 ? System.nanoTime() + timeLimitMillis * 1000000L : 0;
+        long decisionSeed = seed ^ info.getSignature();
+        ArrayList<Rollouts> tasks = new ArrayList<Rollouts>();
+        for (int worker = 0; worker < numOfThreads; worker++) {
+            tasks.add(new Rollouts(info, candidates, worker, deadline, decisionSeed + worker));
+        }
+
+        long[] sums = new long[candidates.length];
+        int[] counts = new int[candidates.length];
+        if (numOfThreads == 1) {
+            tasks.get(0).call();
+        } else {
+            try {
+                //invokeAll waits for every worker to finish
+                List<Future<Rollouts>> results = getWorkers().invokeAll(tasks);
+                for (int i = 0; i < results.size(); i++) {
+                    results.get(i).get();
+                }
+            } catch (InterruptedException e) {
+                //the unfinished rollouts were cancelled, so fall back to the first candidate
+                Thread.currentThread().interrupt();
+                return candidates[0];
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("a rollout failed", e.getCause());
+            }
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).addTo(sums, counts);
+        }
+
+        //pick the candidate with the highest average score difference
+        int best = -1;
+        for (int i = 0; i < candidates.length; i++) {
+            lastNumOfRollouts += counts[i];
+            if (counts[i] > 0 && (best < 0 || sums[i] * counts[best] > sums[best] * counts[i])) {
+                best = i;
+            }
+        }
+        return candidates[best < 0 ? 0 : best];
+    }
+
+    /**
+     * lists the cards worth trying, keeping one copy of cards whose copies are interchangeable
+     * @param info what the player knows about the game
+     * @return the ids of the candidate cards
+     */
+    private static int[] findCandidates(InformationSet info) {
+        long hand = info.getHand();
+        long candidates = 0;
+        for (long cards = hand; cards != 0; cards &= cards - 1) {
+            int id = Long.numberOfTrailingZeros(cards);
+            int copy = id ^ 1;
+            //the two copies of a card only differ in the melds they have been used for
+            if ((hand & (1L << copy)) != 0 && copy < id && sameMeldHistory(info, id, copy)) {
+                continue;
+            }
+            candidates |= 1L << id;
+        }
+        int[] ids = new int[Long.bitCount(candidates)];
+        int index = 0;
+        for (; candidates != 0; candidates &= candidates - 1) {
+            ids[index++] = Long.numberOfTrailingZeros(candidates);
+        }
+        return ids;
+    }
+
+    /**
+     * checks whether two cards have been used for the same meld types
+     * @param info what the player knows about the game
+     * @param id the id of the first card
+     * @param otherId the id of the second card
+     * @return true if both cards have been used for the same meld types, false otherwise
+     */
+    private static Boolean sameMeldHistory(InformationSet info, int id, int otherId) {
+        for (int meld = 0; meld < Meld.values().length; meld++) {
+            long used = info.getUsedForMeld(info.getSeat(), meld);
+            if (((used >>> id) & 1) != ((used >>> otherId) & 1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * returns the shared worker threads, creating them the first time they are needed
+     * @return the executor running the rollouts
+     */
+    private static synchronized ExecutorService getWorkers() {
+        if (workers == null) {
+            workers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "monte-carlo-search");
+                    //the workers must not keep the application alive
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return workers;
+    }
+
+    private class Rollouts implements Callable<Rollouts> {
+        private final InformationSet info;
+        private final int[] candidates;
+        private final int worker;
+        private final long deadline;
+        private final Random random;
+        private final long[] sums;
+        private final int[] counts;
+
+        /**
+         * Constructor for Rollouts class
+         * @param info what the player knows about the game
+         * @param candidates the ids of the candidate cards
+         * @param worker the index of the worker, which decides the iterations it plays
+         * @param deadline the time by which the worker must stop, or 0 if there is no time limit
+         * @param seed the seed of the worker's random number generator
+         */
+        public Rollouts(InformationSet info, int[] candidates, int worker, long deadline, long seed) {
+            this.info = info;
+            this.candidates = candidates;
+            this.worker = worker;
+            this.deadline = deadline;
+            this.random = new Random(seed);
+            sums = new long[candidates.length];
+            counts = new int[candidates.length];
+        }
+
+        /**
+         * plays this worker's share of the rollouts, trying every candidate in turn
+         * @return this worker, holding the summed outcomes of its rollouts
+         */
+        @Override
+        public Rollouts call() {
+            RolloutState state = new RolloutState();
+            int played = 0;
+            for (long i = worker; i < numOfIterations; i += numOfThreads) {
+                //stop at the time limit, or when the thread is interrupted because the move is no longer wanted
+                if (played % ROLLOUTS_PER_TIME_CHECK == 0 && ((deadline != 0 && System.nanoTime() - deadline > 0) || Thread.currentThread().isInterrupted())) {
+                    break;
+                }
+                int candidate = (int) (i % candidates.length);
+                state.determinize(info, random);
+                sums[candidate] += state.playOut(info, candidates[candidate], random);
+                counts[candidate]++;
+                played++;
+            }
+            return this;
+        }
+
+        /**
+         * adds the outcomes of this worker's rollouts to the totals
+         * @param totalSums the summed score differences of each candidate
+         * @param totalCounts the number of rollouts of each candidate
+         */
+        public void addTo(long[] totalSums, int[] totalCounts) {
+            for (int i = 0; i < sums.length; i++) {
+                totalSums[i] += sums[i];
+                totalCounts[i] += counts[i];
+            }
+        }
+    }
+}
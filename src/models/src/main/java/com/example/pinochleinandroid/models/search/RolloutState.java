@@ -0,0 +1,283 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.search;
+
+import com.example.pinochleinandroid.models.cards.Deck;
+import com.example.pinochleinandroid.models.cards.Meld;
+
+import java.util.Random;
+
+public class RolloutState {
+    //the chance that a simulated player picks a random card instead of following the default policy
+    public static final double DEFAULT_EXPLORATION_RATE = 0.1;
+
+    private final long[] hands;
+    private final byte[] stock;
+    private int stockSize;
+    private int trumpCardId;
+    private int trumpSuit;
+    //the seat of the player who leads the current turn, and the card it led (-1 until it has led)
+    private int leader;
+    private int leadCard;
+    private final int[] scores;
+    private final long[][] usedForMelds;
+    //scratch space for shuffling the unseen cards
+    private final byte[] unseen;
+    private final double explorationRate;
+
+    /**
+     * Default constructor for RolloutState class
+     */
+    public RolloutState() {
+        this(DEFAULT_EXPLORATION_RATE);
+    }
+
+    /**
+     * Overloaded constructor for RolloutState class
+     * @param explorationRate the chance that a simulated player picks a random card instead of following the default policy
+     */
+    public RolloutState(double explorationRate) {
+        hands = new long[2];
+        stock = new byte[CardIds.NUM_OF_CARD_IDS];
+        scores = new int[2];
+        usedForMelds = new long[2][Meld.values().length];
+        unseen = new byte[CardIds.NUM_OF_CARD_IDS];
+        this.explorationRate = explorationRate;
+    }
+
+    /**
+     * deals the unseen cards at random between the opponent's hand and the stock, consistently with what the player knows
+     * @param info what the player knows about the game
+     * @param random the random number generator
+     */
+    public void determinize(InformationSet info, Random random) {
+        int me = info.getSeat();
+        int opponent = 1 - me;
+        trumpSuit = info.getTrumpSuit();
+        trumpCardId = info.getTrumpCardId();
+        hands[me] = info.getHand();
+        hands[opponent] = info.getOpponentKnownCards();
+        for (int player = 0; player < 2; player++) {
+            scores[player] = info.getRoundScore(player);
+            for (int meld = 0; meld < usedForMelds[player].length; meld++) {
+                usedForMelds[player][meld] = info.getUsedForMeld(player, meld);
+            }
+        }
+
+        int numOfUnseen = 0;
+        for (long cards = info.getUnseenCards(); cards != 0; cards &= cards - 1) {
+            unseen[numOfUnseen++] = (byte) Long.numberOfTrailingZeros(cards);
+        }
+        Deck.shuffle(unseen, numOfUnseen, random);
+        leadCard = info.getLeadCardId();
+        leader = leadCard < 0 ? me : opponent;
+
+        //the opponent gets the cards it is missing, and the rest of the unseen cards make up the stock
+        int missing = info.getOpponentHandSize() - Long.bitCount(hands[opponent]);
+        int position = 0;
+        for (; position < missing && position < numOfUnseen; position++) {
+            hands[opponent] |= 1L << unseen[position];
+        }
+        stockSize = Math.min(info.getStockSize(), numOfUnseen - position);
+        System.arraycopy(unseen, position, stock, 0, stockSize);
+    }
+
+    /**
+     * plays the rest of the round from a determinized state, starting with the given card
+     * @param info what the player knows about the game
+     * @param cardId the id of the card the player plays
+     * @param random the random number generator
+     * @return the difference between the player's and the opponent's round scores at the end of the round
+     */
+    public int playOut(InformationSet info, int cardId, Random random) {
+        play(cardId);
+        return rollOut(info.getSeat(), random);
+    }
+
+    /**
+     * returns the player whose turn it is to play a card
+     * @return the seat of the player to move
+     */
+    public int getPlayerToMove() {
+        return leadCard < 0 ? leader : 1 - leader;
+    }
+
+    /**
+     * returns the cards the player to move can play
+     * @return the mask of the hand of the player to move
+     */
+    public long getPlayableCards() {
+        return hands[getPlayerToMove()];
+    }
+
+    /**
+     * returns the cards a player has used for a meld type
+     * @param player the seat of the player
+     * @param meldType the ordinal of the meld
+     * @return the mask of the cards used for the meld type
+     */
+    public long getUsedForMeld(int player, int meldType) {
+        return usedForMelds[player][meldType];
+    }
+
+    /**
+     * checks whether the round is over because a player has run out of cards
+     * @return true if the round is over, false otherwise
+     */
+    public Boolean isRoundOver() {
+        //a player that has led its last card still has to see the turn through
+        return leadCard < 0 && (hands[0] == 0 || hands[1] == 0);
+    }
+
+    /**
+     * picks which copy of a card type the player to move plays, preferring the copy that has been used in more melds
+     * since it has the fewest melds left to make
+     * @param type the card type, rank * 4 + suit
+     * @return the id of the card, or -1 if the player to move has no card of that type
+     */
+    public int cardOfType(int type) {
+        int player = getPlayerToMove();
+        long copies = hands[player] & CardIds.typeMask(type);
+        if (copies == 0) {
+            return -1;
+        }
+        int first = Long.numberOfTrailingZeros(copies);
+        if (Long.bitCount(copies) == 1) {
+            return first;
+        }
+        int second = first + 1;
+        int firstUses = 0;
+        int secondUses = 0;
+        for (int meld = 0; meld < usedForMelds[player].length; meld++) {
+            firstUses += (int) (usedForMelds[player][meld] >>> first) & 1;
+            secondUses += (int) (usedForMelds[player][meld] >>> second) & 1;
+        }
+        return secondUses > firstUses ? second : first;
+    }
+
+    /**
+     * plays a card for the player to move. A chase card completes the turn: the winner scores the trick,
+     * declares the best meld it can, and both players draw from the stock
+     * @param cardId the id of the card, which must be in the hand of the player to move
+     */
+    public void play(int cardId) {
+        int player = getPlayerToMove();
+        hands[player] &= ~(1L << cardId);
+        if (leadCard < 0) {
+            leadCard = cardId;
+            return;
+        }
+
+        int winner = TrickTable.winner(trumpSuit, CardIds.type(leadCard), CardIds.type(cardId)) == TrickTable.CHASE_WINS ? player : leader;
+        int loser = 1 - winner;
+        scores[winner] += TrickTable.points(leadCard) + TrickTable.points(cardId);
+        leadCard = -1;
+        leader = winner;
+
+        //the winner of the turn declares the best meld it can
+        int meld = MeldMasks.bestMeld(hands[winner], usedForMelds[winner], trumpSuit);
+        if (meld >= 0) {
+            scores[winner] += MeldMasks.declare(meld, hands[winner], usedForMelds[winner], trumpSuit);
+        }
+
+        if (isRoundOver()) {
+            return;
+        }
+
+        //the winner draws first, and the loser picks up the trump card once the stock runs out
+        if (stockSize > 0) {
+            hands[winner] |= 1L << stock[--stockSize];
+            if (stockSize > 0) {
+                hands[loser] |= 1L << stock[--stockSize];
+            } else if (trumpCardId >= 0) {
+                hands[loser] |= 1L << trumpCardId;
+                trumpCardId = -1;
+            }
+        }
+    }
+
+    /**
+     * plays the rest of the round with the default policies
+     * @param player the seat of the player whose outcome is returned
+     * @param random the random number generator
+     * @return the difference between the player's and the opponent's round scores at the end of the round
+     */
+    public int rollOut(int player, Random random) {
+        while (!isRoundOver()) {
+            if (leadCard < 0) {
+                play(chooseLeadCard(leader, random));
+            } else {
+                play(chooseChaseCard(1 - leader, leadCard, random));
+            }
+        }
+        return scores[player] - scores[1 - player];
+    }
+
+    /**
+     * picks the lead card of a simulated player: its lowest non-trump card, or sometimes a random card
+     * @param player the seat of the player
+     * @param random the random number generator
+     * @return the id of the lead card
+     */
+    private int chooseLeadCard(int player, Random random) {
+        long hand = hands[player];
+        if (random.nextDouble() < explorationRate) {
+            return randomCard(hand, random);
+        }
+        return leastRankedCard(hand);
+    }
+
+    /**
+     * picks the chase card of a simulated player, following the same strategy as Player.suggestChaseCard
+     * @param player the seat of the player
+     * @param leadCard the id of the lead card
+     * @param random the random number generator
+     * @return the id of the chase card
+     */
+    private int chooseChaseCard(int player, int leadCard, Random random) {
+        long hand = hands[player];
+        if (random.nextDouble() < explorationRate) {
+            return randomCard(hand, random);
+        }
+        long trumps = hand & CardIds.suitMask(trumpSuit);
+        //the lowest card of the same suit that beats the lead card
+        long higher = hand & CardIds.suitMask(CardIds.suit(leadCard)) & CardIds.higherRanksMask(CardIds.rank(leadCard));
+        if (higher != 0) {
+            return Long.numberOfTrailingZeros(higher);
+        }
+        //otherwise, the lowest trump card beats a non-trump lead card
+        if (CardIds.suit(leadCard) != trumpSuit && trumps != 0) {
+            return Long.numberOfTrailingZeros(trumps);
+        }
+        return leastRankedCard(hand);
+    }
+
+    /**
+     * finds the least valuable card in a hand, preferring non-trump cards
+     * @param hand the mask of the hand
+     * @return the id of the card
+     */
+    private int leastRankedCard(long hand) {
+        long nonTrumps = hand & ~CardIds.suitMask(trumpSuit);
+        //card ids grow with the rank, so the lowest id is the lowest ranked card
+        return Long.numberOfTrailingZeros(nonTrumps != 0 ? nonTrumps : hand);
+    }
+
+    /**
+     * picks a random card from a hand
+     * @param hand the mask of the hand
+     * @param random the random number generator
+     * @return the id of the card
+     */
+    private static int randomCard(long hand, Random random) {
+        for (int skip = random.nextInt(Long.bitCount(hand)); skip > 0; skip--) {
+            hand &= hand - 1;
+        }
+        return Long.numberOfTrailingZeros(hand);
+    }
+}
@@ -0,0 +1,276 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.search;
+
+import java.util.Arrays;
+
+public class SearchTree {
+    public static final int NO_NODE = -1;
+    public static final int ROOT = 0;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final int maxNodes;
+    private int numOfNodes;
+    //the nodes are stored as indexes into parallel arrays rather than as objects, so the tree creates no garbage once it has grown
+    //a child is always stored after its parent, which lets re-rooting compact the tree in place
+    private int[] parent;
+    private int[] firstChild;
+    private int[] nextSibling;
+    private int[] visits;
+    private int[] availability;
+    private double[] rewards;
+    //the card type played to reach each node, and the seat of the player who played it
+    private byte[] move;
+    private byte[] mover;
+    //scratch space mapping old node indexes to new ones while re-rooting
+    private int[] remap;
+
+    /**
+     * Constructor for SearchTree class
+     * @param maxNodes the maximum number of nodes the tree may grow to
+     */
+    public SearchTree(int maxNodes) {
+        this.maxNodes = maxNodes;
+        int capacity = Math.min(INITIAL_CAPACITY, maxNodes);
+        parent = new int[capacity];
+        firstChild = new int[capacity];
+        nextSibling = new int[capacity];
+        visits = new int[capacity];
+        availability = new int[capacity];
+        rewards = new double[capacity];
+        move = new byte[capacity];
+        mover = new byte[capacity];
+        remap = new int[capacity];
+        clear();
+    }
+
+    /**
+     * removes every node except a fresh root
+     */
+    public void clear() {
+        numOfNodes = 0;
+        initNode(NO_NODE, -1, -1);
+    }
+
+    /**
+     * returns the number of nodes in the tree
+     * @return the number of nodes
+     */
+    public int getNumOfNodes() {
+        return numOfNodes;
+    }
+
+    /**
+     * returns the first child of a node
+     * @param node the index of the node
+     * @return the index of the first child, or NO_NODE if the node has no children
+     */
+    public int getFirstChild(int node) {
+        return firstChild[node];
+    }
+
+    /**
+     * returns the next sibling of a node
+     * @param node the index of the node
+     * @return the index of the next sibling, or NO_NODE if the node is the last child of its parent
+     */
+    public int getNextSibling(int node) {
+        return nextSibling[node];
+    }
+
+    /**
+     * returns the card type played to reach a node
+     * @param node the index of the node
+     * @return the card type, or -1 for the root
+     */
+    public int getMove(int node) {
+        return move[node];
+    }
+
+    /**
+     * returns the seat of the player who played the card that leads to a node
+     * @param node the index of the node
+     * @return the seat of the player, or -1 for the root
+     */
+    public int getMover(int node) {
+        return mover[node];
+    }
+
+    /**
+     * returns the number of times a node has been visited
+     * @param node the index of the node
+     * @return the number of visits
+     */
+    public int getVisits(int node) {
+        return visits[node];
+    }
+
+    /**
+     * returns the number of times a node could have been picked by its parent
+     * @param node the index of the node
+     * @return the availability count
+     */
+    public int getAvailability(int node) {
+        return availability[node];
+    }
+
+    /**
+     * returns the summed rewards of a node, from the point of view of the player who played the card that leads to it
+     * @param node the index of the node
+     * @return the summed rewards
+     */
+    public double getReward(int node) {
+        return rewards[node];
+    }
+
+    /**
+     * finds the child of a node reached by a card type
+     * @param node the index of the node
+     * @param cardType the card type
+     * @return the index of the child, or NO_NODE if it has not been expanded
+     */
+    public int findChild(int node, int cardType) {
+        for (int child = firstChild[node]; child != NO_NODE; child = nextSibling[child]) {
+            if (move[child] == cardType) {
+                return child;
+            }
+        }
+        return NO_NODE;
+    }
+
+    /**
+     * adds a child to a node
+     * @param node the index of the parent node
+     * @param cardType the card type played to reach the child
+     * @param player the seat of the player who plays the card
+     * @return the index of the child, or NO_NODE if the tree is full
+     */
+    public int addChild(int node, int cardType, int player) {
+        if (numOfNodes == parent.length && !grow()) {
+            return NO_NODE;
+        }
+        int child = initNode(node, cardType, player);
+        nextSibling[child] = firstChild[node];
+        firstChild[node] = child;
+        //the child was available at the visit that created it
+        availability[child] = 1;
+        return child;
+    }
+
+    /**
+     * records that a node could have been picked by its parent
+     * @param node the index of the node
+     */
+    public void addAvailability(int node) {
+        availability[node]++;
+    }
+
+    /**
+     * records the outcome of a visit to a node
+     * @param node the index of the node
+     * @param reward the reward from the point of view of the player who played the card that leads to the node
+     */
+    public void update(int node, double reward) {
+        visits[node]++;
+        rewards[node] += reward;
+    }
+
+    /**
+     * moves the root down the tree along the card types that have been played, keeping the statistics of the subtree
+     * under the new root and dropping everything else
+     * @param cardTypes the card types played since the root, in order
+     * @param numOfMoves the number of card types
+     * @return true if the subtree was kept, false if it was never explored and the tree was cleared
+     */
+    public Boolean reroot(int[] cardTypes, int numOfMoves) {
+        int newRoot = ROOT;
+        for (int i = 0; i < numOfMoves && newRoot != NO_NODE; i++) {
+            newRoot = findChild(newRoot, cardTypes[i]);
+        }
+        if (newRoot == NO_NODE) {
+            clear();
+            return false;
+        }
+        if (newRoot != ROOT) {
+            compact(newRoot);
+        }
+        return true;
+    }
+
+    /**
+     * keeps only the subtree under a node, which becomes the root. Since every node is stored after its parent,
+     * the kept nodes can be slid down in index order without overwriting a node that has yet to be moved
+     * @param newRoot the index of the new root
+     */
+    private void compact(int newRoot) {
+        int kept = 0;
+        for (int node = 0; node < numOfNodes; node++) {
+            if (node == newRoot || (node > newRoot && parent[node] != NO_NODE && remap[parent[node]] != NO_NODE)) {
+                remap[node] = kept++;
+            } else {
+                remap[node] = NO_NODE;
+            }
+        }
+        for (int node = newRoot; node < numOfNodes; node++) {
+            int index = remap[node];
+            if (index == NO_NODE) {
+                continue;
+            }
+            parent[index] = node == newRoot ? NO_NODE : remap[parent[node]];
+            firstChild[index] = firstChild[node] == NO_NODE ? NO_NODE : remap[firstChild[node]];
+            nextSibling[index] = node == newRoot || nextSibling[node] == NO_NODE ? NO_NODE : remap[nextSibling[node]];
+            visits[index] = visits[node];
+            availability[index] = availability[node];
+            rewards[index] = rewards[node];
+            move[index] = move[node];
+            mover[index] = mover[node];
+        }
+        numOfNodes = kept;
+    }
+
+    /**
+     * sets up the next free node
+     * @param node the index of the parent node, or NO_NODE for the root
+     * @param cardType the card type played to reach the node
+     * @param player the seat of the player who plays the card
+     * @return the index of the new node
+     */
+    private int initNode(int node, int cardType, int player) {
+        int index = numOfNodes++;
+        parent[index] = node;
+        firstChild[index] = NO_NODE;
+        nextSibling[index] = NO_NODE;
+        visits[index] = 0;
+        availability[index] = 0;
+        rewards[index] = 0;
+        move[index] = (byte) cardType;
+        mover[index] = (byte) player;
+        return index;
+    }
+
+    /**
+     * doubles the capacity of the tree, up to its maximum number of nodes
+     * @return true if the tree grew, false if it is already at its maximum size
+     */
+    private Boolean grow() {
+        if (parent.length >= maxNodes) {
+            return false;
+        }
+        int capacity = (int) Math.min((long) parent.length * 2, maxNodes);
+        parent = Arrays.copyOf(parent, capacity);
+        firstChild = Arrays.copyOf(firstChild, capacity);
+        nextSibling = Arrays.copyOf(nextSibling, capacity);
+        visits = Arrays.copyOf(visits, capacity);
+        availability = Arrays.copyOf(availability, capacity);
+        rewards = Arrays.copyOf(rewards, capacity);
+        move = Arrays.copyOf(move, capacity);
+        mover = Arrays.copyOf(mover, capacity);
+        remap = new int[capacity];
+        return true;
+    }
+}
@@ -0,0 +1,127 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.search;
+
+import com.example.pinochleinandroid.models.cards.Card;
+import com.example.pinochleinandroid.models.cards.Suit;
+
+public class TrickTable {
+    //the values stored in the winner table
+    public static final byte LEAD_WINS = 0;
+    public static final byte CHASE_WINS = 1;
+    //the number of card types, one for each rank and suit combination
+    public static final int NUM_OF_CARD_TYPES = CardIds.NUM_OF_CARD_IDS / 2;
+
+    //who wins a turn, indexed by the trump suit, the type of the lead card and the type of the chase card
+    private static final byte[][][] WINNERS = new byte[4][NUM_OF_CARD_TYPES][NUM_OF_CARD_TYPES];
+    //the points each card is worth when captured, indexed by card id
+    private static final int[] POINTS = new int[CardIds.NUM_OF_CARD_IDS];
+
+    static {
+        //the points each rank is worth, indexed by the ordinal of the rank
+        int[] rankPoints = {0, 2, 3, 4, 10, 11};
+        for (int id = 0; id < CardIds.NUM_OF_CARD_IDS; id++) {
+            POINTS[id] = rankPoints[CardIds.rank(id)];
+        }
+
+        for (int trump = 0; trump < 4; trump++) {
+            for (int lead = 0; lead < NUM_OF_CARD_TYPES; lead++) {
+                for (int chase = 0; chase < NUM_OF_CARD_TYPES; chase++) {
+                    //card types are rank * 4 + suit
+                    int leadSuit = lead & 3;
+                    int chaseSuit = chase & 3;
+                    Boolean chaseWins;
+                    if (chaseSuit == leadSuit) {
+                        //a card of the same suit only wins with a strictly higher rank
+                        chaseWins = (chase >> 2) > (lead >> 2);
+                    } else {
+                        //a card of a different suit only wins if it is a trump card
+                        chaseWins = chaseSuit == trump;
+                    }
+                    WINNERS[trump][lead][chase] = chaseWins ? CHASE_WINS : LEAD_WINS;
+                }
+            }
+        }
+    }
+
+    /**
+     * Private constructor, since TrickTable only holds static lookups
+     */
+    private TrickTable() {
+    }
+
+    /**
+     * returns who wins a turn between two card types
+     * @param trumpSuit the ordinal of the trump suit
+     * @param leadType the type of the lead card, rank * 4 + suit
+     * @param chaseType the type of the chase card, rank * 4 + suit
+     * @return CHASE_WINS if the chase card wins the turn, LEAD_WINS otherwise
+     */
+    public static int winner(int trumpSuit, int leadType, int chaseType) {
+        return WINNERS[trumpSuit][leadType][chaseType];
+    }
+
+    /**
+     * returns the winner table of one trump suit, so that loops resolving many turns can look it up once
+     * @param trumpSuit the ordinal of the trump suit
+     * @return the table of winners, indexed by the type of the lead card and the type of the chase card. It must not be changed
+     */
+    public static byte[][] winnersFor(int trumpSuit) {
+        return WINNERS[trumpSuit];
+    }
+
+    /**
+     * Determines whether the chase card beats the lead card
+     * @param leadId the id of the lead card
+     * @param chaseId the id of the chase card
+     * @param trumpSuit the ordinal of the trump suit
+     * @return true if the chase card wins the turn, false if the lead card wins
+     */
+    public static Boolean chaseCardWins(int leadId, int chaseId, int trumpSuit) {
+        return WINNERS[trumpSuit][leadId >> 1][chaseId >> 1] == CHASE_WINS;
+    }
+
+    /**
+     * Determines whether the chase card beats the lead card, for cards that may not have an id
+     * @param leadCard the lead card
+     * @param chaseCard the chase card
+     * @param trumpSuit the trump suit
+     * @return true if the chase card wins the turn, false if the lead card wins
+     */
+    public static Boolean chaseCardWins(Card leadCard, Card chaseCard, Suit trumpSuit) {
+        return WINNERS[trumpSuit.ordinal()][typeOf(leadCard)][typeOf(chaseCard)] == CHASE_WINS;
+    }
+
+    /**
+     * returns the points a card is worth when it is captured
+     * @param id the card id
+     * @return the points of the card
+     */
+    public static int points(int id) {
+        return POINTS[id];
+    }
+
+    /**
+     * returns the points a card is worth when it is captured, for cards that may not have an id
+     * @param card the card
+     * @return the points of the card
+     */
+    public static int points(Card card) {
+        //both copies of a card are worth the same, so the first copy stands in for it
+        return POINTS[typeOf(card) << 1];
+    }
+
+    /**
+     * returns the type of a card from its rank and suit
+     * @param card the card
+     * @return the card type, rank * 4 + suit
+     */
+    private static int typeOf(Card card) {
+        return card.getRank().ordinal() * 4 + card.getSuit().ordinal();
+    }
+}
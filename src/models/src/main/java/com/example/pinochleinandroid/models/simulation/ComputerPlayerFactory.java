@@ -0,0 +1,24 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.simulation;
+
+import com.example.pinochleinandroid.models.PlayerFactory;
+import com.example.pinochleinandroid.models.players.Computer;
+import com.example.pinochleinandroid.models.players.Player;
+
+public class ComputerPlayerFactory implements PlayerFactory {
+    /**
+     * creates a Computer player for every seat
+     * @param seat the seat of the player
+     * @return a new Computer player
+     */
+    @Override
+    public Player createPlayer(int seat) {
+        return new Computer();
+    }
+}
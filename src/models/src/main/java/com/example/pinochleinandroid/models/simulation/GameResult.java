@@ -0,0 +1,86 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.simulation;
+
+import com.example.pinochleinandroid.models.cards.Meld;
+
+public class GameResult {
+    private final long seed;
+    private final int[] gameScores;
+    private final int numOfRounds;
+    private final int winner;
+    //meldCounts[seat][meld] is the number of melds of each type the player in that seat played over the whole game
+    private final int[][] meldCounts;
+
+    /**
+     * Constructor for GameResult class
+     * @param seed the seed the game was played from
+     * @param gameScores the final game scores of each player, indexed by seat
+     * @param numOfRounds the number of rounds played in the game
+     * @param winner the seat of the player with the highest game score, -1 if the game was a draw
+     * @param meldCounts the number of melds of each type played by each player, indexed by seat and then by the ordinal of the meld
+     */
+    public GameResult(long seed, int[] gameScores, int numOfRounds, int winner, int[][] meldCounts) {
+        this.seed = seed;
+        this.gameScores = gameScores.clone();
+        this.numOfRounds = numOfRounds;
+        this.winner = winner;
+        this.meldCounts = meldCounts;
+    }
+
+    /**
+     * returns the seed the game was played from
+     * @return the seed of the game
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * returns the final game score of the player in the given seat
+     * @param seat the seat of the player (GameModel.COMPUTER_PLAYER or GameModel.HUMAN_PLAYER)
+     * @return the final game score of the player
+     */
+    public int getGameScore(int seat) {
+        return gameScores[seat];
+    }
+
+    /**
+     * returns the number of melds of the given type played by the player in the given seat over the whole game
+     * @param seat the seat of the player
+     * @param meld the meld type
+     * @return the number of melds of that type played
+     */
+    public int getNumOfMelds(int seat, Meld meld) {
+        return meldCounts[seat][meld.ordinal()];
+    }
+
+    /**
+     * returns the number of rounds played in the game
+     * @return the number of rounds played
+     */
+    public int getNumOfRounds() {
+        return numOfRounds;
+    }
+
+    /**
+     * returns the seat of the player that won the game
+     * @return the seat of the winner, -1 if the game was a draw
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * informs whether the game ended in a draw
+     * @return true if both players had the same game score, false otherwise
+     */
+    public Boolean isDraw() {
+        return winner == -1;
+    }
+}
@@ -0,0 +1,52 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.simulation;
+
+import com.example.pinochleinandroid.models.PlayerFactory;
+import com.example.pinochleinandroid.models.players.Computer;
+import com.example.pinochleinandroid.models.players.IsmctsComputer;
+import com.example.pinochleinandroid.models.players.MonteCarloComputer;
+import com.example.pinochleinandroid.models.players.Player;
+
+public class MonteCarloPlayerFactory implements PlayerFactory {
+    private final int monteCarloSeat;
+    private final Boolean treeSearch;
+    private final int numOfIterations;
+    private final long seed;
+
+    /**
+     * Constructor for MonteCarloPlayerFactory class
+     * @param monteCarloSeat the seat played by a Monte Carlo player; the other seat is played by a Computer
+     * @param treeSearch true to seat an IsmctsComputer, false to seat a MonteCarloComputer
+     * @param numOfIterations the number of rollouts per move of the Monte Carlo player
+     * @param seed the seed of the Monte Carlo player's search
+     */
+    public MonteCarloPlayerFactory(int monteCarloSeat, Boolean treeSearch, int numOfIterations, long seed) {
+        this.monteCarloSeat = monteCarloSeat;
+        this.treeSearch = treeSearch;
+        this.numOfIterations = numOfIterations;
+        this.seed = seed;
+    }
+
+    /**
+     * creates a Monte Carlo player for its seat and a Computer for the other one
+     * @param seat the seat of the player
+     * @return a new player
+     */
+    @Override
+    public Player createPlayer(int seat) {
+        if (seat != monteCarloSeat) {
+            return new Computer();
+        }
+        //games already run in parallel, so each search stays on its game's thread and has no time limit, keeping games reproducible
+        if (treeSearch) {
+            return new IsmctsComputer(numOfIterations, 0, seed);
+        }
+        return new MonteCarloComputer(numOfIterations, 0, 1, seed);
+    }
+}
@@ -0,0 +1,122 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.simulation;
+
+import com.example.pinochleinandroid.models.GameEventListener;
+import com.example.pinochleinandroid.models.GameModel;
+import com.example.pinochleinandroid.models.PlayerFactory;
+import com.example.pinochleinandroid.models.cards.Meld;
+import com.example.pinochleinandroid.models.utilities.MeldTable;
+
+public class SelfPlaySimulator {
+    public static final int DEFAULT_ROUNDS_PER_GAME = 1;
+    //a round has 48 cards and every turn takes a handful of steps, so this is only reached if the players stop making progress
+    private static final int MAX_STEPS_PER_ROUND = 10000;
+    private static final Meld[] MELDS = Meld.values();
+
+    private final PlayerFactory playerFactory;
+    private final int roundsPerGame;
+
+    /**
+     * Constructor for SelfPlaySimulator class
+     * @param playerFactory creates the automated players of both seats at the start of every round
+     * @param roundsPerGame the number of rounds that make up a game
+     */
+    public SelfPlaySimulator(PlayerFactory playerFactory, int roundsPerGame) {
+        this.playerFactory = playerFactory;
+        this.roundsPerGame = roundsPerGame;
+    }
+
+    /**
+     * plays a complete game without any user interface
+     * @param seed the seed from which every shuffle and coin toss of the game is generated
+     * @return the result of the game
+     */
+    public GameResult playGame(long seed) {
+        return playGame(seed, null);
+    }
+
+    /**
+     * plays a complete game without any user interface, telling a listener about every event of the game, for instance to record it
+     * in an EventLog that a GameReplayer can play back
+     * @param seed the seed from which every shuffle and coin toss of the game is generated
+     * @param eventListener the listener, or null for none
+     * @return the result of the game
+     */
+    public GameResult playGame(long seed, GameEventListener eventListener) {
+        GameModel gameModel = new GameModel(playerFactory, seed);
+        gameModel.setGameEventListener(eventListener);
+        int[][] meldCounts = new int[GameModel.NUM_OF_PLAYERS][MELDS.length];
+        gameModel.startNewGame();
+        for (int round = 0; round < roundsPerGame; round++) {
+            if (round > 0) {
+                gameModel.setUpNewRound();
+            }
+            playRound(gameModel, seed);
+            //the players are replaced every round, so their melds are counted before the next round is set up
+            for (int player = 0; player < GameModel.NUM_OF_PLAYERS; player++) {
+                for (int meld = 0; meld < MELDS.length; meld++) {
+                    meldCounts[player][meld] += gameModel.getNumOfMeldsPlayed(player, MELDS[meld]);
+                }
+            }
+        }
+        return new GameResult(seed, gameModel.getGameScores(), roundsPerGame, gameModel.gameLeader(), meldCounts);
+    }
+
+    /**
+     * plays a number of games, each from its own seed, and reports the results
+     * @param firstSeed the seed of the first game; the following games use the seeds after it
+     * @param numOfGames the number of games to be played
+     * @return the report of all the games played
+     */
+    public SimulationReport run(long firstSeed, int numOfGames) {
+        SimulationReport report = new SimulationReport();
+        long startTime = System.nanoTime();
+        for (int i = 0; i < numOfGames; i++) {
+            report.addResult(playGame(firstSeed + i));
+        }
+        report.setElapsedNanos(System.nanoTime() - startTime);
+        return report;
+    }
+
+    /**
+     * plays the current round of the game model until it ends
+     * @param gameModel the game model whose round is to be played
+     * @param seed the seed of the game, used to report a round that does not end
+     */
+    private void playRound(GameModel gameModel, long seed) {
+        //the coin toss is only needed when both players have the same score
+        if (gameModel.isHumansTurn() == null) {
+            gameModel.tossCoin("heads");
+        }
+        int steps = 0;
+        while (!gameModel.getCurrentStage().equals(GameModel.ROUND_END_STAGE)) {
+            gameModel.goToNextStep();
+            steps++;
+            if (steps > MAX_STEPS_PER_ROUND) {
+                throw new IllegalStateException("Round " + gameModel.getRoundNumber() + " of game with seed " + seed + " did not end");
+            }
+        }
+    }
+
+    /**
+     * Plays seeded games between two Computer players and prints the results along with the throughput
+     * @param args the number of games (default 1000), the first seed (default 1) and the rounds per game (default 1)
+     */
+    public static void main(String[] args) {
+        int numOfGames = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        long firstSeed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+        int roundsPerGame = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_ROUNDS_PER_GAME;
+
+        //there is no need to keep the meld tables small outside of Android
+        MeldTable.setMemoryBounded(false);
+        SelfPlaySimulator simulator = new SelfPlaySimulator(new ComputerPlayerFactory(), roundsPerGame);
+        SimulationReport report = simulator.run(firstSeed, numOfGames);
+        System.out.println(report.getSummary());
+    }
+}
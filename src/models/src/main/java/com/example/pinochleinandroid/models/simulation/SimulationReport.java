@@ -0,0 +1,119 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.simulation;
+
+import com.example.pinochleinandroid.models.GameModel;
+
+public class SimulationReport {
+    private int numOfGames;
+    private int numOfRounds;
+    private int numOfDraws;
+    private final int[] wins;
+    private final long[] totalGameScores;
+    private long elapsedNanos;
+
+    /**
+     * Default constructor for SimulationReport class
+     */
+    public SimulationReport() {
+        numOfGames = 0;
+        numOfRounds = 0;
+        numOfDraws = 0;
+        wins = new int[GameModel.NUM_OF_PLAYERS];
+        totalGameScores = new long[GameModel.NUM_OF_PLAYERS];
+        elapsedNanos = 0;
+    }
+
+    /**
+     * adds the result of a game to the report
+     * @param result the result of a finished game
+     */
+    public void addResult(GameResult result) {
+        numOfGames++;
+        numOfRounds += result.getNumOfRounds();
+        if (result.isDraw()) {
+            numOfDraws++;
+        } else {
+            wins[result.getWinner()]++;
+        }
+        for (int i = 0; i < GameModel.NUM_OF_PLAYERS; i++) {
+            totalGameScores[i] += result.getGameScore(i);
+        }
+    }
+
+    /**
+     * sets the wall clock time taken to play all the games in the report
+     * @param elapsedNanos the time taken, in nanoseconds
+     */
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * returns the number of games played
+     * @return the number of games in the report
+     */
+    public int getNumOfGames() {
+        return numOfGames;
+    }
+
+    /**
+     * returns the number of games won by the player in the given seat
+     * @param seat the seat of the player
+     * @return the number of games won
+     */
+    public int getWins(int seat) {
+        return wins[seat];
+    }
+
+    /**
+     * returns the number of games that ended in a draw
+     * @return the number of draws
+     */
+    public int getNumOfDraws() {
+        return numOfDraws;
+    }
+
+    /**
+     * returns the mean score per round of the player in the given seat
+     * @param seat the seat of the player
+     * @return the mean round score, 0 if no rounds were played
+     */
+    public double getMeanRoundScore(int seat) {
+        if (numOfRounds == 0) {
+            return 0;
+        }
+        return (double) totalGameScores[seat] / numOfRounds;
+    }
+
+    /**
+     * returns the number of games played per second of wall clock time
+     * @return the throughput of the simulation
+     */
+    public double getGamesPerSecond() {
+        if (elapsedNanos == 0) {
+            return 0;
+        }
+        return numOfGames / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * creates a human readable summary of the report
+     * @return the summary of the report
+     */
+    public String getSummary() {
+        return "Games: " + numOfGames + " (" + numOfRounds + " rounds)\n"
+                + "Computer seat wins: " + wins[GameModel.COMPUTER_PLAYER]
+                + ", mean round score: " + String.format("%.2f", getMeanRoundScore(GameModel.COMPUTER_PLAYER)) + "\n"
+                + "Human seat wins: " + wins[GameModel.HUMAN_PLAYER]
+                + ", mean round score: " + String.format("%.2f", getMeanRoundScore(GameModel.HUMAN_PLAYER)) + "\n"
+                + "Draws: " + numOfDraws + "\n"
+                + "Elapsed: " + String.format("%.3f", elapsedNanos / 1e9) + " s, "
+                + String.format("%.1f", getGamesPerSecond()) + " games/sec";
+    }
+}
@@ -0,0 +1,130 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.simulation;
+
+import com.example.pinochleinandroid.models.PlayerFactory;
+import com.example.pinochleinandroid.models.players.MonteCarloComputer;
+import com.example.pinochleinandroid.models.utilities.MeldTable;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class TournamentRunner {
+    //games are played in batches of this size by a single task; big enough to amortize task overhead, small enough to balance load
+    public static final int DEFAULT_GAMES_PER_TASK = 32;
+
+    private final SelfPlaySimulator simulator;
+    private final int parallelism;
+    private final int gamesPerTask;
+
+    /**
+     * Constructor for TournamentRunner class
+     * @param simulator the simulator that plays each game; it holds no per-game state, so it is shared by all threads
+     * @param parallelism the number of threads to play games on
+     * @param gamesPerTask the number of games below which a batch of games is no longer split between threads
+     */
+    public TournamentRunner(SelfPlaySimulator simulator, int parallelism, int gamesPerTask) {
+        this.simulator = simulator;
+        this.parallelism = parallelism;
+        this.gamesPerTask = Math.max(gamesPerTask, 1);
+    }
+
+    /**
+     * plays a tournament of seeded games spread over all the threads. Game i is played from the seed firstSeed + i,
+     * exactly as SelfPlaySimulator.run would play it, so the results do not depend on the number of threads.
+     * @param firstSeed the seed of the first game
+     * @param numOfGames the number of games to be played
+     * @return the statistics of the tournament
+     */
+    public TournamentStatistics run(long firstSeed, int numOfGames) {
+        TournamentStatistics statistics = new TournamentStatistics();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        long startTime = System.nanoTime();
+        try {
+            pool.invoke(new GamesTask(simulator, gamesPerTask, statistics, firstSeed, 0, numOfGames));
+        } finally {
+            pool.shutdown();
+        }
+        statistics.setElapsedNanos(System.nanoTime() - startTime);
+        return statistics;
+    }
+
+    /**
+     * A task that plays a range of games, splitting the range in half until it is small enough to be played on one thread
+     */
+    private static class GamesTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final SelfPlaySimulator simulator;
+        private final int gamesPerTask;
+        private final TournamentStatistics statistics;
+        private final long firstSeed;
+        private final int from;
+        private final int to;
+
+        /**
+         * Constructor for GamesTask class
+         * @param simulator the simulator that plays each game
+         * @param gamesPerTask the number of games below which the range is no longer split
+         * @param statistics the statistics that the results of the games are added to
+         * @param firstSeed the seed of the first game of the tournament
+         * @param from the index of the first game of the range
+         * @param to the index after the last game of the range
+         */
+        GamesTask(SelfPlaySimulator simulator, int gamesPerTask, TournamentStatistics statistics, long firstSeed, int from, int to) {
+            this.simulator = simulator;
+            this.gamesPerTask = gamesPerTask;
+            this.statistics = statistics;
+            this.firstSeed = firstSeed;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * plays the games of the range, or splits it into two tasks if it is too big
+         */
+        @Override
+        protected void compute() {
+            if (to - from <= gamesPerTask) {
+                //every game creates its own GameModel, deck and players, so nothing is shared between games
+                for (int i = from; i < to; i++) {
+                    statistics.addResult(simulator.playGame(firstSeed + i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new GamesTask(simulator, gamesPerTask, statistics, firstSeed, from, middle),
+                    new GamesTask(simulator, gamesPerTask, statistics, firstSeed, middle, to));
+        }
+    }
+
+    /**
+     * Plays a tournament of seeded games between two Computer players (or a Computer and a Monte Carlo player) on all cores and prints the statistics
+     * @param args the number of games (default 10000), the first seed (default 1), the rounds per game (default 1)
+     *             the number of threads (default: one per available processor), the seat played by a Monte Carlo
+     *             player (default -1, for none), and "ismcts" to make it an IsmctsComputer instead of a MonteCarloComputer
+     */
+    public static void main(String[] args) {
+        int numOfGames = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        long firstSeed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+        int roundsPerGame = args.length > 2 ? Integer.parseInt(args[2]) : SelfPlaySimulator.DEFAULT_ROUNDS_PER_GAME;
+        int parallelism = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        int monteCarloSeat = args.length > 4 ? Integer.parseInt(args[4]) : -1;
+        Boolean treeSearch = args.length > 5 && args[5].equals("ismcts");
+
+        //there is no need to keep the meld tables small outside of Android
+        MeldTable.setMemoryBounded(false);
+        PlayerFactory playerFactory = new ComputerPlayerFactory();
+        if (monteCarloSeat >= 0) {
+            playerFactory = new MonteCarloPlayerFactory(monteCarloSeat, treeSearch, MonteCarloComputer.DEFAULT_NUM_OF_ITERATIONS, firstSeed);
+        }
+        SelfPlaySimulator simulator = new SelfPlaySimulator(playerFactory, roundsPerGame);
+        TournamentRunner runner = new TournamentRunner(simulator, parallelism, DEFAULT_GAMES_PER_TASK);
+        System.out.println(runner.run(firstSeed, numOfGames).getSummary());
+    }
+}
@@ -0,0 +1,156 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.simulation;
+
+import com.example.pinochleinandroid.models.GameModel;
+import com.example.pinochleinandroid.models.cards.Meld;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class TournamentStatistics {
+    private static final Meld[] MELDS = Meld.values();
+
+    //every counter is a LongAdder, so that games finishing on different threads never contend on a lock or a single atomic
+    private final LongAdder numOfGames;
+    private final LongAdder numOfRounds;
+    private final LongAdder numOfDraws;
+    private final LongAdder[] wins;
+    private final LongAdder[] totalGameScores;
+    private final LongAdder[][] meldCounts;
+    private volatile long elapsedNanos;
+
+    /**
+     * Default constructor for TournamentStatistics class
+     */
+    public TournamentStatistics() {
+        numOfGames = new LongAdder();
+        numOfRounds = new LongAdder();
+        numOfDraws = new LongAdder();
+        wins = new LongAdder[GameModel.NUM_OF_PLAYERS];
+        totalGameScores = new LongAdder[GameModel.NUM_OF_PLAYERS];
+        meldCounts = new LongAdder[GameModel.NUM_OF_PLAYERS][MELDS.length];
+        for (int i = 0; i < GameModel.NUM_OF_PLAYERS; i++) {
+            wins[i] = new LongAdder();
+            totalGameScores[i] = new LongAdder();
+            for (int meld = 0; meld < MELDS.length; meld++) {
+                meldCounts[i][meld] = new LongAdder();
+            }
+        }
+        elapsedNanos = 0;
+    }
+
+    /**
+     * adds the result of a game to the statistics. Can be called from any number of threads at once.
+     * @param result the result of a finished game
+     */
+    public void addResult(GameResult result) {
+        numOfGames.increment();
+        numOfRounds.add(result.getNumOfRounds());
+        if (result.isDraw()) {
+            numOfDraws.increment();
+        } else {
+            wins[result.getWinner()].increment();
+        }
+        for (int i = 0; i < GameModel.NUM_OF_PLAYERS; i++) {
+            totalGameScores[i].add(result.getGameScore(i));
+            for (int meld = 0; meld < MELDS.length; meld++) {
+                int count = result.getNumOfMelds(i, MELDS[meld]);
+                if (count != 0) {
+                    meldCounts[i][meld].add(count);
+                }
+            }
+        }
+    }
+
+    /**
+     * sets the wall clock time taken to play the whole tournament
+     * @param elapsedNanos the time taken, in nanoseconds
+     */
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * returns the number of games played
+     * @return the number of games played so far
+     */
+    public long getNumOfGames() {
+        return numOfGames.sum();
+    }
+
+    /**
+     * returns the number of games that ended in a draw
+     * @return the number of draws
+     */
+    public long getNumOfDraws() {
+        return numOfDraws.sum();
+    }
+
+    /**
+     * returns the fraction of games won by the player in the given seat
+     * @param seat the seat of the player
+     * @return the win rate, between 0 and 1
+     */
+    public double getWinRate(int seat) {
+        long games = numOfGames.sum();
+        return games == 0 ? 0 : (double) wins[seat].sum() / games;
+    }
+
+    /**
+     * returns the mean score per round of the player in the given seat
+     * @param seat the seat of the player
+     * @return the mean round score
+     */
+    public double getMeanRoundScore(int seat) {
+        long rounds = numOfRounds.sum();
+        return rounds == 0 ? 0 : (double) totalGameScores[seat].sum() / rounds;
+    }
+
+    /**
+     * returns how many melds of the given type the player in the given seat played per round, on average
+     * @param seat the seat of the player
+     * @param meld the meld type
+     * @return the mean number of melds of that type per round
+     */
+    public double getMeldFrequency(int seat, Meld meld) {
+        long rounds = numOfRounds.sum();
+        return rounds == 0 ? 0 : (double) meldCounts[seat][meld.ordinal()].sum() / rounds;
+    }
+
+    /**
+     * returns the number of games played per second of wall clock time
+     * @return the throughput of the tournament
+     */
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : numOfGames.sum() / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * creates a human readable summary of the statistics
+     * @return the summary of the tournament
+     */
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append("Games: ").append(numOfGames.sum()).append(" (").append(numOfRounds.sum()).append(" rounds), draws: ")
+                .append(numOfDraws.sum()).append('\n');
+        for (int seat = 0; seat < GameModel.NUM_OF_PLAYERS; seat++) {
+            summary.append(seat == GameModel.COMPUTER_PLAYER ? "Computer seat" : "Human seat")
+                    .append(": win rate ").append(String.format("%.4f", getWinRate(seat)))
+                    .append(", mean round score ").append(String.format("%.2f", getMeanRoundScore(seat)))
+                    .append('\n').append("   melds per round:");
+            for (int meld = 0; meld < MELDS.length; meld++) {
+                summary.append(' ').append(MELDS[meld].getString()).append('=')
+                        .append(String.format("%.3f", getMeldFrequency(seat, MELDS[meld])));
+            }
+            summary.append('\n');
+        }
+        summary.append("Elapsed: ").append(String.format("%.3f", elapsedNanos / 1e9)).append(" s, ")
+                .append(String.format("%.1f", getGamesPerSecond())).append(" games/sec");
+        return summary.toString();
+    }
+}
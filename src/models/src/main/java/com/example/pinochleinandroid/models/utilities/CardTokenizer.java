@@ -0,0 +1,221 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.utilities;
+
+import com.example.pinochleinandroid.models.cards.Rank;
+import com.example.pinochleinandroid.models.cards.Suit;
+
+public class CardTokenizer {
+    //what each character means in a card string, looked up by its code: a rank, a suit, a separator, or nothing
+    private static final byte[] CHAR_CLASSES = new byte[256];
+    private static final int VALUE_MASK = 0x0F;
+    private static final int RANK_CHAR = 0x10;
+    private static final int SUIT_CHAR = 0x20;
+    private static final int SPACE_CHAR = 0x40;
+    private static final int MELD_SEPARATOR_CHAR = 0x80;
+    private static final Rank[] RANKS = Rank.values();
+    private static final Suit[] SUITS = Suit.values();
+
+    static {
+        for (int i = 0; i < RANKS.length; i++) {
+            CHAR_CLASSES[RANKS[i].getShortString().charAt(0)] = (byte) (RANK_CHAR | i);
+        }
+        for (int i = 0; i < SUITS.length; i++) {
+            CHAR_CLASSES[SUITS[i].getShortString().charAt(0)] = (byte) (SUIT_CHAR | i);
+        }
+        CHAR_CLASSES[' '] = SPACE_CHAR;
+        CHAR_CLASSES['\t'] = SPACE_CHAR;
+        CHAR_CLASSES['\r'] = SPACE_CHAR;
+        CHAR_CLASSES['\n'] = SPACE_CHAR;
+        CHAR_CLASSES[','] = (byte) MELD_SEPARATOR_CHAR;
+    }
+
+    private CharSequence text;
+    private int position;
+    private int end;
+    //the card most recently read
+    private int cardType;
+    private Boolean hasAsterisk;
+    private Boolean startsMeld;
+    //whether a character that is not part of a card string has been met
+    private Boolean invalid;
+
+    /**
+     * Default constructor for CardTokenizer class. The tokenizer is pointed at a text with reset(), and can be reused for any number of texts
+     */
+    public CardTokenizer() {
+        reset("", 0, 0);
+    }
+
+    /**
+     * Overloaded constructor for CardTokenizer class
+     * @param text the text of card strings to read, such as "AS KD* QS"
+     */
+    public CardTokenizer(CharSequence text) {
+        reset(text, 0, text.length());
+    }
+
+    /**
+     * points the tokenizer at a part of a text of card strings. The text is read in place, without copying
+     * @param text the text to read
+     * @param start the index of the first character to read
+     * @param end the index after the last character to read
+     */
+    public void reset(CharSequence text, int start, int end) {
+        this.text = text;
+        this.position = start;
+        this.end = end;
+        cardType = -1;
+        hasAsterisk = false;
+        //the first card starts the first meld
+        startsMeld = true;
+        invalid = false;
+    }
+
+    /**
+     * reads the next card string, skipping the white space and meld separators (commas) before it
+     * @return true if a card was read, false at the end of the text or at a character that is not part of a card string
+     */
+    public Boolean next() {
+        if (invalid) {
+            return false;
+        }
+        Boolean newMeld = cardType < 0;
+        //skip separators
+        while (position < end) {
+            int charClass = classOf(text.charAt(position));
+            if ((charClass & SPACE_CHAR) != 0) {
+                position++;
+            } else if ((charClass & MELD_SEPARATOR_CHAR) != 0) {
+                newMeld = true;
+                position++;
+            } else {
+                break;
+            }
+        }
+        if (position == end) {
+            cardType = -1;
+            return false;
+        }
+
+        //a card is a rank, a suit, and an optional asterisk, followed by a separator or the end of the text
+        int rankClass = classOf(text.charAt(position));
+        int suitClass = position + 1 < end ? classOf(text.charAt(position + 1)) : 0;
+        if ((rankClass & RANK_CHAR) == 0 || (suitClass & SUIT_CHAR) == 0) {
+            return fail();
+        }
+        position += 2;
+        hasAsterisk = position < end && text.charAt(position) == '*';
+        if (hasAsterisk) {
+            position++;
+        }
+        if (position < end && (classOf(text.charAt(position)) & (SPACE_CHAR | MELD_SEPARATOR_CHAR)) == 0) {
+            return fail();
+        }
+        cardType = (rankClass & VALUE_MASK) * 4 + (suitClass & VALUE_MASK);
+        startsMeld = newMeld;
+        return true;
+    }
+
+    /**
+     * Informs whether the whole text has been read without meeting anything but card strings, white space and meld separators
+     * @return false if the text holds something that is not a card string, true otherwise
+     */
+    public Boolean isValid() {
+        return !invalid;
+    }
+
+    /**
+     * returns the type of the card most recently read
+     * @return the card type, rank * 4 + suit, or -1 if no card was read
+     */
+    public int getCardType() {
+        return cardType;
+    }
+
+    /**
+     * returns the rank of the card most recently read
+     * @return the rank of the card
+     */
+    public Rank getRank() {
+        return RANKS[cardType >> 2];
+    }
+
+    /**
+     * returns the suit of the card most recently read
+     * @return the suit of the card
+     */
+    public Suit getSuit() {
+        return SUITS[cardType & 3];
+    }
+
+    /**
+     * Informs whether the card most recently read was marked with an asterisk, meaning it is part of more than one meld
+     * @return true if the card has an asterisk, false otherwise
+     */
+    public Boolean hasAsterisk() {
+        return hasAsterisk;
+    }
+
+    /**
+     * Informs whether the card most recently read is the first card of a meld, i.e. the first card of the text or the first after a comma
+     * @return true if the card starts a meld, false otherwise
+     */
+    public Boolean startsMeld() {
+        return startsMeld;
+    }
+
+    /**
+     * finds the id of a copy of the card most recently read (card ids are assigned as rank * 8 + suit * 2 + copy, see Deck.populate())
+     * @param available the mask of the card ids that may be picked
+     * @return the lowest available id of the card, or -1 if neither copy is available
+     */
+    public int getCardId(long available) {
+        long copies = (3L << (cardType * 2)) & available;
+        return copies == 0 ? -1 : Long.numberOfTrailingZeros(copies);
+    }
+
+    /**
+     * converts the character representation of a rank to a Rank
+     * @param rank the character representation of the rank
+     * @return the Rank represented by the character, or null if it is not a rank
+     */
+    public static Rank charToRank(char rank) {
+        int charClass = classOf(rank);
+        return (charClass & RANK_CHAR) != 0 ? RANKS[charClass & VALUE_MASK] : null;
+    }
+
+    /**
+     * converts the character representation of a suit to a Suit
+     * @param suit the character representation of the suit
+     * @return the Suit represented by the character, or null if it is not a suit
+     */
+    public static Suit charToSuit(char suit) {
+        int charClass = classOf(suit);
+        return (charClass & SUIT_CHAR) != 0 ? SUITS[charClass & VALUE_MASK] : null;
+    }
+
+    /**
+     * looks up what a character means in a card string
+     * @param c the character
+     * @return the class of the character, 0 if it has no meaning
+     */
+    private static int classOf(char c) {
+        return c < CHAR_CLASSES.length ? CHAR_CLASSES[c] & 0xFF : 0;
+    }
+
+    /**
+     * stops reading at a character that is not part of a card string
+     * @return false
+     */
+    private Boolean fail() {
+        invalid = true;
+        cardType = -1;
+        return false;
+    }
+}
@@ -9,6 +9,7 @@ package com.example.pinochleinandroid.models.utilities;
 
 import com.example.pinochleinandroid.models.cards.Card;
 import com.example.pinochleinandroid.models.cards.GroupOfCards;
+import com.example.pinochleinandroid.models.cards.ImmutableMeldInstance;
 import com.example.pinochleinandroid.models.cards.Meld;
 import com.example.pinochleinandroid.models.cards.MeldInstance;
 import com.example.pinochleinandroid.models.cards.MeldsStorage;
@@ -16,11 +17,22 @@ import com.example.pinochleinandroid.models.cards.Rank;
 import com.example.pinochleinandroid.models.cards.Suit;
 
 import java.util.ArrayList;
-import java.util.Collections;
 
 public class MeldServices {
+    //enough room for the points of every meld that can be made from a single hand
+    private static final int MAX_POSSIBLE_MELDS = 32;
+    //all the meld types, ordered from the lowest to the highest points
+    private static final Meld[] MELDS_BY_POINTS = {Meld.DIX, Meld.MARRIAGE, Meld.ROYAL_MARRIAGE, Meld.FOUR_JACKS, Meld.PINOCHLE,
+            Meld.FOUR_QUEENS, Meld.FOUR_KINGS, Meld.FOUR_ACES, Meld.FLUSH};
+
     private MeldsStorage meldsPlayed;
     private Suit trumpSuit;
+    private MeldTally meldTally;
+    //reusable buffers so that comparing hands does not allocate
+    private int[] hand1MeldCounts;
+    private int[] hand2MeldCounts;
+    private int[] hand1Points;
+    private int[] hand2Points;
 
     /**
      * Constructor for MeldServices class
@@ -28,6 +40,7 @@ public class MeldServices {
     public MeldServices() {
         meldsPlayed = new MeldsStorage();
         trumpSuit = null;
+        initializeCounters();
     }
 
     /**
@@ -38,6 +51,18 @@ public class MeldServices {
     public MeldServices(MeldsStorage meldsPlayed, Suit trumpSuit) {
         this.trumpSuit = trumpSuit;
         this.meldsPlayed = meldsPlayed;
+        initializeCounters();
+    }
+
+    /**
+     * creates the tally and the buffers used to count melds without creating meld instances
+     */
+    private void initializeCounters() {
+        meldTally = new MeldTally();
+        hand1MeldCounts = new int[Meld.values().length];
+        hand2MeldCounts = new int[Meld.values().length];
+        hand1Points = new int[MAX_POSSIBLE_MELDS];
+        hand2Points = new int[MAX_POSSIBLE_MELDS];
     }
 
     /**
@@ -147,31 +172,43 @@ public class MeldServices {
      * @return returns the number 1 if hand1 is better, 2 if hand2 is better, 0 if draw
      */
     public int compareHandsForMelds(GroupOfCards hand1, GroupOfCards hand2) {
-        //get the points (from highest to lowest) for each possible meld in the two candidate hands
-
-        ArrayList<Integer> hand1Points = potentialPointsFromHand(hand1);
-        if (hand1Points == null) {
+        //count the possible melds of each type in the two candidate hands
+        if (!countMeldsFromHand(hand1, hand1MeldCounts)) {
             return -1;
         }
-        ArrayList<Integer> hand2Points = potentialPointsFromHand(hand2);
-        if (hand2Points == null) {
+        if (!countMeldsFromHand(hand2, hand2MeldCounts)) {
             return -1;
         }
+        return compareMeldCounts(hand1MeldCounts, hand2MeldCounts);
+    }
+
+    /**
+     * compares the meld counts of two different possible hands and finds which one has better possible melds
+     * @param meldCounts1 the number of possible instances of each meld type in the first hand, indexed by the ordinal of the meld
+     * @param meldCounts2 the number of possible instances of each meld type in the second hand, indexed by the ordinal of the meld
+     * @return returns the number 1 if the first hand is better, 2 if the second hand is better, 0 if draw
+     */
+    public int compareMeldCounts(int[] meldCounts1, int[] meldCounts2) {
+        //get the points (in sorted order) for each possible meld in the two candidate hands
+        hand1Points = expandToPoints(meldCounts1, hand1Points);
+        int hand1Size = numOfPoints(meldCounts1);
+        hand2Points = expandToPoints(meldCounts2, hand2Points);
+        int hand2Size = numOfPoints(meldCounts2);
 
         //first, check which hand has the meld that provides the highest points
-        if (hand1Points.get(0) > hand2Points.get(0)) {
+        if (hand1Points[0] > hand2Points[0]) {
             return 1;
-        } else if (hand1Points.get(0) < hand2Points.get(0)) {
+        } else if (hand1Points[0] < hand2Points[0]) {
             return 2;
         }
         //if the highest points of each is the same, compare the total potential points produced by all the melds of each hand
         int totalHand1Points = 0;
         int totalHand2Points = 0;
-        for(int i = 0; i < hand1Points.size(); i++) {
-            totalHand1Points+= hand1Points.get(i);
+        for(int i = 0; i < hand1Size; i++) {
+            totalHand1Points+= hand1Points[i];
         }
-        for(int i = 0; i < hand2Points.size(); i++) {
-            totalHand2Points+= hand2Points.get(i);
+        for(int i = 0; i < hand2Size; i++) {
+            totalHand2Points+= hand2Points[i];
         }
         if(totalHand1Points > totalHand2Points) {
             return 1;
@@ -182,12 +219,12 @@ public class MeldServices {
         //if again the total possible points of each hand are the same, compare the 2nd highest, 3rd highest,...
         //and so on points of each meld until a winner is found
         int i = 0;
-        //get the size of the smaller of the two ArrayLists
-        int size = Math.min(hand1Points.size(), hand2Points.size());
+        //get the size of the smaller of the two arrays
+        int size = Math.min(hand1Size, hand2Size);
         while(i < size) {
-            if (hand1Points.get(i) > hand2Points.get(i)) {
+            if (hand1Points[i] > hand2Points[i]) {
                 return 1;
-            } else if (hand1Points.get(i) < hand2Points.get(i)) {
+            } else if (hand1Points[i] < hand2Points[i]) {
                 return 2;
             }
             i++;
@@ -203,64 +240,115 @@ public class MeldServices {
      * @return the ArrayList containing the possible points in descending order
      */
     public ArrayList<Integer> potentialPointsFromHand(GroupOfCards hand) {
-        ArrayList<Integer> countsOfEachMeldType = countMeldsFromHand(hand);
-        if (countsOfEachMeldType == null) {
+        int[] countsOfEachMeldType = new int[Meld.values().length];
+        if (!countMeldsFromHand(hand, countsOfEachMeldType)) {
             return null;
         }
         //now, get the ArrayList containing the points for each possible meld in the hand
+        int[] pointsArray = expandToPoints(countsOfEachMeldType, null);
         ArrayList<Integer> points = new ArrayList<Integer>();
-        //loop through all the meld types
-        for(int i = 0 ; i < countsOfEachMeldType.size(); i++) {
-            //add separate entry for each occurrence of a meld type (what is entered into the ArrayList should be the points a meld gives)
-            for(int j = 0; j < countsOfEachMeldType.get(i); j++) {
-                points.add(getMeldPoints(Meld.values()[i]));
-            }
+        for(int i = 0; i < numOfPoints(countsOfEachMeldType); i++) {
+            points.add(pointsArray[i]);
         }
+        return points;
+    }
 
-        if(points.size() == 0) {
-            points.add(0);
+    /**
+     * counts the number of each possible meld type in a given hand, without creating any meld instances
+     * @param hand the hand of the player whose melds are to be counted
+     * @param counts the array of 9 ints in which the number of meld instances of each meld type is stored, with each index corresponding to each meld type
+     * @return true if the melds were counted, false if the trump suit has not been set
+     */
+    public Boolean countMeldsFromHand(GroupOfCards hand, int[] counts) {
+        if(trumpSuit == null) {
+            return false;
         }
-        //sort the ArrayList
-        Collections.sort(points);
-        return points;
+        MeldTable.unpackCounts(lookupMelds(hand, counts), counts);
+        return true;
     }
 
     /**
-     * counts the number of each possible meld type in a given hand
+     * gets the sum of the points of all the possible melds in a given hand, without creating any meld instances
      * @param hand the hand of the player whose melds are to be counted
-     * @return a ArrayList of the number of meld instances of a particular meld type, with each index in the ArrayList corresponding to each meld type
+     * @return the total points of the possible melds, or -1 if the trump suit has not been set
+     */
+    public int potentialMeldPoints(GroupOfCards hand) {
+        if(trumpSuit == null) {
+            return -1;
+        }
+        return MeldTable.pointsOf(lookupMelds(hand, hand1MeldCounts));
+    }
+
+    /**
+     * looks up the possible melds of a hand in the meld table of the current thread
+     * @param hand the hand of the player whose melds are to be looked up
+     * @param counts a buffer of 9 ints used to count the melds if the hand is not in the table yet
+     * @return the packed table entry of the hand (see MeldTable)
+     */
+    private long lookupMelds(GroupOfCards hand, int[] counts) {
+        meldTally.tally(hand, meldsPlayed, trumpSuit);
+        return MeldTable.getTable().lookup(meldTally, this, counts);
+    }
+
+    /**
+     * tallies the cards of a hand so that the melds of the hand, and of the hand without any one of its cards, can be counted
+     * @param hand the hand of the player whose cards are to be tallied
+     * @return the tally of the hand, or null if the trump suit has not been set. The tally is reused by later calls.
      */
-    private ArrayList<Integer> countMeldsFromHand(GroupOfCards hand) {
+    public MeldTally tallyHand(GroupOfCards hand) {
         if(trumpSuit == null) {
             return null;
         }
-        //ArrayList to hold each meld type
-        ArrayList<Integer> numOfEachMeld = new ArrayList<Integer>();
-        //initialize all values in ArrayList to 0
-        for(int i = 0; i < Meld.values().length; i++) {
-            numOfEachMeld.add(0);
+        meldTally.tally(hand, meldsPlayed, trumpSuit);
+        return meldTally;
+    }
+
+    /**
+     * lists the points yielded by each of the counted melds, in the same sorted order as the original ArrayList based comparison
+     * @param counts the number of meld instances of each meld type
+     * @param points the array to write the points to; a larger one is created if it is null or too small
+     * @return the array containing the points, padded with a single 0 if there are no melds
+     */
+    private int[] expandToPoints(int[] counts, int[] points) {
+        int size = numOfPoints(counts);
+        if (points == null || points.length < size) {
+            points = new int[Math.max(size, MAX_POSSIBLE_MELDS)];
+        }
+        if (size == 1 && totalCount(counts) == 0) {
+            points[0] = 0;
+            return points;
+        }
+        int index = 0;
+        //melds are added from the least to the most valuable, which is the order Collections.sort produced
+        for (int i = 0; i < MELDS_BY_POINTS.length; i++) {
+            Meld meld = MELDS_BY_POINTS[i];
+            for (int j = 0; j < counts[meld.ordinal()]; j++) {
+                points[index++] = getMeldPoints(meld);
+            }
         }
-        //now assign the number of possible instances for each meld
-        //flush
-        numOfEachMeld.set(Meld.FLUSH.ordinal(), getSameSuitMelds(Meld.FLUSH, hand, trumpSuit, Rank.ACE, 5).size());
-        //royal marriage
-        numOfEachMeld.set(Meld.ROYAL_MARRIAGE.ordinal(), getSameSuitMelds(Meld.ROYAL_MARRIAGE, hand, trumpSuit, Rank.KING, 2).size());
-        //marriage
-        numOfEachMeld.set(Meld.MARRIAGE.ordinal(), getMarriages(hand).size());
-        //dix
-        numOfEachMeld.set(Meld.DIX.ordinal(), getDixes(hand).size());
-        //FourAces
-        numOfEachMeld.set(Meld.FOUR_ACES.ordinal(), getSameRankMelds(Meld.FOUR_ACES, hand, Rank.ACE).size());
-        //Four Kings
-        numOfEachMeld.set(Meld.FOUR_KINGS.ordinal(), getSameRankMelds(Meld.FOUR_KINGS, hand, Rank.KING).size());
-        //Four Queens
-        numOfEachMeld.set(Meld.FOUR_QUEENS.ordinal(), getSameRankMelds(Meld.FOUR_QUEENS, hand, Rank.QUEEN).size());
-        //Four Jacks
-        numOfEachMeld.set(Meld.FOUR_JACKS.ordinal(), getSameRankMelds(Meld.FOUR_JACKS, hand, Rank.JACK).size());
-        //Pinochle
-        numOfEachMeld.set(Meld.PINOCHLE.ordinal(), getPinochles(hand).size());
+        return points;
+    }
 
-        return numOfEachMeld;
+    /**
+     * returns how many entries the list of points created from the given counts has
+     * @param counts the number of meld instances of each meld type
+     * @return the total number of melds, or 1 if there are none (since a hand with no melds is treated as yielding 0 points)
+     */
+    private int numOfPoints(int[] counts) {
+        return Math.max(totalCount(counts), 1);
+    }
+
+    /**
+     * adds up the number of meld instances of all meld types
+     * @param counts the number of meld instances of each meld type
+     * @return the total number of meld instances
+     */
+    private int totalCount(int[] counts) {
+        int total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            total += counts[i];
+        }
+        return total;
     }
 
     /**
@@ -299,6 +387,40 @@ public class MeldServices {
         return allPossibleMelds;
     }
 
+    /**
+     * gets each possible meld instance of a single meld type from a given hand
+     * @param hand the hand of the player from which melds are to be calculated
+     * @param meld the meld type whose instances are to be created
+     * @return an ArrayList of the instances of the meld found in the hand, in the same order as getMeldsFromHand
+     */
+    public ArrayList<MeldInstance> getMeldsOfTypeFromHand(GroupOfCards hand, Meld meld) {
+        if(trumpSuit == null) {
+            return null;
+        }
+        switch(meld) {
+            case FLUSH:
+                return getSameSuitMelds(Meld.FLUSH, hand, trumpSuit, Rank.ACE, 5);
+            case ROYAL_MARRIAGE:
+                return getSameSuitMelds(Meld.ROYAL_MARRIAGE, hand, trumpSuit, Rank.KING, 2);
+            case MARRIAGE:
+                return getMarriages(hand);
+            case DIX:
+                return getDixes(hand);
+            case FOUR_ACES:
+                return getSameRankMelds(Meld.FOUR_ACES, hand, Rank.ACE);
+            case FOUR_KINGS:
+                return getSameRankMelds(Meld.FOUR_KINGS, hand, Rank.KING);
+            case FOUR_QUEENS:
+                return getSameRankMelds(Meld.FOUR_QUEENS, hand, Rank.QUEEN);
+            case FOUR_JACKS:
+                return getSameRankMelds(Meld.FOUR_JACKS, hand, Rank.JACK);
+            case PINOCHLE:
+                return getPinochles(hand);
+            default:
+                return new ArrayList<MeldInstance>();
+        }
+    }
+
     /**
      * gets each possible Dix meld instances from the given hand
      * @param hand the hand of the player in which Dixes are to be searched
@@ -317,7 +439,7 @@ public class MeldServices {
         for(int i = 0; i < allDixes.size(); i++) {
             if(meldsPlayed.isCardUsedByMeld(allDixes.get(i), Meld.DIX) == false) {
                 //create a meld instance out of the eligible card and push it to dixes
-                dixes.add(new MeldInstance(new ArrayList<Card>(allDixes.subList(i, i + 1)), trumpSuit));
+                dixes.add(ImmutableMeldInstance.intern(new ArrayList<Card>(allDixes.subList(i, i + 1)), trumpSuit).toMeldInstance());
             }
         }
         return dixes;
@@ -547,15 +669,16 @@ public class MeldServices {
 
         //now make a meld instance by combining cards
         ArrayList<MeldInstance> allPossibleMelds = new ArrayList<MeldInstance>();
-        MeldInstance meldStore;
+        ArrayList<Card> meldCards = new ArrayList<Card>(cards.size());
         //loop through all the instances of a card type
         for(int i = 0; i < min; i++) {
-            meldStore = new MeldInstance();
+            meldCards.clear();
             //loop through each card type needed to create the meld
             for(int j = 0; j < cards.size(); j++) {
-                meldStore.addCard(cards.get(j).get(i), trumpSuit);
+                meldCards.add(cards.get(j).get(i));
             }
-            allPossibleMelds.add(meldStore);
+            //the meld is checked once, when it is first interned, and every player gets a MeldInstance of its own from it
+            allPossibleMelds.add(ImmutableMeldInstance.intern(meldCards, trumpSuit).toMeldInstance());
         }
 
         return allPossibleMelds;
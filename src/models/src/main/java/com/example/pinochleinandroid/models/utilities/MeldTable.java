@@ -0,0 +1,160 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.utilities;
+
+import com.example.pinochleinandroid.models.cards.Meld;
+
+public class MeldTable {
+    //number of table entries (as a power of 2) in the memory-bounded mode used on Android (16 KB per table)
+    public static final int COMPACT_CAPACITY_BITS = 10;
+    //number of table entries (as a power of 2) used when memory is not a concern, such as in headless simulations (1 MB per table)
+    public static final int FULL_CAPACITY_BITS = 16;
+
+    //each entry packs the count of every meld type in 3 bits, followed by the total number of melds and the total points
+    private static final int BITS_PER_COUNT = 3;
+    private static final long COUNT_MASK = (1L << BITS_PER_COUNT) - 1;
+    private static final int TOTAL_COUNT_SHIFT = 27;
+    private static final long TOTAL_COUNT_MASK = 0x1F;
+    private static final int POINTS_SHIFT = 32;
+    private static final long POINTS_MASK = 0xFFFF;
+    //set in every filled entry, so that an empty slot can be told apart from a hand with no melds
+    private static final long FILLED = 1L << 63;
+
+    private static volatile Boolean memoryBounded = true;
+
+    //every thread gets its own table, so that lookups never have to be synchronized
+    private static final ThreadLocal<MeldTable> TABLES = new ThreadLocal<MeldTable>() {
+        @Override
+        protected MeldTable initialValue() {
+            return new MeldTable(memoryBounded ? COMPACT_CAPACITY_BITS : FULL_CAPACITY_BITS);
+        }
+    };
+
+    //direct-mapped table: the signature stored in a slot and the packed meld counts of that signature
+    private final long[] signatures;
+    private final long[] entries;
+    private final int indexMask;
+
+    /**
+     * Constructor for MeldTable class
+     * @param capacityBits the number of entries of the table, as a power of 2
+     */
+    public MeldTable(int capacityBits) {
+        signatures = new long[1 << capacityBits];
+        entries = new long[1 << capacityBits];
+        indexMask = (1 << capacityBits) - 1;
+    }
+
+    /**
+     * returns the meld table of the calling thread, creating it if needed
+     * @return the meld table of the current thread
+     */
+    public static MeldTable getTable() {
+        return TABLES.get();
+    }
+
+    /**
+     * sets whether tables created from now on should use the memory-bounded size. Tables are memory-bounded by default.
+     * @param bounded true to use the compact size suitable for Android, false to use the full size
+     */
+    public static void setMemoryBounded(Boolean bounded) {
+        memoryBounded = bounded;
+    }
+
+    /**
+     * looks up the meld counts of a tallied hand, computing and storing them if they are not in the table yet
+     * @param meldTally the tally of the hand, which already excludes the cards used by melds played before
+     * @param meldServices the meld services used to get the points of each meld type
+     * @param counts the array of 9 ints used to compute the counts when the signature is not found
+     * @return the packed entry of the hand, to be read with countOf, totalCountOf and pointsOf
+     */
+    public long lookup(MeldTally meldTally, MeldServices meldServices, int[] counts) {
+        long signature = meldTally.getSignature();
+        int index = hash(signature) & indexMask;
+        long entry = entries[index];
+        if (entry != 0 && signatures[index] == signature) {
+            return entry;
+        }
+
+        //not found, so count the melds from the tally and replace whatever was stored in this slot
+        meldTally.countMelds(counts);
+        entry = pack(counts, meldServices);
+        signatures[index] = signature;
+        entries[index] = entry;
+        return entry;
+    }
+
+    /**
+     * returns the number of possible instances of the given meld type stored in an entry
+     * @param entry the packed entry returned by lookup
+     * @param meld the meld type
+     * @return the number of possible instances of the meld
+     */
+    public static int countOf(long entry, Meld meld) {
+        return (int) ((entry >>> (meld.ordinal() * BITS_PER_COUNT)) & COUNT_MASK);
+    }
+
+    /**
+     * returns the total number of possible meld instances stored in an entry
+     * @param entry the packed entry returned by lookup
+     * @return the number of possible melds of all types
+     */
+    public static int totalCountOf(long entry) {
+        return (int) ((entry >>> TOTAL_COUNT_SHIFT) & TOTAL_COUNT_MASK);
+    }
+
+    /**
+     * returns the sum of the points of all the possible meld instances stored in an entry
+     * @param entry the packed entry returned by lookup
+     * @return the total points of the possible melds
+     */
+    public static int pointsOf(long entry) {
+        return (int) ((entry >>> POINTS_SHIFT) & POINTS_MASK);
+    }
+
+    /**
+     * copies the count of each meld type stored in an entry into an array
+     * @param entry the packed entry returned by lookup
+     * @param counts the array of 9 ints to store the counts in, indexed by the ordinal of the meld
+     */
+    public static void unpackCounts(long entry, int[] counts) {
+        for (int meld = 0; meld < counts.length; meld++) {
+            counts[meld] = (int) ((entry >>> (meld * BITS_PER_COUNT)) & COUNT_MASK);
+        }
+    }
+
+    /**
+     * packs the meld counts of a hand, along with their total and their points, into a single entry
+     * @param counts the number of possible instances of each meld type
+     * @param meldServices the meld services used to get the points of each meld type
+     * @return the packed entry
+     */
+    private static long pack(int[] counts, MeldServices meldServices) {
+        long entry = FILLED;
+        int total = 0;
+        int points = 0;
+        for (int meld = 0; meld < counts.length; meld++) {
+            entry |= ((long) counts[meld] & COUNT_MASK) << (meld * BITS_PER_COUNT);
+            total += counts[meld];
+            points += counts[meld] * meldServices.getMeldPoints(Meld.values()[meld]);
+        }
+        entry |= ((long) total & TOTAL_COUNT_MASK) << TOTAL_COUNT_SHIFT;
+        entry |= ((long) points & POINTS_MASK) << POINTS_SHIFT;
+        return entry;
+    }
+
+    /**
+     * mixes the bits of a signature so that similar hands are spread across the table
+     * @param signature the signature of the hand
+     * @return the hash of the signature
+     */
+    private static int hash(long signature) {
+        long mixed = signature * 0x9E3779B97F4A7C15L;
+        return (int) (mixed >>> 32) ^ (int) mixed;
+    }
+}
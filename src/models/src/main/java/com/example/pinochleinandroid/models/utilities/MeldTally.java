@@ -0,0 +1,359 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.utilities;
+
+import com.example.pinochleinandroid.models.cards.Card;
+import com.example.pinochleinandroid.models.cards.GroupOfCards;
+import com.example.pinochleinandroid.models.cards.Meld;
+import com.example.pinochleinandroid.models.cards.MeldsStorage;
+import com.example.pinochleinandroid.models.cards.Rank;
+import com.example.pinochleinandroid.models.cards.Suit;
+
+import java.util.ArrayList;
+
+public class MeldTally {
+    //number of distinct card types (6 ranks of 4 suits each)
+    public static final int NUM_OF_CARD_TYPES = 24;
+    private static final int NUM_OF_MELDS = Meld.values().length;
+    //values() clones its array on every call, so the enum values are cached to keep counting allocation-free
+    private static final Suit[] SUITS = Suit.values();
+    //the ranks that make up a Flush
+    private static final Rank[] FLUSH_RANKS = {Rank.JACK, Rank.QUEEN, Rank.KING, Rank.TEN, Rank.ACE};
+
+    //eligibleCards[meld][cardType] stores how many cards of a card type in hand have not yet been used to create the meld
+    private final int[][] eligibleCards;
+    //the Royal Marriage needs to know whether the only eligible King and Queen of trump suit have been used together before
+    private final Card[] royalKings;
+    private final Card[] royalQueens;
+    private final ArrayList<Card> royalMarriagePair;
+    //royalPairsUsedBefore[i][j] is true if royalKings[i] and royalQueens[j] have been used together to create a meld
+    private final boolean[][] royalPairsUsedBefore;
+    private int numOfRoyalKings;
+    private int numOfRoyalQueens;
+    //the card type and the bit set of melds the card was tallied for, of each card in the tallied hand (by position)
+    private int[] talliedTypes;
+    private int[] talliedMelds;
+    private int numOfTalliedCards;
+    //the card that has been temporarily taken out of the tally, if any
+    private Card removedCard;
+    private Suit trumpSuit;
+
+    /**
+     * Constructor for the MeldTally class
+     */
+    public MeldTally() {
+        eligibleCards = new int[NUM_OF_MELDS][NUM_OF_CARD_TYPES];
+        royalKings = new Card[2];
+        royalQueens = new Card[2];
+        royalMarriagePair = new ArrayList<Card>(2);
+        royalPairsUsedBefore = new boolean[2][2];
+        talliedTypes = new int[0];
+        talliedMelds = new int[0];
+        trumpSuit = null;
+    }
+
+    /**
+     * returns the card type (a number between 0 and 23) of a card with the given rank and suit
+     * @param rank the rank of the card
+     * @param suit the suit of the card
+     * @return the card type of the card
+     */
+    public static int cardType(Rank rank, Suit suit) {
+        return rank.ordinal() * 4 + suit.ordinal();
+    }
+
+    /**
+     * counts, for every meld, the cards in a hand that are still eligible to create that meld
+     * @param hand the hand whose cards are to be tallied
+     * @param meldsPlayed the melds that have already been played by the player
+     * @param trumpSuit the trump suit of the current round
+     */
+    public void tally(GroupOfCards hand, MeldsStorage meldsPlayed, Suit trumpSuit) {
+        this.trumpSuit = trumpSuit;
+        for (int meld = 0; meld < NUM_OF_MELDS; meld++) {
+            for (int type = 0; type < NUM_OF_CARD_TYPES; type++) {
+                eligibleCards[meld][type] = 0;
+            }
+        }
+        numOfTalliedCards = hand.getNumOfCards();
+        if (talliedTypes.length < numOfTalliedCards) {
+            talliedTypes = new int[numOfTalliedCards];
+            talliedMelds = new int[numOfTalliedCards];
+        }
+        numOfRoyalKings = 0;
+        numOfRoyalQueens = 0;
+        removedCard = null;
+
+        Card card;
+        for (int i = 0; i < hand.getNumOfCards(); i++) {
+            card = hand.getCardByPosition(i);
+            Rank rank = card.getRank();
+            Suit suit = card.getSuit();
+            int type = cardType(rank, suit);
+            talliedTypes[i] = type;
+            talliedMelds[i] = 0;
+
+            if (suit == trumpSuit) {
+                if (rank == Rank.NINE) {
+                    tallyCard(i, card, Meld.DIX, meldsPlayed);
+                } else {
+                    tallyCard(i, card, Meld.FLUSH, meldsPlayed);
+                }
+                if (rank == Rank.KING || rank == Rank.QUEEN) {
+                    //keep track of the royal cards so that the "at least one new card" rule can be checked later
+                    if (tallyCard(i, card, Meld.ROYAL_MARRIAGE, meldsPlayed)) {
+                        if (rank == Rank.KING && numOfRoyalKings < royalKings.length) {
+                            royalKings[numOfRoyalKings++] = card;
+                        } else if (rank == Rank.QUEEN && numOfRoyalQueens < royalQueens.length) {
+                            royalQueens[numOfRoyalQueens++] = card;
+                        }
+                    }
+                }
+            } else if (rank == Rank.KING || rank == Rank.QUEEN) {
+                tallyCard(i, card, Meld.MARRIAGE, meldsPlayed);
+            }
+
+            switch (rank) {
+                case ACE:
+                    tallyCard(i, card, Meld.FOUR_ACES, meldsPlayed);
+                    break;
+                case KING:
+                    tallyCard(i, card, Meld.FOUR_KINGS, meldsPlayed);
+                    break;
+                case QUEEN:
+                    tallyCard(i, card, Meld.FOUR_QUEENS, meldsPlayed);
+                    break;
+                case JACK:
+                    tallyCard(i, card, Meld.FOUR_JACKS, meldsPlayed);
+                    break;
+                default:
+                    break;
+            }
+
+            if ((rank == Rank.JACK && suit == Suit.DIAMONDS) || (rank == Rank.QUEEN && suit == Suit.SPADES)) {
+                tallyCard(i, card, Meld.PINOCHLE, meldsPlayed);
+            }
+        }
+
+        //a Royal Marriage must contain at least one new card, so we record which pairs of eligible Kings and Queens were used together before
+        for (int king = 0; king < numOfRoyalKings; king++) {
+            for (int queen = 0; queen < numOfRoyalQueens; queen++) {
+                royalMarriagePair.clear();
+                royalMarriagePair.add(royalKings[king]);
+                royalMarriagePair.add(royalQueens[queen]);
+                royalPairsUsedBefore[king][queen] = meldsPlayed.cardsUsedForSameMeld(royalMarriagePair);
+            }
+        }
+    }
+
+    /**
+     * temporarily takes a card of the tallied hand out of the tally, so that the melds of the hand without that card can be counted
+     * without copying the hand. Only one card can be taken out at a time.
+     * @param position the position of the card in the tallied hand
+     * @param card the card in that position
+     */
+    public void removeCard(int position, Card card) {
+        updateTally(position, -1);
+        removedCard = card;
+    }
+
+    /**
+     * puts the card taken out by removeCard back into the tally
+     * @param position the position of the card in the tallied hand
+     */
+    public void restoreCard(int position) {
+        updateTally(position, 1);
+        removedCard = null;
+    }
+
+    /**
+     * computes the number of possible instances of each meld type from the tallied cards
+     * @param counts the array of 9 ints in which the count of each meld type is to be stored, indexed by the ordinal of the meld
+     * @return true if the counts were computed, false if no trump suit was tallied
+     */
+    public Boolean countMelds(int[] counts) {
+        if (trumpSuit == null) {
+            return false;
+        }
+        //flush
+        counts[Meld.FLUSH.ordinal()] = minEligible(Meld.FLUSH, trumpSuit, FLUSH_RANKS);
+
+        //royal marriage
+        int kings = countEligible(Meld.ROYAL_MARRIAGE, Rank.KING, trumpSuit);
+        int queens = countEligible(Meld.ROYAL_MARRIAGE, Rank.QUEEN, trumpSuit);
+        if (kings == 1 && queens == 1 && royalPairsUsedBefore[remainingRoyalCard(royalKings, numOfRoyalKings)][remainingRoyalCard(royalQueens, numOfRoyalQueens)]) {
+            counts[Meld.ROYAL_MARRIAGE.ordinal()] = 0;
+        } else {
+            counts[Meld.ROYAL_MARRIAGE.ordinal()] = Math.min(kings, queens);
+        }
+
+        //marriage
+        int marriages = 0;
+        for (int suit = 0; suit < 4; suit++) {
+            if (SUITS[suit] != trumpSuit) {
+                marriages += Math.min(countEligible(Meld.MARRIAGE, Rank.KING, SUITS[suit]), countEligible(Meld.MARRIAGE, Rank.QUEEN, SUITS[suit]));
+            }
+        }
+        counts[Meld.MARRIAGE.ordinal()] = marriages;
+
+        //dix
+        counts[Meld.DIX.ordinal()] = countEligible(Meld.DIX, Rank.NINE, trumpSuit);
+
+        //fours
+        counts[Meld.FOUR_ACES.ordinal()] = minEligibleOfEachSuit(Meld.FOUR_ACES, Rank.ACE);
+        counts[Meld.FOUR_KINGS.ordinal()] = minEligibleOfEachSuit(Meld.FOUR_KINGS, Rank.KING);
+        counts[Meld.FOUR_QUEENS.ordinal()] = minEligibleOfEachSuit(Meld.FOUR_QUEENS, Rank.QUEEN);
+        counts[Meld.FOUR_JACKS.ordinal()] = minEligibleOfEachSuit(Meld.FOUR_JACKS, Rank.JACK);
+
+        //pinochle
+        counts[Meld.PINOCHLE.ordinal()] = Math.min(countEligible(Meld.PINOCHLE, Rank.JACK, Suit.DIAMONDS), countEligible(Meld.PINOCHLE, Rank.QUEEN, Suit.SPADES));
+
+        return true;
+    }
+
+    /**
+     * encodes the eligible cards of the tally into a 64 bit signature, 2 bits for each card type relevant to each meld.
+     * Since the tally already leaves out cards used by played melds, two hands with the same signature yield the same melds,
+     * regardless of the trump suit (the slots are relative to the trump suit).
+     * @return the signature of the tallied hand
+     */
+    public long getSignature() {
+        long signature = 0;
+        int slot = 0;
+        //flush
+        for (int i = 0; i < FLUSH_RANKS.length; i++) {
+            signature |= slotBits(countEligible(Meld.FLUSH, FLUSH_RANKS[i], trumpSuit), slot++);
+        }
+        //royal marriage, with a King and Queen that were used together before folded into no eligible cards
+        int kings = countEligible(Meld.ROYAL_MARRIAGE, Rank.KING, trumpSuit);
+        int queens = countEligible(Meld.ROYAL_MARRIAGE, Rank.QUEEN, trumpSuit);
+        if (kings == 1 && queens == 1 && royalPairsUsedBefore[remainingRoyalCard(royalKings, numOfRoyalKings)][remainingRoyalCard(royalQueens, numOfRoyalQueens)]) {
+            kings = 0;
+            queens = 0;
+        }
+        signature |= slotBits(kings, slot++);
+        signature |= slotBits(queens, slot++);
+        //marriages of the three non-trump suits
+        for (int suit = 0; suit < 4; suit++) {
+            if (SUITS[suit] != trumpSuit) {
+                signature |= slotBits(countEligible(Meld.MARRIAGE, Rank.KING, SUITS[suit]), slot++);
+                signature |= slotBits(countEligible(Meld.MARRIAGE, Rank.QUEEN, SUITS[suit]), slot++);
+            }
+        }
+        //dix
+        signature |= slotBits(countEligible(Meld.DIX, Rank.NINE, trumpSuit), slot++);
+        //fours
+        for (int suit = 0; suit < 4; suit++) {
+            signature |= slotBits(countEligible(Meld.FOUR_ACES, Rank.ACE, SUITS[suit]), slot++);
+            signature |= slotBits(countEligible(Meld.FOUR_KINGS, Rank.KING, SUITS[suit]), slot++);
+            signature |= slotBits(countEligible(Meld.FOUR_QUEENS, Rank.QUEEN, SUITS[suit]), slot++);
+            signature |= slotBits(countEligible(Meld.FOUR_JACKS, Rank.JACK, SUITS[suit]), slot++);
+        }
+        //pinochle
+        signature |= slotBits(countEligible(Meld.PINOCHLE, Rank.JACK, Suit.DIAMONDS), slot++);
+        signature |= slotBits(countEligible(Meld.PINOCHLE, Rank.QUEEN, Suit.SPADES), slot);
+        return signature;
+    }
+
+    /**
+     * increments the tally of a card for a meld if the card has not already been used to create that meld
+     * @param position the position of the card in the hand
+     * @param card the card to be tallied
+     * @param meld the meld the card can be a part of
+     * @param meldsPlayed the melds that have already been played by the player
+     * @return true if the card was eligible and tallied, false otherwise
+     */
+    private Boolean tallyCard(int position, Card card, Meld meld, MeldsStorage meldsPlayed) {
+        if (meldsPlayed.isCardUsedByMeld(card, meld)) {
+            return false;
+        }
+        eligibleCards[meld.ordinal()][talliedTypes[position]]++;
+        talliedMelds[position] |= 1 << meld.ordinal();
+        return true;
+    }
+
+    /**
+     * adds the given amount to the tallies of every meld that the card in the given position was eligible for
+     * @param position the position of the card in the tallied hand
+     * @param amount the amount to be added (-1 to take the card out, 1 to put it back)
+     */
+    private void updateTally(int position, int amount) {
+        if (position < 0 || position >= numOfTalliedCards) {
+            return;
+        }
+        int melds = talliedMelds[position];
+        for (int meld = 0; meld < NUM_OF_MELDS; meld++) {
+            if ((melds & (1 << meld)) != 0) {
+                eligibleCards[meld][talliedTypes[position]] += amount;
+            }
+        }
+    }
+
+    /**
+     * finds which of the eligible royal cards (Kings or Queens of trump suit) is left in the tally when only one of them is left
+     * @param royalCards the eligible Kings or Queens of trump suit
+     * @param numOfRoyalCards the number of eligible Kings or Queens of trump suit that were tallied
+     * @return the index of the remaining card in royalCards
+     */
+    private int remainingRoyalCard(Card[] royalCards, int numOfRoyalCards) {
+        if (numOfRoyalCards > 1 && royalCards[0] == removedCard) {
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * places the number of eligible cards of a card type into its 2 bit slot of the signature
+     * @param count the number of eligible cards (at most 2, since a Pinochle deck has two copies of each card)
+     * @param slot the position of the slot in the signature
+     * @return the bits of the slot
+     */
+    private static long slotBits(int count, int slot) {
+        return ((long) Math.min(count, 3)) << (slot * 2);
+    }
+
+    /**
+     * returns the number of cards of the given rank and suit eligible for the given meld
+     * @param meld the meld whose eligible cards are to be counted
+     * @param rank the rank of the cards
+     * @param suit the suit of the cards
+     * @return the number of eligible cards
+     */
+    private int countEligible(Meld meld, Rank rank, Suit suit) {
+        return eligibleCards[meld.ordinal()][cardType(rank, suit)];
+    }
+
+    /**
+     * finds the card among the given ranks of a suit that has the least eligible cards for a meld
+     * @param meld the meld whose eligible cards are to be counted
+     * @param suit the suit of the cards in the meld
+     * @param ranks the ranks of the cards in the meld
+     * @return the least number of eligible cards among the given ranks
+     */
+    private int minEligible(Meld meld, Suit suit, Rank[] ranks) {
+        int min = countEligible(meld, ranks[0], suit);
+        for (int i = 1; i < ranks.length; i++) {
+            min = Math.min(min, countEligible(meld, ranks[i], suit));
+        }
+        return min;
+    }
+
+    /**
+     * finds the suit of the given rank that has the least eligible cards for a meld
+     * @param meld the meld whose eligible cards are to be counted
+     * @param rank the rank of the cards in the meld
+     * @return the least number of eligible cards among all four suits
+     */
+    private int minEligibleOfEachSuit(Meld meld, Rank rank) {
+        int min = countEligible(meld, rank, Suit.CLUBS);
+        for (int suit = 1; suit < 4; suit++) {
+            min = Math.min(min, countEligible(meld, rank, SUITS[suit]));
+        }
+        return min;
+    }
+}
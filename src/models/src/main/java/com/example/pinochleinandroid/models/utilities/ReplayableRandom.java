@@ -0,0 +1,73 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.utilities;
+
+import java.util.Random;
+
+public class ReplayableRandom extends Random {
+    private static final long serialVersionUID = 1L;
+
+    //the constants of the linear congruential generator of java.util.Random, so that a seed gives the same numbers as a Random would
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long STATE_MASK = (1L << 48) - 1;
+
+    //the 48 bits of state of the generator; set by setSeed() while the Random constructor runs, so it has no initializer
+    private long state;
+
+    /**
+     * Default constructor for ReplayableRandom class. Seeds the generator differently every time
+     */
+    public ReplayableRandom() {
+        super();
+    }
+
+    /**
+     * Overloaded constructor for ReplayableRandom class. Generates the same numbers as new Random(seed)
+     * @param seed the seed of the generator
+     */
+    public ReplayableRandom(long seed) {
+        super(seed);
+    }
+
+    /**
+     * sets the seed of the generator, the same way as Random.setSeed()
+     * @param seed the seed of the generator
+     */
+    @Override
+    public synchronized void setSeed(long seed) {
+        state = (seed ^ MULTIPLIER) & STATE_MASK;
+    }
+
+    /**
+     * returns the state of the generator, so that it can be stored as a plain number and the same numbers generated again after setState()
+     * @return the state of the generator
+     */
+    public synchronized long getState() {
+        return state;
+    }
+
+    /**
+     * sets the state of the generator to one returned by getState(). Any value is a valid state
+     * @param state the state of the generator
+     */
+    public synchronized void setState(long state) {
+        this.state = state & STATE_MASK;
+    }
+
+    /**
+     * generates the next random bits, exactly as Random.next() does
+     * @param bits the number of random bits to generate
+     * @return the random bits
+     */
+    @Override
+    protected synchronized int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & STATE_MASK;
+        return (int) (state >>> (48 - bits));
+    }
+}
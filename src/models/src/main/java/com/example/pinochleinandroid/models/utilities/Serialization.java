@@ -0,0 +1,432 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.utilities;
+
+import com.example.pinochleinandroid.models.cards.BitboardGroupOfCards;
+import com.example.pinochleinandroid.models.cards.Card;
+import com.example.pinochleinandroid.models.cards.CardStrings;
+import com.example.pinochleinandroid.models.cards.GroupOfCards;
+import com.example.pinochleinandroid.models.cards.MeldInstance;
+import com.example.pinochleinandroid.models.cards.MeldsStorage;
+import com.example.pinochleinandroid.models.cards.Rank;
+import com.example.pinochleinandroid.models.cards.Suit;
+import com.example.pinochleinandroid.models.search.CardIds;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class Serialization {
+    private static final Rank[] RANKS = Rank.values();
+    private static final Suit[] SUITS = Suit.values();
+
+    private Boolean playerObjectsEntered;
+    private Boolean playerStringsEntered;
+    private GroupOfCards hand;
+    private MeldsStorage meldsPlayed;
+    private GroupOfCards capturePile;
+    private String handString;
+    private String meldString;
+    private String captureString;
+    //scratch space for serializing, reused between calls
+    private final StringBuilder builder;
+    private final int[] handPositions;
+    private final long[] meldMembership;
+    private final long[] completeMeldMasks;
+    private final MeldInstance[] completeMelds;
+    private final long[] meldOrder;
+    //scratch space for deserializing
+    private final CardTokenizer tokenizer;
+    private final int[] cardsWithAstrk;
+    private final int[] cardsWithoutAstrk;
+    private final Card[] cardsExtracted;
+
+    /**
+     * Constructor for the Serialization object
+     */
+    public Serialization(){
+        playerStringsEntered = false;
+        playerObjectsEntered = false;
+        hand = new BitboardGroupOfCards();
+        meldsPlayed = new MeldsStorage();
+        capturePile = new GroupOfCards();
+        handString = "";
+        meldString = "";
+        captureString = "";
+        builder = new StringBuilder();
+        handPositions = new int[CardIds.NUM_OF_CARD_IDS];
+        meldMembership = new long[CardIds.NUM_OF_CARD_IDS];
+        //only the first 64 complete meld instances are tracked, far more than a round can hold
+        completeMeldMasks = new long[Long.SIZE];
+        completeMelds = new MeldInstance[Long.SIZE];
+        meldOrder = new long[Long.SIZE];
+        tokenizer = new CardTokenizer();
+        cardsWithAstrk = new int[CardIds.NUM_OF_CARD_IDS];
+        cardsWithoutAstrk = new int[CardIds.NUM_OF_CARD_IDS];
+        cardsExtracted = new Card[CardIds.NUM_OF_CARD_IDS];
+    }
+
+    /**
+     * Returns the string representation of the player's hand
+     * @return string representation of the player's hand
+     */
+    public String getHandString() {
+        if(playerObjectsEntered == false) {
+            return null;
+        }
+        return handString;
+    }
+
+    /**
+     * Returns the string representation of the player's capture pile
+     * @return string representation of the player's capture pile
+     */
+    public String getCaptureString(){
+        if(playerObjectsEntered == false) {
+            return null;
+        }
+        return captureString;
+    }
+
+    /**
+     * Returns the string representation of the player's melds
+     * @return string representation of the player's melds
+     */
+    public String getMeldString(){
+        if(playerObjectsEntered == false) {
+            return null;
+        }
+        return meldString;
+    }
+
+    /**
+     * Returns the object representation of the player's hand
+     * @return object representation of the player's hand
+     */
+    public GroupOfCards getHand() {
+        if(playerStringsEntered == false) {
+            return null;
+        }
+        return hand;
+    }
+
+    /**
+     * Returns the object representation of the player's melds played
+     * @return object representation of the player's melds played
+     */
+    public MeldsStorage getMeldsPlayed() {
+        if(playerStringsEntered == false) {
+            return null;
+        }
+        return meldsPlayed;
+    }
+
+    /**
+     * Returns the object representation of the player's capture pile
+     * @return object representation of the player's capture pile
+     */
+    public GroupOfCards getCapturePile(){
+        if(playerStringsEntered == false) {
+            return null;
+        }
+        return capturePile;
+    }
+
+    /**
+     * Receives player hand, meldsPlayed, and capturePile objects in order to serialize them to string form
+     * @param hand the hand of a player, of GroupOfCards type
+     * @param meldsPlayed the melds played by a player, of MeldsStorage data type
+     * @param capturePile the capture pile of a player, of GroupOfCards type
+     */
+    public void setPlayerObjects(GroupOfCards hand, MeldsStorage meldsPlayed, GroupOfCards capturePile) {
+        //first, store all the cards
+        this.hand = hand;
+        this.meldsPlayed = meldsPlayed;
+        this.capturePile = capturePile;
+        playerObjectsEntered = true;
+        convertObjectsToStrings();
+    }
+
+    /**
+     * Receives the string representation of the player's hand, melds, and capture pile, (along with other information needed to determine the player's information) in order to convert them object form
+     * @param handString the string representation of the player's hand pile
+     * @param meldString the string representation of the player's meld pile
+     * @param  captureString the string representation of the player's capture pile
+     * @param  allRemCards a GroupOfCards object representing all the cards that are not in the stock pile
+     * @param  trumpSuit the trump suit of the round
+     * @return GroupOfCards that includes all the cards except those in the stock pile and except those possessed by the player
+     */
+    public GroupOfCards setPlayerStrings(String handString, String meldString, String captureString, GroupOfCards allRemCards, Suit trumpSuit) {
+        //first, store all the strings
+        this.handString = handString;
+        this.meldString = meldString;
+        this.captureString = captureString;
+        playerStringsEntered = true;
+
+        //calculate hand
+        allRemCards = handStrToObject(allRemCards);
+
+
+        allRemCards = captureStrToObject(allRemCards);
+
+        allRemCards = meldStrToObject(allRemCards, trumpSuit);
+
+        return allRemCards;
+    }
+
+    /**
+     * Converts the stored hand, capturePile, and meldsPlayed object into string representation, in a single pass over the melds
+     * and the cards. Each card id is mapped to a bitmask of the "complete" meld instances it is part of
+     */
+    private void convertObjectsToStrings() {
+        if(!playerObjectsEntered) {
+            return;
+        }
+        //By "complete" meld instances, we mean those meld instances whose component cards are all still in hand
+        //if any card of a previously played instance has already been thrown, it is not a complete meld instance
+
+        //if a card has 0 such meld instances, the card goes to hand string
+        //if a card has 1 such meld instances, the card goes to meld string
+        //if a card has more than 1 such meld instances, the card goes to meld string marked by an asterisk(*)
+
+        ArrayList<ArrayList<MeldInstance>> melds = meldsPlayed.getAllMelds();
+
+        //the mask of the cards in hand, and the position of each card in hand
+        long handMask = 0;
+        for(int i = 0; i < hand.getNumOfCards(); i++) {
+            int id = hand.getCardByPosition(i).getId();
+            handMask |= 1L << id;
+            handPositions[id] = i;
+        }
+
+        //for each card id, the bitmask of the complete meld instances that use it
+        Arrays.fill(meldMembership, 0);
+        int numOfCompleteMelds = 0;
+        int numOfDistinctMelds = 0;
+        for(int i = 0; i < melds.size(); i++) {
+            for(int j = 0; j < melds.get(i).size(); j++) {
+                MeldInstance meldInstance = melds.get(i).get(j);
+                long meldMask = 0;
+                int firstHandPosition = Integer.MAX_VALUE;
+                for(int k = 0; k < meldInstance.getNumOfCards(); k++) {
+                    int id = meldInstance.getCardByPosition(k).getId();
+                    meldMask |= 1L << id;
+                    if((handMask & (1L << id)) != 0) {
+                        firstHandPosition = Math.min(firstHandPosition, handPositions[id]);
+                    }
+                }
+                if(meldMask == 0 || (meldMask & ~handMask) != 0 || numOfCompleteMelds == Long.SIZE) {
+                    continue;
+                }
+                for(long mask = meldMask; mask != 0; mask &= mask - 1) {
+                    meldMembership[Long.numberOfTrailingZeros(mask)] |= 1L << numOfCompleteMelds;
+                }
+                numOfCompleteMelds++;
+
+                //a meld made of the same cards as an earlier one is only written once
+                Boolean meldEncounteredBefore = false;
+                for(int k = 0; k < numOfDistinctMelds; k++) {
+                    if(completeMeldMasks[k] == meldMask) {
+                        meldEncounteredBefore = true;
+                        break;
+                    }
+                }
+                if(!meldEncounteredBefore) {
+                    completeMeldMasks[numOfDistinctMelds] = meldMask;
+                    completeMelds[numOfDistinctMelds] = meldInstance;
+                    //melds are written in the order their first card appears in hand, then in the order they are stored
+                    meldOrder[numOfDistinctMelds] = ((long) firstHandPosition << 32) | numOfDistinctMelds;
+                    numOfDistinctMelds++;
+                }
+            }
+        }
+        Arrays.sort(meldOrder, 0, numOfDistinctMelds);
+
+        //create the hand string
+        builder.setLength(0);
+        for(int i = 0; i < hand.getNumOfCards(); i++) {
+            //if the card is part of no complete meld instance
+            if(meldMembership[hand.getCardByPosition(i).getId()] == 0) {
+                builder.append(hand.getCardByPosition(i).getShortCardStr()).append(' ');
+            }
+        }
+        handString = builder.toString();
+
+        //create capture string
+        builder.setLength(0);
+        for(int i = 0; i < capturePile.getNumOfCards(); i++) {
+            builder.append(capturePile.getCardByPosition(i).getShortCardStr()).append(' ');
+        }
+        captureString = builder.toString();
+
+        //create the meld string
+        builder.setLength(0);
+        for(int i = 0; i < numOfDistinctMelds; i++) {
+            MeldInstance meldInstance = completeMelds[(int) meldOrder[i]];
+            //loop through each card of a complete meld instance
+            for(int j = 0; j < meldInstance.getNumOfCards(); j++) {
+                Card meldCard = meldInstance.getCardByPosition(j);
+                builder.append(meldCard.getShortCardStr());
+                //if a card in the meld occurs in another complete meld as well, add an asterisk to it
+                if(Long.bitCount(meldMembership[meldCard.getId()]) > 1) {
+                    builder.append('*');
+                }
+                if(j < meldInstance.getNumOfCards() - 1) {
+                    builder.append(' ');
+                }
+            }
+            if(i < numOfDistinctMelds - 1) {
+                builder.append(", ");
+            }
+        }
+        meldString = builder.toString();
+        //do not keep the meld instances alive through the scratch space
+        Arrays.fill(completeMelds, 0, numOfDistinctMelds, null);
+    }
+
+    /**
+     * Converts string representation of hand to hand object
+     * @param allRemCards all the cards that have not yet been used up to create other card piles (like stock, other player's hand, etc) in the round
+     * @return group of all the cards remaining after removing the cards needed by the player's hand
+     */
+    private GroupOfCards handStrToObject(GroupOfCards allRemCards) {
+        //get the invidual cards from the hand string and add them to hand
+        //none of the cards in the hand string are assumed to be a part of the meld
+        tokenizer.reset(handString, 0, handString.length());
+        while(tokenizer.next()) {
+            hand.addCard(takeCard(allRemCards));
+        }
+        checkTokenizerValidity(handString);
+        return allRemCards;
+    }
+
+    /**
+     * Converts string representation of capture pile to capture pile object
+     * @param allRemCards all the cards that have not yet been used up to create other card piles (like stock, other player's hand, etc) in the round
+     * @return group of all the cards remaining after removing the cards needed by the player's capture pile
+     */
+    private GroupOfCards captureStrToObject(GroupOfCards allRemCards) {
+        //get the invidual cards from the capture string and add them to capturePile
+        tokenizer.reset(captureString, 0, captureString.length());
+        while(tokenizer.next()) {
+            capturePile.addCard(takeCard(allRemCards));
+        }
+        checkTokenizerValidity(captureString);
+        return allRemCards;
+    }
+
+    /**
+     * Converts string representation of melds to meld pile object and also adds cards from the string to hand
+     * @param allRemCards, all the cards that have not yet been used up to create other card piles (like stock, other player's hand, etc) in the round
+     * @param trumpSuit the trump suit of the round
+     * @return group of all the cards remaining after removing the cards needed by the player's meld and hands
+     */
+    private GroupOfCards meldStrToObject(GroupOfCards allRemCards, Suit trumpSuit) {
+        //the card types of the meld being read, split by whether they have an asterisk
+        int numOfCardsWithAstrk = 0;
+        int numOfCardsWithoutAstrk = 0;
+        //the asterisked cards extracted from allRemCards by the melds read so far, in the order they were extracted
+        int numOfCardsExtracted = 0;
+
+        tokenizer.reset(meldString, 0, meldString.length());
+        Boolean hasNextCard = tokenizer.next();
+        while(hasNextCard) {
+            if(numOfCardsWithAstrk + numOfCardsWithoutAstrk == CardIds.NUM_OF_CARD_IDS) {
+                throw new IllegalArgumentException("not a valid string of melds: " + meldString);
+            }
+            if(tokenizer.hasAsterisk()) {
+                cardsWithAstrk[numOfCardsWithAstrk++] = tokenizer.getCardType();
+            } else {
+                cardsWithoutAstrk[numOfCardsWithoutAstrk++] = tokenizer.getCardType();
+            }
+            hasNextCard = tokenizer.next();
+            //wait until the whole meld has been read
+            if(hasNextCard && !tokenizer.startsMeld()) {
+                continue;
+            }
+
+            MeldInstance meldInstance = new MeldInstance();
+            //cards with asterisks are shared with other melds, so they are only extracted from allRemCards once
+            //a card without an asterisk belongs to a single meld, so it is never the same card as an asterisked one
+            for(int n = 0; n < numOfCardsWithAstrk; n++) {
+                Card card = null;
+                for(int m = 0; m < numOfCardsExtracted; m++) {
+                    if(CardIds.type(cardsExtracted[m].getId()) == cardsWithAstrk[n]) {
+                        card = cardsExtracted[m];
+                        break;
+                    }
+                }
+                //if the card was not previously extracted, extract it from allRemCards
+                if(card == null) {
+                    card = takeCard(allRemCards, cardsWithAstrk[n]);
+                    cardsExtracted[numOfCardsExtracted++] = card;
+                    //each time a card is extracted, also add it to the hand
+                    hand.addCard(card);
+                }
+                meldInstance.addCard(card, trumpSuit);
+            }
+            //now, extracting all non-asterisk cards from allRemCards
+            for(int n = 0; n < numOfCardsWithoutAstrk; n++) {
+                Card card = takeCard(allRemCards, cardsWithoutAstrk[n]);
+                meldInstance.addCard(card, trumpSuit);
+                //each time a card is extracted, also add it to the hand
+                hand.addCard(card);
+            }
+            meldsPlayed.addMeld(meldInstance);
+            numOfCardsWithAstrk = 0;
+            numOfCardsWithoutAstrk = 0;
+        }
+        checkTokenizerValidity(meldString);
+        return allRemCards;
+    }
+
+    /**
+     * removes the card most recently read by the tokenizer from the cards that are still unused
+     * @param allRemCards all the cards that have not yet been used up to create other card piles
+     * @return the card that was removed
+     */
+    private Card takeCard(GroupOfCards allRemCards) {
+        return takeCard(allRemCards, tokenizer.getCardType());
+    }
+
+    /**
+     * removes the first unused copy of a card from the cards that are still unused
+     * @param allRemCards all the cards that have not yet been used up to create other card piles
+     * @param cardType the type of the card, rank * 4 + suit
+     * @return the card that was removed
+     */
+    private Card takeCard(GroupOfCards allRemCards, int cardType) {
+        Card card = null;
+        if(allRemCards instanceof BitboardGroupOfCards) {
+            //find the lowest unused copy straight from the bitboard
+            long copies = ((BitboardGroupOfCards) allRemCards).getCardMask() & CardIds.typeMask(cardType);
+            if(copies != 0) {
+                card = allRemCards.getCardById(Long.numberOfTrailingZeros(copies));
+            }
+        } else {
+            ArrayList<Card> cardsHolder = allRemCards.getCardsByRankAndSuit(RANKS[cardType >> 2], SUITS[cardType & 3]);
+            if(!cardsHolder.isEmpty()) {
+                card = cardsHolder.get(0);
+            }
+        }
+        if(card == null) {
+            throw new IllegalArgumentException("both copies of " + CardStrings.getShortString(RANKS[cardType >> 2], SUITS[cardType & 3]) + " are already used");
+        }
+        allRemCards.removeCardById(card.getId());
+        return card;
+    }
+
+    /**
+     * makes sure the tokenizer read the whole of a string of cards
+     * @param str the string the tokenizer read
+     */
+    private void checkTokenizerValidity(String str) {
+        if(!tokenizer.isValid()) {
+            throw new IllegalArgumentException("not a valid string of cards: " + str);
+        }
+    }
+}
@@ -8,6 +8,7 @@
 package com.example.pinochleinandroid.models.utilities;
 
 import com.example.pinochleinandroid.models.cards.Card;
+import com.example.pinochleinandroid.models.cards.CardStrings;
 import com.example.pinochleinandroid.models.cards.Rank;
 import com.example.pinochleinandroid.models.cards.Suit;
 
@@ -45,19 +46,8 @@ public class StringUtilities {
      * @return true if string is a valid card, false otherwise
      */
     public static Boolean isAValidCardStr(String str) {
-        //all cards are represented by two characters
-        if(str.length() != 2) {
-            return false;
-        }
-        //first character of a string must be a valid rank
-        if(str.charAt(0) != 'A' && str.charAt(0) != 'X' && str.charAt(0) != 'K' && str.charAt(0) != 'Q' && str.charAt(0) != 'J' && str.charAt(0) != '9') {
-            return false;
-        }
-        //second character of a string must be a valid suit
-        if(str.charAt(1) != 'C' && str.charAt(1) != 'D' && str.charAt(1) != 'H' && str.charAt(1) != 'S') {
-            return false;
-        }
-        return true;
+        //all cards are represented by two characters, a rank followed by a suit
+        return str.length() == 2 && isAValidRankStr(str.charAt(0)) && isAValidSuitStr(str.charAt(1));
     }
 
     /**
@@ -66,10 +56,7 @@ public class StringUtilities {
      * @return true if the character represent a valid rank, false otherwise
      */
     public static Boolean isAValidRankStr(char rank) {
-        if(rank != 'A' && rank != 'X' && rank != 'K' && rank != 'Q' && rank != 'J' && rank != '9') {
-            return false;
-        }
-        return true;
+        return CardTokenizer.charToRank(rank) != null;
     }
 
     /**
@@ -78,10 +65,7 @@ public class StringUtilities {
      * @return true if the character represent a valid suit, false otherwise
      */
     public static Boolean isAValidSuitStr(char suit) {
-        if(suit != 'C' && suit != 'D' && suit != 'H' && suit != 'S') {
-            return false;
-        }
-        return true;
+        return CardTokenizer.charToSuit(suit) != null;
     }
 
     /**
@@ -108,35 +92,18 @@ public class StringUtilities {
     /**
      * splits a string of cards into a ArrayList of individual card strings
      * @param str the string to be split into component card strings
-     * @return the ArrayList of individual card strings
+     * @return the ArrayList of individual card strings, or null if the string holds anything besides cards and white space
      */
     public static ArrayList<String> splitCardsInString(String str) {
         //extract card strings (including asterisk if present)
-        //throw exception if any string besides card, white space, or * occurs
-
-        //remove white space from both ends of the string
-        str = stripString(str);
-        String cardStr = "";
+        //return null if any string besides card, white space, or * occurs
         ArrayList<String> separatedCardStrs = new ArrayList<>();
-        for(int i = 0; i < str.length(); i++) {
-            if(str.charAt(i) != ' ') {
-                cardStr = cardStr + str.charAt(i);
-            } else {
-                if(checkCardStrValidity(cardStr) == false) {
-                    return null;
-                }
-                //if the string is valid, add it the result
-                separatedCardStrs.add(cardStr);
-                cardStr = "";
-            }
+        CardTokenizer tokenizer = new CardTokenizer(str);
+        while(tokenizer.next()) {
+            separatedCardStrs.add(tokenToStr(tokenizer));
         }
-        //store last card string
-        if(cardStr != "") {
-            if(checkCardStrValidity(cardStr) == false) {
-                return null;
-            }
-            //if the string is valid, add it the result
-            separatedCardStrs.add(cardStr);
+        if(!tokenizer.isValid()) {
+            return null;
         }
         return separatedCardStrs;
     }
@@ -148,9 +115,9 @@ public class StringUtilities {
      */
     public static ArrayList<Card> strToVectorOfCards(String str) {
         ArrayList<Card> cards = new ArrayList<>();
-        ArrayList<String> cardStrs = splitCardsInString(str);
-        for(int i = 0; i < cardStrs.size(); i++) {
-            cards.add(strToCard(cardStrs.get(i)));
+        CardTokenizer tokenizer = new CardTokenizer(str);
+        while(tokenizer.next()) {
+            cards.add(new Card(tokenizer.getRank(), tokenizer.getSuit()));
         }
         return cards;
     }
@@ -162,31 +129,16 @@ public class StringUtilities {
      */
     public static ArrayList<ArrayList<String>> splitMeldsInString(String str) {
         //extract all individual cards of all individual melds
-        //throw exception if not a valid meld string
-
-        //remove white space from both ends of the string
-        str = stripString(str);
-        String meldStr = "";
+        //melds are separated by commas
         ArrayList<ArrayList<String>> allMelds = new ArrayList<>();
-        int meldIndex = 0;
-        for(int i = 0; i < str.length(); i++) {
-            if(str.charAt(i) != ',') {
-                meldStr = meldStr + str.charAt(i);
-            } else {
-                //add a new meld entry to allMelds ArrayList
+        CardTokenizer tokenizer = new CardTokenizer(str);
+        while(tokenizer.next()) {
+            if(tokenizer.startsMeld()) {
                 allMelds.add(new ArrayList<String>());
-                allMelds.set(meldIndex, splitCardsInString(meldStr));
-                meldStr = "";
-                meldIndex++;
             }
-        }
-        //store last meld in the string
-        if(meldStr.length() != 0) {
-            allMelds.add(new ArrayList<String>());
-            allMelds.set(meldIndex, splitCardsInString(meldStr));
+            allMelds.get(allMelds.size() - 1).add(tokenToStr(tokenizer));
         }
         return allMelds;
-
     }
 
     /**
@@ -198,16 +150,12 @@ public class StringUtilities {
         if(!isAValidCardStr(str)) {
             return null;
         }
-        Card card = new Card();
         Rank rank;
         Suit suit;
         rank = strToRank(str.charAt(0));
         suit = strToSuit(str.charAt(1));
 
-        card.setRank(rank);
-        card.setSuit(suit);
-
-        return card;
+        return new Card(rank, suit);
     }
 
     /**
@@ -216,22 +164,7 @@ public class StringUtilities {
      * @return the Rank represented by the string
      */
     public static Rank strToRank(char rank) {
-        switch (rank) {
-            case 'A':
-                return Rank.ACE;
-            case 'X':
-                return Rank.TEN;
-            case 'K':
-                return Rank.KING;
-            case 'Q':
-                return Rank.QUEEN;
-            case 'J':
-                return Rank.JACK;
-            case '9':
-                return Rank.NINE;
-            default:
-                return null;
-        }
+        return CardTokenizer.charToRank(rank);
     }
 
     /**
@@ -240,18 +173,16 @@ public class StringUtilities {
      * @return the Suit represented by the string
      */
     public static Suit strToSuit(char suit) {
-        switch (suit) {
-            case 'C':
-                return Suit.CLUBS;
-            case 'S':
-                return Suit.SPADES;
-            case 'H':
-                return Suit.HEARTS;
-            case 'D':
-                return Suit.DIAMONDS;
-            default:
-                return null;
-        }
+        return CardTokenizer.charToSuit(suit);
     }
 
+    /**
+     * returns the string representation of the card most recently read by a tokenizer
+     * @param tokenizer the tokenizer that has read the card
+     * @return the card string, including the asterisk if the card had one
+     */
+    private static String tokenToStr(CardTokenizer tokenizer) {
+        String cardStr = CardStrings.getShortString(tokenizer.getRank(), tokenizer.getSuit());
+        return tokenizer.hasAsterisk() ? cardStr + "*" : cardStr;
+    }
 }
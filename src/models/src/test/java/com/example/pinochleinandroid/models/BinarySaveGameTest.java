@@ -0,0 +1,136 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models;
+
+import com.example.pinochleinandroid.models.players.Computer;
+import com.example.pinochleinandroid.models.players.Player;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BinarySaveGameTest {
+
+    @Test
+    public void binarySave_roundTripsByteForByte() throws IOException {
+        for (long seed = 1; seed <= 10; seed++) {
+            for (byte[] saveData : savesOfOneRound(seed)) {
+                assertTrue(GameModel.isBinarySaveData(saveData));
+                GameModel loaded = new GameModel();
+                assertTrue("seed " + seed, loaded.loadGame(new ByteArrayInputStream(saveData)));
+                assertArrayEquals("seed " + seed, saveData, TestGames.save(loaded));
+            }
+        }
+    }
+
+    @Test
+    public void binarySave_roundTripsGamesLoadedFromText() throws IOException {
+        for (byte[] saveData : savesOfOneRound(3)) {
+            GameModel game = new GameModel();
+            game.loadGame(new ByteArrayInputStream(saveData));
+            String textData = game.generateSaveGameData();
+
+            //cards loaded from text are matched to the cards of the deck, so their ids may differ from the original game's
+            GameModel textGame = new GameModel();
+            textGame.loadGame(textData);
+            byte[] textGameData = TestGames.save(textGame);
+            GameModel loaded = new GameModel();
+            assertTrue(loaded.loadGame(new ByteArrayInputStream(textGameData)));
+            assertArrayEquals(textGameData, TestGames.save(loaded));
+            assertEquals(textData.length(), loaded.generateSaveGameData().length());
+        }
+    }
+
+    @Test
+    public void binarySave_rejectsCorruptedData() throws IOException {
+        byte[] saveData = savesOfOneRound(5).get(4);
+        GameModel game = new GameModel();
+        game.loadGame(new ByteArrayInputStream(saveData));
+        //the magic number is left alone, so that the checksum is what rejects the data
+        for (int i = 4; i < saveData.length; i++) {
+            byte[] corrupted = saveData.clone();
+            corrupted[i] ^= 1;
+            assertFalse("byte " + i, game.loadGame(new ByteArrayInputStream(corrupted)));
+        }
+        //a failed load leaves the game as it was
+        assertArrayEquals(saveData, TestGames.save(game));
+    }
+
+    @Test
+    public void binarySave_rejectsTruncatedData() throws IOException {
+        byte[] saveData = savesOfOneRound(5).get(4);
+        GameModel game = new GameModel();
+        game.loadGame(new ByteArrayInputStream(saveData));
+        for (int length = 0; length < saveData.length; length++) {
+            assertFalse("length " + length, game.loadGame(new ByteArrayInputStream(Arrays.copyOf(saveData, length))));
+        }
+        assertArrayEquals(saveData, TestGames.save(game));
+    }
+
+    @Test
+    public void binaryLoad_createsPlayersThroughTheFactory() throws IOException {
+        final ArrayList<Integer> seats = new ArrayList<Integer>();
+        GameModel game = new GameModel(new PlayerFactory() {
+            @Override
+            public Player createPlayer(int seat) {
+                seats.add(seat);
+                return new Computer();
+            }
+        }, 1);
+        assertTrue(game.loadGame(new ByteArrayInputStream(savesOfOneRound(2).get(3))));
+        assertEquals(2, seats.size());
+        assertTrue(seats.contains(GameModel.COMPUTER_PLAYER) && seats.contains(GameModel.HUMAN_PLAYER));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void binarySave_rejectsAGameThatHasNotStarted() throws IOException {
+        TestGames.save(new GameModel());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void binarySave_rejectsAGameInTheMiddleOfATurn() throws IOException {
+        GameModel game = TestGames.newGame(1);
+        game.loadGame(new ByteArrayInputStream(savesOfOneRound(2).get(3)));
+        //the lead card is played
+        game.goToNextStep();
+        TestGames.save(game);
+    }
+
+    @Test
+    public void isBinarySaveData_rejectsTextAndShortData() {
+        assertFalse(GameModel.isBinarySaveData(null));
+        assertFalse(GameModel.isBinarySaveData(new byte[] {0, 1}));
+        assertFalse(GameModel.isBinarySaveData("Round: 1\n".getBytes()));
+    }
+
+    /**
+     * plays the first round of a seeded game between two Computer players, saving at the start of every turn
+     * @param seed the seed of the game
+     * @return the save data of every turn of the round
+     */
+    private static ArrayList<byte[]> savesOfOneRound(long seed) {
+        GameModel game = TestGames.newGame(seed);
+        game.startNewGame();
+        ArrayList<byte[]> saves = new ArrayList<byte[]>();
+        while (!GameModel.ROUND_END_STAGE.equals(game.getCurrentStage())) {
+            TestGames.step(game);
+            if (GameModel.LEAD_CARD_STAGE.equals(game.getCurrentStage()) && game.getSnapshot().getLeadCardId() < 0) {
+                saves.add(TestGames.save(game));
+            }
+        }
+        return saves;
+    }
+}
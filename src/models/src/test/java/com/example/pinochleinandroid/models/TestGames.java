@@ -0,0 +1,61 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models;
+
+import com.example.pinochleinandroid.models.simulation.ComputerPlayerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+public class TestGames {
+
+    /**
+     * Private constructor: TestGames only holds static helpers
+     */
+    private TestGames() {
+    }
+
+    /**
+     * creates a seeded game between two Computer players, which always plays out the same way. The game is not started yet
+     * @param seed the seed of the game
+     * @return the game
+     */
+    public static GameModel newGame(long seed) {
+        return new GameModel(new ComputerPlayerFactory(), seed);
+    }
+
+    /**
+     * takes the next step of a started game between two Computer players: tosses the coin when no one has the first turn yet,
+     * deals a new round when one ends, and otherwise goes to the next step of the round
+     * @param game the game
+     */
+    public static void step(GameModel game) {
+        if (game.isHumansTurn() == null) {
+            game.tossCoin("heads");
+        } else if (GameModel.ROUND_END_STAGE.equals(game.getCurrentStage())) {
+            game.setUpNewRound();
+        } else {
+            game.goToNextStep();
+        }
+    }
+
+    /**
+     * saves a game in the binary save format
+     * @param game the game to save, at the start of a turn
+     * @return the save data
+     */
+    public static byte[] save(GameModel game) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            game.writeSaveGame(outputStream);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return outputStream.toByteArray();
+    }
+}
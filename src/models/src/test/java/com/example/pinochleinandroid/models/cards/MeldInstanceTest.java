@@ -0,0 +1,268 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.cards;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MeldInstanceTest {
+    //every trump suit, and no trump suit
+    private static final Suit[] TRUMP_SUITS = {Suit.CLUBS, Suit.DIAMONDS, Suit.HEARTS, Suit.SPADES, null};
+
+    @Test
+    public void meldType_matchesTheOldChecksForEveryPairOfCards() {
+        for (Suit trumpSuit : TRUMP_SUITS) {
+            for (int first = 0; first < Deck.NUM_OF_CARDS; first++) {
+                assertMatchesOldChecks(cardsOf(first), trumpSuit);
+                for (int second = 0; second < Deck.NUM_OF_CARDS; second++) {
+                    assertMatchesOldChecks(cardsOf(first, second), trumpSuit);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void meldType_matchesTheOldChecksForRandomCards() {
+        Random random = new Random(22);
+        for (int i = 0; i < 200000; i++) {
+            //the cards are drawn from a few ranks and suits, so that most sets of four or five cards come close to a meld
+            int numOfRanks = 1 + random.nextInt(Rank.values().length);
+            int numOfSuits = 1 + random.nextInt(Suit.values().length);
+            int[] ids = new int[3 + random.nextInt(3)];
+            for (int j = 0; j < ids.length; j++) {
+                ids[j] = random.nextInt(numOfRanks) * 8 + random.nextInt(numOfSuits) * 2 + random.nextInt(2);
+            }
+            assertMatchesOldChecks(cardsOf(ids), TRUMP_SUITS[random.nextInt(TRUMP_SUITS.length)]);
+        }
+    }
+
+    @Test
+    public void meldType_matchesTheOldChecksForEveryFlushAndFours() {
+        for (Suit trumpSuit : TRUMP_SUITS) {
+            for (Suit suit : Suit.values()) {
+                ArrayList<Card> flush = new ArrayList<Card>();
+                for (Rank rank : new Rank[] {Rank.JACK, Rank.QUEEN, Rank.KING, Rank.TEN, Rank.ACE}) {
+                    flush.add(Card.fromId(rank.ordinal() * 8 + suit.ordinal() * 2));
+                }
+                assertMatchesOldChecks(flush, trumpSuit);
+            }
+            for (Rank rank : Rank.values()) {
+                ArrayList<Card> fours = new ArrayList<Card>();
+                for (Suit suit : Suit.values()) {
+                    fours.add(Card.fromId(rank.ordinal() * 8 + suit.ordinal() * 2 + 1));
+                }
+                assertMatchesOldChecks(fours, trumpSuit);
+            }
+        }
+    }
+
+    @Test
+    public void meldType_followsCardsAddedAndRemoved() {
+        MeldInstance meldInstance = new MeldInstance();
+        meldInstance.addCard(Card.fromId(Rank.KING.ordinal() * 8 + Suit.HEARTS.ordinal() * 2), Suit.HEARTS);
+        assertFalse(meldInstance.isValidMeld());
+        meldInstance.addCard(Card.fromId(Rank.QUEEN.ordinal() * 8 + Suit.HEARTS.ordinal() * 2), Suit.HEARTS);
+        assertEquals(Meld.ROYAL_MARRIAGE, meldInstance.getMeldType());
+        meldInstance.removeCardByPosition(0);
+        assertNull(meldInstance.getMeldType());
+        meldInstance.removeAllCards();
+        assertFalse(meldInstance.isValidMeld());
+    }
+
+    @Test
+    public void intern_sharesValidMeldsOnly() {
+        int queenOfSpades = Rank.QUEEN.ordinal() * 8 + Suit.SPADES.ordinal() * 2;
+        int jackOfDiamonds = Rank.JACK.ordinal() * 8 + Suit.DIAMONDS.ordinal() * 2;
+        ImmutableMeldInstance pinochle = ImmutableMeldInstance.intern(cardsOf(queenOfSpades, jackOfDiamonds), Suit.CLUBS);
+        assertEquals(Meld.PINOCHLE, pinochle.getMeldType());
+        assertSame(pinochle, ImmutableMeldInstance.intern(cardsOf(jackOfDiamonds, queenOfSpades), Suit.CLUBS));
+        //the other copy of a card, or another trump suit, is another meld instance
+        assertNotSame(pinochle, ImmutableMeldInstance.intern(cardsOf(queenOfSpades + 1, jackOfDiamonds), Suit.CLUBS));
+        assertNotSame(pinochle, ImmutableMeldInstance.intern(cardsOf(queenOfSpades, jackOfDiamonds), Suit.HEARTS));
+
+        ImmutableMeldInstance notAMeld = ImmutableMeldInstance.intern(cardsOf(queenOfSpades, queenOfSpades + 1), Suit.CLUBS);
+        assertFalse(notAMeld.isValidMeld());
+        assertNotSame(notAMeld, ImmutableMeldInstance.intern(cardsOf(queenOfSpades, queenOfSpades + 1), Suit.CLUBS));
+        assertFalse(ImmutableMeldInstance.intern(cardsOf(queenOfSpades, queenOfSpades), Suit.CLUBS).isValidMeld());
+    }
+
+    @Test
+    public void toMeldInstance_givesAMeldInstanceOfItsOwn() {
+        int nineOfHearts = Rank.NINE.ordinal() * 8 + Suit.HEARTS.ordinal() * 2;
+        ImmutableMeldInstance dix = ImmutableMeldInstance.intern(cardsOf(nineOfHearts), Suit.HEARTS);
+        MeldInstance meldInstance = dix.toMeldInstance();
+        assertEquals(Meld.DIX, meldInstance.getMeldType());
+        assertEquals(10, meldInstance.getMeldPoints());
+        assertEquals(dix.getCards(), meldInstance.getCards());
+
+        //changing the MeldInstance leaves the shared meld instance as it was
+        meldInstance.addCard(Card.fromId(nineOfHearts + 1), Suit.HEARTS);
+        assertFalse(meldInstance.isValidMeld());
+        assertNotSame(meldInstance, dix.toMeldInstance());
+        assertEquals(1, dix.getCards().size());
+        assertEquals(Meld.DIX, dix.toMeldInstance().getMeldType());
+    }
+
+    /**
+     * checks that the meld table finds the same meld as the checks it replaced, for the cards in the given order
+     * @param cards the cards
+     * @param trumpSuit the trump suit, or null if there is none
+     */
+    private static void assertMatchesOldChecks(ArrayList<Card> cards, Suit trumpSuit) {
+        Meld expected = oldMeldType(cards, trumpSuit);
+        MeldInstance meldInstance = new MeldInstance(new ArrayList<Card>(cards), trumpSuit);
+        String message = cards + " with trump " + trumpSuit;
+        assertEquals(message, expected, meldInstance.getMeldType());
+        assertEquals(message, expected != null, meldInstance.isValidMeld());
+        assertEquals(message, expected, ImmutableMeldInstance.intern(cards, trumpSuit).getMeldType());
+    }
+
+    /**
+     * creates a list of the cards of the given ids
+     * @param ids the ids of the cards
+     * @return the cards, in the order of the ids
+     */
+    private static ArrayList<Card> cardsOf(int... ids) {
+        ArrayList<Card> cards = new ArrayList<Card>();
+        for (int id : ids) {
+            cards.add(Card.fromId(id));
+        }
+        return cards;
+    }
+
+    /**
+     * finds the meld formed by cards the way MeldInstance did before the meld table: with the isDix, isAnyMarriage, isPinochle,
+     * isFours and isFlush checks, in that order
+     * @param cards the cards
+     * @param trumpSuit the trump suit, or null if there is none
+     * @return the meld formed by the cards, or null if they do not form a meld
+     */
+    private static Meld oldMeldType(ArrayList<Card> cards, Suit trumpSuit) {
+        if (cards.size() < 1 || cards.size() == 3 || cards.size() > 5) {
+            return null;
+        }
+        if (isDix(cards, trumpSuit)) {
+            return Meld.DIX;
+        }
+        if (isAnyMarriage(cards)) {
+            return cards.get(0).getSuit() == trumpSuit ? Meld.ROYAL_MARRIAGE : Meld.MARRIAGE;
+        }
+        if (isPinochle(cards)) {
+            return Meld.PINOCHLE;
+        }
+        Rank[] foursRanks = {Rank.ACE, Rank.KING, Rank.QUEEN, Rank.JACK};
+        Meld[] foursMelds = {Meld.FOUR_ACES, Meld.FOUR_KINGS, Meld.FOUR_QUEENS, Meld.FOUR_JACKS};
+        for (int i = 0; i < foursRanks.length; i++) {
+            if (cards.get(0).getRank() == foursRanks[i] && isFours(cards)) {
+                return foursMelds[i];
+            }
+        }
+        if (isFlush(cards, trumpSuit)) {
+            return Meld.FLUSH;
+        }
+        return null;
+    }
+
+    /**
+     * the old check for a Dix: the Nine of trump
+     * @param cards the cards
+     * @param trumpSuit the trump suit, or null if there is none
+     * @return true if the cards form a Dix
+     */
+    private static boolean isDix(ArrayList<Card> cards, Suit trumpSuit) {
+        return cards.size() == 1 && cards.get(0).getRank() == Rank.NINE && cards.get(0).getSuit() == trumpSuit;
+    }
+
+    /**
+     * the old check for a Marriage or Royal Marriage: a King and Queen of the same suit
+     * @param cards the cards
+     * @return true if the cards form a marriage
+     */
+    private static boolean isAnyMarriage(ArrayList<Card> cards) {
+        if (cards.size() != 2 || cards.get(0).getSuit() != cards.get(1).getSuit()) {
+            return false;
+        }
+        return (cards.get(0).getRank() == Rank.KING && cards.get(1).getRank() == Rank.QUEEN)
+                || (cards.get(1).getRank() == Rank.KING && cards.get(0).getRank() == Rank.QUEEN);
+    }
+
+    /**
+     * the old check for a Pinochle: the Queen of Spades and the Jack of Diamonds
+     * @param cards the cards
+     * @return true if the cards form a Pinochle
+     */
+    private static boolean isPinochle(ArrayList<Card> cards) {
+        if (cards.size() != 2) {
+            return false;
+        }
+        return (isCard(cards.get(0), Rank.QUEEN, Suit.SPADES) && isCard(cards.get(1), Rank.JACK, Suit.DIAMONDS))
+                || (isCard(cards.get(1), Rank.QUEEN, Suit.SPADES) && isCard(cards.get(0), Rank.JACK, Suit.DIAMONDS));
+    }
+
+    /**
+     * the old check for a Fours meld: four cards of the same rank and different suits
+     * @param cards the cards
+     * @return true if the cards form a Fours meld, of any rank
+     */
+    private static boolean isFours(ArrayList<Card> cards) {
+        if (cards.size() != 4) {
+            return false;
+        }
+        boolean[] suitsSeen = new boolean[Suit.values().length];
+        for (Card card : cards) {
+            if (card.getRank() != cards.get(0).getRank() || suitsSeen[card.getSuit().ordinal()]) {
+                return false;
+            }
+            suitsSeen[card.getSuit().ordinal()] = true;
+        }
+        return true;
+    }
+
+    /**
+     * the old check for a Flush: the Ace, Ten, King, Queen and Jack of trump
+     * @param cards the cards
+     * @param trumpSuit the trump suit, or null if there is none
+     * @return true if the cards form a Flush
+     */
+    private static boolean isFlush(ArrayList<Card> cards, Suit trumpSuit) {
+        if (cards.size() != 5) {
+            return false;
+        }
+        //a Nine is never part of a Flush, so it counts as seen from the start
+        boolean[] ranksSeen = new boolean[Rank.values().length];
+        ranksSeen[Rank.NINE.ordinal()] = true;
+        for (Card card : cards) {
+            if (card.getSuit() != trumpSuit || ranksSeen[card.getRank().ordinal()]) {
+                return false;
+            }
+            ranksSeen[card.getRank().ordinal()] = true;
+        }
+        return true;
+    }
+
+    /**
+     * checks the rank and suit of a card
+     * @param card the card
+     * @param rank the rank
+     * @param suit the suit
+     * @return true if the card is of the rank and suit
+     */
+    private static boolean isCard(Card card, Rank rank, Suit suit) {
+        return card.getRank() == rank && card.getSuit() == suit;
+    }
+}
@@ -0,0 +1,182 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.journal;
+
+import com.example.pinochleinandroid.models.CardIdList;
+import com.example.pinochleinandroid.models.GameModel;
+import com.example.pinochleinandroid.models.GameSnapshot;
+import com.example.pinochleinandroid.models.TestGames;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GameJournalTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void recover_restoresTheLiveGame() throws IOException {
+        Random random = new Random(5);
+        for (long seed = 1; seed <= 30; seed++) {
+            File file = new File(folder.getRoot(), "journal" + seed);
+            JournalWriter writer = new JournalWriter(file);
+            GameModel game = TestGames.newGame(seed);
+            new GameJournal(game, writer, GameJournal.DEFAULT_COMPACTION_INTERVAL, false);
+            game.startNewGame();
+            //stopping anywhere in the first few rounds, including part way through a turn and between rounds
+            int numOfSteps = random.nextInt(250);
+            for (int step = 0; step < numOfSteps; step++) {
+                TestGames.step(game);
+            }
+            writer.close();
+
+            GameModel recovered = new GameModel();
+            assertTrue("seed " + seed, GameJournal.recover(file, recovered));
+            assertEquals("seed " + seed, describe(game), describe(recovered));
+        }
+    }
+
+    @Test
+    public void recover_dropsAnEventThatWasOnlyPartlyWritten() throws IOException {
+        File file = folder.newFile("journal");
+        JournalWriter writer = new JournalWriter(file);
+        GameModel game = TestGames.newGame(11);
+        new GameJournal(game, writer, GameJournal.DEFAULT_COMPACTION_INTERVAL, false);
+        game.startNewGame();
+        //a few turns in, right after a lead card, so that the journal ends with events rather than a snapshot
+        int numOfTurns = 0;
+        while (numOfTurns < 5) {
+            TestGames.step(game);
+            if (GameModel.CHASE_CARD_STAGE.equals(game.getCurrentStage())) {
+                numOfTurns++;
+            }
+        }
+        writer.close();
+
+        long length = file.length();
+        RandomAccessFile tornFile = new RandomAccessFile(file, "rw");
+        try {
+            tornFile.setLength(length - 1);
+        } finally {
+            tornFile.close();
+        }
+        GameModel recovered = new GameModel();
+        assertTrue(GameJournal.recover(file, recovered));
+        //the journal is cut back to the events that were replayed, and recovers the same game again
+        assertTrue(file.length() < length - 1);
+        GameModel recoveredAgain = new GameModel();
+        assertTrue(GameJournal.recover(file, recoveredAgain));
+        assertEquals(describe(recovered), describe(recoveredAgain));
+    }
+
+    @Test
+    public void recover_returnsFalseWithoutAGame() throws IOException {
+        assertFalse(GameJournal.recover(new File(folder.getRoot(), "missing"), new GameModel()));
+        assertFalse(GameJournal.recover(folder.newFile("empty"), new GameModel()));
+
+        //a journal started before the first coin toss holds no game yet
+        File file = folder.newFile("journal");
+        JournalWriter writer = new JournalWriter(file);
+        GameModel game = TestGames.newGame(1);
+        new GameJournal(game, writer, GameJournal.DEFAULT_COMPACTION_INTERVAL, false);
+        writer.close();
+        assertFalse(GameJournal.recover(file, new GameModel()));
+    }
+
+    @Test
+    public void closeWithoutWaiting_finishesTheJournalBeforeTheNextWriter() throws IOException {
+        File file = folder.newFile("journal");
+        JournalWriter writer = new JournalWriter(file);
+        byte[] data = new byte[1 << 16];
+        for (int i = 0; i < 16; i++) {
+            writer.append(data);
+        }
+        writer.closeWithoutWaiting();
+        //nothing added after closing is written
+        writer.append(data);
+
+        //the next writer of the file waits for the first one, and its own writes come after
+        JournalWriter nextWriter = new JournalWriter(file);
+        nextWriter.awaitEarlierWriters();
+        assertEquals(16L * data.length, file.length());
+        nextWriter.append(new byte[] {1});
+        nextWriter.close();
+        assertEquals(16L * data.length + 1, file.length());
+    }
+
+    /**
+     * describes the state of a game, listing the cards of hands, capture piles and melds in a fixed order
+     * @param game the game
+     * @return the description of the game
+     */
+    private static String describe(GameModel game) {
+        GameSnapshot snapshot = game.getSnapshot();
+        StringBuilder description = new StringBuilder();
+        description.append(snapshot.getCurrentStage()).append(' ').append(snapshot.isHumansTurn()).append(' ').append(snapshot.getRoundNumber())
+                .append(' ').append(snapshot.getTrumpCardId()).append(' ').append(snapshot.getLeadCardId()).append(' ').append(snapshot.getChaseCardId());
+        for (int player = 0; player < 2; player++) {
+            description.append('\n').append(snapshot.getGameScore(player)).append('/').append(snapshot.getRoundScore(player))
+                    .append(' ').append(sortedIds(snapshot.getHand(player))).append(' ').append(sortedIds(snapshot.getCapturePile(player)))
+                    .append(' ').append(sortedMelds(snapshot.getMelds(player)));
+        }
+        CardIdList stock = snapshot.getStock();
+        description.append('\n');
+        for (int i = 0; i < stock.size(); i++) {
+            description.append(stock.get(i)).append(',');
+        }
+        return description.toString();
+    }
+
+    /**
+     * lists card ids in increasing order
+     * @param cards the card ids
+     * @return the sorted ids
+     */
+    private static String sortedIds(CardIdList cards) {
+        int[] ids = new int[cards.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = cards.get(i);
+        }
+        Arrays.sort(ids);
+        return Arrays.toString(ids);
+    }
+
+    /**
+     * lists melds as the masks of their card ids, in increasing order, since a loaded game stores its melds by type
+     * @param melds the card ids of the melds, each followed by CardIdList.MELD_SEPARATOR
+     * @return the sorted meld masks
+     */
+    private static String sortedMelds(CardIdList melds) {
+        ArrayList<Long> masks = new ArrayList<Long>();
+        long mask = 0;
+        for (int i = 0; i < melds.size(); i++) {
+            int id = melds.get(i);
+            if (id == CardIdList.MELD_SEPARATOR) {
+                masks.add(mask);
+                mask = 0;
+            } else {
+                mask |= 1L << id;
+            }
+        }
+        Collections.sort(masks);
+        return masks.toString();
+    }
+}
@@ -0,0 +1,181 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.replay;
+
+import com.example.pinochleinandroid.models.GameEventListener;
+import com.example.pinochleinandroid.models.GameModel;
+import com.example.pinochleinandroid.models.TestGames;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class GameReplayerTest {
+
+    /**
+     * A seeded game of three rounds between two Computer players, with its event log and the saves taken at the start of every turn
+     */
+    private static class RecordedGame {
+        final GameModel game;
+        final EventLog log;
+        //the save data at the start of every turn, keyed by the number of events before it
+        final HashMap<Integer, byte[]> saves = new HashMap<Integer, byte[]>();
+
+        /**
+         * Constructor for RecordedGame class. Plays the game, recording its events and saves
+         * @param seed the seed of the game
+         */
+        RecordedGame(long seed) {
+            game = TestGames.newGame(seed);
+            log = new EventLog(seed);
+            game.setGameEventListener(new GameEventListener() {
+                @Override
+                public void onGameEvent(int event, int player, long cardIds) {
+                    log.onGameEvent(event, player, cardIds);
+                }
+
+                @Override
+                public void onEventsFinished() {
+                    if (game.isAtStartOfTurn()) {
+                        saves.put(log.getNumOfEvents(), TestGames.save(game));
+                    }
+                }
+            });
+            game.startNewGame();
+            while (game.getRoundNumber() < 3 || !GameModel.ROUND_END_STAGE.equals(game.getCurrentStage())) {
+                TestGames.step(game);
+            }
+        }
+    }
+
+    @Test
+    public void eventLog_roundTrips() throws IOException {
+        EventLog log = new RecordedGame(3).log;
+        EventLog readLog = EventLog.read(new ByteArrayInputStream(write(log)));
+        assertEquals(log.getSeed(), readLog.getSeed());
+        assertEquals(log.getNumOfEvents(), readLog.getNumOfEvents());
+        for (int i = 0; i < log.getNumOfEvents(); i++) {
+            assertEquals(log.getEvent(i), readLog.getEvent(i));
+            assertEquals(log.getPlayer(i), readLog.getPlayer(i));
+            assertEquals(log.getCardIds(i), readLog.getCardIds(i));
+        }
+    }
+
+    @Test
+    public void eventLog_rejectsOtherData() {
+        byte[] logData = write(new RecordedGame(3).log);
+        byte[] otherData = logData.clone();
+        otherData[0] ^= 1;
+        assertUnreadable(otherData);
+        byte[] otherVersion = logData.clone();
+        otherVersion[5]++;
+        assertUnreadable(otherVersion);
+    }
+
+    @Test
+    public void eventLog_rejectsTruncatedData() {
+        byte[] logData = write(new RecordedGame(3).log);
+        for (int length = 0; length < logData.length; length += 7) {
+            assertUnreadable(Arrays.copyOf(logData, length));
+        }
+        assertUnreadable(Arrays.copyOf(logData, logData.length - 1));
+    }
+
+    @Test
+    public void seek_rebuildsTheGameAtTheStartOfEveryTurn() throws IOException {
+        Random random = new Random(7);
+        for (long seed = 1; seed <= 5; seed++) {
+            RecordedGame recorded = new RecordedGame(seed);
+            GameReplayer replayer = new GameReplayer(EventLog.read(new ByteArrayInputStream(write(recorded.log))), GameReplayer.DEFAULT_CHECKPOINT_INTERVAL);
+            GameModel end = replayer.seek(recorded.log.getNumOfEvents());
+            assertArrayEquals(recorded.game.getGameScores(), end.getGameScores());
+            assertEquals(recorded.game.getRoundNumber(), end.getRoundNumber());
+
+            //seeking back and forth in random order, so that positions are reached from checkpoints and from earlier or later positions
+            ArrayList<Integer> positions = new ArrayList<Integer>(recorded.saves.keySet());
+            for (int i = 0; i < 40; i++) {
+                int position = positions.get(random.nextInt(positions.size()));
+                assertArrayEquals("seed " + seed + " position " + position, recorded.saves.get(position), TestGames.save(replayer.seek(position)));
+                replayer.seek(random.nextInt(recorded.log.getNumOfEvents() + 1));
+            }
+        }
+    }
+
+    @Test
+    public void checkpoint_repeatsTheShufflesAfterIt() throws IOException {
+        GameModel game = TestGames.newGame(4);
+        game.startNewGame();
+        while (!game.isAtStartOfTurn() || game.getRoundNumber() < 2) {
+            TestGames.step(game);
+        }
+        ByteArrayOutputStream checkpoint = new ByteArrayOutputStream();
+        game.writeCheckpoint(checkpoint);
+        byte[] checkpointData = checkpoint.toByteArray();
+
+        //a game of another seed plays the same from the checkpoint on, through the deals of the next rounds
+        GameModel restored = TestGames.newGame(99);
+        assertTrue(restored.loadCheckpoint(new ByteArrayInputStream(checkpointData)));
+        while (game.getRoundNumber() < 4) {
+            TestGames.step(game);
+            TestGames.step(restored);
+            if (game.isAtStartOfTurn()) {
+                assertArrayEquals(TestGames.save(game), TestGames.save(restored));
+            }
+        }
+
+        //a checkpoint cut short is turned down, and leaves the game as it was
+        while (!restored.isAtStartOfTurn()) {
+            TestGames.step(restored);
+        }
+        byte[] savedRestored = TestGames.save(restored);
+        for (int length = 0; length < checkpointData.length; length += 5) {
+            assertFalse(restored.loadCheckpoint(new ByteArrayInputStream(Arrays.copyOf(checkpointData, length))));
+        }
+        assertArrayEquals(savedRestored, TestGames.save(restored));
+    }
+
+    /**
+     * checks that data cannot be read as an event log
+     * @param data the data
+     */
+    private static void assertUnreadable(byte[] data) {
+        try {
+            EventLog.read(new ByteArrayInputStream(data));
+            fail("read " + data.length + " bytes as an event log");
+        } catch (IOException e) {
+            //expected
+        }
+    }
+
+    /**
+     * writes an event log
+     * @param log the event log
+     * @return the bytes of the log
+     */
+    private static byte[] write(EventLog log) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            log.write(outputStream);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return outputStream.toByteArray();
+    }
+}
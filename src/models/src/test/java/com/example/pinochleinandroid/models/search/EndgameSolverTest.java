@@ -0,0 +1,218 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.search;
+
+import com.example.pinochleinandroid.models.GameContext;
+import com.example.pinochleinandroid.models.cards.Card;
+import com.example.pinochleinandroid.models.cards.GroupOfCards;
+import com.example.pinochleinandroid.models.cards.Meld;
+import com.example.pinochleinandroid.models.cards.MeldsStorage;
+import com.example.pinochleinandroid.models.cards.Suit;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EndgameSolverTest {
+
+    /**
+     * The public state of an endgame: the stock and the trump card are gone, and every card outside the two hands and the
+     * lead card is captured
+     */
+    private static class EndgameContext implements GameContext {
+        private final long[] hands;
+        private final long capturedCards;
+        private final int trumpSuit;
+        private final int numOfCardsInStock;
+
+        /**
+         * Constructor for EndgameContext class
+         * @param hands the masks of both hands, indexed by seat
+         * @param leadCard the id of the card led this turn, or -1
+         * @param trumpSuit the ordinal of the trump suit
+         * @param numOfCardsInStock the number of cards to report in the stock
+         */
+        EndgameContext(long[] hands, int leadCard, int trumpSuit, int numOfCardsInStock) {
+            this.hands = hands.clone();
+            capturedCards = CardIds.ALL_CARDS & ~hands[0] & ~hands[1] & ~(leadCard < 0 ? 0 : 1L << leadCard);
+            this.trumpSuit = trumpSuit;
+            this.numOfCardsInStock = numOfCardsInStock;
+        }
+
+        @Override
+        public int getNumOfCardsInStock() {
+            return numOfCardsInStock;
+        }
+
+        @Override
+        public Card getTrumpCard() {
+            return null;
+        }
+
+        @Override
+        public Suit getTrumpSuit() {
+            return Suit.values()[trumpSuit];
+        }
+
+        @Override
+        public int getNumOfCardsInHand(int player) {
+            return Long.bitCount(hands[player]);
+        }
+
+        @Override
+        public GroupOfCards getCapturePile(int player) {
+            return player == 0 ? groupOf(capturedCards) : new GroupOfCards();
+        }
+
+        @Override
+        public MeldsStorage getMeldsPlayed(int player) {
+            return new MeldsStorage();
+        }
+
+        @Override
+        public int[] getRoundScores() {
+            return new int[2];
+        }
+    }
+
+    @Test
+    public void solver_matchesBruteForceMinimax() {
+        Random random = new Random(42);
+        EndgameSolver solver = new EndgameSolver();
+        for (int position = 0; position < 200; position++) {
+            int numOfCards = 1 + random.nextInt(6);
+            int trumpSuit = random.nextInt(4);
+            int seat = random.nextInt(2);
+            long[] hands = deal(random, numOfCards);
+            //the opponent has led a card half of the time
+            int leadCard = -1;
+            if (random.nextBoolean()) {
+                leadCard = Long.numberOfTrailingZeros(hands[1 - seat]);
+                hands[1 - seat] &= ~(1L << leadCard);
+            }
+
+            InformationSet info = new InformationSet(groupOf(hands[seat]), new EndgameContext(hands, leadCard, trumpSuit, 0), seat,
+                    leadCard < 0 ? null : Card.fromId(leadCard));
+            int card = solver.chooseCard(info);
+            assertTrue("the card is in hand", card >= 0 && (hands[seat] & (1L << card)) != 0);
+
+            int leader = leadCard < 0 ? seat : 1 - seat;
+            long[][] used = new long[2][Meld.values().length];
+            int expected = minimax(hands, used, trumpSuit, leader, leadCard);
+            assertEquals("the value of position " + position, expected, solver.getLastValue());
+            assertEquals("the value of the chosen card in position " + position, expected, valueOfMove(hands, used, trumpSuit, leader, leadCard, card));
+        }
+    }
+
+    @Test
+    public void solver_refusesWhileTheStockHasCards() {
+        long[] hands = deal(new Random(7), 4);
+        InformationSet info = new InformationSet(groupOf(hands[0]), new EndgameContext(hands, -1, 0, 2), 0, null);
+        assertFalse(EndgameSolver.canSolve(info));
+        assertEquals(-1, new EndgameSolver().chooseCard(info));
+    }
+
+    @Test
+    public void solver_givesUpPastItsBudget() {
+        long[] hands = deal(new Random(7), 12);
+        InformationSet info = new InformationSet(groupOf(hands[0]), new EndgameContext(hands, -1, 0, 0), 0, null);
+        EndgameSolver solver = new EndgameSolver(10, 5000);
+        assertEquals(-1, solver.chooseCard(info));
+    }
+
+    /**
+     * deals random hands from a shuffled deck
+     * @param random the random number generator
+     * @param numOfCards the number of cards in each hand
+     * @return the masks of both hands
+     */
+    private static long[] deal(Random random, int numOfCards) {
+        int[] ids = new int[CardIds.NUM_OF_CARD_IDS];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i;
+        }
+        long[] hands = new long[2];
+        for (int i = 0; i < 2 * numOfCards; i++) {
+            int j = i + random.nextInt(ids.length - i);
+            int id = ids[j];
+            ids[j] = ids[i];
+            ids[i] = id;
+            hands[i % 2] |= 1L << id;
+        }
+        return hands;
+    }
+
+    /**
+     * creates a group of the cards of a mask
+     * @param cards the mask of the cards
+     * @return the group of cards
+     */
+    private static GroupOfCards groupOf(long cards) {
+        GroupOfCards group = new GroupOfCards();
+        for (; cards != 0; cards &= cards - 1) {
+            group.addCard(Card.fromId(Long.numberOfTrailingZeros(cards)));
+        }
+        return group;
+    }
+
+    /**
+     * plays out every possible game from a position, without pruning
+     * @param hands the masks of both hands
+     * @param used the cards each player has used for each meld type
+     * @param trumpSuit the ordinal of the trump suit
+     * @param leader the seat of the player who leads the current turn
+     * @param leadCard the id of the card led this turn, or -1
+     * @return the difference between the points the player to move and its opponent win from the position on
+     */
+    private static int minimax(long[] hands, long[][] used, int trumpSuit, int leader, int leadCard) {
+        int player = leadCard < 0 ? leader : 1 - leader;
+        int best = Integer.MIN_VALUE;
+        for (long cards = hands[player]; cards != 0; cards &= cards - 1) {
+            best = Math.max(best, valueOfMove(hands, used, trumpSuit, leader, leadCard, Long.numberOfTrailingZeros(cards)));
+        }
+        return best;
+    }
+
+    /**
+     * plays out every possible game after a card, without pruning
+     * @param hands the masks of both hands
+     * @param used the cards each player has used for each meld type
+     * @param trumpSuit the ordinal of the trump suit
+     * @param leader the seat of the player who leads the current turn
+     * @param leadCard the id of the card led this turn, or -1
+     * @param card the id of the card played by the player to move
+     * @return the difference between the points the player to move and its opponent win from the card on
+     */
+    private static int valueOfMove(long[] hands, long[][] used, int trumpSuit, int leader, int leadCard, int card) {
+        int player = leadCard < 0 ? leader : 1 - leader;
+        hands[player] &= ~(1L << card);
+        int value;
+        if (leadCard < 0) {
+            value = -minimax(hands, used, trumpSuit, leader, card);
+        } else {
+            int winner = TrickTable.chaseCardWins(leadCard, card, trumpSuit) ? player : leader;
+            int points = TrickTable.points(leadCard) + TrickTable.points(card);
+            long[] savedUsed = used[winner].clone();
+            int meld = MeldMasks.bestMeld(hands[winner], used[winner], trumpSuit);
+            if (meld >= 0) {
+                points += MeldMasks.declare(meld, hands[winner], used[winner], trumpSuit);
+            }
+            if (hands[winner] != 0) {
+                points += minimax(hands, used, trumpSuit, winner, -1);
+            }
+            used[winner] = savedUsed;
+            value = winner == player ? points : -points;
+        }
+        hands[player] |= 1L << card;
+        return value;
+    }
+}
@@ -0,0 +1,148 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.utilities;
+
+import com.example.pinochleinandroid.models.cards.Rank;
+import com.example.pinochleinandroid.models.cards.Suit;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CardTokenizerTest {
+
+    @Test
+    public void next_skipsRunsOfWhiteSpace() {
+        CardTokenizer tokenizer = new CardTokenizer("  AS \t\n KD   9C\r\n ");
+        assertEquals(Arrays.asList("AS", "KD", "9C"), readAll(tokenizer));
+        assertTrue(tokenizer.isValid());
+        assertEquals(-1, tokenizer.getCardType());
+
+        tokenizer.reset(" \t ", 0, 3);
+        assertFalse(tokenizer.next());
+        assertTrue(tokenizer.isValid());
+    }
+
+    @Test
+    public void next_readsTheRankAndSuitOfEveryCard() {
+        CardTokenizer tokenizer = new CardTokenizer("9C JD QH KS XC AD");
+        Rank[] ranks = {Rank.NINE, Rank.JACK, Rank.QUEEN, Rank.KING, Rank.TEN, Rank.ACE};
+        Suit[] suits = {Suit.CLUBS, Suit.DIAMONDS, Suit.HEARTS, Suit.SPADES, Suit.CLUBS, Suit.DIAMONDS};
+        for (int i = 0; i < ranks.length; i++) {
+            assertTrue(tokenizer.next());
+            assertEquals(ranks[i], tokenizer.getRank());
+            assertEquals(suits[i], tokenizer.getSuit());
+            assertEquals(ranks[i].ordinal() * 4 + suits[i].ordinal(), tokenizer.getCardType());
+        }
+        assertFalse(tokenizer.next());
+    }
+
+    @Test
+    public void next_marksTheFirstCardOfEveryMeld() {
+        CardTokenizer tokenizer = new CardTokenizer("KH QH, QS JD,KS QS ,  9H,,XH");
+        Boolean[] startsMeld = {true, false, true, false, true, false, true, true};
+        for (Boolean expected : startsMeld) {
+            assertTrue(tokenizer.next());
+            assertEquals(expected, tokenizer.startsMeld());
+        }
+        assertFalse(tokenizer.next());
+        assertTrue(tokenizer.isValid());
+
+        //a comma before the first card does not start a second meld
+        tokenizer.reset(", KH QH", 0, 7);
+        assertTrue(tokenizer.next());
+        assertTrue(tokenizer.startsMeld());
+        assertTrue(tokenizer.next());
+        assertFalse(tokenizer.startsMeld());
+    }
+
+    @Test
+    public void next_readsAsterisks() {
+        CardTokenizer tokenizer = new CardTokenizer("KH* QH, KH* KS*,QS*");
+        Boolean[] hasAsterisk = {true, false, true, true, true};
+        for (Boolean expected : hasAsterisk) {
+            assertTrue(tokenizer.next());
+            assertEquals(expected, tokenizer.hasAsterisk());
+        }
+        assertFalse(tokenizer.next());
+        assertTrue(tokenizer.isValid());
+    }
+
+    @Test
+    public void next_stopsAtCharactersThatAreNotPartOfACard() {
+        String[] invalidTexts = {"AS ZD", "AS KD1", "ASKD", "AS A", "as", "KH**", "*KH", "AS; KD", "A\u2660", "9\u00e9"};
+        for (String text : invalidTexts) {
+            CardTokenizer tokenizer = new CardTokenizer(text);
+            readAll(tokenizer);
+            assertFalse(text, tokenizer.isValid());
+            //once the tokenizer has failed, it reads nothing more
+            assertFalse(text, tokenizer.next());
+            assertEquals(text, -1, tokenizer.getCardType());
+        }
+
+        //the first cards are still read
+        CardTokenizer tokenizer = new CardTokenizer("AS KD ZZ QS");
+        assertEquals(Arrays.asList("AS", "KD"), readAll(tokenizer));
+        assertFalse(tokenizer.isValid());
+
+        //resetting the tokenizer clears the failure
+        tokenizer.reset("QS", 0, 2);
+        assertEquals(Arrays.asList("QS"), readAll(tokenizer));
+        assertTrue(tokenizer.isValid());
+    }
+
+    @Test
+    public void reset_readsOnlyPartOfTheText() {
+        String text = "Hand: AS KD QS\n";
+        CardTokenizer tokenizer = new CardTokenizer();
+        tokenizer.reset(text, 6, 11);
+        assertEquals(Arrays.asList("AS", "KD"), readAll(tokenizer));
+        assertTrue(tokenizer.isValid());
+    }
+
+    @Test
+    public void getCardId_picksTheLowestAvailableCopy() {
+        CardTokenizer tokenizer = new CardTokenizer("AS");
+        assertTrue(tokenizer.next());
+        int firstCopy = Rank.ACE.ordinal() * 8 + Suit.SPADES.ordinal() * 2;
+        assertEquals(firstCopy, tokenizer.getCardId(-1L));
+        assertEquals(firstCopy + 1, tokenizer.getCardId(~(1L << firstCopy)));
+        //a third copy of a card is not available
+        assertEquals(-1, tokenizer.getCardId(~(3L << firstCopy)));
+    }
+
+    @Test
+    public void charToRankAndSuit_readSingleCharacters() {
+        assertEquals(Rank.TEN, CardTokenizer.charToRank('X'));
+        assertEquals(Rank.NINE, CardTokenizer.charToRank('9'));
+        assertNull(CardTokenizer.charToRank('S'));
+        assertNull(CardTokenizer.charToRank('x'));
+        assertEquals(Suit.SPADES, CardTokenizer.charToSuit('S'));
+        assertNull(CardTokenizer.charToSuit('A'));
+        assertNull(CardTokenizer.charToSuit('\u2660'));
+    }
+
+    /**
+     * reads every card left in the text, with an asterisk on those that have one
+     * @param tokenizer the tokenizer
+     * @return the short strings of the cards read
+     */
+    private static ArrayList<String> readAll(CardTokenizer tokenizer) {
+        ArrayList<String> cards = new ArrayList<String>();
+        while (tokenizer.next()) {
+            cards.add(tokenizer.getRank().getShortString() + tokenizer.getSuit().getShortString() + (tokenizer.hasAsterisk() ? "*" : ""));
+        }
+        return cards;
+    }
+}
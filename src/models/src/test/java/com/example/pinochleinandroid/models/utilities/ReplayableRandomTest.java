@@ -0,0 +1,47 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.utilities;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class ReplayableRandomTest {
+
+    @Test
+    public void replayableRandom_generatesTheNumbersOfRandom() {
+        for (long seed = -3; seed <= 3; seed++) {
+            Random random = new Random(seed);
+            ReplayableRandom replayableRandom = new ReplayableRandom(seed);
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(random.nextInt(1 + i), replayableRandom.nextInt(1 + i));
+                assertEquals(random.nextLong(), replayableRandom.nextLong());
+                assertEquals(random.nextBoolean(), replayableRandom.nextBoolean());
+            }
+        }
+    }
+
+    @Test
+    public void setState_repeatsTheNumbersAfterGetState() {
+        ReplayableRandom random = new ReplayableRandom();
+        random.nextInt();
+        long state = random.getState();
+        int[] numbers = new int[100];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = random.nextInt(48);
+        }
+
+        ReplayableRandom restored = new ReplayableRandom(7);
+        restored.setState(state);
+        for (int i = 0; i < numbers.length; i++) {
+            assertEquals(numbers[i], restored.nextInt(48));
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/************************************************************
+ * Name:  Biplab Thapa Magar                                *
+ * Project:  Pinochle in Java/Android                       *
+ * Class:  OPL Fall 2020                                    *
+ * Date:  11/18/2020                                        *
+ ************************************************************/
+
+package com.example.pinochleinandroid.models.utilities;
+
+import com.example.pinochleinandroid.models.GameModel;
+import com.example.pinochleinandroid.models.TestGames;
+import com.example.pinochleinandroid.models.cards.BitboardGroupOfCards;
+import com.example.pinochleinandroid.models.cards.Card;
+import com.example.pinochleinandroid.models.cards.Deck;
+import com.example.pinochleinandroid.models.cards.GroupOfCards;
+import com.example.pinochleinandroid.models.cards.Meld;
+import com.example.pinochleinandroid.models.cards.MeldInstance;
+import com.example.pinochleinandroid.models.cards.MeldsStorage;
+import com.example.pinochleinandroid.models.cards.Rank;
+import com.example.pinochleinandroid.models.cards.Suit;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+
+public class SerializationTest {
+    //the Computer's melds in the golden save share the King of Clubs and the King of Hearts
+    private static final String GOLDEN_SAVE =
+            "Round: 1\n\n"
+            + "Computer:\n"
+            + "   Score: 0 / 174\n"
+            + "   Hand: 9H XH JH AD XD JD \n"
+            + "   Capture Pile: AH QC AC QD KC JD \n"
+            + "   Melds: KC* KD KH* KS, KC* QC, KH* QH\n\n"
+            + "Human:\n"
+            + "   Score: 0 / 0\n"
+            + "   Hand: 9C 9C QD KS KH XH KD AS XS QS QS 9D \n"
+            + "   Capture Pile: \n"
+            + "   Melds: \n\n"
+            + "Trump Card: JC\n"
+            + "Stock: AH 9D QH 9S AC XD JS XS XC JS JC 9S AS AD JH XC 9H \n\n"
+            + "Next Player: Computer";
+    //a game loaded from text stores its melds by type, so they are written in another order
+    private static final String GOLDEN_RELOADED_MELDS = "   Melds: KC* QC, KC* KH* KD KS, KH* QH\n";
+
+    @Test
+    public void playerObjects_areWrittenAsTheGoldenStrings() {
+        Serialization serialization = new Serialization();
+        serialization.setPlayerObjects(goldenHand(), goldenMelds(), goldenCapturePile());
+        assertEquals("AC XD ", serialization.getHandString());
+        assertEquals("KS* QS*, KH* KS* KC KD, QH KH*, QS* JD, 9H", serialization.getMeldString());
+        assertEquals("AH XH QC ", serialization.getCaptureString());
+    }
+
+    @Test
+    public void playerStrings_readBackIntoTheSameStrings() {
+        Serialization reader = new Serialization();
+        GroupOfCards allRemCards = fullDeck();
+        reader.setPlayerStrings("AC XD ", "KS* QS*, KH* KS* KC KD, QH KH*, QS* JD, 9H", "AH XH QC ", allRemCards, Suit.HEARTS);
+        assertEquals(Deck.NUM_OF_CARDS - 13, allRemCards.getNumOfCards());
+        assertEquals(5, reader.getMeldsPlayed().getNumOfMelds());
+
+        Serialization writer = new Serialization();
+        writer.setPlayerObjects(reader.getHand(), reader.getMeldsPlayed(), reader.getCapturePile());
+        assertEquals("AC XD ", writer.getHandString());
+        assertEquals("AH XH QC ", writer.getCaptureString());
+        //the cards of a meld are read back with the asterisked ones first, and the melds follow the order of the cards in the new hand
+        assertEquals("KS* QS*, KH* KS* KC KD, QS* JD, KH* QH, 9H", writer.getMeldString());
+    }
+
+    @Test
+    public void playerStrings_giveEveryMeldAnInstanceOfItsOwn() {
+        Serialization reader = new Serialization();
+        reader.setPlayerStrings("", "KH QH, QS JD, 9H", "", fullDeck(), Suit.HEARTS);
+        ArrayList<MeldInstance> melds = new ArrayList<MeldInstance>();
+        for (ArrayList<MeldInstance> meldsOfType : reader.getMeldsPlayed().getAllMelds()) {
+            melds.addAll(meldsOfType);
+        }
+        assertEquals(3, melds.size());
+        assertEquals(Meld.ROYAL_MARRIAGE, melds.get(0).getMeldType());
+        assertEquals(Meld.DIX, melds.get(1).getMeldType());
+        assertEquals(Meld.PINOCHLE, melds.get(2).getMeldType());
+        assertEquals(2, melds.get(0).getNumOfCards());
+        assertEquals(1, melds.get(1).getNumOfCards());
+        assertEquals(2, melds.get(2).getNumOfCards());
+        assertEquals(5, reader.getHand().getNumOfCards());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void playerStrings_rejectAThirdCopyOfACard() {
+        new Serialization().setPlayerStrings("AS KD AS", "", "AS", fullDeck(), Suit.HEARTS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void playerStrings_rejectAThirdCopyOfACardInAMeld() {
+        new Serialization().setPlayerStrings("QS QS", "QS JD", "", fullDeck(), Suit.HEARTS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void playerStrings_rejectCharactersThatAreNotPartOfACard() {
+        new Serialization().setPlayerStrings("AS KD", "KH QH; QS JD", "", fullDeck(), Suit.HEARTS);
+    }
+
+    @Test
+    public void saveGameData_matchesTheGoldenSave() {
+        GameModel game = TestGames.newGame(6);
+        game.startNewGame();
+        //the coin toss, then the start of the third turn
+        TestGames.step(game);
+        for (int turn = 0; turn < 3; ) {
+            TestGames.step(game);
+            if (game.isAtStartOfTurn()) {
+                turn++;
+            }
+        }
+        assertEquals(GOLDEN_SAVE, game.generateSaveGameData());
+    }
+
+    @Test
+    public void saveGameData_ofAGameLoadedFromTextMatchesTheGoldenSave() {
+        String reloadedSave = GOLDEN_SAVE.replace("   Melds: KC* KD KH* KS, KC* QC, KH* QH\n", GOLDEN_RELOADED_MELDS);
+        GameModel game = new GameModel();
+        game.loadGame(GOLDEN_SAVE);
+        assertEquals(reloadedSave, game.generateSaveGameData());
+        //loading the save again changes nothing more
+        GameModel reloadedGame = new GameModel();
+        reloadedGame.loadGame(reloadedSave);
+        assertEquals(reloadedSave, reloadedGame.generateSaveGameData());
+    }
+
+    /**
+     * returns the hand of the golden strings: the trump suit is Hearts, and every card but the Ace of Clubs and the Ten of Diamonds
+     * is part of a meld
+     * @return the hand
+     */
+    private static GroupOfCards goldenHand() {
+        GroupOfCards hand = new GroupOfCards();
+        for (Card card : new Card[] {card(Rank.KING, Suit.SPADES), card(Rank.QUEEN, Suit.HEARTS), card(Rank.JACK, Suit.DIAMONDS),
+                card(Rank.NINE, Suit.HEARTS), card(Rank.KING, Suit.HEARTS), card(Rank.ACE, Suit.CLUBS), card(Rank.QUEEN, Suit.SPADES),
+                card(Rank.KING, Suit.DIAMONDS), card(Rank.KING, Suit.CLUBS), card(Rank.TEN, Suit.DIAMONDS)}) {
+            hand.addCard(card);
+        }
+        return hand;
+    }
+
+    /**
+     * returns the melds of the golden strings. The King of Hearts, King of Spades and Queen of Spades are each used by two melds,
+     * and the Marriage of Clubs is no longer complete, since its Queen has been played
+     * @return the melds
+     */
+    private static MeldsStorage goldenMelds() {
+        MeldsStorage melds = new MeldsStorage();
+        melds.addMeld(meld(card(Rank.KING, Suit.HEARTS), card(Rank.KING, Suit.SPADES), card(Rank.KING, Suit.CLUBS), card(Rank.KING, Suit.DIAMONDS)));
+        melds.addMeld(meld(card(Rank.KING, Suit.CLUBS), card(Rank.QUEEN, Suit.CLUBS)));
+        melds.addMeld(meld(card(Rank.QUEEN, Suit.HEARTS), card(Rank.KING, Suit.HEARTS)));
+        melds.addMeld(meld(card(Rank.QUEEN, Suit.SPADES), card(Rank.JACK, Suit.DIAMONDS)));
+        melds.addMeld(meld(card(Rank.NINE, Suit.HEARTS)));
+        melds.addMeld(meld(card(Rank.KING, Suit.SPADES), card(Rank.QUEEN, Suit.SPADES)));
+        return melds;
+    }
+
+    /**
+     * returns the capture pile of the golden strings
+     * @return the capture pile
+     */
+    private static GroupOfCards goldenCapturePile() {
+        GroupOfCards capturePile = new GroupOfCards();
+        capturePile.addCard(card(Rank.ACE, Suit.HEARTS));
+        capturePile.addCard(card(Rank.TEN, Suit.HEARTS));
+        capturePile.addCard(card(Rank.QUEEN, Suit.CLUBS));
+        return capturePile;
+    }
+
+    /**
+     * returns every card of the deck, for strings to take their cards from
+     * @return the cards of the deck
+     */
+    private static GroupOfCards fullDeck() {
+        GroupOfCards cards = new BitboardGroupOfCards();
+        for (int id = 0; id < Deck.NUM_OF_CARDS; id++) {
+            cards.addCard(Card.fromId(id));
+        }
+        return cards;
+    }
+
+    /**
+     * returns the first copy of a card
+     * @param rank the rank of the card
+     * @param suit the suit of the card
+     * @return the card
+     */
+    private static Card card(Rank rank, Suit suit) {
+        return Card.fromId(rank.ordinal() * 8 + suit.ordinal() * 2);
+    }
+
+    /**
+     * creates a meld instance under the trump suit of the golden strings
+     * @param cards the cards of the meld
+     * @return the meld instance
+     */
+    private static MeldInstance meld(Card... cards) {
+        ArrayList<Card> meldCards = new ArrayList<Card>();
+        for (Card card : cards) {
+            meldCards.add(card);
+        }
+        return new MeldInstance(meldCards, Suit.HEARTS);
+    }
+}